@@ -31,6 +31,8 @@ import grakn.core.common.exception.Validator;
 import grakn.core.common.http.SimpleURI;
 import grakn.core.common.util.CommonUtil;
 import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.graql.query.InsertQuery;
 import grakn.core.graql.query.Query;
 import grakn.core.graql.concept.Attribute;
 import grakn.core.graql.concept.AttributeType;
@@ -56,8 +58,11 @@ import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -71,6 +76,8 @@ import static grakn.core.common.util.CommonUtil.toImmutableSet;
 public final class Grakn {
 
     public static final String DEFAULT_URI = "localhost:48555";
+    public static final int DEFAULT_ITERATE_BATCH_SIZE = 1;
+    public static final int DEFAULT_ITERATE_BATCH_BYTES = 0;
 
     private ManagedChannel channel;
     private Keyspaces keyspaces;
@@ -114,6 +121,8 @@ public final class Grakn {
     public class Session implements grakn.core.server.Session {
 
         private final String keyspace;
+        private int iterateBatchSize = DEFAULT_ITERATE_BATCH_SIZE;
+        private int iterateBatchBytes = DEFAULT_ITERATE_BATCH_BYTES;
 
         private Session(String keyspace) {
             if (!Validator.isValidKeyspaceName(keyspace)) {
@@ -127,6 +136,22 @@ public final class Grakn {
             return new Transaction(this, type);
         }
 
+        /**
+         * Configure how many answers the server streams back for every iterator request of transactions opened after
+         * this call. A {@code batchSize} of 1, the default, falls back to one round-trip per answer.
+         *
+         * @param batchSize  the maximum number of answers per batch
+         * @param batchBytes the maximum size of a batch in serialised bytes, or 0 for no limit
+         */
+        public Session iterateBatch(int batchSize, int batchBytes) {
+            if (batchSize < 1 || batchBytes < 0) {
+                throw new IllegalArgumentException("Invalid iterator batch size " + batchSize + " and bytes " + batchBytes);
+            }
+            this.iterateBatchSize = batchSize;
+            this.iterateBatchBytes = batchBytes;
+            return this;
+        }
+
         @Override
         public void close() throws TransactionException {
             channel.shutdown();
@@ -167,10 +192,14 @@ public final class Grakn {
         private final Session session;
         private final Type type;
         private final Transceiver transceiver;
+        private final int iterateBatchSize;
+        private final int iterateBatchBytes;
 
         private Transaction(Session session, Type type) {
             this.session = session;
             this.type = type;
+            this.iterateBatchSize = session.iterateBatchSize;
+            this.iterateBatchBytes = session.iterateBatchBytes;
             this.transceiver = Transceiver.create(SessionServiceGrpc.newStub(channel));
             transceiver.send(RequestBuilder.Transaction.open(session.keyspace(), type));
             responseOrThrow();
@@ -248,6 +277,52 @@ public final class Grakn {
             );
         }
 
+        /**
+         * Execute many insert queries with a single request. If {@code chunkSize} is positive, the server commits
+         * after every {@code chunkSize} queries and continues in a new transaction, including after the last chunk.
+         * Otherwise the queries join this transaction and are only persisted by {@link #commit()}.
+         *
+         * @return the number of queries inserted, together with the throughput of every chunk
+         */
+        public SessionProto.Transaction.BulkInsert.Res bulkInsert(Collection<InsertQuery> queries, int chunkSize) {
+            transceiver.send(RequestBuilder.Transaction.bulkInsert(queries, chunkSize));
+            return responseOrThrow().getBulkInsertRes();
+        }
+
+        /**
+         * Parse a query on the server once, so that it can be executed many times with {@link #execute(int, Map, long)}
+         *
+         * @return the handle of the prepared query, which is valid until it is released or this transaction is closed
+         */
+        public int prepare(Query<?> query) {
+            transceiver.send(RequestBuilder.Transaction.prepare(query));
+            return responseOrThrow().getPrepareRes().getHandle();
+        }
+
+        /**
+         * Execute a query prepared by {@link #prepare(Query)}, with variables of its match clause bound to the given
+         * parameters. A {@link ConceptId} binds a variable to that concept, and any other parameter binds it to a value.
+         *
+         * @param limit the maximum number of answers, or 0 to keep the limit of the prepared query
+         */
+        public java.util.Iterator execute(int handle, Map<Var, ?> parameters, long limit) {
+            transceiver.send(RequestBuilder.Transaction.execute(handle, parameters, limit));
+            int iteratorId = responseOrThrow().getExecuteIter().getId();
+            return new Iterator<>(
+                    this,
+                    iteratorId,
+                    response -> ResponseReader.answer(response.getQueryIterRes().getAnswer(), this)
+            );
+        }
+
+        /**
+         * Free a query prepared by {@link #prepare(Query)} on the server, after which its handle can no longer be executed
+         */
+        public void release(int handle) {
+            transceiver.send(RequestBuilder.Transaction.release(handle));
+            responseOrThrow();
+        }
+
         @Nullable
         @Override
         public <T extends grakn.core.graql.concept.Type> T getType(Label label) {
@@ -393,6 +468,21 @@ public final class Grakn {
             return responseOrThrow().getIterateRes();
         }
 
+        /**
+         * Request a batch of answers and read the whole batch into {@code buffer}. The batch is drained eagerly so
+         * that its responses never interleave with the responses of any request sent afterwards on this transaction.
+         */
+        private void iterateBatch(int iteratorId, Queue<SessionProto.Transaction.Iter.Res> buffer) {
+            transceiver.send(RequestBuilder.Transaction.iterate(iteratorId, iterateBatchSize, iterateBatchBytes));
+            while (true) {
+                SessionProto.Transaction.Iter.Res response = responseOrThrow().getIterateRes();
+                if (response.getResCase() == SessionProto.Transaction.Iter.Res.ResCase.BATCHDONE) return;
+
+                buffer.add(response);
+                if (response.getResCase() == SessionProto.Transaction.Iter.Res.ResCase.DONE) return;
+            }
+        }
+
         public <T> Iterator<T> iterator(int iteratorId, Function<SessionProto.Transaction.Iter.Res, T> responseReader) {
             return new Iterator<>(this, iteratorId, responseReader);
         }
@@ -400,11 +490,14 @@ public final class Grakn {
         /**
          * A client-side iterator over gRPC messages. Will send {@link SessionProto.Transaction.Iter.Req} messages until
          * {@link SessionProto.Transaction.Iter.Res} returns done as a message.
+         * Unless the batch size of the {@link Session} is 1, every request asks the server to stream a whole batch of
+         * answers, which are then served from a local buffer.
          *
          * @param <T> class type of objects being iterated
          */
         public class Iterator<T> extends AbstractIterator<T> {
             private final int iteratorId;
+            private final Queue<SessionProto.Transaction.Iter.Res> buffer = new ArrayDeque<>();
             private Transaction tx;
             private Function<SessionProto.Transaction.Iter.Res, T> responseReader;
 
@@ -416,17 +509,29 @@ public final class Grakn {
 
             @Override
             protected final T computeNext() {
-                SessionProto.Transaction.Iter.Res response = tx.iterate(iteratorId);
+                SessionProto.Transaction.Iter.Res response = nextResponse();
 
                 switch (response.getResCase()) {
                     case DONE:
                         return endOfData();
                     case RES_NOT_SET:
+                    case BATCHDONE:
                         throw CommonUtil.unreachableStatement("Unexpected " + response);
                     default:
                         return responseReader.apply(response);
                 }
             }
+
+            private SessionProto.Transaction.Iter.Res nextResponse() {
+                if (tx.iterateBatchSize <= 1) {
+                    return tx.iterate(iteratorId);
+                }
+
+                if (buffer.isEmpty()) {
+                    tx.iterateBatch(iteratorId, buffer);
+                }
+                return buffer.remove();
+            }
         }
     }
 }
@@ -23,6 +23,8 @@ import grakn.core.graql.concept.AttributeType;
 import grakn.core.graql.concept.ConceptId;
 import grakn.core.graql.concept.Label;
 import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.graql.query.InsertQuery;
 import grakn.core.graql.query.Query;
 import grakn.core.protocol.ConceptProto;
 import grakn.core.protocol.KeyspaceProto;
@@ -32,6 +34,7 @@ import grakn.core.common.util.CommonUtil;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collection;
+import java.util.Map;
 
 import static java.util.stream.Collectors.toList;
 
@@ -76,6 +79,47 @@ public class RequestBuilder {
             return SessionProto.Transaction.Req.newBuilder().setQueryReq(request).build();
         }
 
+        public static SessionProto.Transaction.Req bulkInsert(Collection<InsertQuery> queries, int chunkSize) {
+            SessionProto.Transaction.BulkInsert.Req request = SessionProto.Transaction.BulkInsert.Req.newBuilder()
+                    .addAllQueries(queries.stream().map(Object::toString).collect(toList()))
+                    .setChunkSize(chunkSize)
+                    .build();
+            return SessionProto.Transaction.Req.newBuilder().setBulkInsertReq(request).build();
+        }
+
+        public static SessionProto.Transaction.Req prepare(Query<?> query) {
+            SessionProto.Transaction.Prepare.Req request = SessionProto.Transaction.Prepare.Req.newBuilder()
+                    .setQuery(query.toString())
+                    .setInfer(query.inferring() ? SessionProto.Transaction.Query.INFER.TRUE : SessionProto.Transaction.Query.INFER.FALSE)
+                    .build();
+            return SessionProto.Transaction.Req.newBuilder().setPrepareReq(request).build();
+        }
+
+        public static SessionProto.Transaction.Req execute(int handle, Map<Var, ?> parameters, long limit) {
+            SessionProto.Transaction.Execute.Req.Builder request = SessionProto.Transaction.Execute.Req.newBuilder()
+                    .setHandle(handle)
+                    .setLimit(limit);
+            parameters.forEach((var, parameter) -> request.putParameters(var.getValue(), parameter(parameter)));
+            return SessionProto.Transaction.Req.newBuilder().setExecuteReq(request).build();
+        }
+
+        public static SessionProto.Transaction.Req release(int handle) {
+            SessionProto.Transaction.Release.Req request = SessionProto.Transaction.Release.Req.newBuilder()
+                    .setHandle(handle)
+                    .build();
+            return SessionProto.Transaction.Req.newBuilder().setReleaseReq(request).build();
+        }
+
+        private static SessionProto.Transaction.Execute.Parameter parameter(Object parameter) {
+            SessionProto.Transaction.Execute.Parameter.Builder builder = SessionProto.Transaction.Execute.Parameter.newBuilder();
+            if (parameter instanceof ConceptId) {
+                builder.setId(((ConceptId) parameter).getValue());
+            } else {
+                builder.setValue(Concept.attributeValue(parameter));
+            }
+            return builder.build();
+        }
+
         public static SessionProto.Transaction.Req getSchemaConcept(Label label) {
             return SessionProto.Transaction.Req.newBuilder()
                     .setGetSchemaConceptReq(SessionProto.Transaction.GetSchemaConcept.Req.newBuilder().setLabel(label.getValue()))
@@ -139,6 +183,18 @@ public class RequestBuilder {
                     .setIterateReq(SessionProto.Transaction.Iter.Req.newBuilder()
                             .setId(iteratorId)).build();
         }
+
+        public static SessionProto.Transaction.Req iterate(int iteratorId, int batchSize, int batchBytes) {
+            SessionProto.Transaction.Iter.Req.Options options = SessionProto.Transaction.Iter.Req.Options.newBuilder()
+                    .setBatchSize(batchSize)
+                    .setBatchBytes(batchBytes)
+                    .build();
+
+            return SessionProto.Transaction.Req.newBuilder()
+                    .setIterateReq(SessionProto.Transaction.Iter.Req.newBuilder()
+                            .setId(iteratorId)
+                            .setOptions(options)).build();
+        }
     }
 
     /**
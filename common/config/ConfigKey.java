@@ -50,9 +50,14 @@ public abstract class ConfigKey<T> {
     public static final KeyParser<String> STRING = string -> string;
     public static final KeyParser<Integer> INT = Integer::parseInt;
     public static final KeyParser<Long> LONG = Long::parseLong;
+    public static final KeyParser<Boolean> BOOL = Boolean::parseBoolean;
 
     public static final ConfigKey<String> SERVER_HOST_NAME = key("server.host");
     public static final ConfigKey<Integer> GRPC_PORT = key("grpc.port", INT);
+    public static final ConfigKey<Integer> GRPC_TRANSACTION_THREADS = key("grpc.transaction-threads", INT);
+    public static final ConfigKey<Integer> GRPC_TRANSACTION_MAX_WAITING = key("grpc.transaction-max-waiting", INT);
+    public static final ConfigKey<Long> GRPC_TRANSACTION_MAX_WAIT_MS = key("grpc.transaction-max-wait-ms", LONG);
+    public static final ConfigKey<Integer> METRICS_PORT = key("metrics.port", INT);
 
     public static final ConfigKey<String> STORAGE_HOSTNAME = key("storage.hostname", STRING);
     public static final ConfigKey<Integer> STORAGE_PORT = key("storage.port", INT);
@@ -67,6 +72,24 @@ public abstract class ConfigKey<T> {
     public static final ConfigKey<Long> SHARDING_THRESHOLD = key("knowledge-base.sharding-threshold", LONG);
     public static final ConfigKey<String> KB_MODE = key("knowledge-base.mode");
     public static final ConfigKey<String> KB_ANALYTICS = key("knowledge-base.analytics");
+    public static final ConfigKey<Long> CONCEPT_CACHE_MAX_WEIGHT = key("knowledge-base.concept-cache.max-weight", LONG);
+    public static final ConfigKey<String> CONCEPT_CACHE_KEYSPACES = key("knowledge-base.concept-cache.keyspaces", STRING);
+    public static final ConfigKey<Long> TRAVERSAL_PLAN_CACHE_MAX_SIZE = key("knowledge-base.traversal-plan-cache.max-size", LONG);
+    public static final ConfigKey<Boolean> INCREMENTAL_VALIDATION = key("knowledge-base.incremental-validation", BOOL);
+    public static final ConfigKey<Long> STATISTICS_MAX_SCANNED_RELATIONSHIPS = key("knowledge-base.statistics.max-scanned-relationships", LONG);
+    public static final ConfigKey<String> WARM_UP_KEYSPACES = key("knowledge-base.warm-up-keyspaces", STRING);
+    public static final ConfigKey<Boolean> REASONER_SEMI_NAIVE = key("reasoner.semi-naive", BOOL);
+    public static final ConfigKey<Long> REASONER_ANSWER_CACHE_MAX_ANSWERS = key("reasoner.answer-cache.max-answers", LONG);
+    public static final ConfigKey<String> REASONER_MATERIALISED_RULES = key("reasoner.materialised-rules", STRING);
+    public static final ConfigKey<Integer> REASONER_MATERIALISED_RULES_MAX_SEEDS = key("reasoner.materialised-rules.max-seeds", INT);
+    public static final ConfigKey<Integer> DEDUPLICATOR_WORKERS = key("attribute-deduplicator.workers", INT);
+    public static final ConfigKey<Integer> DEDUPLICATOR_MAX_PENDING_PER_WORKER = key("attribute-deduplicator.max-pending-per-worker", INT);
+    public static final ConfigKey<Integer> DEDUPLICATOR_BATCH_SIZE = key("attribute-deduplicator.batch-size", INT);
+    public static final ConfigKey<String> DEDUPLICATOR_QUEUE_DURABILITY = key("attribute-deduplicator.queue.durability", STRING);
+    public static final ConfigKey<Long> DEDUPLICATOR_QUEUE_FLUSH_INTERVAL_MS = key("attribute-deduplicator.queue.flush-interval-ms", LONG);
+    public static final ConfigKey<Integer> DEDUPLICATOR_QUEUE_MAX_BATCH_SIZE = key("attribute-deduplicator.queue.max-batch-size", INT);
+    public static final ConfigKey<Long> DEDUPLICATOR_QUEUE_SYNC_INTERVAL_MS = key("attribute-deduplicator.queue.sync-interval-ms", LONG);
+
     public static final ConfigKey<String> DATA_DIR = key("data-dir");
     public static final ConfigKey<String> LOG_DIR = key("log.dirs");
 
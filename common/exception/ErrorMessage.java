@@ -166,6 +166,7 @@ public enum ErrorMessage {
 
     AGGREGATE_ARGUMENT_NUM("aggregate '%s' takes %s arguments, but got %s"),
     UNKNOWN_AGGREGATE("unknown aggregate '%s'"),
+    INVALID_PERCENTILE("percentile %s should be between 0 and 100"),
 
     VARIABLE_NOT_IN_QUERY("the variable %s is not in the query"),
     NO_PATTERNS("no patterns have been provided. at least one pattern must be provided"),
@@ -0,0 +1,187 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.answer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.graql.admin.Unifier;
+import grakn.core.graql.concept.Concept;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.internal.reasoner.unifier.UnifierImpl;
+import grakn.core.graql.query.Graql;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.server.keyspace.Keyspace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Measures the throughput of building, joining and unifying {@link ConceptMap}s, the answers which flow through
+ *     match queries and the reasoner.
+ * </p>
+ *
+ * <p>
+ *     Run with the GC profiler to also measure the allocation rate:
+ *     {@code bazel run //server/benchmark/graql/answer:concept-map-benchmark -- -prof gc}
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConceptMapBenchmark {
+
+    private static final int ANSWERS = 1000;
+
+    private final Var x = Graql.var("x");
+    private final Var y = Graql.var("y");
+    private final Var z = Graql.var("z");
+    private final Var w = Graql.var("w");
+
+    private Concept[][] rows;
+    private VarSlots slots;
+    private ConceptMap[] left;
+    private ConceptMap[] right;
+    private Unifier unifier;
+    private Set<Var> projectedVars;
+
+    @Setup
+    public void setUp() {
+        rows = new Concept[ANSWERS][];
+        left = new ConceptMap[ANSWERS];
+        right = new ConceptMap[ANSWERS];
+        slots = VarSlots.of(ImmutableList.of(x, y, z));
+        for (int i = 0; i < ANSWERS; i++) {
+            Concept concept = new StubConcept("x" + i);
+            Concept other = new StubConcept("y" + i);
+            Concept shared = new StubConcept("z" + i % 10);
+            rows[i] = new Concept[]{concept, other, shared};
+            left[i] = new ConceptMap(ImmutableMap.of(x, concept, z, shared));
+            right[i] = new ConceptMap(ImmutableMap.of(z, shared, w, other));
+        }
+        unifier = new UnifierImpl(ImmutableMap.of(x, y, z, w));
+        projectedVars = ImmutableSet.of(x);
+    }
+
+    /**
+     * Builds answers the way a match query does, from the concepts of every row of a traversal
+     */
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        for (Concept[] row : rows) {
+            blackhole.consume(new ConceptMap(slots, row.clone()));
+        }
+    }
+
+    /**
+     * Builds answers through a map, the way answers are built outside of traversals
+     */
+    @Benchmark
+    public void matchThroughMap(Blackhole blackhole) {
+        List<Var> vars = slots.vars().asList();
+        for (Concept[] row : rows) {
+            Map<Var, Concept> map = new HashMap<>();
+            for (int i = 0; i < row.length; i++) map.put(vars.get(i), row[i]);
+            blackhole.consume(new ConceptMap(map));
+        }
+    }
+
+    /**
+     * Joins answers which share a variable, the way the reasoner joins the answers of a conjunction
+     */
+    @Benchmark
+    public void join(Blackhole blackhole) {
+        for (int i = 0; i < ANSWERS; i++) {
+            blackhole.consume(left[i].merge(right[i]));
+        }
+    }
+
+    @Benchmark
+    public void unify(Blackhole blackhole) {
+        for (ConceptMap answer : left) {
+            blackhole.consume(answer.unify(unifier));
+        }
+    }
+
+    @Benchmark
+    public void project(Blackhole blackhole) {
+        for (ConceptMap answer : left) {
+            blackhole.consume(answer.project(projectedVars));
+        }
+    }
+
+    /**
+     * A concept which only has an id, so that answers can be built without a knowledge base
+     */
+    private static final class StubConcept implements Concept {
+        private final ConceptId id;
+
+        StubConcept(String id) {
+            this.id = ConceptId.of(id);
+        }
+
+        @Override
+        public ConceptId id() {
+            return id;
+        }
+
+        @Override
+        public Keyspace keyspace() {
+            return Keyspace.of("benchmark");
+        }
+
+        @Override
+        public void delete() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isDeleted() {
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof StubConcept && ((StubConcept) obj).id.equals(id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
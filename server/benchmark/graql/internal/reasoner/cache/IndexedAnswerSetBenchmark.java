@@ -0,0 +1,178 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package grakn.core.graql.internal.reasoner.cache;
+
+import com.google.common.collect.ImmutableMap;
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.concept.Concept;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.query.Graql;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.server.keyspace.Keyspace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Measures the {@link IndexedAnswerSet} of a single cache entry under the workload of the
+ *     {@link MultilevelSemanticCache}: recording answers, which first checks whether they are known, looking the
+ *     answers of a query up by its partial answer and streaming all of them when propagating them to other entries.
+ * </p>
+ *
+ * <p>
+ *     The cache itself is not used, because it needs a transaction to build its queries.
+ *     Run with {@code bazel run //server/benchmark/graql/internal/reasoner/cache:indexed-answer-set-benchmark}
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexedAnswerSetBenchmark {
+
+    private static final int PARTIAL_ANSWERS = 100;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int answersPerEntry;
+
+    private final Var x = Graql.var("x");
+    private final Var y = Graql.var("y");
+    private final Index index = Index.of(x);
+
+    private ConceptMap[] answers;
+    private ConceptMap[] partialAnswers;
+    private IndexedAnswerSet entry;
+
+    @Setup
+    public void setUp() {
+        partialAnswers = new ConceptMap[PARTIAL_ANSWERS];
+        Concept[] partialConcepts = new Concept[PARTIAL_ANSWERS];
+        for (int i = 0; i < PARTIAL_ANSWERS; i++) {
+            partialConcepts[i] = new StubConcept("x" + i);
+            partialAnswers[i] = new ConceptMap(ImmutableMap.of(x, partialConcepts[i]));
+        }
+
+        answers = new ConceptMap[answersPerEntry];
+        for (int i = 0; i < answersPerEntry; i++) {
+            answers[i] = new ConceptMap(ImmutableMap.of(
+                    x, partialConcepts[i % PARTIAL_ANSWERS],
+                    y, new StubConcept("y" + i)));
+        }
+        entry = IndexedAnswerSet.create(index);
+        for (ConceptMap answer : answers) entry.add(answer);
+    }
+
+    /**
+     * Records every answer in a new entry
+     */
+    @Benchmark
+    public IndexedAnswerSet record() {
+        IndexedAnswerSet newEntry = IndexedAnswerSet.create(index);
+        for (ConceptMap answer : answers) newEntry.add(answer);
+        return newEntry;
+    }
+
+    /**
+     * Records a thousand answers which the entry already holds, the way answers found again are recorded
+     */
+    @Benchmark
+    public void recordKnown(Blackhole blackhole) {
+        for (int i = 0; i < 1000; i++) {
+            ConceptMap answer = answers[i % answersPerEntry];
+            blackhole.consume(entry.contains(answer) || entry.add(answer));
+        }
+    }
+
+    /**
+     * Gets the answers of every partial answer, the way the answers of a query are read from its entry
+     */
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (ConceptMap partialAnswer : partialAnswers) {
+            entry.get(partialAnswer).forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void size(Blackhole blackhole) {
+        blackhole.consume(entry.size());
+    }
+
+    /**
+     * Streams all the answers, the way they are propagated from a parent entry
+     */
+    @Benchmark
+    public long stream() {
+        return entry.stream().count();
+    }
+
+    /**
+     * A concept which only has an id, so that answers can be built without a knowledge base
+     */
+    private static final class StubConcept implements Concept {
+        private final ConceptId id;
+
+        StubConcept(String id) {
+            this.id = ConceptId.of(id);
+        }
+
+        @Override
+        public ConceptId id() {
+            return id;
+        }
+
+        @Override
+        public Keyspace keyspace() {
+            return Keyspace.of("benchmark");
+        }
+
+        @Override
+        public void delete() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isDeleted() {
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof StubConcept && ((StubConcept) obj).id.equals(id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
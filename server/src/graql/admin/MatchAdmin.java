@@ -26,6 +26,7 @@ import grakn.core.graql.query.Match;
 import grakn.core.graql.query.pattern.Var;
 
 import javax.annotation.CheckReturnValue;
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -53,6 +54,13 @@ public interface MatchAdmin extends Match {
     @CheckReturnValue
     Conjunction<PatternAdmin> getPattern();
 
+    /**
+     * @param patterns patterns to match in addition to the pattern of this query
+     * @return a copy of this query that also matches the given patterns, with the same modifiers
+     */
+    @CheckReturnValue
+    MatchAdmin and(Collection<? extends PatternAdmin> patterns);
+
     /**
      * @return the graph the query operates on, if one was provided
      */
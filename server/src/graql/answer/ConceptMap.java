@@ -38,40 +38,61 @@ import grakn.core.graql.internal.reasoner.utils.ReasonerUtils;
 import grakn.core.graql.query.Graql;
 import grakn.core.graql.query.pattern.Var;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
 
 
 /**
  * <p>
  * Wrapper for a query result class {@link ConceptMap}.
  * </p>
+ *
+ * <p>
+ * The concepts of an answer are held in an array, at the slots of their variables in a {@link VarSlots} which is
+ * shared by the answers built together. Answers which are not explained by the reasoner share the same empty
+ * {@link Explanation}.
+ * </p>
  */
 public class ConceptMap implements Answer<ConceptMap> {
 
-    private final ImmutableMap<Var, Concept> map;
+    private static final Explanation NO_EXPLANATION = new QueryExplanation();
+    private static final Concept[] NO_CONCEPTS = new Concept[0];
+
+    private final VarSlots slots;
+    private final Concept[] concepts;
     private final Explanation explanation;
 
+    // only built when the answer is read as a map
+    private ImmutableMap<Var, Concept> map = null;
+    private int hashCode = 0;
+
     public ConceptMap() {
-        this.map = ImmutableMap.of();
-        this.explanation = new QueryExplanation();
+        this(VarSlots.EMPTY, NO_CONCEPTS, NO_EXPLANATION);
     }
 
     public ConceptMap(ConceptMap map) {
-        this(map.map().entrySet(), map.explanation());
+        this(map.slots, map.concepts, map.explanation());
     }
 
     public ConceptMap(Collection<Map.Entry<Var, Concept>> mappings, Explanation exp) {
-        this.map = ImmutableMap.<Var, Concept>builder().putAll(mappings).build();
+        this.slots = VarSlots.of(mappings.stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+        this.concepts = new Concept[slots.size()];
+        int i = 0;
+        for (Map.Entry<Var, Concept> mapping : mappings) {
+            concepts[i++] = Objects.requireNonNull(mapping.getValue());
+        }
         this.explanation = exp;
     }
 
@@ -80,7 +101,24 @@ public class ConceptMap implements Answer<ConceptMap> {
     }
 
     public ConceptMap(Map<Var, Concept> m) {
-        this(m, new QueryExplanation());
+        this(m, NO_EXPLANATION);
+    }
+
+    /**
+     * @param slots    the slots of the variables of the answer
+     * @param concepts the concept of every slot, which is held by the answer and must not be changed afterwards
+     */
+    public ConceptMap(VarSlots slots, Concept[] concepts) {
+        this(slots, concepts, NO_EXPLANATION);
+    }
+
+    private ConceptMap(VarSlots slots, Concept[] concepts, Explanation exp) {
+        if (slots.size() != concepts.length) {
+            throw new IllegalArgumentException("Expected " + slots.size() + " concepts for " + slots + " but got " + concepts.length);
+        }
+        this.slots = slots;
+        this.concepts = concepts;
+        this.explanation = exp;
     }
 
     @Override
@@ -95,14 +133,20 @@ public class ConceptMap implements Answer<ConceptMap> {
 
     @CheckReturnValue
     public ImmutableMap<Var, Concept> map() {
+        ImmutableMap<Var, Concept> map = this.map;
+        if (map == null) {
+            ImmutableMap.Builder<Var, Concept> builder = ImmutableMap.builder();
+            forEach(builder::put);
+            this.map = map = builder.build();
+        }
         return map;
     }
 
     @CheckReturnValue
-    public Set<Var> vars() { return map.keySet();}
+    public Set<Var> vars() { return slots.vars();}
 
     @CheckReturnValue
-    public Collection<Concept> concepts() { return map.values(); }
+    public Collection<Concept> concepts() { return Collections.unmodifiableList(Arrays.asList(concepts)); }
 
     /**
      * Return the {@link Concept} bound to the given variable name.
@@ -121,26 +165,39 @@ public class ConceptMap implements Answer<ConceptMap> {
      */
     @CheckReturnValue
     public Concept get(Var var) {
-        Concept concept = map.get(var);
-        if (concept == null) throw GraqlQueryException.varNotInQuery(var);
-        return concept;
+        int slot = slots.slot(var);
+        if (slot < 0) throw GraqlQueryException.varNotInQuery(var);
+        return concepts[slot];
+    }
+
+    @Nullable
+    private Concept getOrNull(Var var) {
+        int slot = slots.slot(var);
+        return slot < 0 ? null : concepts[slot];
     }
 
     @CheckReturnValue
-    public boolean containsVar(Var var) { return map.containsKey(var);}
+    public boolean containsVar(Var var) { return slots.slot(var) >= 0;}
 
     @CheckReturnValue
-    public boolean containsAll(ConceptMap map) { return this.map.entrySet().containsAll(map.map().entrySet());}
+    public boolean containsAll(ConceptMap map) {
+        if (map.slots == this.slots) return Arrays.equals(map.concepts, this.concepts);
+        int i = 0;
+        for (Var var : map.vars()) {
+            if (!map.concepts[i++].equals(getOrNull(var))) return false;
+        }
+        return true;
+    }
 
     @CheckReturnValue
-    public boolean isEmpty() { return map.isEmpty();}
+    public boolean isEmpty() { return concepts.length == 0;}
 
     @CheckReturnValue
-    public int size() { return map.size();}
+    public int size() { return concepts.length;}
 
     @Override
     public String toString() {
-        return map.entrySet().stream()
+        return map().entrySet().stream()
                 .sorted(Comparator.comparing(e -> e.getKey().getValue()))
                 .map(e -> "[" + e.getKey() + "/" + e.getValue().id() + "]").collect(Collectors.joining());
     }
@@ -150,14 +207,27 @@ public class ConceptMap implements Answer<ConceptMap> {
         if (obj == this) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         ConceptMap a2 = (ConceptMap) obj;
-        return map.equals(a2.map);
+        if (a2.slots == this.slots) return Arrays.equals(a2.concepts, this.concepts);
+        return a2.size() == this.size() && hashCode() == a2.hashCode() && containsAll(a2);
     }
 
+    /**
+     * @return the same hash code as {@link #map()}
+     */
     @Override
-    public int hashCode() { return map.hashCode();}
+    public int hashCode() {
+        int hashCode = this.hashCode;
+        if (hashCode == 0 && concepts.length > 0) {
+            int i = 0;
+            for (Var var : slots.vars()) hashCode += var.hashCode() ^ concepts[i++].hashCode();
+            this.hashCode = hashCode;
+        }
+        return hashCode;
+    }
 
     public void forEach(BiConsumer<Var, Concept> consumer) {
-        map.forEach(consumer);
+        int i = 0;
+        for (Var var : slots.vars()) consumer.accept(var, concepts[i++]);
     }
 
     /**
@@ -173,40 +243,32 @@ public class ConceptMap implements Answer<ConceptMap> {
         if (map.isEmpty()) return this;
         if (this.isEmpty()) return map;
 
-        Sets.SetView<Var> varUnion = Sets.union(this.vars(), map.vars());
-        Set<Var> varIntersection = Sets.intersection(this.vars(), map.vars());
-        Map<Var, Concept> entryMap = Sets.union(
-                this.map.entrySet(),
-                map.map().entrySet()
-        )
-                .stream()
-                .filter(e -> !varIntersection.contains(e.getKey()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        varIntersection
-                .forEach(var -> {
-                    Concept concept = this.get(var);
-                    Concept otherConcept = map.get(var);
-                    if (concept.equals(otherConcept)) entryMap.put(var, concept);
-                    else {
-                        if (concept.isSchemaConcept()
-                                && otherConcept.isSchemaConcept()
-                                && !ReasonerUtils.areDisjointTypes(concept.asSchemaConcept(), otherConcept.asSchemaConcept(), false)) {
-                            entryMap.put(
-                                    var,
-                                    Iterables.getOnlyElement(ReasonerUtils.topOrMeta(
-                                            Sets.newHashSet(
-                                                    concept.asSchemaConcept(),
-                                                    otherConcept.asSchemaConcept())
-                                                             )
-                                    )
-                            );
-                        }
-                    }
-                });
-        if (!entryMap.keySet().equals(varUnion)) return new ConceptMap();
+        VarSlots.Merge merge = this.slots.merge(map.slots);
+        Concept[] merged = Arrays.copyOf(this.concepts, merge.result.size());
+        for (int i = 0; i < map.concepts.length; i++) {
+            int slot = merge.otherSlots[i];
+            Concept otherConcept = map.concepts[i];
+            Concept concept = merged[slot];
+            if (concept == null || concept.equals(otherConcept)) {
+                merged[slot] = otherConcept;
+            } else if (concept.isSchemaConcept()
+                    && otherConcept.isSchemaConcept()
+                    && !ReasonerUtils.areDisjointTypes(concept.asSchemaConcept(), otherConcept.asSchemaConcept(), false)) {
+                merged[slot] = Iterables.getOnlyElement(ReasonerUtils.topOrMeta(
+                        Sets.newHashSet(
+                                concept.asSchemaConcept(),
+                                otherConcept.asSchemaConcept())
+                        )
+                );
+            } else {
+                // the answers do not agree on the variable
+                return new ConceptMap();
+            }
+        }
 
         return new ConceptMap(
-                entryMap,
+                merge.result,
+                merged,
                 mergeExplanation ? this.mergeExplanation(map) : this.explanation()
         );
     }
@@ -237,7 +299,7 @@ public class ConceptMap implements Answer<ConceptMap> {
      * @return explained answer
      */
     public ConceptMap explain(Explanation exp) {
-        return new ConceptMap(this.map.entrySet(), exp.childOf(this));
+        return new ConceptMap(this.slots, this.concepts, exp.childOf(this));
     }
 
     /**
@@ -246,12 +308,14 @@ public class ConceptMap implements Answer<ConceptMap> {
      */
     @CheckReturnValue
     public ConceptMap project(Set<Var> vars) {
-        return new ConceptMap(
-                this.map.entrySet().stream()
-                        .filter(e -> vars.contains(e.getKey()))
-                        .collect(Collectors.toSet()),
-                this.explanation()
-        );
+        VarSlots.Projection projection = this.slots.project(vars);
+        if (projection.result.size() == this.size()) return this;
+
+        Concept[] projected = new Concept[projection.sourceSlots.length];
+        for (int i = 0; i < projected.length; i++) {
+            projected[i] = this.concepts[projection.sourceSlots[i]];
+        }
+        return new ConceptMap(projection.result, projected, this.explanation());
     }
 
     /**
@@ -283,9 +347,9 @@ public class ConceptMap implements Answer<ConceptMap> {
         if (unifier.isEmpty()) return this;
         Map<Var, Concept> unified = new HashMap<>();
 
-        for (Map.Entry<Var, Concept> e : this.map.entrySet()) {
-            Var var = e.getKey();
-            Concept con = e.getValue();
+        int i = 0;
+        for (Var var : this.vars()) {
+            Concept con = this.concepts[i++];
             Collection<Var> uvars = unifier.get(var);
             if (uvars.isEmpty() && !unifier.values().contains(var)) {
                 Concept put = unified.put(var, con);
@@ -316,7 +380,7 @@ public class ConceptMap implements Answer<ConceptMap> {
     @CheckReturnValue
     public Stream<ConceptMap> expandHierarchies(Set<Var> toExpand) {
         if (toExpand.isEmpty()) return Stream.of(this);
-        List<Set<Pair<Var, Concept>>> entryOptions = map.entrySet().stream()
+        List<Set<Pair<Var, Concept>>> entryOptions = map().entrySet().stream()
                 .map(e -> {
                     Var var = e.getKey();
                     if (toExpand.contains(var)) {
@@ -342,7 +406,7 @@ public class ConceptMap implements Answer<ConceptMap> {
     @CheckReturnValue
     public Set<Atomic> toPredicates(ReasonerQuery parent) {
         Set<Var> varNames = parent.getVarNames();
-        return map.entrySet().stream()
+        return map().entrySet().stream()
                 .filter(e -> varNames.contains(e.getKey()))
                 .map(e -> IdPredicate.create(e.getKey(), e.getValue(), parent))
                 .collect(Collectors.toSet());
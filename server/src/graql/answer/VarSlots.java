@@ -0,0 +1,184 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.answer;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.graql.query.pattern.Var;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ *     The variables of {@link ConceptMap}s, each at a fixed slot of the array of concepts of a {@link ConceptMap}.
+ * </p>
+ *
+ * <p>
+ *     The answers built together, such as the answers of one traversal or the merges of two streams of answers,
+ *     share the same {@link VarSlots}, so that an answer only holds its concepts. The slots of a merge or of a
+ *     projection are remembered, so that they are worked out once rather than for every answer.
+ * </p>
+ *
+ * <p>
+ *     The slots of the same variables in the same order are interned, so that answers built one at a time, such as
+ *     unified answers, still share their slots, and so that the remembered merge and projection of their slots are
+ *     found again.
+ * </p>
+ */
+public final class VarSlots {
+
+    static final VarSlots EMPTY = new VarSlots(ImmutableSet.of());
+
+    // bounded, as variables without a user defined name are generated for every query
+    private static final Cache<List<Var>, VarSlots> INTERNED = CacheBuilder.newBuilder().maximumSize(10_000).build();
+
+    private final ImmutableSet<Var> vars;
+    private final ImmutableMap<Var, Integer> slots;
+
+    private volatile Merge lastMerge = null;
+    private volatile Projection lastProjection = null;
+
+    private VarSlots(ImmutableSet<Var> vars) {
+        this.vars = vars;
+        ImmutableMap.Builder<Var, Integer> slots = ImmutableMap.builder();
+        int slot = 0;
+        for (Var var : vars) slots.put(var, slot++);
+        this.slots = slots.build();
+    }
+
+    /**
+     * @param vars the variables of the answers, in the order of their slots
+     * @throws IllegalArgumentException if a variable is given more than once
+     */
+    public static VarSlots of(Collection<Var> vars) {
+        if (vars.isEmpty()) return EMPTY;
+        List<Var> key = vars instanceof List ? (List<Var>) vars : ImmutableList.copyOf(vars);
+        VarSlots interned = INTERNED.getIfPresent(key);
+        if (interned != null) return interned;
+
+        ImmutableSet<Var> set = ImmutableSet.copyOf(vars);
+        if (set.size() != vars.size()) throw new IllegalArgumentException("Variables must only be given once: " + vars);
+        return intern(set);
+    }
+
+    private static VarSlots intern(ImmutableSet<Var> vars) {
+        if (vars.isEmpty()) return EMPTY;
+        VarSlots slots = new VarSlots(vars);
+        VarSlots interned = INTERNED.asMap().putIfAbsent(vars.asList(), slots);
+        return interned != null ? interned : slots;
+    }
+
+    public ImmutableSet<Var> vars() {
+        return vars;
+    }
+
+    public int size() {
+        return vars.size();
+    }
+
+    /**
+     * @return the slot of the variable, or -1 if these slots do not have the variable
+     */
+    public int slot(Var var) {
+        Integer slot = slots.get(var);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @return the slots of the merge of answers with these slots with answers with the other slots: these variables
+     * first, in the same slots, and then the other variables which are not part of these
+     */
+    Merge merge(VarSlots other) {
+        Merge merge = lastMerge;
+        if (merge != null && merge.other == other) return merge;
+
+        ImmutableSet.Builder<Var> merged = ImmutableSet.<Var>builder().addAll(vars).addAll(other.vars);
+        VarSlots result = intern(merged.build());
+        int[] otherSlots = new int[other.size()];
+        int i = 0;
+        for (Var var : other.vars) otherSlots[i++] = result.slot(var);
+
+        merge = new Merge(other, result, otherSlots);
+        lastMerge = merge;
+        return merge;
+    }
+
+    /**
+     * @return the slots of the projection of answers with these slots on the given variables
+     */
+    Projection project(Set<Var> projectedVars) {
+        Projection projection = lastProjection;
+        if (projection != null && projection.projectedVars.equals(projectedVars)) return projection;
+
+        ImmutableSet.Builder<Var> retained = ImmutableSet.builder();
+        for (Var var : vars) {
+            if (projectedVars.contains(var)) retained.add(var);
+        }
+        VarSlots result = intern(retained.build());
+        int[] sourceSlots = new int[result.size()];
+        int i = 0;
+        for (Var var : result.vars) sourceSlots[i++] = slot(var);
+
+        projection = new Projection(ImmutableSet.copyOf(projectedVars), result, sourceSlots);
+        lastProjection = projection;
+        return projection;
+    }
+
+    @Override
+    public String toString() {
+        return vars.toString();
+    }
+
+    /**
+     * The slots of the merge of answers with two {@link VarSlots}
+     */
+    static final class Merge {
+        private final VarSlots other;
+        final VarSlots result;
+        // the slot in the result of every slot of the other answer
+        final int[] otherSlots;
+
+        private Merge(VarSlots other, VarSlots result, int[] otherSlots) {
+            this.other = other;
+            this.result = result;
+            this.otherSlots = otherSlots;
+        }
+    }
+
+    /**
+     * The slots of the projection of answers on some variables
+     */
+    static final class Projection {
+        private final Set<Var> projectedVars;
+        final VarSlots result;
+        // for every slot of the result, the slot of the same variable in the answer which is projected
+        final int[] sourceSlots;
+
+        private Projection(Set<Var> projectedVars, VarSlots result, int[] sourceSlots) {
+            this.projectedVars = projectedVars;
+            this.result = result;
+            this.sourceSlots = sourceSlots;
+        }
+    }
+}
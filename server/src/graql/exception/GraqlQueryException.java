@@ -245,6 +245,10 @@ public class GraqlQueryException extends GraknException {
         return new GraqlQueryException(ErrorMessage.UNKNOWN_AGGREGATE.getMessage(name));
     }
 
+    public static GraqlQueryException invalidPercentile(long percentile) {
+        return new GraqlQueryException(ErrorMessage.INVALID_PERCENTILE.getMessage(percentile));
+    }
+
     public static GraqlQueryException maxIterationsReached(Class<?> clazz) {
         return new GraqlQueryException(ErrorMessage.MAX_ITERATION_REACHED
                 .getMessage(clazz.toString()));
@@ -78,6 +78,7 @@ aggregate      : identifier argument*             # customAgg
                ;
 argument       : VARIABLE  # variableArgument
                | aggregate # aggregateArgument
+               | INTEGER   # integerArgument
                ;
 
 patterns       : (pattern ';')+ ;
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import grakn.core.common.config.ConfigKey;
 import grakn.core.graql.query.ComputeQuery;
 import grakn.core.graql.query.Graql;
 import grakn.core.graql.query.pattern.Pattern;
@@ -68,6 +69,7 @@ import grakn.core.graql.internal.analytics.Utility;
 import grakn.core.server.ComputeExecutor;
 import grakn.core.graql.exception.GraqlQueryException;
 import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.session.cache.KeyspaceStatistics;
 import grakn.core.server.session.olap.TransactionOLAP;
 import grakn.core.common.util.CommonUtil;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
@@ -84,6 +86,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -306,6 +309,7 @@ class ComputeExecutorImpl<T extends Answer> implements ComputeExecutor<T> {
     private Stream<Value> runComputeCount() {
         if (!scopeContainsInstance()) {
             LOG.debug("Count = 0");
+            refreshStatistics(convertLabelsToIds(scopeTypeLabels()), Collections.emptyMap());
             return Stream.of(new Value(0));
         }
 
@@ -329,9 +333,64 @@ class ComputeExecutorImpl<T extends Answer> implements ComputeExecutor<T> {
         }
 
         LOG.debug("Count = " + finalCount);
+        refreshStatistics(typeLabelIds, count);
         return Stream.of(new Value(finalCount));
     }
 
+    /**
+     * Helper method to refresh the statistics used for query planning with the exact counts of a compute count query.
+     * A count over the whole keyspace also rebuilds the role-player statistics of the roles by reading the role
+     * players of their relationships, as long as all of these relationships together are few enough to be read, so
+     * that roles which existed before the session are maintained from then on. Roles whose relationship types were
+     * all counted to have no instances are rebuilt without reading anything.
+     *
+     * @param typeLabelIds the types which have been counted
+     * @param count        the number of direct instances of each counted type with instances
+     */
+    private void refreshStatistics(Set<LabelId> typeLabelIds, Map<Integer, Long> count) {
+        KeyspaceStatistics statistics = tx.session().statistics();
+        Map<ConceptId, Long> instanceCounts = new HashMap<>();
+        for (LabelId labelId : typeLabelIds) {
+            SchemaConcept type = tx.getSchemaConcept(labelId);
+            if (type != null) instanceCounts.put(type.id(), count.getOrDefault(labelId.getValue(), 0L));
+        }
+        statistics.refreshInstanceCounts(instanceCounts);
+
+        if (!query.in().isPresent() || query.in().get().isEmpty()) {
+            long scannable = tx.session().config().getProperty(ConfigKey.STATISTICS_MAX_SCANNED_RELATIONSHIPS);
+            Map<LabelId, Collection<Long>> fanOuts = new HashMap<>();
+            for (Role role : tx.getMetaRole().subs().collect(Collectors.toList())) {
+                if (Schema.MetaSchema.isMetaLabel(role.label())) continue;
+
+                Set<RelationshipType> relationshipTypes = role.relationships().flatMap(RelationshipType::subs).collect(Collectors.toSet());
+                long relationships = 0;
+                boolean counted = true;
+                for (RelationshipType relationshipType : relationshipTypes) {
+                    LabelId labelId = tx.convertToId(relationshipType.label());
+                    counted &= typeLabelIds.contains(labelId);
+                    relationships += count.getOrDefault(labelId.getValue(), 0L);
+                }
+                if (!counted || relationships > scannable) continue;
+
+                scannable -= relationships;
+                fanOuts.put(tx.convertToId(role.label()), fanOuts(role, relationshipTypes));
+            }
+            statistics.refreshRolePlayers(fanOuts);
+        }
+    }
+
+    /**
+     * @return how many of the given relationships each player of the role plays the role in
+     */
+    private static Collection<Long> fanOuts(Role role, Set<RelationshipType> relationshipTypes) {
+        Map<ConceptId, Long> fanOuts = new HashMap<>();
+        relationshipTypes.stream()
+                .flatMap(relationshipType -> relationshipType.instances().filter(relationship -> relationship.type().equals(relationshipType)))
+                .flatMap(relationship -> relationship.rolePlayers(role))
+                .forEach(player -> fanOuts.merge(player.id(), 1L, Long::sum));
+        return fanOuts.values();
+    }
+
     /**
      * The Graql compute path query run method
      *
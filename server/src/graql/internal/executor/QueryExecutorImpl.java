@@ -38,10 +38,12 @@ import grakn.core.graql.query.pattern.Var;
 import grakn.core.server.ComputeExecutor;
 import grakn.core.server.QueryExecutor;
 import grakn.core.graql.exception.GraqlQueryException;
+import grakn.core.server.metrics.ServerMetrics;
 import grakn.core.server.session.TransactionImpl;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static grakn.core.common.util.CommonUtil.toImmutableList;
@@ -66,13 +68,25 @@ public class QueryExecutorImpl implements QueryExecutor {
         return new QueryExecutorImpl(tx);
     }
 
+    /**
+     * Times a query from when it starts running until its last answer is consumed
+     */
+    private static <T> Stream<T> timed(String type, Supplier<Stream<T>> run) {
+        long start = System.nanoTime();
+        return ServerMetrics.QUERY_EXECUTE_SECONDS.labels(type).observeSecondsUntilExhausted(start, run.get());
+    }
+
     @Override
     public Stream<ConceptMap> run(GetQuery query) {
-        return query.match().stream().map(result -> result.project(query.vars())).distinct();
+        return timed("get", () -> query.match().stream().map(result -> result.project(query.vars())).distinct());
     }
 
     @Override
     public Stream<ConceptMap> run(InsertQuery query) {
+        return timed("insert", () -> runInsert(query));
+    }
+
+    private Stream<ConceptMap> runInsert(InsertQuery query) {
         Collection<VarPatternAdmin> varPatterns = query.admin().varPatterns().stream()
                 .flatMap(v -> v.innerVarPatterns().stream())
                 .collect(toImmutableList());
@@ -95,6 +109,10 @@ public class QueryExecutorImpl implements QueryExecutor {
 
     @Override
     public Stream<ConceptSet> run(DeleteQuery query) {
+        return timed("delete", () -> runDelete(query));
+    }
+
+    private Stream<ConceptSet> runDelete(DeleteQuery query) {
         Stream<ConceptMap> answers = query.admin().match().stream().map(result -> result.project(query.admin().vars())).distinct();
         // TODO: We should not need to collect toSet, once we fix ConceptId.id() to not use cache.
         // Stream.distinct() will then work properly when it calls ConceptImpl.equals()
@@ -112,6 +130,10 @@ public class QueryExecutorImpl implements QueryExecutor {
 
     @Override
     public Stream<ConceptMap> run(DefineQuery query) {
+        return timed("define", () -> runDefine(query));
+    }
+
+    private Stream<ConceptMap> runDefine(DefineQuery query) {
         ImmutableList<VarPatternAdmin> allPatterns = AdminConverter.getVarAdmins(query.varPatterns()).stream()
                 .flatMap(v -> v.innerVarPatterns().stream())
                 .collect(toImmutableList());
@@ -122,6 +144,10 @@ public class QueryExecutorImpl implements QueryExecutor {
 
     @Override
     public Stream<ConceptMap> run(UndefineQuery query) {
+        return timed("undefine", () -> runUndefine(query));
+    }
+
+    private Stream<ConceptMap> runUndefine(UndefineQuery query) {
         ImmutableList<VarPatternAdmin> allPatterns = AdminConverter.getVarAdmins(query.varPatterns()).stream()
                 .flatMap(v -> v.innerVarPatterns().stream())
                 .collect(toImmutableList());
@@ -132,7 +158,7 @@ public class QueryExecutorImpl implements QueryExecutor {
 
     @Override
     public <T extends Answer> Stream<T> run(AggregateQuery<T> query) {
-        return query.aggregate().apply(query.match().stream()).stream();
+        return timed("aggregate", () -> query.aggregate().apply(query.match().stream()).stream());
     }
 
 
@@ -245,7 +245,7 @@ public class QueryOperationExecutor {
     }
 
     private ConceptMap insertAll(ConceptMap map) {
-        concepts.putAll(map.map());
+        map.forEach(concepts::put);
 
         for (VarAndProperty property : sortProperties()) {
             property.executor().execute(this);
@@ -38,12 +38,15 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static grakn.core.common.util.CommonUtil.toImmutableList;
 import static grakn.core.common.util.CommonUtil.toImmutableSet;
 import static java.util.stream.Collectors.joining;
 
@@ -96,6 +99,48 @@ public abstract class GraqlTraversal {
     //        V            V
     public abstract ImmutableSet<ImmutableList<Fragment>> fragments();
 
+    /**
+     * Splits a conjunction into the parts which share no variable, such as {@code $x isa movie; $y isa person;}.
+     * In a single traversal, every part is traversed again for each result of the parts before it, whereas the
+     * traversals of the parts can each be run once and their results combined.
+     *
+     * @return the traversals of the disconnected parts of this traversal, in the order they are first traversed,
+     * or only this traversal if it is connected or is a disjunction
+     */
+    public List<GraqlTraversal> connectedComponents() {
+        if (fragments().size() != 1) return ImmutableList.of(this);
+        ImmutableList<Fragment> fragmentList = Iterables.getOnlyElement(fragments());
+
+        // join the variables of every fragment, including the variables it depends on, into the same component
+        Map<Var, Var> parents = new HashMap<>();
+        for (Fragment fragment : fragmentList) {
+            Var root = root(parents, fragment.start());
+            for (Var var : Sets.union(fragment.vars(), fragment.dependencies())) {
+                parents.put(root(parents, var), root);
+            }
+        }
+
+        // the fragments of a component are kept in the order they were planned
+        Map<Var, ImmutableList.Builder<Fragment>> components = new LinkedHashMap<>();
+        for (Fragment fragment : fragmentList) {
+            components.computeIfAbsent(root(parents, fragment.start()), root -> ImmutableList.builder()).add(fragment);
+        }
+
+        if (components.size() == 1) return ImmutableList.of(this);
+        return components.values().stream()
+                .map(component -> new AutoValue_GraqlTraversal(ImmutableSet.of(component.build())))
+                .collect(toImmutableList());
+    }
+
+    private static Var root(Map<Var, Var> parents, Var var) {
+        Var parent = parents.getOrDefault(var, var);
+        if (parent.equals(var)) return var;
+
+        Var root = root(parents, parent);
+        parents.put(var, root);
+        return root;
+    }
+
     /**
      * @param transform map defining id transform var -> new id
      * @return graql traversal with concept id transformed according to the provided transform
@@ -62,8 +62,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static grakn.core.graql.query.Graql.var;
 import static grakn.core.graql.internal.gremlin.fragment.Fragment.SHARD_LOAD_FACTOR;
@@ -102,20 +104,36 @@ public class GreedyTraversalPlan {
      */
     private static List<Fragment> planForConjunction(ConjunctionQuery query, TransactionImpl<?> tx) {
 
-        final List<Fragment> plan = new ArrayList<>(); // this will be the final plan
-        final Map<NodeId, Node> allNodes = new HashMap<>(); // all the nodes in the spanning tree
-
-        final Set<Node> connectedNodes = new HashSet<>();
-        final Map<Node, Double> nodesWithFixedCost = new HashMap<>();
-
         // getting all the fragments from the conjunction query
         final Set<Fragment> allFragments = query.getEquivalentFragmentSets().stream()
                 .flatMap(EquivalentFragmentSet::stream).collect(Collectors.toSet());
+        final Set<Var> queryVars = allFragments.stream()
+                .flatMap(fragment -> Stream.concat(fragment.vars().stream(), fragment.dependencies().stream()))
+                .collect(Collectors.toSet());
 
         // if role p[ayers' types are known, we can infer the types of the relationship
         // then add a label fragment to the fragment set
         inferRelationshipTypes(tx, allFragments);
 
+        // the same query sent again with different ids or values reuses the plan made the first time
+        return tx.session().planCache().plan(allFragments, queryVars, tx.txCache().planCacheGeneration(),
+                tx.session().statistics().epoch(), fragments -> planForFragments(fragments, tx));
+    }
+
+    /**
+     * Create a plan using Edmonds' algorithm with greedy approach to execute the fragments of a single conjunction
+     *
+     * @param allFragments all the fragments of the conjunction, including inferred ones
+     * @return a semi-optimal traversal plan to execute the fragments
+     */
+    private static List<Fragment> planForFragments(Set<Fragment> allFragments, TransactionImpl<?> tx) {
+
+        final List<Fragment> plan = new ArrayList<>(); // this will be the final plan
+        final Map<NodeId, Node> allNodes = new HashMap<>(); // all the nodes in the spanning tree
+
+        final Set<Node> connectedNodes = new HashSet<>();
+        final Map<Node, Double> nodesWithFixedCost = new HashMap<>();
+
         // it's possible that some (or all) fragments are disconnect
         // e.g. $x isa person; $y isa dog;
         // these are valid conjunctions and useful when inserting new data
@@ -137,7 +155,7 @@ public class GreedyTraversalPlan {
                     edgeFragmentSet.add(fragment);
                     // when we are have more info from the cache, e.g. instance count,
                     // we can have a better estimate on the cost of the fragment
-                    updateFragmentCost(allNodes, nodesWithFixedCost, fragment);
+                    updateFragmentCost(allNodes, nodesWithFixedCost, tx, fragment);
 
                 } else if (fragment.hasFixedFragmentCost()) {
                     Node node = Node.addIfAbsent(NodeId.NodeType.VAR, fragment.start(), allNodes);
@@ -401,10 +419,16 @@ public class GreedyTraversalPlan {
             // fragments that should be done right away
             plan.add(fragment);
             double logInstanceCount = -1D;
-            Long shardCount = fragment.getShardCount(tx);
-            if (shardCount > 0) {
-                logInstanceCount = Math.log(shardCount - 1D + SHARD_LOAD_FACTOR) +
-                        Math.log(tx.shardingThreshold());
+            Optional<Long> instanceCount = fragment.getInstanceCount(tx);
+            if (instanceCount.isPresent()) {
+                // the statistics of the keyspace know how many instances the type has
+                logInstanceCount = Math.log1p(instanceCount.get());
+            } else {
+                Long shardCount = fragment.getShardCount(tx);
+                if (shardCount > 0) {
+                    logInstanceCount = Math.log(shardCount - 1D + SHARD_LOAD_FACTOR) +
+                            Math.log(tx.shardingThreshold());
+                }
             }
             nodesWithFixedCost.put(start, logInstanceCount);
             start.setFixedFragmentCost(fragment.fragmentCost());
@@ -461,15 +485,18 @@ public class GreedyTraversalPlan {
 
     private static void updateFragmentCost(Map<NodeId, Node> allNodes,
                                            Map<Node, Double> nodesWithFixedCost,
+                                           TransactionImpl<?> tx,
                                            Fragment fragment) {
 
-        // ideally, this is where we update fragment cost after we get more info and statistics of the graph
-        // however, for now, only shard count is available, which is used to infer number of instances of a type
+        // the number of instances of a type comes from the statistics of the keyspace when they are available,
+        // otherwise it is inferred from the shard count
         if (fragment instanceof InIsaFragment) {
             Node type = Node.addIfAbsent(NodeId.NodeType.VAR, fragment.start(), allNodes);
-            if (nodesWithFixedCost.containsKey(type) && nodesWithFixedCost.get(type) > 0) {
+            if (nodesWithFixedCost.containsKey(type) && nodesWithFixedCost.get(type) >= 0) {
                 fragment.setAccurateFragmentCost(nodesWithFixedCost.get(type));
             }
+        } else {
+            fragment.estimatedFragmentCost(tx).ifPresent(fragment::setAccurateFragmentCost);
         }
     }
 
@@ -0,0 +1,246 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.gremlin;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.internal.gremlin.fragment.Fragment;
+import grakn.core.graql.internal.gremlin.fragment.LabelFragment;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.server.keyspace.Keyspace;
+import grakn.core.server.metrics.ServerMetrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static grakn.core.common.util.CommonUtil.toImmutableList;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>
+ *     Caches the traversal plans of the conjunctions matched in a {@link Keyspace}, so that a query which is sent
+ *     again with different ids or values is not planned again
+ * </p>
+ *
+ * <p>
+ *     Plans are cached by the shape of the fragments of a conjunction: the fragments without the ids and values
+ *     of the query, and with the variables generated by Graql numbered in the order they were generated, which is
+ *     the same every time a query is parsed. A cached plan is the order in which the shapes are traversed, which is
+ *     applied to the fragments of every conjunction with the same shape.
+ * </p>
+ *
+ * <p>
+ *     Plans depend on the schema, so every commit which changes the schema invalidates the cache. A transaction only
+ *     shares plans made with the schema it read when it was opened, and never once it changed the schema itself.
+ *     Plans also depend on the statistics of the keyspace, so they are only shared while the epoch of the statistics
+ *     they were made with is unchanged.
+ * </p>
+ */
+public class TraversalPlanCache {
+    private final Cache<String, PlanSkeleton> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder plansMade = new LongAdder();
+    private final LongAdder planningTimeNanos = new LongAdder();
+
+    public TraversalPlanCache(Config config) {
+        long maxSize = config.getProperty(ConfigKey.TRAVERSAL_PLAN_CACHE_MAX_SIZE);
+        if (maxSize > 0) {
+            cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+        } else {
+            cache = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return the current generation of the cache, which changes every time the cache is invalidated
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Drops every cached plan, because the schema they were made with has changed
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (cache != null) cache.invalidateAll();
+    }
+
+    /**
+     * @param fragments  all the fragments of a conjunction, including those inferred by the planner
+     * @param queryVars  the variables of the conjunction as it was queried, before the planner inferred anything
+     * @param generation the generation of the cache the planning transaction reads, or empty if it cannot share plans
+     * @param statisticsEpoch the epoch of the statistics the plan is made with
+     * @param planner    plans the fragments when there is no cached plan
+     * @return a plan of the fragments
+     */
+    List<Fragment> plan(Set<Fragment> fragments, Set<Var> queryVars, OptionalLong generation, long statisticsEpoch,
+                        Function<Set<Fragment>, List<Fragment>> planner) {
+        if (cache == null || !generation.isPresent()) return makePlan(fragments, planner);
+
+        Map<Var, String> varNames = canonicalVarNames(fragments, queryVars);
+        if (new HashSet<>(varNames.values()).size() != varNames.size()) {
+            // variables with the same name cannot be told apart in a cached plan
+            return makePlan(fragments, planner);
+        }
+
+        Map<String, Fragment> fragmentsByShape = new HashMap<>();
+        for (Fragment fragment : fragments) {
+            if (fragmentsByShape.put(fragment.shape(varNames::get), fragment) != null) {
+                // fragments of the same shape cannot be told apart in a cached plan
+                return makePlan(fragments, planner);
+            }
+        }
+
+        String key = generation.getAsLong() + ":" + statisticsEpoch + ":" + fragmentsByShape.keySet().stream().sorted().collect(joining(" "));
+        PlanSkeleton skeleton = cache.getIfPresent(key);
+        if (skeleton != null) {
+            List<Fragment> plan = skeleton.apply(fragmentsByShape);
+            if (plan != null) return plan;
+        }
+
+        List<Fragment> plan = makePlan(fragments, planner);
+        if (plan.stream().allMatch(fragment -> fragmentsByShape.containsKey(fragment.shape(varNames::get)))) {
+            cache.put(key, PlanSkeleton.of(plan, varNames));
+        }
+        return plan;
+    }
+
+    private List<Fragment> makePlan(Set<Fragment> fragments, Function<Set<Fragment>, List<Fragment>> planner) {
+        long start = System.nanoTime();
+        List<Fragment> plan = planner.apply(fragments);
+        planningTimeNanos.add(System.nanoTime() - start);
+        ServerMetrics.TRAVERSAL_PLAN_SECONDS.observeSecondsSince(start);
+        plansMade.increment();
+        return plan;
+    }
+
+    /**
+     * Names the variables of a conjunction so that they are the same every time the conjunction is queried
+     */
+    private static Map<Var, String> canonicalVarNames(Set<Fragment> fragments, Set<Var> queryVars) {
+        Map<Var, String> varNames = new HashMap<>();
+
+        List<Var> generatedVars = queryVars.stream()
+                .filter(var -> var.kind() == Var.Kind.Generated)
+                .sorted(Comparator.comparing((Var var) -> var.getValue().length()).thenComparing(Var::getValue))
+                .collect(toList());
+        for (int i = 0; i < generatedVars.size(); i++) {
+            varNames.put(generatedVars.get(i), "?" + i);
+        }
+
+        queryVars.stream().filter(var -> var.kind() != Var.Kind.Generated).forEach(var -> varNames.put(var, var.name()));
+
+        // the planner infers one type variable per label
+        fragments.stream()
+                .filter(LabelFragment.class::isInstance)
+                .filter(fragment -> !varNames.containsKey(fragment.start()))
+                .forEach(fragment -> varNames.put(fragment.start(), "?" + ((LabelFragment) fragment).labels()));
+
+        // any other variable keeps its own name, so the conjunction simply never shares its plan
+        fragments.stream()
+                .flatMap(fragment -> fragment.vars().stream())
+                .forEach(var -> varNames.putIfAbsent(var, var.name()));
+        fragments.stream()
+                .flatMap(fragment -> fragment.dependencies().stream())
+                .forEach(var -> varNames.putIfAbsent(var, var.name()));
+
+        return varNames;
+    }
+
+    /**
+     * @return the hit and miss counts of the cache, which are all zero when the cache is disabled
+     */
+    public CacheStats stats() {
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    /**
+     * @return the number of conjunctions which have been planned, because they were not cached
+     */
+    public long plansMade() {
+        return plansMade.sum();
+    }
+
+    /**
+     * @return the total time spent planning conjunctions which were not cached
+     */
+    public long planningTimeNanos() {
+        return planningTimeNanos.sum();
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * A cached plan: the shapes of the fragments of the plan in the order they are traversed, and their costs
+     */
+    private static final class PlanSkeleton {
+        private final ImmutableList<String> shapes;
+        private final double[] costs;
+
+        private PlanSkeleton(ImmutableList<String> shapes, double[] costs) {
+            this.shapes = shapes;
+            this.costs = costs;
+        }
+
+        static PlanSkeleton of(List<Fragment> plan, Map<Var, String> varNames) {
+            ImmutableList<String> shapes = plan.stream()
+                    .map(fragment -> fragment.shape(varNames::get))
+                    .collect(toImmutableList());
+            double[] costs = plan.stream().mapToDouble(Fragment::fragmentCost).toArray();
+            return new PlanSkeleton(shapes, costs);
+        }
+
+        /**
+         * @return the plan of the given fragments, or null if they do not have the shapes of this plan
+         */
+        List<Fragment> apply(Map<String, Fragment> fragmentsByShape) {
+            List<Fragment> plan = new ArrayList<>(shapes.size());
+            for (int i = 0; i < shapes.size(); i++) {
+                Fragment fragment = fragmentsByShape.get(shapes.get(i));
+                if (fragment == null) return null;
+
+                // the costs are kept so that the complexity of the traversal is the same as when it was planned
+                fragment.setAccurateFragmentCost(costs[i]);
+                plan.add(fragment);
+            }
+            return plan;
+        }
+    }
+}
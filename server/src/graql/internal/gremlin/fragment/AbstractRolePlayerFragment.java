@@ -27,6 +27,7 @@ import grakn.core.graql.internal.gremlin.spanningtree.graph.Node;
 import grakn.core.graql.internal.gremlin.spanningtree.graph.NodeId;
 import grakn.core.graql.internal.gremlin.spanningtree.util.Weighted;
 import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.session.cache.KeyspaceStatistics;
 import grakn.core.graql.internal.Schema;
 import com.google.common.collect.ImmutableSet;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
@@ -34,9 +35,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static grakn.core.graql.internal.gremlin.fragment.Fragments.displayOptionalTypeLabels;
 import static java.util.stream.Collectors.toSet;
@@ -60,11 +65,15 @@ public abstract class AbstractRolePlayerFragment extends Fragment {
     abstract @Nullable ImmutableSet<Label> relationTypeLabels();
 
     final String innerName() {
+        return innerName(Var::shortName);
+    }
+
+    final String innerName(Function<Var, String> varNames) {
         Var role = role();
-        String roleString = role != null ? " role:" + role.shortName() : "";
+        String roleString = role != null ? " role:" + varNames.apply(role) : "";
         String rels = displayOptionalTypeLabels("rels", relationTypeLabels());
         String roles = displayOptionalTypeLabels("roles", roleLabels());
-        return "[" + Schema.EdgeLabel.ROLE_PLAYER.getLabel() + ":" + edge().shortName() + roleString + rels + roles + "]";
+        return "[" + Schema.EdgeLabel.ROLE_PLAYER.getLabel() + ":" + varNames.apply(edge()) + roleString + rels + roles + "]";
     }
 
     @Override
@@ -81,6 +90,23 @@ public abstract class AbstractRolePlayerFragment extends Fragment {
         return directedEdges(edge(), nodes, edges);
     }
 
+    /**
+     * @return the statistics of the role players of every role of this fragment, if the role labels and
+     * their statistics are known
+     */
+    Optional<List<KeyspaceStatistics.RolePlayerStatistics>> rolePlayerStatistics(TransactionImpl<?> tx) {
+        if (roleLabels() == null) return Optional.empty();
+
+        List<KeyspaceStatistics.RolePlayerStatistics> statistics = new ArrayList<>();
+        for (Label roleLabel : roleLabels()) {
+            Optional<KeyspaceStatistics.RolePlayerStatistics> roleStatistics =
+                    tx.session().statistics().rolePlayers(tx.convertToId(roleLabel));
+            if (!roleStatistics.isPresent()) return Optional.empty();
+            statistics.add(roleStatistics.get());
+        }
+        return Optional.of(statistics);
+    }
+
     static void applyLabelsToTraversal(
             GraphTraversal<?, Edge> traversal, Schema.EdgeProperty property,
             @Nullable Set<Label> typeLabels, TransactionImpl<?> tx) {
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
+import java.util.function.Function;
 
 import static grakn.core.graql.internal.Schema.VertexProperty.INDEX;
 
@@ -46,6 +47,11 @@ abstract class AttributeIndexFragment extends Fragment {
         return "[index:" + attributeIndex() + "]";
     }
 
+    @Override
+    String shapeName(Function<Var, String> varNames) {
+        return "[index]";
+    }
+
     @Override
     public double internalFragmentCost() {
         return COST_NODE_INDEX;
@@ -39,7 +39,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static grakn.core.graql.internal.gremlin.spanningtree.util.Weighted.weighted;
 
@@ -217,6 +219,26 @@ public abstract class Fragment {
      */
     public abstract String name();
 
+    /**
+     * The shape of the fragment: its name and variables, with the ids and values of the query left out.
+     * Fragments of the same shape are planned the same way, whatever ids or values they look up.
+     *
+     * @param varNames the name to use for every variable of the fragment
+     */
+    public final String shape(Function<Var, String> varNames) {
+        String shape = varNames.apply(start()) + shapeName(varNames);
+        if (end() != null) shape += varNames.apply(end());
+
+        return shape;
+    }
+
+    /**
+     * The name of the fragment as it appears in its shape
+     */
+    String shapeName(Function<Var, String> varNames) {
+        return name();
+    }
+
     /**
      * A starting fragment is a fragment that can start a traversal.
      * If any other fragment is present that refers to the same variable, the starting fragment can be omitted.
@@ -256,6 +278,22 @@ public abstract class Fragment {
         return 0L;
     }
 
+    /**
+     * @return the number of instances of the types of this fragment, if the statistics of the keyspace know it
+     */
+    public Optional<Long> getInstanceCount(TransactionImpl<?> tx) {
+        return Optional.empty();
+    }
+
+    /**
+     * Estimate the cost of the fragment from the statistics of the keyspace
+     *
+     * @return the estimated cost, or empty when the statistics needed are not known
+     */
+    public Optional<Double> estimatedFragmentCost(TransactionImpl<?> tx) {
+        return Optional.empty();
+    }
+
     /**
      * Indicates whether the fragment can be used on an {@link org.apache.tinkerpop.gremlin.structure.Edge} as well as
      * a {@link org.apache.tinkerpop.gremlin.structure.Vertex}.
@@ -21,12 +21,14 @@ package grakn.core.graql.internal.gremlin.fragment;
 import grakn.core.graql.concept.AttributeType;
 import grakn.core.graql.concept.ConceptId;
 import grakn.core.graql.concept.Label;
+import grakn.core.graql.concept.Type;
 import grakn.core.graql.query.Graql;
 import grakn.core.graql.query.predicate.ValuePredicate;
 import grakn.core.graql.query.pattern.Var;
 import grakn.core.graql.query.pattern.property.VarProperty;
 import grakn.core.graql.internal.util.StringConverter;
 import grakn.core.graql.internal.Schema;
+import grakn.core.server.session.TransactionImpl;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
@@ -37,6 +39,8 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 import static grakn.core.graql.internal.Schema.EdgeLabel.SUB;
@@ -243,6 +247,19 @@ public class Fragments {
         }
     }
 
+    /**
+     * @return the total number of direct instances of the given types, if the statistics of the keyspace know them all
+     */
+    static Optional<Long> instanceCount(TransactionImpl<?> tx, Collection<? extends Type> types) {
+        long total = 0;
+        for (Type type : types) {
+            Optional<Long> count = tx.session().statistics().instanceCount(type.id());
+            if (!count.isPresent()) return Optional.empty();
+            total += count.get();
+        }
+        return Optional.of(total);
+    }
+
     static <S> GraphTraversal<S, Vertex> traverseSchemaConceptFromEdge(
             GraphTraversal<S, Edge> traversal, Schema.EdgeProperty edgeProperty) {
 
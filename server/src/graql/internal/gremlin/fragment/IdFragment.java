@@ -32,6 +32,7 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
+import java.util.function.Function;
 
 import static grakn.core.graql.internal.util.StringConverter.idToString;
 
@@ -78,6 +79,11 @@ abstract class IdFragment extends Fragment {
         return "[id:" + idToString(id()) + "]";
     }
 
+    @Override
+    String shapeName(Function<Var, String> varNames) {
+        return "[id]";
+    }
+
     @Override
     public double internalFragmentCost() {
         return COST_NODE_INDEX;
@@ -20,6 +20,7 @@ package grakn.core.graql.internal.gremlin.fragment;
 
 import grakn.core.graql.query.pattern.Var;
 import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.session.cache.KeyspaceStatistics;
 import grakn.core.graql.internal.Schema;
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableSet;
@@ -32,6 +33,8 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
 
 import static grakn.core.graql.query.pattern.Patterns.RELATION_DIRECTION;
 import static grakn.core.graql.query.pattern.Patterns.RELATION_EDGE;
@@ -97,8 +100,20 @@ abstract class InRolePlayerFragment extends AbstractRolePlayerFragment {
         return "<-" + innerName() + "-";
     }
 
+    @Override
+    String shapeName(Function<Var, String> varNames) {
+        return "<-" + innerName(varNames) + "-";
+    }
+
     @Override
     public double internalFragmentCost() {
         return COST_RELATIONS_PER_INSTANCE;
     }
+
+    @Override
+    public Optional<Double> estimatedFragmentCost(TransactionImpl<?> tx) {
+        // the number of relationships a role player plays the roles in
+        return rolePlayerStatistics(tx).map(statistics -> Math.log1p(
+                statistics.stream().mapToDouble(KeyspaceStatistics.RolePlayerStatistics::averageFanOut).sum()));
+    }
 }
@@ -20,6 +20,7 @@ package grakn.core.graql.internal.gremlin.fragment;
 
 import grakn.core.graql.concept.Label;
 import grakn.core.graql.concept.SchemaConcept;
+import grakn.core.graql.concept.Type;
 import grakn.core.graql.query.pattern.Var;
 import grakn.core.graql.internal.util.StringConverter;
 import grakn.core.server.session.TransactionImpl;
@@ -32,6 +33,7 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 import static grakn.core.graql.internal.Schema.VertexProperty.LABEL_ID;
@@ -88,4 +90,16 @@ public abstract class LabelFragment extends Fragment {
                 .mapToLong(schemaConcept -> tx.getShardCount(schemaConcept.asType()))
                 .sum();
     }
+
+    @Override
+    public Optional<Long> getInstanceCount(TransactionImpl<?> tx) {
+        Set<Type> types = labels().stream()
+                .map(tx::<SchemaConcept>getSchemaConcept)
+                .filter(schemaConcept -> schemaConcept != null && schemaConcept.isType())
+                .flatMap(SchemaConcept::subs)
+                .map(SchemaConcept::asType)
+                .collect(toSet());
+        if (types.isEmpty()) return Optional.empty();
+        return Fragments.instanceCount(tx, types);
+    }
 }
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
+import java.util.function.Function;
 
 /**
  * A fragment representing a negation.
@@ -49,6 +50,11 @@ public abstract class NeqFragment extends Fragment {
         return "[neq:" + other().shortName() + "]";
     }
 
+    @Override
+    String shapeName(Function<Var, String> varNames) {
+        return "[neq:" + varNames.apply(other()) + "]";
+    }
+
     @Override
     public double internalFragmentCost() {
         // This is arbitrary - we imagine about half the results are filtered out
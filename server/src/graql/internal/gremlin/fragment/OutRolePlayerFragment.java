@@ -19,7 +19,11 @@
 package grakn.core.graql.internal.gremlin.fragment;
 
 import grakn.core.graql.query.pattern.Var;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.SchemaConcept;
+import grakn.core.graql.concept.Type;
 import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.session.cache.KeyspaceStatistics;
 import grakn.core.graql.internal.Schema;
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableSet;
@@ -32,6 +36,10 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static grakn.core.graql.query.pattern.Patterns.RELATION_DIRECTION;
 import static grakn.core.graql.query.pattern.Patterns.RELATION_EDGE;
@@ -40,6 +48,7 @@ import static grakn.core.graql.internal.Schema.EdgeProperty.RELATIONSHIP_ROLE_OW
 import static grakn.core.graql.internal.Schema.EdgeProperty.RELATIONSHIP_ROLE_VALUE_LABEL_ID;
 import static grakn.core.graql.internal.Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID;
 import static grakn.core.graql.internal.Schema.EdgeProperty.ROLE_LABEL_ID;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * A fragment representing traversing a {@link Schema.EdgeLabel#ROLE_PLAYER} edge from the relation to the
@@ -98,11 +107,46 @@ public abstract class OutRolePlayerFragment extends AbstractRolePlayerFragment {
         return "-" + innerName() + "->";
     }
 
+    @Override
+    String shapeName(Function<Var, String> varNames) {
+        return "-" + innerName(varNames) + "->";
+    }
+
     @Override
     public double internalFragmentCost() {
         return roleLabels() != null ? COST_ROLE_PLAYERS_PER_ROLE : COST_ROLE_PLAYERS_PER_RELATION;
     }
 
+    @Override
+    public Optional<Double> estimatedFragmentCost(TransactionImpl<?> tx) {
+        Optional<List<KeyspaceStatistics.RolePlayerStatistics>> rolePlayers = rolePlayerStatistics(tx);
+        if (!rolePlayers.isPresent()) return Optional.empty();
+
+        // the relationships which can have role players playing the roles of this fragment
+        Set<Type> relationshipTypes;
+        if (relationTypeLabels() != null) {
+            relationshipTypes = relationTypeLabels().stream()
+                    .map(tx::<SchemaConcept>getSchemaConcept)
+                    .filter(schemaConcept -> schemaConcept != null && schemaConcept.isType())
+                    .flatMap(SchemaConcept::subs)
+                    .map(SchemaConcept::asType)
+                    .collect(toSet());
+        } else {
+            relationshipTypes = roleLabels().stream()
+                    .map(tx::<SchemaConcept>getSchemaConcept)
+                    .filter(schemaConcept -> schemaConcept != null && schemaConcept.isRole())
+                    .flatMap(schemaConcept -> schemaConcept.asRole().relationships())
+                    .flatMap(RelationshipType::subs)
+                    .collect(toSet());
+        }
+
+        // the number of role players of a relationship playing the roles
+        return Fragments.instanceCount(tx, relationshipTypes).map(relationships -> {
+            long edges = rolePlayers.get().stream().mapToLong(KeyspaceStatistics.RolePlayerStatistics::edges).sum();
+            return Math.log1p((double) edges / Math.max(relationships, 1L));
+        });
+    }
+
     @Override
     public boolean canOperateOnEdges() {
         return true;
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Function;
 
 import static grakn.core.common.util.CommonUtil.optionalToStream;
 import static java.util.stream.Collectors.toSet;
@@ -50,6 +51,14 @@ abstract class ValueFragment extends Fragment {
         return "[value:" + predicate() + "]";
     }
 
+    @Override
+    String shapeName(Function<Var, String> varNames) {
+        // the kind of predicate decides the cost of the fragment, and the variable it compares with its dependencies
+        String argument = predicate().getInnerVar().map(inner -> varNames.apply(inner.var()))
+                .orElse(predicate().isSpecific() ? "specific" : "");
+        return "[value:" + predicate().getClass().getSimpleName() + " " + argument + "]";
+    }
+
     @Override
     public double internalFragmentCost() {
         if (predicate().isSpecific()) {
@@ -21,6 +21,7 @@ package grakn.core.graql.internal.match;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableSet;
 import grakn.core.graql.admin.MatchAdmin;
+import grakn.core.graql.query.pattern.PatternAdmin;
 import grakn.core.graql.query.pattern.VarPatternAdmin;
 import grakn.core.graql.answer.Answer;
 import grakn.core.graql.answer.ConceptMap;
@@ -64,11 +65,26 @@ abstract class AbstractMatch implements MatchAdmin {
      */
     public abstract Stream<ConceptMap> stream(TransactionImpl<?> tx);
 
+    /**
+     * Execute the query using the given graph, when no more than the given number of results will be consumed.
+     * Modifiers which must see every result before returning the first, such as ordering, use the bound to only
+     * keep as many results as will be consumed.
+     * @param tx the graph to use to execute the query
+     * @param bound the maximum number of results that will be consumed
+     * @return a stream of results
+     */
+    Stream<ConceptMap> stream(TransactionImpl<?> tx, long bound) {
+        return stream(tx);
+    }
+
     @Override
     public final Stream<ConceptMap> stream() {
         return stream(null);
     }
 
+    @Override
+    public abstract AbstractMatch and(Collection<? extends PatternAdmin> patterns);
+
     /**
      * @param tx the {@link Transaction} against which the pattern should be validated
      */
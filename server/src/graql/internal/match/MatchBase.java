@@ -26,10 +26,13 @@ import grakn.core.graql.query.Match;
 import grakn.core.graql.query.pattern.Var;
 import grakn.core.graql.query.pattern.Conjunction;
 import grakn.core.graql.query.pattern.PatternAdmin;
+import grakn.core.graql.query.pattern.Patterns;
 import grakn.core.graql.internal.gremlin.GraqlTraversal;
 import grakn.core.graql.internal.gremlin.GreedyTraversalPlan;
 import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.answer.VarSlots;
 import grakn.core.server.session.TransactionImpl;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -38,7 +41,8 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -55,6 +59,10 @@ public class MatchBase extends AbstractMatch {
 
     protected final Logger LOG = LoggerFactory.getLogger(MatchBase.class);
 
+    // results of a disconnected part kept to be combined with every result of the parts before it, above which the
+    // part is traversed again for every such result instead
+    private static final int MAX_KEPT_COMPONENT_RESULTS = 10_000;
+
     private final Conjunction<PatternAdmin> pattern;
 
     /**
@@ -89,36 +97,77 @@ public class MatchBase extends AbstractMatch {
     ) {
         Set<Var> vars = Sets.filter(commonVars, Var::isUserDefinedName);
 
+        List<GraqlTraversal> components = graqlTraversal.connectedComponents();
+        if (components.size() > 1) return streamWithComponents(vars, tx, components);
+
         GraphTraversal<Vertex, Map<String, Element>> traversal = graqlTraversal.getGraphTraversal(tx, vars);
+        VarSlots slots = VarSlots.of(vars);
 
         return traversal.toStream()
-                .map(elements -> makeResults(vars, tx, elements))
+                .map(elements -> makeResults(slots, tx, elements))
                 .distinct()
-                .sequential()
-                .map(ConceptMap::new);
+                .sequential();
     }
 
     /**
-     * @param vars set of variables of interest
+     * Traverses each disconnected part of a conjunction once and combines their results, instead of traversing every
+     * part again for each result of the parts before it. The results of the parts after the first are kept as they
+     * are read, so that they are only read from the graph as far as they are needed. A part with more results than
+     * {@link #MAX_KEPT_COMPONENT_RESULTS} is not kept, but traversed again for every result of the parts before it.
+     *
+     * @param vars       set of variables of interest
+     * @param tx         the graph to get results from
+     * @param components the traversals of the disconnected parts of the conjunction
+     * @return resulting answer stream
+     */
+    private static Stream<ConceptMap> streamWithComponents(Set<Var> vars, TransactionImpl<?> tx, List<GraqlTraversal> components) {
+        Stream<ConceptMap> results = componentResults(vars, tx, components.get(0));
+
+        for (GraqlTraversal component : components.subList(1, components.size())) {
+            ReplayableStream<ConceptMap> componentResults = new ReplayableStream<>(
+                    () -> componentResults(vars, tx, component), MAX_KEPT_COMPONENT_RESULTS);
+            results = results.flatMap(result -> componentResults.stream().map(result::merge));
+        }
+
+        // parts share no variable, so distinct results of every part combine into distinct results
+        return results;
+    }
+
+    private static Stream<ConceptMap> componentResults(Set<Var> vars, TransactionImpl<?> tx, GraqlTraversal component) {
+        Set<Var> componentVars = Sets.intersection(vars, Iterables.getOnlyElement(component.fragments()).stream()
+                .flatMap(fragment -> fragment.vars().stream())
+                .collect(toSet()));
+        VarSlots slots = VarSlots.of(componentVars);
+
+        Stream<ConceptMap> results = component.getGraphTraversal(tx, componentVars).toStream()
+                .map(elements -> makeResults(slots, tx, elements))
+                .distinct();
+
+        // a part without variables of interest only has to match once
+        return componentVars.isEmpty() ? results.limit(1) : results;
+    }
+
+    /**
+     * @param slots the slots of the variables of interest, shared by all the answers of the traversal
      * @param tx the graph to get results from
      * @param elements a map of vertices and edges where the key is the variable name
-     * @return a map of concepts where the key is the variable name
+     * @return an answer with the concept of every variable of interest
      */
-    private static Map<Var, Concept> makeResults(
-            Set<Var> vars, TransactionImpl<?> tx, Map<String, Element> elements) {
+    private static ConceptMap makeResults(
+            VarSlots slots, TransactionImpl<?> tx, Map<String, Element> elements) {
 
-        Map<Var, Concept> map = new HashMap<>();
-        for (Var var : vars) {
+        Concept[] concepts = new Concept[slots.size()];
+        int slot = 0;
+        for (Var var : slots.vars()) {
             Element element = elements.get(var.name());
             if (element == null) {
                 throw GraqlQueryException.unexpectedResult(var);
             } else {
-                Concept concept = buildConcept(tx, element);
-                map.put(var, concept);
+                concepts[slot++] = buildConcept(tx, element);
             }
         }
 
-        return map;
+        return new ConceptMap(slots, concepts);
     }
 
     private static Concept buildConcept(TransactionImpl<?> tx, Element element) {
@@ -149,6 +198,12 @@ public class MatchBase extends AbstractMatch {
         return pattern;
     }
 
+    @Override
+    public MatchBase and(Collection<? extends PatternAdmin> patterns) {
+        Set<PatternAdmin> allPatterns = Sets.union(pattern.getPatterns(), Sets.newHashSet(patterns)).immutableCopy();
+        return new MatchBase(Patterns.conjunction(allPatterns));
+    }
+
     @Override
     public Transaction tx() {
         return null;
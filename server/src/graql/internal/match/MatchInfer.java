@@ -22,12 +22,14 @@ import grakn.core.graql.answer.ConceptMap;
 import grakn.core.graql.exception.GraqlQueryException;
 import grakn.core.graql.query.Match;
 import grakn.core.graql.query.pattern.Conjunction;
+import grakn.core.graql.query.pattern.PatternAdmin;
 import grakn.core.graql.admin.ReasonerQuery;
 import grakn.core.graql.query.pattern.VarPatternAdmin;
 import grakn.core.graql.internal.reasoner.query.ReasonerQueries;
 import grakn.core.graql.internal.reasoner.rule.RuleUtils;
 import grakn.core.server.session.TransactionImpl;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.stream.Stream;
 
@@ -84,6 +86,11 @@ class MatchInfer extends MatchModifier {
         return true;
     }
 
+    @Override
+    public MatchInfer and(Collection<? extends PatternAdmin> patterns) {
+        return new MatchInfer(inner.and(patterns));
+    }
+
     @Override
     protected String modifierString() {
         return "";
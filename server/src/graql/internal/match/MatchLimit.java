@@ -21,8 +21,10 @@ package grakn.core.graql.internal.match;
 import grakn.core.graql.answer.ConceptMap;
 import grakn.core.graql.exception.GraqlQueryException;
 import grakn.core.graql.query.Match;
+import grakn.core.graql.query.pattern.PatternAdmin;
 import grakn.core.server.session.TransactionImpl;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 /**
@@ -43,7 +45,18 @@ class MatchLimit extends MatchModifier {
 
     @Override
     public Stream<ConceptMap> stream(TransactionImpl<?> tx) {
-        return inner.stream(tx).limit(limit);
+        return inner.stream(tx, limit).limit(limit);
+    }
+
+    @Override
+    Stream<ConceptMap> stream(TransactionImpl<?> tx, long bound) {
+        long minLimit = Math.min(limit, bound);
+        return inner.stream(tx, minLimit).limit(minLimit);
+    }
+
+    @Override
+    public MatchLimit and(Collection<? extends PatternAdmin> patterns) {
+        return new MatchLimit(inner.and(patterns), limit);
     }
 
     @Override
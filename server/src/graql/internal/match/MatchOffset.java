@@ -21,8 +21,10 @@ package grakn.core.graql.internal.match;
 import grakn.core.graql.answer.ConceptMap;
 import grakn.core.graql.exception.GraqlQueryException;
 import grakn.core.graql.query.Match;
+import grakn.core.graql.query.pattern.PatternAdmin;
 import grakn.core.server.session.TransactionImpl;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 /**
@@ -46,6 +48,18 @@ class MatchOffset extends MatchModifier {
         return inner.stream(tx).skip(offset);
     }
 
+    @Override
+    Stream<ConceptMap> stream(TransactionImpl<?> tx, long bound) {
+        // the skipped results are consumed too
+        long innerBound = (bound > Long.MAX_VALUE - offset) ? Long.MAX_VALUE : offset + bound;
+        return inner.stream(tx, innerBound).skip(offset);
+    }
+
+    @Override
+    public MatchOffset and(Collection<? extends PatternAdmin> patterns) {
+        return new MatchOffset(inner.and(patterns), offset);
+    }
+
     @Override
     protected String modifierString() {
         return " offset " + offset + ";";
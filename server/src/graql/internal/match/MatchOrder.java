@@ -20,8 +20,10 @@ package grakn.core.graql.internal.match;
 
 import grakn.core.graql.answer.ConceptMap;
 import grakn.core.graql.query.Match;
+import grakn.core.graql.query.pattern.PatternAdmin;
 import grakn.core.server.session.TransactionImpl;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 /**
@@ -42,6 +44,16 @@ class MatchOrder extends MatchModifier {
         return order.orderStream(inner.stream(tx));
     }
 
+    @Override
+    Stream<ConceptMap> stream(TransactionImpl<?> tx, long bound) {
+        return order.orderStream(inner.stream(tx), bound);
+    }
+
+    @Override
+    public MatchOrder and(Collection<? extends PatternAdmin> patterns) {
+        return new MatchOrder(inner.and(patterns), order);
+    }
+
     @Override
     protected String modifierString() {
         return " " + order.toString() + ";";
@@ -23,8 +23,10 @@ import grakn.core.server.Transaction;
 import grakn.core.graql.concept.SchemaConcept;
 import grakn.core.graql.exception.GraqlQueryException;
 import grakn.core.graql.query.Match;
+import grakn.core.graql.query.pattern.PatternAdmin;
 import grakn.core.server.session.TransactionImpl;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -60,6 +62,11 @@ class MatchTx extends MatchModifier {
         return inner.getSchemaConcepts(tx);
     }
 
+    @Override
+    public MatchTx and(Collection<? extends PatternAdmin> patterns) {
+        return new MatchTx(tx, inner.and(patterns));
+    }
+
     @Override
     protected String modifierString() {
         return "";
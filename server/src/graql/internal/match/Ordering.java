@@ -24,7 +24,10 @@ import grakn.core.graql.query.Order;
 import grakn.core.graql.query.pattern.Var;
 import com.google.auto.value.AutoValue;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.stream.Stream;
 
 /**
@@ -34,6 +37,9 @@ import java.util.stream.Stream;
 @AutoValue
 abstract class Ordering {
 
+    // bounds at least this large are sorted without a heap
+    private static final long MAX_HEAP_SIZE = Integer.MAX_VALUE - 8;
+
     abstract Var var();
     abstract Order order();
 
@@ -49,6 +55,44 @@ abstract class Ordering {
         return stream.sorted(comparator());
     }
 
+    /**
+     * Order the stream, when only the first results of the ordered stream will be consumed. Rather than sorting
+     * every result, only the first results are kept in a bounded heap, so memory is proportional to the bound.
+     * @param stream the stream to order
+     * @param bound the maximum number of results of the ordered stream that will be consumed
+     */
+    Stream<ConceptMap> orderStream(Stream<ConceptMap> stream, long bound) {
+        if (bound >= MAX_HEAP_SIZE) return orderStream(stream);
+        // the results are only ordered when the stream is consumed, as with a sorted stream
+        return Stream.of(stream).flatMap(s -> firstResults(s, (int) bound).stream());
+    }
+
+    private List<ConceptMap> firstResults(Stream<ConceptMap> stream, int bound) {
+        // results which compare equal keep the order they were found in, as they do in a sorted stream
+        Comparator<RankedResult> rankedComparator = Comparator
+                .comparing((RankedResult ranked) -> ranked.result, comparator())
+                .thenComparingLong(ranked -> ranked.rank);
+
+        // the head of the heap is the last of the results kept so far
+        PriorityQueue<RankedResult> heap = new PriorityQueue<>(rankedComparator.reversed());
+        long[] rank = {0};
+        stream.forEach(result -> {
+            RankedResult ranked = new RankedResult(result, rank[0]++);
+            if (heap.size() < bound) {
+                heap.add(ranked);
+            } else if (rankedComparator.compare(ranked, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        });
+
+        List<RankedResult> firstResults = new ArrayList<>(heap);
+        firstResults.sort(rankedComparator);
+        List<ConceptMap> results = new ArrayList<>(firstResults.size());
+        firstResults.forEach(ranked -> results.add(ranked.result));
+        return results;
+    }
+
     private Comparator<ConceptMap> comparator() {
         Comparator<ConceptMap> comparator = Comparator.comparing(this::getOrderValue);
         return (order() == Order.desc) ? comparator.reversed() : comparator;
@@ -64,4 +108,14 @@ abstract class Ordering {
     public String toString() {
         return "order by " + var() + " ";
     }
+
+    private static final class RankedResult {
+        private final ConceptMap result;
+        private final long rank;
+
+        private RankedResult(ConceptMap result, long rank) {
+            this.result = result;
+            this.rank = rank;
+        }
+    }
 }
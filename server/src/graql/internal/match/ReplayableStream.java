@@ -0,0 +1,116 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.match;
+
+import com.google.common.collect.Iterators;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+
+/**
+ * <p>
+ *     A {@link Stream} which can be read any number of times, but is only computed once as long as it is small
+ * </p>
+ *
+ * <p>
+ *     The source stream is opened when this stream is first read, and its elements are kept as they are read, so
+ *     that reading only the beginning of this stream only computes the beginning of the source. Every read goes
+ *     through the same source, so this must only be read by the thread of the transaction the source reads from.
+ * </p>
+ *
+ * <p>
+ *     At most a given number of elements are kept in memory. Once the source turns out to have more, the kept
+ *     elements are dropped and every later read computes the source again, trading the time of recomputing it for
+ *     the memory of keeping it.
+ * </p>
+ *
+ * @param <T> the type of the elements of the stream
+ */
+class ReplayableStream<T> {
+    private final Supplier<Stream<T>> source;
+    private final int maxElements;
+    private @Nullable List<T> elements = new ArrayList<>();
+    private Iterator<T> sourceIterator = null;
+
+    /**
+     * @param source      supplier of the stream to read
+     * @param maxElements maximum number of elements kept, above which the source is computed again for every read
+     */
+    ReplayableStream(Supplier<Stream<T>> source, int maxElements) {
+        this.source = source;
+        this.maxElements = maxElements;
+    }
+
+    /**
+     * @return a stream of all the elements of the source, reading only those which have not been read before unless
+     * the source has more elements than are kept
+     */
+    Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new Replay(), Spliterator.ORDERED), false);
+    }
+
+    private class Replay implements Iterator<T> {
+        private int index = 0;
+        // the source this replay reads from on its own, once the elements are no longer kept
+        private Iterator<T> ownIterator = null;
+
+        @Override
+        public boolean hasNext() {
+            if (ownIterator != null) return ownIterator.hasNext();
+            if (elements != null && index < elements.size()) return true;
+
+            if (elements == null) {
+                ownIterator = source.get().iterator();
+                Iterators.advance(ownIterator, index);
+                return ownIterator.hasNext();
+            }
+
+            if (sourceIterator == null) sourceIterator = source.get().iterator();
+            if (!sourceIterator.hasNext()) return false;
+
+            if (elements.size() == maxElements) {
+                // too many elements to keep: this replay carries on with the source, later ones compute it again
+                elements = null;
+                ownIterator = sourceIterator;
+                sourceIterator = null;
+                return true;
+            }
+
+            elements.add(sourceIterator.next());
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            T next = ownIterator != null ? ownIterator.next() : elements.get(index);
+            index++;
+            return next;
+        }
+    }
+}
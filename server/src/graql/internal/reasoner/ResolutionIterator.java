@@ -20,13 +20,16 @@ package grakn.core.graql.internal.reasoner;
 
 import grakn.core.graql.answer.ConceptMap;
 import grakn.core.graql.internal.reasoner.cache.MultilevelSemanticCache;
+import grakn.core.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import grakn.core.graql.internal.reasoner.query.ReasonerQueryImpl;
+import grakn.core.graql.internal.reasoner.rule.RuleDependencyGraph;
 import grakn.core.graql.internal.reasoner.state.ResolutionState;
 import grakn.core.graql.internal.reasoner.unifier.UnifierImpl;
 import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Stack;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +39,16 @@ import org.slf4j.LoggerFactory;
  * Iterator for query answers maintaining the iterative behaviour of the QSQ scheme.
  * </p>
  *
+ * <p>
+ * With semi-naive evaluation, the cache tracks the answers recorded in every iteration, so that a rule applied
+ * to a sub goal it was already applied to in the previous iteration only joins the answers which are new since then.
+ * </p>
+ *
+ * <p>
+ * Sub goals which depend on no recursive rule of the {@link RuleDependencyGraph} stop being resolved again once an
+ * iteration expands the same of them as the previous one without deriving anything new for them: from then on they
+ * are answered from the cache, so that only the sub goals which depend on recursive rules are iterated.
+ * </p>
  *
  */
 public class ResolutionIterator extends ReasonerQueryIterator {
@@ -50,13 +63,21 @@ public class ResolutionIterator extends ReasonerQueryIterator {
 
     private ConceptMap nextAnswer = null;
     private final boolean reiterationRequired;
+    private final boolean semiNaive;
+    private Set<ReasonerAtomicQuery> subGoals = new HashSet<>();
+    private Set<ReasonerAtomicQuery> recursionFreeSubGoals = new HashSet<>();
 
     private static final Logger LOG = LoggerFactory.getLogger(ResolutionIterator.class);
 
-    public ResolutionIterator(ReasonerQueryImpl q){
+    /**
+     * @param q query to resolve
+     * @param semiNaive true if iterations after the first should only join answers derived in the previous iteration
+     */
+    public ResolutionIterator(ReasonerQueryImpl q, boolean semiNaive){
         this.query = q;
         this.reiterationRequired = q.requiresReiteration();
-        states.push(query.subGoal(new ConceptMap(), new UnifierImpl(), null, new HashSet<>(), cache));
+        this.semiNaive = semiNaive;
+        states.push(query.subGoal(new ConceptMap(), new UnifierImpl(), null, subGoals, cache));
     }
 
     private ConceptMap findNextAnswer(){
@@ -102,7 +123,10 @@ public class ResolutionIterator extends ReasonerQueryIterator {
             if (dAns != 0 || iter == 0) {
                 LOG.debug("iter: " + iter + " answers: " + answers.size() + " dAns = " + dAns);
                 iter++;
-                states.push(query.subGoal(new ConceptMap(), new UnifierImpl(), null, new HashSet<>(), cache));
+                completeRecursionFreeSubGoals(subGoals);
+                if (semiNaive) cache.nextIteration(subGoals);
+                subGoals = new HashSet<>();
+                states.push(query.subGoal(new ConceptMap(), new UnifierImpl(), null, subGoals, cache));
                 oldAns = answers.size();
                 return hasNext();
             }
@@ -110,4 +134,20 @@ public class ResolutionIterator extends ReasonerQueryIterator {
 
         return false;
     }
+
+    private void completeRecursionFreeSubGoals(Set<ReasonerAtomicQuery> expandedSubGoals){
+        RuleDependencyGraph dependencyGraph = query.tx().ruleCache().dependencyGraph();
+        Set<ReasonerAtomicQuery> expandedRecursionFree = expandedSubGoals.stream()
+                .filter(subGoal -> subGoal.getAtom().getApplicableRules().noneMatch(rule -> dependencyGraph.dependsOnRecursion(rule.getRule())))
+                .collect(Collectors.toSet());
+        boolean converged = !expandedRecursionFree.isEmpty()
+                && expandedRecursionFree.equals(recursionFreeSubGoals)
+                && expandedRecursionFree.stream().noneMatch(cache::hasNewAnswers);
+        if (converged) {
+            LOG.debug("iter: " + iter + " completed " + expandedRecursionFree.size() + " recursion free sub goals");
+            expandedRecursionFree.forEach(cache::ackCompleteness);
+        }
+        recursionFreeSubGoals = expandedRecursionFree;
+        cache.clearNewAnswers();
+    }
 }
@@ -218,12 +218,14 @@ public abstract class Atom extends AtomicBase {
     }
 
     /**
-     * @return set of applicable rules - does detailed (slow) check for applicability
+     * @return set of applicable rules which can fire and whose consequences are not materialised - does detailed (slow) check for applicability
      */
     public Stream<InferenceRule> getApplicableRules() {
         if (applicableRules == null) {
             applicableRules = new HashSet<>();
             getPotentialRules()
+                    .filter(rule -> !tx().ruleCache().isMaterialised(rule))
+                    .filter(rule -> !tx().ruleCache().dependencyGraph().isDead(rule))
                     .map(rule -> tx().ruleCache().getRule(rule, () -> new InferenceRule(rule, tx())))
                     .filter(this::isRuleApplicable)
                     .map(r -> r.rewrite(this))
@@ -15,31 +15,40 @@
  * You should have received a copy of the GNU Affero General Public License
  * along with this program.  If not, see <https://www.gnu.org/licenses/>.
  */
-
 package grakn.core.graql.internal.reasoner.cache;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
 import grakn.core.graql.answer.ConceptMap;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Query answer set indexed with partial substitutions (partial answers).
+ *
+ * The answers are kept in a primary set, so that size, membership and streaming of the answers do not depend on
+ * the indices. Each index maps the partial answers of its variables to the answers they are part of.
  */
 public class IndexedAnswerSet implements AnswerSet{
 
-    private final HashMultimap<ConceptMap, ConceptMap> indexedAnswers = HashMultimap.create();
+    private final Set<ConceptMap> answers = new HashSet<>();
 
     //indices are really var sets
+    private final Map<Index, HashMultimap<ConceptMap, ConceptMap>> indices = new LinkedHashMap<>();
     private final Index index;
 
     private IndexedAnswerSet(Index index){
         this.index = index;
+        indices.put(index, HashMultimap.create());
     }
 
     public static IndexedAnswerSet create(Index index){
@@ -56,84 +65,124 @@ public class IndexedAnswerSet implements AnswerSet{
         return answerSet;
     }
 
+    /**
+     * Adds an index to this answer set, indexing all the answers it already holds
+     * @param ind the index to add
+     * @return true if the index was not there already
+     */
+    public boolean addIndex(Index ind){
+        if (indices.containsKey(ind)) return false;
+        HashMultimap<ConceptMap, ConceptMap> indexedAnswers = HashMultimap.create();
+        answers.forEach(answer -> indexedAnswers.put(answer.project(ind.vars()), answer));
+        indices.put(ind, indexedAnswers);
+        return true;
+    }
+
+    public Set<Index> indices(){ return Collections.unmodifiableSet(indices.keySet());}
+
     @Override
-    public int size() { return getAll().size();}
+    public int size() { return answers.size();}
 
     @Override
-    public boolean contains(Object o) { return getAll().contains(o); }
+    public boolean contains(Object o) { return answers.contains(o); }
 
     @Override
-    public Object[] toArray() { return getAll().toArray(); }
+    public Object[] toArray() { return answers.toArray(); }
 
     @Override
-    public <T> T[] toArray(T[] ts) { return getAll().toArray(ts); }
+    public <T> T[] toArray(T[] ts) { return answers.toArray(ts); }
 
     @Override
     public boolean remove(Object o) {
-        return indexedAnswers.asMap().entrySet().stream()
-                .filter(e -> e.getValue().contains(o))
-                .allMatch(e -> e.getValue().remove(o));
+        if (!answers.remove(o)) return false;
+        ConceptMap answer = (ConceptMap) o;
+        indices.forEach((ind, indexedAnswers) -> {
+            //answers added with an explicit partial answer may not be indexed by their projection
+            if (!indexedAnswers.remove(answer.project(ind.vars()), answer)) indexedAnswers.values().remove(answer);
+        });
+        return true;
     }
 
     @Override
-    public boolean containsAll(Collection<?> collection) { return getAll().containsAll(collection); }
+    public boolean containsAll(Collection<?> collection) { return answers.containsAll(collection); }
 
     @Override
-    public boolean addAll(Collection<? extends ConceptMap> collection) { return collection.stream().allMatch(this::add); }
+    public boolean addAll(Collection<? extends ConceptMap> collection) {
+        boolean changed = false;
+        for (ConceptMap answer : collection) changed |= add(answer);
+        return changed;
+    }
 
     @Override
-    public boolean retainAll(Collection<?> collection) { return false; }
+    public boolean retainAll(Collection<?> collection) {
+        return removeAll(answers.stream().filter(answer -> !collection.contains(answer)).collect(Collectors.toList()));
+    }
 
     @Override
-    public boolean removeAll(Collection<?> collection) { return collection.stream().allMatch(this::remove); }
+    public boolean removeAll(Collection<?> collection) {
+        boolean changed = false;
+        for (Object answer : collection) changed |= remove(answer);
+        return changed;
+    }
 
     @Override
-    public void clear() { indexedAnswers.clear(); }
+    public void clear() {
+        answers.clear();
+        indices.values().forEach(HashMultimap::clear);
+    }
 
-    public Multiset<ConceptMap> keys(){ return indexedAnswers.keys();}
+    public Multiset<ConceptMap> keys(){ return indices.get(index).keys();}
 
     @Override
     public Set<ConceptMap> get(ConceptMap sub) {
-        Index ind = Index.of(sub.vars());
-        if (ind.equals(index)){
-            return indexedAnswers.get(sub);
+        HashMultimap<ConceptMap, ConceptMap> indexedAnswers = indices.get(Index.of(sub.vars()));
+        if (indexedAnswers != null){
+            return Collections.unmodifiableSet(indexedAnswers.get(sub));
         }
-        throw new IllegalStateException("Illegal index: " + sub + " indices: " + index);
+        throw new IllegalStateException("Illegal index: " + sub + " indices: " + indices.keySet());
     }
 
     @Override
     public Set<ConceptMap> getAll() {
-        if (index.equals(Index.empty())) return indexedAnswers.get(new ConceptMap());
-        return new HashSet<>(indexedAnswers.values());
+        return Collections.unmodifiableSet(answers);
     }
 
     @Override
     //add answer to all indices
     public boolean add(ConceptMap answer) {
-        return add(answer, answer.project(index.vars()));
+        if (!answers.add(answer)) return false;
+        indices.forEach((ind, indexedAnswers) -> indexedAnswers.put(answer.project(ind.vars()), answer));
+        return true;
     }
 
     //add answer with specific index
     public boolean add(ConceptMap answer, ConceptMap answerIndex){
         Index ind = Index.of(answerIndex.vars());
-        if (ind.equals(index)) {
-            return indexedAnswers.put(answerIndex, answer);
+        HashMultimap<ConceptMap, ConceptMap> indexedAnswers = indices.get(ind);
+        if (indexedAnswers == null) {
+            throw new IllegalStateException("Illegal index: " + answerIndex + " indices: " + indices.keySet());
+        }
+        boolean added = indexedAnswers.put(answerIndex, answer);
+        if (answers.add(answer)) {
+            indices.forEach((otherInd, otherAnswers) -> {
+                if (!otherInd.equals(ind)) otherAnswers.put(answer.project(otherInd.vars()), answer);
+            });
         }
-        throw new IllegalStateException("Illegal index: " + answerIndex + " indices: " + index);
+        return added;
     }
 
     @Override
     public Stream<ConceptMap> stream() {
-        return getAll().stream();
+        return answers.stream();
     }
 
     @Override
     public Iterator<ConceptMap> iterator() {
-        return getAll().iterator();
+        return Iterators.unmodifiableIterator(answers.iterator());
     }
 
     @Override
     public boolean isEmpty() {
-        return indexedAnswers.isEmpty();
+        return answers.isEmpty();
     }
 }
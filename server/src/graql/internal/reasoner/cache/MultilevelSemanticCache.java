@@ -86,7 +86,7 @@ public class MultilevelSemanticCache extends SemanticCache<Equivalence.Wrapper<R
 
         Set<ConceptMap> parentAnswersToPropagate = baseAnswerIndex.unify(targetToParentUnifier)
                 .flatMap(sub ->
-                        parentAnswers.getAll().stream()
+                        parentAnswers.stream()
                                 .filter(ans -> inferred || ans.explanation().isLookupExplanation()
                                 ))
                 .collect(toSet());
@@ -113,6 +113,7 @@ public class MultilevelSemanticCache extends SemanticCache<Equivalence.Wrapper<R
                     }
                 })
                 .filter(childAnswers::add)
+                .peek(ans -> recordNewAnswer(child, ans))
                 .forEach(newAnswers::add);
 
         LOG.trace(newAnswers.size() + " new out of " + parentAnswersToPropagate.size() + " parent aanswers propagated: " + newAnswers);
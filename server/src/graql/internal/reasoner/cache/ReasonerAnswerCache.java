@@ -0,0 +1,318 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package grakn.core.graql.internal.reasoner.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.admin.MultiUnifier;
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.answer.VarSlots;
+import grakn.core.graql.concept.Concept;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.Label;
+import grakn.core.graql.concept.SchemaConcept;
+import grakn.core.graql.internal.reasoner.atom.Atom;
+import grakn.core.graql.internal.reasoner.query.ReasonerAtomicQuery;
+import grakn.core.graql.internal.reasoner.query.ReasonerQueries;
+import grakn.core.graql.internal.reasoner.query.ReasonerQueryEquivalence;
+import grakn.core.graql.internal.reasoner.unifier.UnifierType;
+import grakn.core.graql.query.pattern.Conjunction;
+import grakn.core.graql.query.pattern.Patterns;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.graql.query.pattern.VarPatternAdmin;
+import grakn.core.server.keyspace.Keyspace;
+import grakn.core.server.metrics.Counter;
+import grakn.core.server.metrics.ServerMetrics;
+import grakn.core.server.session.TransactionImpl;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static grakn.core.common.util.CommonUtil.toImmutableList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * <p>
+ *     Caches the answers of the {@link ReasonerAtomicQuery}s resolved in a {@link Keyspace} across read transactions,
+ *     so that a query which is asked again is not resolved again
+ * </p>
+ *
+ * <p>
+ *     Answers are bound to the transaction which found them, so this cache stores immutable snapshots instead: the
+ *     pattern of a query and the ids of the concepts of its answers. A query is answered by an entry whose query is
+ *     alpha-equivalent to it, with the answers rebuilt in the reading transaction. Only the answers of a resolution
+ *     which ran to completion are cached, and the answers served from the cache are not explained.
+ * </p>
+ *
+ * <p>
+ *     The cache is bounded by the number of answers it holds. Every entry records the types its answers depend on:
+ *     the types of its query, their subtypes and, through the rules which can infer any of them, the types in the
+ *     bodies of those rules. A commit only drops the entries which depend on the types whose instances it changed,
+ *     or every entry if it changed the schema. A transaction only populates the cache if nothing was invalidated
+ *     since it was opened, so that it cannot cache answers which miss a commit made in the meantime.
+ * </p>
+ */
+public class ReasonerAnswerCache {
+    private static final ReasonerQueryEquivalence EQUIVALENCE = ReasonerQueryEquivalence.AlphaEquivalence;
+    private static final Counter.Child HITS = ServerMetrics.REASONER_CACHE_LOOKUPS.labels("answer", "hit");
+    private static final Counter.Child MISSES = ServerMetrics.REASONER_CACHE_LOOKUPS.labels("answer", "miss");
+
+    //entries are keyed by the alpha-equivalence hash of their query
+    private final Cache<Integer, ImmutableList<Entry>> cache;
+    private final long maxAnswers;
+    private long generation = 0;
+
+    public ReasonerAnswerCache(Config config) {
+        maxAnswers = config.getProperty(ConfigKey.REASONER_ANSWER_CACHE_MAX_ANSWERS);
+        if (maxAnswers > 0) {
+            cache = CacheBuilder.newBuilder()
+                    .maximumWeight(maxAnswers)
+                    .weigher((Integer hash, ImmutableList<Entry> entries) -> entries.stream().mapToInt(Entry::weight).sum())
+                    .recordStats()
+                    .build();
+        } else {
+            cache = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return the current generation of the cache, which changes every time the cache is invalidated
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * @param query to be answered, in the reading transaction
+     * @return the answers of an alpha-equivalent query resolved before, or null if they are not cached
+     */
+    @Nullable
+    public Stream<ConceptMap> getAnswers(ReasonerAtomicQuery query) {
+        if (cache == null) return null;
+
+        TransactionImpl<?> tx = query.tx();
+        ReasonerAtomicQuery probe = ReasonerQueries.atomic(patternOf(query), tx);
+        ImmutableList<Entry> entries = cache.getIfPresent(EQUIVALENCE.hash(probe));
+        if (entries != null) {
+            for (Entry entry : entries) {
+                ReasonerAtomicQuery cachedQuery = ReasonerQueries.atomic(entry.pattern, tx);
+                if (!EQUIVALENCE.equivalent(cachedQuery, probe)) continue;
+
+                List<ConceptMap> answers = entry.answers(tx);
+                if (answers == null) break;
+
+                HITS.inc();
+                MultiUnifier multiUnifier = cachedQuery.getMultiUnifier(probe, UnifierType.EXACT);
+                return answers.stream().flatMap(answer -> answer.unify(multiUnifier)).distinct();
+            }
+        }
+        MISSES.inc();
+        return null;
+    }
+
+    /**
+     * Caches the answers of a query once all of them have been streamed, unless the cache was invalidated since
+     * the given generation. Answers which are not all streamed, such as the answers of a query with a limit, are
+     * not cached.
+     *
+     * @param query           the resolved query
+     * @param answers         all the answers of the query
+     * @param sinceGeneration the generation of the cache when the resolving transaction was opened
+     * @return the answers of the query
+     */
+    public Stream<ConceptMap> record(ReasonerAtomicQuery query, Stream<ConceptMap> answers, long sinceGeneration) {
+        if (cache == null) return answers;
+
+        ImmutableSet<Label> dependencies = dependenciesOf(query);
+        if (dependencies == null) return answers;
+
+        Conjunction<VarPatternAdmin> pattern = patternOf(query);
+        int hash = EQUIVALENCE.hash(ReasonerQueries.atomic(pattern, query.tx()));
+        Iterator<ConceptMap> iterator = answers.iterator();
+        Iterator<ConceptMap> recordingIterator = new Iterator<ConceptMap>() {
+            private List<ConceptMap> found = new ArrayList<>();
+
+            @Override
+            public boolean hasNext() {
+                if (iterator.hasNext()) return true;
+                if (found != null) {
+                    Entry entry = Entry.of(pattern, dependencies, found);
+                    if (entry != null) put(hash, entry, sinceGeneration);
+                    found = null;
+                }
+                return false;
+            }
+
+            @Override
+            public ConceptMap next() {
+                ConceptMap answer = iterator.next();
+                if (found != null) {
+                    found.add(answer);
+                    //answers which cannot fit in the cache are not collected
+                    if (found.size() >= maxAnswers) found = null;
+                }
+                return answer;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(recordingIterator, Spliterator.ORDERED), false);
+    }
+
+    private synchronized void put(int hash, Entry entry, long sinceGeneration) {
+        if (generation != sinceGeneration) return;
+
+        ImmutableList<Entry> entries = cache.getIfPresent(hash);
+        if (entries == null) {
+            cache.put(hash, ImmutableList.of(entry));
+        } else if (entries.stream().noneMatch(cached -> cached.pattern.equals(entry.pattern))) {
+            cache.put(hash, ImmutableList.<Entry>builder().addAll(entries).add(entry).build());
+        }
+    }
+
+    /**
+     * Invalidates the entries made stale by a committed transaction
+     *
+     * @param modifiedTypes  the labels of the types whose instances were changed by the transaction
+     * @param schemaModified true if the transaction changed the schema, which may change any answer
+     */
+    public synchronized void invalidate(Collection<Label> modifiedTypes, boolean schemaModified) {
+        if (cache == null || (modifiedTypes.isEmpty() && !schemaModified)) return;
+
+        generation++;
+        if (schemaModified) {
+            cache.invalidateAll();
+            return;
+        }
+        for (Map.Entry<Integer, ImmutableList<Entry>> cached : cache.asMap().entrySet()) {
+            ImmutableList<Entry> entries = cached.getValue();
+            ImmutableList<Entry> validEntries = entries.stream()
+                    .filter(entry -> Collections.disjoint(entry.dependencies, modifiedTypes))
+                    .collect(toImmutableList());
+            if (validEntries.isEmpty()) {
+                cache.invalidate(cached.getKey());
+            } else if (validEntries.size() < entries.size()) {
+                cache.put(cached.getKey(), validEntries);
+            }
+        }
+    }
+
+    /**
+     * @return the hit and miss counts of the cache, which are all zero when the cache is disabled
+     */
+    public CacheStats stats() {
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    /**
+     * @return the number of queries whose answers are cached
+     */
+    public long size() {
+        return cache == null ? 0 : cache.asMap().values().stream().mapToLong(List::size).sum();
+    }
+
+    private static Conjunction<VarPatternAdmin> patternOf(ReasonerAtomicQuery query) {
+        return Patterns.conjunction(query.getPattern().varPatterns());
+    }
+
+    /**
+     * @return the labels of the types the answers of the query depend on, or null if they may depend on any type
+     */
+    @Nullable
+    private static ImmutableSet<Label> dependenciesOf(ReasonerAtomicQuery query) {
+        ImmutableSet.Builder<Label> dependencies = ImmutableSet.builder();
+        for (Atom atom : query.getAtoms(Atom.class).collect(toList())) {
+            SchemaConcept type = atom.getSchemaConcept();
+            //a variable type could be any type
+            if (type == null) return null;
+            query.tx().ruleCache().getDependencies(type).forEach(dependency -> dependencies.add(dependency.label()));
+        }
+        return dependencies.build();
+    }
+
+    /**
+     * The answers of a query, held as the ids of their concepts
+     */
+    private static final class Entry {
+        private final Conjunction<VarPatternAdmin> pattern;
+        private final ImmutableSet<Label> dependencies;
+        private final VarSlots slots;
+        private final ImmutableList<ConceptId[]> answers;
+
+        private Entry(Conjunction<VarPatternAdmin> pattern, ImmutableSet<Label> dependencies, VarSlots slots, ImmutableList<ConceptId[]> answers) {
+            this.pattern = pattern;
+            this.dependencies = dependencies;
+            this.slots = slots;
+            this.answers = answers;
+        }
+
+        /**
+         * @return an entry of the answers, or null if they do not all have the same variables
+         */
+        @Nullable
+        static Entry of(Conjunction<VarPatternAdmin> pattern, ImmutableSet<Label> dependencies, List<ConceptMap> answers) {
+            VarSlots slots = VarSlots.of(answers.isEmpty() ? Collections.<Var>emptySet() : answers.get(0).vars());
+            List<Var> vars = slots.vars().asList();
+            ImmutableList.Builder<ConceptId[]> ids = ImmutableList.builder();
+            for (ConceptMap answer : answers) {
+                if (!answer.vars().equals(slots.vars())) return null;
+                ConceptId[] row = new ConceptId[vars.size()];
+                for (int i = 0; i < row.length; i++) row[i] = answer.get(vars.get(i)).id();
+                ids.add(row);
+            }
+            return new Entry(pattern, dependencies, slots, ids.build());
+        }
+
+        int weight() {
+            return answers.size() + 1;
+        }
+
+        /**
+         * @return the answers built in the given transaction, or null if any of their concepts no longer exists
+         */
+        @Nullable
+        List<ConceptMap> answers(TransactionImpl<?> tx) {
+            List<ConceptMap> built = new ArrayList<>(answers.size());
+            for (ConceptId[] row : answers) {
+                Concept[] concepts = new Concept[row.length];
+                for (int i = 0; i < row.length; i++) {
+                    concepts[i] = tx.getConcept(row[i]);
+                    if (concepts[i] == null) return null;
+                }
+                built.add(new ConceptMap(slots, concepts));
+            }
+            return built;
+        }
+    }
+}
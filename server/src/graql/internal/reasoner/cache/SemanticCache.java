@@ -31,6 +31,9 @@ import grakn.core.graql.internal.reasoner.unifier.MultiUnifierImpl;
 import grakn.core.graql.internal.reasoner.unifier.UnifierType;
 import grakn.core.graql.internal.reasoner.utils.Pair;
 import grakn.core.graql.query.pattern.Var;
+import grakn.core.server.metrics.Counter;
+import grakn.core.server.metrics.ServerMetrics;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -78,6 +81,8 @@ public abstract class SemanticCache<
     final private HashMultimap<QE, QE> parents = HashMultimap.create();
 
     private static final Logger LOG = LoggerFactory.getLogger(SemanticCache.class);
+    private static final Counter.Child HITS = ServerMetrics.REASONER_CACHE_LOOKUPS.labels("semantic", "hit");
+    private static final Counter.Child MISSES = ServerMetrics.REASONER_CACHE_LOOKUPS.labels("semantic", "miss");
 
     UnifierType semanticUnifier(){ return UnifierType.RULE;}
 
@@ -123,6 +128,91 @@ public abstract class SemanticCache<
     }
 
 
+    private int iteration = 0;
+    private Set<ReasonerAtomicQuery> subGoalsOfPreviousIteration = Collections.emptySet();
+    private HashMultimap<QE, ConceptMap> answersOfPreviousIteration = HashMultimap.create();
+    private HashMultimap<QE, ConceptMap> answersOfIteration = HashMultimap.create();
+
+    /**
+     * Starts tracking which answers are new to the cache in the next iteration of a resolution requiring reiteration.
+     * @param expandedSubGoals sub goals resolved with rules in the iteration which has just finished
+     */
+    public void nextIteration(Set<ReasonerAtomicQuery> expandedSubGoals){
+        iteration++;
+        subGoalsOfPreviousIteration = expandedSubGoals;
+        answersOfPreviousIteration = answersOfIteration;
+        answersOfIteration = HashMultimap.create();
+    }
+
+    /**
+     * Semi-naive evaluation: a rule applied to a sub goal which was already resolved with rules in the previous
+     * iteration has joined every answer recorded before that iteration. Only answers recorded since can give it
+     * new answers.
+     * @param subGoal sub goal a rule is applied to
+     * @return true if only recent answers ({@link #isRecentAnswer(ReasonerAtomicQuery, ConceptMap, MultiUnifier)}) need to be
+     * joined when the rule is applied to the sub goal
+     */
+    public boolean requiresRecentAnswers(ReasonerAtomicQuery subGoal){
+        //the previous iteration only tracked recent answers if it was not the first one
+        return iteration > 1 && subGoalsOfPreviousIteration.contains(subGoal);
+    }
+
+    /**
+     * @param query query the answer belongs to
+     * @param answer recorded answer to the query
+     * @param cacheUnifier unifier from the query to its cache entry ({@link #getCacheUnifier(ReasonerAtomicQuery)}),
+     *                     computed once per sub goal rather than once per answer
+     * @return true if the answer was first recorded in the previous or current iteration
+     */
+    public boolean isRecentAnswer(ReasonerAtomicQuery query, ConceptMap answer, MultiUnifier cacheUnifier){
+        CacheEntry<ReasonerAtomicQuery, SE> match = getEntry(query);
+        if (match == null || cacheUnifier == null) return true;
+        QE key = queryToKey(match.query());
+        return cacheUnifier.stream()
+                .map(answer::unify)
+                .anyMatch(ans -> answersOfIteration.containsEntry(key, ans) || answersOfPreviousIteration.containsEntry(key, ans));
+    }
+
+    void recordNewAnswer(ReasonerAtomicQuery query, ConceptMap answer){
+        QE key = queryToKey(query);
+        entriesWithNewAnswers.add(key);
+        if (iteration > 0) answersOfIteration.put(key, answer);
+    }
+
+    final private Set<QE> entriesWithNewAnswers = new HashSet<>();
+    final private Set<ReasonerAtomicQuery> completeQueries = new HashSet<>();
+    final private Set<QE> completeEntries = new HashSet<>();
+
+    /**
+     * @param query sub goal
+     * @return true if new answers to the sub goal have been recorded since {@link #clearNewAnswers()} was last called
+     */
+    public boolean hasNewAnswers(ReasonerAtomicQuery query){
+        CacheEntry<ReasonerAtomicQuery, SE> match = getEntry(query);
+        return match != null && entriesWithNewAnswers.contains(queryToKey(match.query()));
+    }
+
+    public void clearNewAnswers(){
+        entriesWithNewAnswers.clear();
+    }
+
+    /**
+     * @param query sub goal
+     * @return true if the cache holds all the answers of the sub goal, so that its rules need not be applied again
+     */
+    public boolean isComplete(ReasonerAtomicQuery query){
+        return completeEntries.contains(queryToKey(query))
+                || completeQueries.contains(query);
+    }
+
+    public void ackCompleteness(ReasonerAtomicQuery query){
+        if (query.getAtom().getPredicates(IdPredicate.class).findFirst().isPresent()) {
+            completeQueries.add(query);
+        } else {
+            completeEntries.add(queryToKey(query));
+        }
+    }
+
     private Set<QE> getParents(ReasonerAtomicQuery child){
         Set<QE> parents = this.parents.get(queryToKey(child));
         if (!parents.isEmpty()) return parents;
@@ -206,10 +296,13 @@ public abstract class SemanticCache<
                             throw GraqlQueryException.invalidQueryCacheEntry(equivalentQuery, ans);
                         }
                     })
-                    .forEach(answerSet::add);
+                    .filter(answerSet::add)
+                    .forEach(ans -> recordNewAnswer(equivalentQuery, ans));
             return match;
         }
-        return addEntry(createEntry(query, Sets.newHashSet(answer)));
+        CacheEntry<ReasonerAtomicQuery, SE> newEntry = addEntry(createEntry(query, Sets.newHashSet(answer)));
+        recordNewAnswer(query, answer);
+        return newEntry;
     }
 
 
@@ -225,6 +318,7 @@ public abstract class SemanticCache<
         CacheEntry<ReasonerAtomicQuery, SE> match = getEntry(query);
 
         if (match != null) {
+            HITS.inc();
             //TODO extra check is a quasi-completeness check if there's no parent present we have no guarantees about completeness with respect to the db.
             Pair<Stream<ConceptMap>, MultiUnifier> cachePair = entryToAnswerStreamWithUnifier(query, match);
             Pair<Stream<ConceptMap>, MultiUnifier> returnPair =
@@ -242,9 +336,11 @@ public abstract class SemanticCache<
         //if no match but db-complete parent exists, use parent to create entry
         Set<QE> parents = getParents(query);
         if (!parents.isEmpty() && parents.stream().anyMatch(p -> isDBComplete(keyToQuery(p)))){
+            HITS.inc();
             CacheEntry<ReasonerAtomicQuery, SE> newEntry = addEntry(createEntry(query, new HashSet<>()));
             return new Pair<>(entryToAnswerStream(newEntry), MultiUnifierImpl.trivial());
         }
+        MISSES.inc();
         return getDBAnswerStreamWithUnifier(query);
     }
 
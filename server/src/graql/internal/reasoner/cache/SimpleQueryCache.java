@@ -27,6 +27,8 @@ import grakn.core.graql.internal.reasoner.query.ReasonerQueryImpl;
 import grakn.core.graql.internal.reasoner.unifier.MultiUnifierImpl;
 import grakn.core.graql.internal.reasoner.utils.Pair;
 import grakn.core.graql.query.pattern.Var;
+import grakn.core.server.metrics.Counter;
+import grakn.core.server.metrics.ServerMetrics;
 
 import javax.annotation.Nullable;
 import java.util.HashSet;
@@ -45,6 +47,8 @@ import static java.util.stream.Collectors.toSet;
  * @param <Q> the type of query that is being cached
  */
 public class SimpleQueryCache<Q extends ReasonerQueryImpl> extends SimpleQueryCacheBase<Q, Set<ConceptMap>> {
+    private static final Counter.Child HITS = ServerMetrics.REASONER_CACHE_LOOKUPS.labels("simple", "hit");
+    private static final Counter.Child MISSES = ServerMetrics.REASONER_CACHE_LOOKUPS.labels("simple", "miss");
 
     public SimpleQueryCache() {
         super();
@@ -126,6 +130,7 @@ public class SimpleQueryCache<Q extends ReasonerQueryImpl> extends SimpleQueryCa
     public Pair<Stream<ConceptMap>, MultiUnifier> getAnswerStreamWithUnifier(Q query) {
         CacheEntry<Q, Set<ConceptMap>> match = this.getEntry(query);
         if (match != null) {
+            HITS.inc();
             Q equivalentQuery = match.query();
             Set<ConceptMap> answers = match.cachedElement();
             MultiUnifier multiUnifier = equivalentQuery.getMultiUnifier(query, unifierType());
@@ -135,6 +140,7 @@ public class SimpleQueryCache<Q extends ReasonerQueryImpl> extends SimpleQueryCa
             //NB: Concurrent modification exception if lazy
             return new Pair<>(answers.stream().flatMap(ans -> ans.unify(multiUnifier)).collect(toSet()).stream(), multiUnifier);
         }
+        MISSES.inc();
         return new Pair<>(
                 structuralCache().get(query),
                 new MultiUnifierImpl()
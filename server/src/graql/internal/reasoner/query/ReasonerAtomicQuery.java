@@ -25,6 +25,7 @@ import grakn.core.graql.admin.ReasonerQuery;
 import grakn.core.graql.admin.Unifier;
 import grakn.core.graql.query.pattern.VarPatternAdmin;
 import grakn.core.graql.internal.reasoner.cache.MultilevelSemanticCache;
+import grakn.core.graql.internal.reasoner.cache.ReasonerAnswerCache;
 import grakn.core.graql.internal.reasoner.cache.SemanticDifference;
 import grakn.core.graql.internal.reasoner.state.CacheCompletionState;
 import grakn.core.graql.answer.ConceptMap;
@@ -47,6 +48,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -200,6 +202,21 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
                 .map(ans -> ans.explain(answer.explanation()));
     }
 
+    /**
+     * Read transactions share the answers of the queries they resolve through the {@link ReasonerAnswerCache}
+     * of their session, so that a query asked again is not resolved again.
+     */
+    @Override
+    public Stream<ConceptMap> resolve() {
+        ReasonerAnswerCache answerCache = tx().session().answerCache();
+        OptionalLong generation = tx().txCache().answerCacheGeneration();
+        if (!answerCache.isEnabled() || !generation.isPresent()) return super.resolve();
+
+        Stream<ConceptMap> cachedAnswers = answerCache.getAnswers(this);
+        if (cachedAnswers != null) return cachedAnswers;
+        return answerCache.record(this, super.resolve(), generation.getAsLong());
+    }
+
     @Override
     public ResolutionState subGoal(ConceptMap sub, Unifier u, QueryStateBase parent, Set<ReasonerAtomicQuery> subGoals, MultilevelSemanticCache cache){
         return new AtomicStateProducer(this, sub, u, parent, subGoals, cache);
@@ -225,14 +242,16 @@ public class ReasonerAtomicQuery extends ReasonerQueryImpl {
                 Iterators.singletonIterator(new CacheCompletionState(this, new ConceptMap(), null, cache));
 
         Iterator<ResolutionState> subGoalIterator;
-        //if this is ground and exists in the db then do not resolve further
+        //if this is ground and exists in the db or all its answers are cached then do not resolve further
         if(visitedSubGoals.contains(this)
+                || cache.isComplete(this)
                 || (this.isGround() && dbIterator.hasNext())){
             subGoalIterator = Collections.emptyIterator();
         } else {
             visitedSubGoals.add(this);
+            boolean recentAnswersOnly = cache.requiresRecentAnswers(this);
             subGoalIterator = cache.ruleCache().getRuleStream(this.getAtom())
-                    .map(rulePair -> rulePair.getKey().subGoal(this.getAtom(), rulePair.getValue(), parent, visitedSubGoals, cache))
+                    .map(rulePair -> rulePair.getKey().subGoal(this.getAtom(), rulePair.getValue(), parent, visitedSubGoals, cache, recentAnswersOnly))
                     .iterator();
         }
         return Iterators.concat(dbIterator, dbCompletionIterator, subGoalIterator);
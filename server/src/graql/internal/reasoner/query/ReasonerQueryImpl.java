@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
+import grakn.core.common.config.ConfigKey;
 import grakn.core.graql.admin.Atomic;
 import grakn.core.graql.query.pattern.Conjunction;
 import grakn.core.graql.admin.MultiUnifier;
@@ -479,7 +480,8 @@ public class ReasonerQueryImpl implements ReasonerQuery {
 
     @Override
     public Stream<ConceptMap> resolve() {
-        return new ResolutionIterator(this).hasStream();
+        boolean semiNaive = tx().session().config().getProperty(ConfigKey.REASONER_SEMI_NAIVE);
+        return new ResolutionIterator(this, semiNaive).hasStream();
     }
 
     /**
@@ -541,14 +543,29 @@ public class ReasonerQueryImpl implements ReasonerQuery {
 
 
     /**
-     * reiteration might be required if rule graph contains loops with negative flux
-     * or there exists a rule which head satisfies body
+     * reiteration might be required if rule graph contains loops with negative flux,
+     * there exists a rule which head satisfies body or the same sub goal is reached from two atoms of a conjunction
      * @return true if because of the rule graph form, the resolution of this query may require reiteration
      */
     public boolean requiresReiteration() {
         Set<InferenceRule> dependentRules = RuleUtils.getDependentRules(this);
         return RuleUtils.subGraphIsCyclical(dependentRules)
-               || RuleUtils.subGraphHasRulesWithHeadSatisfyingBody(dependentRules);
+               || RuleUtils.subGraphHasRulesWithHeadSatisfyingBody(dependentRules)
+               || this.hasEquivalentRuleResolvableAtoms()
+               || RuleUtils.subGraphHasRulesWithEquivalentRuleResolvableAtoms(dependentRules);
+    }
+
+    /**
+     * The sub goal of the second of two such atoms is already visited when it is reached, so within an iteration it is
+     * only answered with the answers the first atom found so far.
+     * @return true if two rule resolvable atoms of this query define the same sub goal
+     */
+    public boolean hasEquivalentRuleResolvableAtoms(){
+        List<ReasonerAtomicQuery> subGoals = selectAtoms()
+                .filter(Atom::isRuleResolvable)
+                .map(ReasonerQueries::atomic)
+                .collect(Collectors.toList());
+        return new HashSet<>(subGoals).size() != subGoals.size();
     }
 
     /**
@@ -43,6 +43,7 @@ import grakn.core.graql.internal.reasoner.state.QueryStateBase;
 import grakn.core.graql.internal.reasoner.state.ResolutionState;
 import grakn.core.graql.internal.reasoner.state.RuleState;
 import grakn.core.graql.internal.reasoner.utils.ReasonerUtils;
+import grakn.core.server.metrics.ServerMetrics;
 import grakn.core.server.session.TransactionImpl;
 import com.google.common.collect.Sets;
 
@@ -71,6 +72,7 @@ public class InferenceRule {
 
     private long priority = Long.MAX_VALUE;
     private Boolean requiresMaterialisation = null;
+    private String stratum = null;
 
     public InferenceRule(Rule rule, TransactionImpl<?> tx){
         this.tx = tx;
@@ -128,6 +130,17 @@ public class InferenceRule {
 
     public Rule getRule(){ return rule;}
 
+    /**
+     * @return the stratum of the rule in the {@link RuleDependencyGraph}, which labels the metrics of its resolution
+     */
+    public String stratum(){
+        if (stratum == null) {
+            int ruleStratum = tx.ruleCache().dependencyGraph().stratum(rule);
+            stratum = ruleStratum < 0 ? "unknown" : Integer.toString(ruleStratum);
+        }
+        return stratum;
+    }
+
     /**
      * @return true if the rule has disconnected head, i.e. head and body do not share any variables
      */
@@ -325,9 +338,10 @@ public class InferenceRule {
      * @param parent parent state
      * @param visitedSubGoals set of visited sub goals
      * @param cache query cache
+     * @param recentAnswersOnly true if only answers recently recorded in the cache can give new answers to this rule
      * @return resolution subGoal formed from this rule
      */
-    public ResolutionState subGoal(Atom parentAtom, Unifier ruleUnifier, QueryStateBase parent, Set<ReasonerAtomicQuery> visitedSubGoals, MultilevelSemanticCache cache){
+    public ResolutionState subGoal(Atom parentAtom, Unifier ruleUnifier, QueryStateBase parent, Set<ReasonerAtomicQuery> visitedSubGoals, MultilevelSemanticCache cache, boolean recentAnswersOnly){
         Unifier ruleUnifierInverse = ruleUnifier.inverse();
 
         //delta' = theta . thetaP . delta
@@ -335,7 +349,9 @@ public class InferenceRule {
                 .getSubstitution()
                 .unify(ruleUnifierInverse);
 
-        return new RuleState(this.propagateConstraints(parentAtom, ruleUnifierInverse), partialSubPrime, ruleUnifier, parent, visitedSubGoals, cache);
+        ServerMetrics.REASONER_RULE_APPLICATIONS.labels(stratum()).inc();
+
+        return new RuleState(this.propagateConstraints(parentAtom, ruleUnifierInverse), partialSubPrime, ruleUnifier, parent, visitedSubGoals, cache, recentAnswersOnly);
     }
 
     /**
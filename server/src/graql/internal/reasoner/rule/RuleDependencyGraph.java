@@ -0,0 +1,245 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.reasoner.rule;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.graql.concept.Label;
+import grakn.core.graql.concept.Rule;
+import grakn.core.graql.concept.SchemaConcept;
+import grakn.core.graql.internal.reasoner.atom.Atom;
+import grakn.core.server.session.TransactionImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * <p>
+ *     The dependencies between the rules of a schema: a rule depends on the rules which can conclude any atom of its
+ *     body. The graph is built once per version of the schema, and only refers to rules by their labels, so that it
+ *     can be shared by the transactions which read that version.
+ * </p>
+ *
+ * <p>
+ *     Rules which depend on each other form strongly connected components, which are recursive if they contain a
+ *     cycle. Components are stratified: a rule is in the stratum above the highest stratum of the rules it depends on
+ *     outside its own component. Only the sub goals which depend on recursive rules need to be resolved more than once.
+ * </p>
+ *
+ * <p>
+ *     A rule can never fire if an atom of its body has a type which cannot have instances, because neither the type
+ *     nor any of its subtypes is concrete, and no rule which can fire concludes the atom.
+ * </p>
+ *
+ * <p>
+ *     Rules which are not in the graph, such as rules defined after it was built, are assumed to be recursive and to
+ *     be able to fire.
+ * </p>
+ */
+public class RuleDependencyGraph {
+    private static final Logger LOG = LoggerFactory.getLogger(RuleDependencyGraph.class);
+    private static final RuleDependencyGraph EMPTY =
+            new RuleDependencyGraph(ImmutableMap.of(), ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of());
+
+    private final ImmutableMap<Label, Integer> strata;
+    private final ImmutableSet<Label> recursiveRules;
+    private final ImmutableSet<Label> recursionFreeRules;
+    private final ImmutableSet<Label> deadRules;
+
+    private RuleDependencyGraph(ImmutableMap<Label, Integer> strata, ImmutableSet<Label> recursiveRules,
+                                ImmutableSet<Label> recursionFreeRules, ImmutableSet<Label> deadRules) {
+        this.strata = strata;
+        this.recursiveRules = recursiveRules;
+        this.recursionFreeRules = recursionFreeRules;
+        this.deadRules = deadRules;
+    }
+
+    /**
+     * @return a graph without any rule, in which every rule is assumed to be recursive and able to fire
+     */
+    public static RuleDependencyGraph empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param tx transaction to read the rules of the schema from
+     * @return the dependency graph of the rules the transaction reads
+     */
+    public static RuleDependencyGraph of(TransactionImpl<?> tx) {
+        long start = System.currentTimeMillis();
+        Map<Label, Set<Label>> dependencies = new HashMap<>();
+        // for every rule, the rules which can conclude each atom of its body whose type cannot have stored instances
+        Map<Label, List<Set<Label>>> unpopulatedAtoms = new HashMap<>();
+
+        for (Rule rule : tx.ruleCache().getRules().collect(toList())) {
+            InferenceRule inferenceRule = tx.ruleCache().getRule(rule, () -> new InferenceRule(rule, tx));
+            Set<Label> ruleDependencies = new HashSet<>();
+            List<Set<Label>> ruleUnpopulatedAtoms = new ArrayList<>();
+            inferenceRule.getBody().getAtoms(Atom.class).forEach(atom -> {
+                Set<Label> concludingRules = atom.getPotentialRules().map(Rule::label).collect(toSet());
+                ruleDependencies.addAll(concludingRules);
+                if (!canHaveInstances(atom.getSchemaConcept())) ruleUnpopulatedAtoms.add(concludingRules);
+            });
+            dependencies.put(rule.label(), ruleDependencies);
+            unpopulatedAtoms.put(rule.label(), ruleUnpopulatedAtoms);
+        }
+
+        Map<Label, Integer> strata = new HashMap<>();
+        Set<Label> recursiveRules = new HashSet<>();
+        Set<Label> recursionFreeRules = new HashSet<>();
+        // components are found after the components they depend on
+        for (Set<Label> component : components(dependencies)) {
+            Label first = component.iterator().next();
+            boolean recursive = component.size() > 1 || dependencies.get(first).contains(first);
+            boolean recursionFree = !recursive;
+            int stratum = 0;
+            for (Label rule : component) {
+                for (Label dependency : dependencies.get(rule)) {
+                    if (component.contains(dependency) || !strata.containsKey(dependency)) continue;
+                    stratum = Math.max(stratum, strata.get(dependency) + 1);
+                    recursionFree &= recursionFreeRules.contains(dependency);
+                }
+            }
+            for (Label rule : component) {
+                strata.put(rule, stratum);
+                if (recursive) recursiveRules.add(rule);
+                if (recursionFree) recursionFreeRules.add(rule);
+            }
+        }
+
+        Set<Label> liveRules = new HashSet<>();
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (Map.Entry<Label, List<Set<Label>>> rule : unpopulatedAtoms.entrySet()) {
+                if (!liveRules.contains(rule.getKey())
+                        && rule.getValue().stream().allMatch(concludingRules -> !Collections.disjoint(concludingRules, liveRules))) {
+                    grown |= liveRules.add(rule.getKey());
+                }
+            }
+        }
+        Set<Label> deadRules = new HashSet<>(dependencies.keySet());
+        deadRules.removeAll(liveRules);
+
+        RuleDependencyGraph graph = new RuleDependencyGraph(ImmutableMap.copyOf(strata), ImmutableSet.copyOf(recursiveRules),
+                ImmutableSet.copyOf(recursionFreeRules), ImmutableSet.copyOf(deadRules));
+        LOG.debug("Built the dependency graph of {} rules in {} strata, with {} recursive and {} dead rules, in {} ms",
+                dependencies.size(), graph.strata(), recursiveRules.size(), deadRules.size(), System.currentTimeMillis() - start);
+        return graph;
+    }
+
+    private static boolean canHaveInstances(SchemaConcept type) {
+        if (type == null || !type.isType()) return true;
+        return type.subs().anyMatch(sub -> sub.isType() && !sub.asType().isAbstract());
+    }
+
+    /**
+     * Finds the strongly connected components of the graph with Tarjan's algorithm
+     *
+     * @return the components, each after all the components it depends on
+     */
+    private static List<Set<Label>> components(Map<Label, Set<Label>> dependencies) {
+        Map<Label, Integer> index = new HashMap<>();
+        Map<Label, Integer> lowLink = new HashMap<>();
+        Deque<Label> stack = new ArrayDeque<>();
+        Set<Label> onStack = new HashSet<>();
+        List<Set<Label>> components = new ArrayList<>();
+        for (Label rule : dependencies.keySet()) {
+            if (!index.containsKey(rule)) connect(rule, dependencies, index, lowLink, stack, onStack, components);
+        }
+        return components;
+    }
+
+    private static void connect(Label rule, Map<Label, Set<Label>> dependencies, Map<Label, Integer> index,
+                                Map<Label, Integer> lowLink, Deque<Label> stack, Set<Label> onStack,
+                                List<Set<Label>> components) {
+        index.put(rule, index.size());
+        lowLink.put(rule, index.get(rule));
+        stack.push(rule);
+        onStack.add(rule);
+
+        for (Label dependency : dependencies.get(rule)) {
+            if (!dependencies.containsKey(dependency)) continue;
+            if (!index.containsKey(dependency)) {
+                connect(dependency, dependencies, index, lowLink, stack, onStack, components);
+                lowLink.put(rule, Math.min(lowLink.get(rule), lowLink.get(dependency)));
+            } else if (onStack.contains(dependency)) {
+                lowLink.put(rule, Math.min(lowLink.get(rule), index.get(dependency)));
+            }
+        }
+
+        if (lowLink.get(rule).equals(index.get(rule))) {
+            Set<Label> component = new HashSet<>();
+            Label member;
+            do {
+                member = stack.pop();
+                onStack.remove(member);
+                component.add(member);
+            } while (!member.equals(rule));
+            components.add(component);
+        }
+    }
+
+    /**
+     * @return true if the rule depends on itself, directly or through other rules
+     */
+    public boolean isRecursive(Rule rule) {
+        return recursiveRules.contains(rule.label()) || !strata.containsKey(rule.label());
+    }
+
+    /**
+     * @return true if the rule, or any rule it depends on, is recursive
+     */
+    public boolean dependsOnRecursion(Rule rule) {
+        return !recursionFreeRules.contains(rule.label());
+    }
+
+    /**
+     * @return true if the rule can never fire with the types of the schema
+     */
+    public boolean isDead(Rule rule) {
+        return deadRules.contains(rule.label());
+    }
+
+    /**
+     * @return the stratum of the rule, or -1 if the rule is not in the graph
+     */
+    public int stratum(Rule rule) {
+        return strata.getOrDefault(rule.label(), -1);
+    }
+
+    /**
+     * @return the number of strata of the graph
+     */
+    public int strata() {
+        return strata.values().stream().mapToInt(stratum -> stratum + 1).max().orElse(0);
+    }
+}
@@ -0,0 +1,510 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.reasoner.rule;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.concept.Attribute;
+import grakn.core.graql.concept.AttributeType;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.Label;
+import grakn.core.graql.concept.Relationship;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.concept.Rule;
+import grakn.core.graql.concept.SchemaConcept;
+import grakn.core.graql.concept.Thing;
+import grakn.core.graql.internal.Schema;
+import grakn.core.graql.internal.reasoner.atom.Atom;
+import grakn.core.graql.internal.reasoner.atom.binary.RelationshipAtom;
+import grakn.core.graql.internal.reasoner.atom.binary.ResourceAtom;
+import grakn.core.graql.query.Graql;
+import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.server.Transaction;
+import grakn.core.server.keyspace.Keyspace;
+import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.session.cache.TransactionCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * <p>
+ *     Stores the consequences of the rules configured to be materialised in a {@link Keyspace} as inferred data, so
+ *     that queries read them instead of resolving these rules
+ * </p>
+ *
+ * <p>
+ *     Every write transaction brings the stored consequences up to date with its own writes before it commits. Only
+ *     the rules which depend on the types whose instances it changed are maintained, in the order in which they
+ *     depend on each other. When the transaction only added facts, the consequences are derived again from the things
+ *     it gave new facts only, by binding each variable of the body of a rule to them, and the missing ones are
+ *     inserted. The things in inserted consequences are then used in the same way for the rules which depend on
+ *     them, until nothing new is inserted.
+ * </p>
+ *
+ * <p>
+ *     When the transaction removed facts, changed the schema or gave new facts to too many things, the consequences
+ *     are derived again from the whole body of a rule and compared with the stored ones, which are inserted when
+ *     missing and deleted when they are no longer derived. The consequences of rules which depend on themselves could
+ *     support each other, so they are then all deleted first and derived again until nothing new is derived.
+ * </p>
+ *
+ * <p>
+ *     The commits of the write transactions of a session which maintain the rules are serialised. A rule is only read
+ *     from storage once a write transaction of this session has maintained it, as long as every later commit which
+ *     changed data also maintained it without another transaction committing while it was open, and never in a
+ *     transaction which changed what it depends on but has not committed yet. Only rules which conclude a
+ *     relationship or an attribute can be materialised.
+ * </p>
+ */
+public class RuleMaterialiser {
+    private static final Logger LOG = LoggerFactory.getLogger(RuleMaterialiser.class);
+
+    private final Set<Label> rules;
+    //beyond this many things with new facts, deriving the consequences of the rules from all their bodies is cheaper
+    private final int maxSeeds;
+    private final Set<Label> maintainedRules = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RuleMaterialiser(Config config) {
+        this.rules = Arrays.stream(config.getProperty(ConfigKey.REASONER_MATERIALISED_RULES).split(","))
+                .map(String::trim)
+                .filter(label -> !label.isEmpty())
+                .map(Label::of)
+                .collect(toSet());
+        this.maxSeeds = config.getProperty(ConfigKey.REASONER_MATERIALISED_RULES_MAX_SEEDS);
+    }
+
+    public boolean isEnabled() {
+        return !rules.isEmpty();
+    }
+
+    /**
+     * @return true if the rule is configured to be materialised
+     */
+    public boolean isMaterialised(Rule rule) {
+        return rules.contains(rule.label());
+    }
+
+    /**
+     * @return true if the stored consequences of the rule have been kept up to date by the commits of this session
+     */
+    public boolean isMaintained(Rule rule) {
+        return maintainedRules.contains(rule.label());
+    }
+
+    /**
+     * @return the number of commits of this session which changed data or the schema
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Validates and commits a transaction, first bringing the stored consequences of the materialised rules up to
+     * date with its writes if it is a write transaction. The commits of the session are serialised while rules are
+     * materialised, so that no two transactions maintain the same consequences at once.
+     *
+     * @param tx       the transaction to commit
+     * @param validate validates the transaction
+     * @param commit   commits the validated transaction
+     * @return what committing the transaction returned
+     */
+    public <T> T commit(TransactionImpl<?> tx, Runnable validate, Supplier<T> commit) {
+        if (!isEnabled()) {
+            validate.run();
+            return commit.get();
+        }
+
+        commitLock.lock();
+        try {
+            TransactionCache txCache = tx.txCache();
+            Set<Label> maintained = Collections.emptySet();
+            if (txCache.txType() == Transaction.Type.WRITE) {
+                // the rules a transaction defines are only linked to the types in their bodies once it is validated
+                if (txCache.hasSchemaWriteOccurred()) validate.run();
+                maintained = maintain(tx);
+            }
+            boolean modified = !txCache.modifiedTypes().isEmpty() || txCache.hasSchemaWriteOccurred();
+            validate.run();
+            T committed = commit.get();
+            committed(txCache.materialiserGeneration(), maintained, modified);
+            return committed;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of a commit
+     *
+     * @param openGeneration the generation when the committed transaction was opened
+     * @param maintained     the rules whose consequences the committed transaction brought up to date
+     * @param modified       true if the committed transaction changed the instances of a type or the schema
+     */
+    private void committed(long openGeneration, Set<Label> maintained, boolean modified) {
+        // a transaction which another one committed under may not have seen all the facts the rules depend on
+        boolean concurrent = openGeneration != generation.get();
+        if (modified) generation.incrementAndGet();
+
+        // a transaction which did not maintain the rules, such as a batch loading one, may have made them stale
+        if (modified && (concurrent || maintained.isEmpty())) {
+            maintainedRules.clear();
+        } else if (!concurrent) {
+            maintainedRules.addAll(maintained);
+        }
+    }
+
+    /**
+     * Brings the stored consequences of the materialised rules up to date with the writes of a transaction which is
+     * about to commit
+     *
+     * @param tx the transaction to maintain the rules in
+     * @return the rules whose consequences are up to date once the transaction commits
+     */
+    private Set<Label> maintain(TransactionImpl<?> tx) {
+        TransactionCache txCache = tx.txCache();
+        if (txCache.materialiserGeneration() != generation.get()) {
+            LOG.debug("Not maintaining the materialised rules, because another transaction committed while this one was open");
+            return Collections.emptySet();
+        }
+
+        Set<Label> modifiedTypes = new HashSet<>(txCache.modifiedTypes());
+        boolean schemaModified = txCache.hasSchemaWriteOccurred();
+
+        Map<SchemaConcept, Set<InferenceRule>> rulesByHead = new LinkedHashMap<>();
+        Set<Rule> materialisedRules = new HashSet<>();
+        boolean maintained = true;
+        for (Rule rule : tx.ruleCache().getRules().filter(this::isMaterialised).collect(toList())) {
+            InferenceRule inferenceRule = tx.ruleCache().getRule(rule, () -> new InferenceRule(rule, tx));
+            Atom head = inferenceRule.getHead().getAtom();
+            if ((!head.isRelation() && !head.isResource()) || inferenceRule.isAppendRule()) {
+                LOG.warn("Rule [{}] is not materialised, because it does not conclude a new relationship or attribute", rule.label());
+                continue;
+            }
+            rulesByHead.computeIfAbsent(head.getSchemaConcept(), type -> new HashSet<>()).add(inferenceRule);
+            materialisedRules.add(rule);
+            maintained &= isMaintained(rule);
+        }
+        if (rulesByHead.isEmpty()) return Collections.emptySet();
+
+        Map<SchemaConcept, Set<SchemaConcept>> dependencies = new HashMap<>();
+        rulesByHead.forEach((type, headRules) -> dependencies.put(type, headRules.stream()
+                .flatMap(rule -> rule.getRule().whenTypes())
+                .flatMap(whenType -> tx.ruleCache().getDependencies(whenType).stream())
+                .collect(toSet())));
+
+        Set<SchemaConcept> affected = new HashSet<>();
+        rulesByHead.forEach((type, headRules) -> {
+            boolean changed = schemaModified
+                    || headRules.stream().anyMatch(rule -> !isMaintained(rule.getRule()))
+                    || dependencies.get(type).stream().anyMatch(dependency -> modifiedTypes.contains(dependency.label()));
+            if (changed) affected.add(type);
+        });
+        // the consequences of a rule change with the consequences of the rules it depends on
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (SchemaConcept type : rulesByHead.keySet()) {
+                if (!affected.contains(type) && !Collections.disjoint(dependencies.get(type), affected)) {
+                    grown |= affected.add(type);
+                }
+            }
+        }
+
+        if (!affected.isEmpty()) {
+            long start = System.currentTimeMillis();
+            Set<ConceptId> seeds = seeds(maintained && !schemaModified, affected, rulesByHead, dependencies, materialisedRules, tx);
+            tx.ruleCache().startMaterialising(materialisedRules);
+            try {
+                maintain(affected, rulesByHead, dependencies, seeds, tx);
+            } finally {
+                tx.ruleCache().stopMaterialising();
+            }
+            LOG.debug("Maintained the consequences of {} materialised types {} in {} ms", affected.size(),
+                    seeds == null ? "from all facts" : "from " + seeds.size() + " things with new facts",
+                    System.currentTimeMillis() - start);
+        }
+
+        if (!maintained && LOG.isInfoEnabled()) {
+            LOG.info("Materialised rules {} in keyspace [{}]", materialisedRules.stream().map(Rule::label).collect(toSet()), tx.keyspace());
+        }
+        return materialisedRules.stream().map(Rule::label).collect(toSet());
+    }
+
+    /**
+     * @return the existing things the transaction gave new facts to, or null if the consequences of the affected
+     * types cannot be derived from them only
+     */
+    @Nullable
+    private Set<ConceptId> seeds(boolean maintained, Set<SchemaConcept> affected,
+                                        Map<SchemaConcept, Set<InferenceRule>> rulesByHead,
+                                        Map<SchemaConcept, Set<SchemaConcept>> dependencies,
+                                        Set<Rule> materialisedRules, TransactionImpl<?> tx) {
+        TransactionCache txCache = tx.txCache();
+        if (!maintained || txCache.getThingsWithNewFacts().size() > maxSeeds) return null;
+
+        for (SchemaConcept type : affected) {
+            for (SchemaConcept dependency : dependencies.get(type)) {
+                // removed facts may take away consequences, which are only found by deriving them all again
+                if (txCache.getTypesWithRemovedFacts().contains(dependency.label())) return null;
+                // the new facts could only be reached through a rule which is resolved rather than stored
+                if (tx.ruleCache().getRulesWithType(dependency).anyMatch(rule -> !materialisedRules.contains(rule))) return null;
+            }
+            // every fact in a body must be reachable from one of its variables
+            boolean bound = rulesByHead.get(type).stream()
+                    .flatMap(rule -> rule.getBody().getAtoms(Atom.class))
+                    .allMatch(atom -> atom.getVarNames().stream().anyMatch(Var::isUserDefinedName));
+            if (!bound) return null;
+        }
+
+        return txCache.getThingsWithNewFacts().stream()
+                .filter(id -> tx.getConcept(id) != null)
+                .collect(toSet());
+    }
+
+    /**
+     * Maintains the affected types, a type only once all the types it depends on have been maintained
+     *
+     * @param seeds the things with new facts to derive the consequences from, or null to derive them from all facts
+     */
+    private void maintain(Set<SchemaConcept> affected, Map<SchemaConcept, Set<InferenceRule>> rulesByHead,
+                          Map<SchemaConcept, Set<SchemaConcept>> dependencies, @Nullable Set<ConceptId> seeds,
+                          TransactionImpl<?> tx) {
+        Set<SchemaConcept> remaining = new HashSet<>(affected);
+        while (!remaining.isEmpty()) {
+            // the types which only depend on themselves or on types which depend on them
+            SchemaConcept next = remaining.stream()
+                    .filter(type -> remaining.stream()
+                            .filter(other -> dependencies.get(type).contains(other))
+                            .allMatch(other -> dependencies.get(other).contains(type)))
+                    .findFirst().orElseThrow(IllegalStateException::new);
+            Set<SchemaConcept> component = remaining.stream()
+                    .filter(type -> type.equals(next)
+                            || dependencies.get(next).contains(type) && dependencies.get(type).contains(next))
+                    .collect(toSet());
+            boolean recursive = dependencies.get(next).contains(next);
+
+            if (seeds != null) {
+                // every consequence inserted for a type gives new facts to the types which depend on it
+                Set<ConceptId> delta = new HashSet<>(seeds);
+                while (!delta.isEmpty()) {
+                    Set<ConceptId> inserted = new HashSet<>();
+                    for (SchemaConcept type : component) {
+                        inserted.addAll(insert(rulesByHead.get(type), delta, tx));
+                    }
+                    seeds.addAll(inserted);
+                    delta = recursive ? inserted : Collections.emptySet();
+                }
+            } else if (recursive) {
+                component.forEach(type -> storedConsequences(type, tx).values().forEach(Thing::delete));
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    for (SchemaConcept type : component) {
+                        changed |= maintain(type, rulesByHead.get(type), tx);
+                    }
+                }
+            } else {
+                maintain(next, rulesByHead.get(next), tx);
+            }
+            remaining.removeAll(component);
+        }
+    }
+
+    /**
+     * Derives the consequences of the rules which bind a variable of their body to one of the given things, and
+     * inserts the missing ones
+     *
+     * @return the things in the inserted consequences
+     */
+    private static Set<ConceptId> insert(Set<InferenceRule> headRules, Set<ConceptId> seeds, TransactionImpl<?> tx) {
+        Set<ConceptId> inserted = new HashSet<>();
+        for (InferenceRule rule : headRules) {
+            Atom head = rule.getHead().getAtom();
+            Set<Var> headVars = rule.getHead().getVarNames();
+            Set<Var> bodyVars = rule.getBody().getVarNames().stream().filter(Var::isUserDefinedName).collect(toSet());
+            for (ConceptId seed : seeds) {
+                for (Var var : bodyVars) {
+                    Pattern body = Graql.and(rule.getRule().when(), var.id(seed));
+                    Iterator<ConceptMap> answers = tx.graql().infer(true).match(body).stream().iterator();
+                    while (answers.hasNext()) {
+                        ConceptMap answer = answers.next().project(headVars);
+                        Map<Role, Set<ConceptId>> consequence = consequenceOf(head, answer, tx);
+                        if (consequence != null && isStored(head, consequence, tx)) continue;
+
+                        ConceptMap materialised = rule.getHead().materialise(answer).findFirst().orElse(null);
+                        if (materialised == null) continue;
+                        if (consequence == null) consequence = consequenceOf(head, materialised, tx);
+                        if (consequence != null) consequence.values().forEach(inserted::addAll);
+                    }
+                }
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * @return true if an inferred relationship with the role players of the consequence is stored
+     */
+    private static boolean isStored(Atom head, Map<Role, Set<ConceptId>> consequence, TransactionImpl<?> tx) {
+        SchemaConcept type = head.getSchemaConcept();
+        RelationshipType relationshipType = type.isAttributeType() ?
+                tx.getSchemaConcept(Schema.ImplicitType.HAS.getLabel(type.label())) :
+                type.asRelationshipType();
+        // attribute edges are only found from their owners
+        Role role = type.isAttributeType() ?
+                tx.getRole(Schema.ImplicitType.HAS_OWNER.getLabel(type.label()).getValue()) :
+                consequence.keySet().iterator().next();
+        Set<ConceptId> players = consequence.get(role);
+        Thing player = players == null || players.isEmpty() ? null : tx.getConcept(players.iterator().next());
+        if (relationshipType == null || player == null) return false;
+
+        return player.relationships(role)
+                .filter(Thing::isInferred)
+                .filter(relationship -> relationship.type().equals(relationshipType))
+                .anyMatch(relationship -> consequence.equals(rolePlayersOf(relationship)));
+    }
+
+    /**
+     * Derives the consequences of the rules concluding the type, inserting the missing ones and deleting the stored
+     * ones which are no longer derived
+     *
+     * @return true if any consequence was inserted or deleted
+     */
+    private boolean maintain(SchemaConcept type, Set<InferenceRule> headRules, TransactionImpl<?> tx) {
+        Map<Map<Role, Set<ConceptId>>, Relationship> stored = storedConsequences(type, tx);
+        Set<Map<Role, Set<ConceptId>>> derived = new HashSet<>();
+        boolean changed = false;
+
+        for (InferenceRule rule : headRules) {
+            Atom head = rule.getHead().getAtom();
+            Set<Var> headVars = rule.getHead().getVarNames();
+            Iterator<ConceptMap> answers = tx.graql().infer(true).match(rule.getRule().when()).stream().iterator();
+            while (answers.hasNext()) {
+                ConceptMap answer = answers.next().project(headVars);
+                Map<Role, Set<ConceptId>> consequence = consequenceOf(head, answer, tx);
+                if (consequence == null || !stored.containsKey(consequence)) {
+                    ConceptMap materialised = rule.getHead().materialise(answer).findFirst().orElse(null);
+                    if (materialised == null) continue;
+                    changed = true;
+                    if (consequence == null) consequence = consequenceOf(head, materialised, tx);
+                    if (consequence == null) continue;
+                    stored.put(consequence, null);
+                }
+                derived.add(consequence);
+            }
+        }
+
+        for (Map.Entry<Map<Role, Set<ConceptId>>, Relationship> entry : stored.entrySet()) {
+            if (entry.getValue() != null && !derived.contains(entry.getKey())) {
+                entry.getValue().delete();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return the inferred relationships stored for the type, or for the attribute type they own, by their role players
+     */
+    private static Map<Map<Role, Set<ConceptId>>, Relationship> storedConsequences(SchemaConcept type, TransactionImpl<?> tx) {
+        RelationshipType relationshipType = type.isAttributeType() ?
+                tx.getSchemaConcept(Schema.ImplicitType.HAS.getLabel(type.label())) :
+                type.asRelationshipType();
+        Map<Map<Role, Set<ConceptId>>, Relationship> stored = new HashMap<>();
+        if (relationshipType == null) return stored;
+
+        relationshipType.instances()
+                .filter(Thing::isInferred)
+                .filter(relationship -> relationship.type().equals(relationshipType))
+                .forEach(relationship -> stored.put(rolePlayersOf(relationship), relationship));
+        return stored;
+    }
+
+    private static Map<Role, Set<ConceptId>> rolePlayersOf(Relationship relationship) {
+        Map<Role, Set<ConceptId>> rolePlayers = new HashMap<>();
+        relationship.rolePlayersMap().forEach((role, players) ->
+                rolePlayers.put(role, players.stream().map(Thing::id).collect(toSet())));
+        return rolePlayers;
+    }
+
+    /**
+     * @return the role players of the relationship the head of a rule concludes for an answer of its body, or null
+     * if they cannot be known before it is materialised
+     */
+    @Nullable
+    private static Map<Role, Set<ConceptId>> consequenceOf(Atom head, ConceptMap answer, TransactionImpl<?> tx) {
+        Map<Role, Set<ConceptId>> rolePlayers = new HashMap<>();
+        if (head.isResource()) {
+            ResourceAtom resourceHead = (ResourceAtom) head;
+            Label attributeType = resourceHead.getSchemaConcept().label();
+            Attribute<?> attribute = answer.containsVar(resourceHead.getAttributeVariable()) ?
+                    answer.get(resourceHead.getAttributeVariable()).asAttribute() :
+                    specificAttribute(resourceHead);
+            if (attribute == null || !answer.containsVar(resourceHead.getVarName())) return null;
+
+            Role owner = tx.getRole(Schema.ImplicitType.HAS_OWNER.getLabel(attributeType).getValue());
+            Role value = tx.getRole(Schema.ImplicitType.HAS_VALUE.getLabel(attributeType).getValue());
+            rolePlayers.put(owner, Collections.singleton(answer.get(resourceHead.getVarName()).id()));
+            rolePlayers.put(value, Collections.singleton(attribute.id()));
+            return rolePlayers;
+        }
+
+        for (Map.Entry<Role, Var> rolePlayer : ((RelationshipAtom) head).getRoleVarMap().entries()) {
+            if (!answer.containsVar(rolePlayer.getValue())) return null;
+            rolePlayers.computeIfAbsent(rolePlayer.getKey(), role -> new HashSet<>()).add(answer.get(rolePlayer.getValue()).id());
+        }
+        return rolePlayers;
+    }
+
+    /**
+     * @return the existing attribute with the value the head of a rule concludes, or null if there is none
+     */
+    @Nullable
+    private static Attribute<?> specificAttribute(ResourceAtom head) {
+        List<Object> values = new ArrayList<>();
+        head.getMultiPredicate().forEach(predicate -> predicate.getPredicate().equalsValue().ifPresent(values::add));
+        if (values.size() != 1) return null;
+        AttributeType<Object> attributeType = head.getSchemaConcept().asAttributeType();
+        return attributeType.attribute(values.get(0));
+    }
+}
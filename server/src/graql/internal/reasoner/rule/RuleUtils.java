@@ -106,6 +106,16 @@ public class RuleUtils {
                 .anyMatch(InferenceRule::headSatisfiesBody);
     }
 
+    /**
+     * @param rules set of rules of interest forming a rule subgraph
+     * @return true if the rule subgraph formed from provided rules contains any rule with a body reaching the same sub goal twice
+     */
+    public static boolean subGraphHasRulesWithEquivalentRuleResolvableAtoms(Set<InferenceRule> rules){
+        return rules.stream()
+                .map(InferenceRule::getBody)
+                .anyMatch(ReasonerQueryImpl::hasEquivalentRuleResolvableAtoms);
+    }
+
     /**
      * @param query top query
      * @return all rules that are reachable from the entry types
@@ -62,6 +62,11 @@ class AtomicState extends QueryState<ReasonerAtomicQuery> {
         ReasonerAtomicQuery query = getQuery();
         if (answer.isEmpty()) return null;
 
+        QueryStateBase parent = getParentState();
+        if (parent != null
+                && parent.requiresRecentAnswers()
+                && !getCache().isRecentAnswer(query, answer, getCacheUnifier())) return null;
+
         if (state.getRule() != null && query.getAtom().requiresRoleExpansion()) {
             return new RoleExpansionState(answer, getUnifier(), query.getAtom().getRoleExpansionVariables(), getParentState());
         }
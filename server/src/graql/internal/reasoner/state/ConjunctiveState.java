@@ -20,6 +20,7 @@ package grakn.core.graql.internal.reasoner.state;
 
 import grakn.core.graql.admin.Unifier;
 import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.internal.reasoner.atom.Atom;
 import grakn.core.graql.internal.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import grakn.core.graql.internal.reasoner.query.ReasonerQueries;
@@ -41,6 +42,21 @@ public class ConjunctiveState extends QueryState<ReasonerQueryImpl> {
         super(ReasonerQueries.create(q, sub), sub, u, parent, visitedSubGoals, cache);
     }
 
+    private Boolean singleResolvableAtom = null;
+
+    @Override
+    boolean requiresRecentAnswers() {
+        QueryStateBase parent = getParentState();
+        if (parent == null || !parent.requiresRecentAnswers()) return false;
+
+        //the answers of atoms which can't be inferred are the same in every iteration,
+        //so only an answer of the single inferred atom can be recent
+        if (singleResolvableAtom == null) {
+            singleResolvableAtom = getQuery().selectAtoms().filter(Atom::isRuleResolvable).count() == 1;
+        }
+        return singleResolvableAtom;
+    }
+
     @Override
     ResolutionState propagateAnswer(AnswerState state) {
         ConceptMap answer = state.getAnswer();
@@ -23,12 +23,14 @@ import grakn.core.graql.answer.ConceptMap;
 import grakn.core.graql.internal.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import grakn.core.graql.internal.reasoner.query.ReasonerQueryImpl;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  *
@@ -36,6 +38,12 @@ import java.util.stream.Collectors;
  * Query state corresponding to a an intermediate state obtained from decomposing a conjunctive query ({@link ReasonerQueryImpl}) in the resolution tree.
  * </p>
  *
+ * <p>
+ * The states created from the answers of a state are siblings. When the next query of the siblings cannot be inferred
+ * and shares no variable with their substitutions, it has the same answers for every sibling: they are found by the
+ * first sibling and replayed to the others, instead of looking them up again for every answer of this state.
+ * </p>
+ *
  *
  */
 public class CumulativeState extends QueryStateBase{
@@ -44,20 +52,53 @@ public class CumulativeState extends QueryStateBase{
     private final Iterator<ResolutionState> feederStateIterator;
     private final ReasonerQueryImpl query;
 
+    //answers of the query shared with the sibling states, if the query is disconnected from their substitutions
+    private final DisconnectedAnswers disconnectedAnswers;
+    private final boolean recordingAnswers;
+    //answers shared by the states created from the answers of this state
+    private final DisconnectedAnswers childAnswers = new DisconnectedAnswers();
+
     public CumulativeState(List<ReasonerQueryImpl> qs,
                            ConceptMap sub,
                            Unifier u,
                            QueryStateBase parent,
                            Set<ReasonerAtomicQuery> subGoals,
                            MultilevelSemanticCache cache) {
+        this(qs, sub, u, parent, subGoals, cache, null);
+    }
+
+    private CumulativeState(List<ReasonerQueryImpl> qs,
+                            ConceptMap sub,
+                            Unifier u,
+                            QueryStateBase parent,
+                            Set<ReasonerAtomicQuery> subGoals,
+                            MultilevelSemanticCache cache,
+                            @Nullable DisconnectedAnswers siblingAnswers) {
         super(sub, u, parent, subGoals, cache);
         this.subQueries = new LinkedList<>(qs);
 
         this.query = subQueries.getFirst();
-        //NB: we need lazy subGoal initialisation here, otherwise they are marked as visited before visit happens
-        this.feederStateIterator = !subQueries.isEmpty()?
-                subQueries.removeFirst().subGoals(sub, u, this, subGoals, cache).iterator() :
-                Collections.emptyIterator();
+        this.disconnectedAnswers = siblingAnswers != null && isDisconnected(query, sub) ? siblingAnswers : null;
+        if (disconnectedAnswers != null && disconnectedAnswers.complete) {
+            subQueries.removeFirst();
+            this.recordingAnswers = false;
+            this.feederStateIterator = disconnectedAnswers.answers.stream()
+                    .map(answer -> (ResolutionState) new AnswerState(answer, u, this))
+                    .iterator();
+        } else {
+            this.recordingAnswers = disconnectedAnswers != null && disconnectedAnswers.startRecording();
+            //NB: we need lazy subGoal initialisation here, otherwise they are marked as visited before visit happens
+            this.feederStateIterator = !subQueries.isEmpty()?
+                    subQueries.removeFirst().subGoals(sub, u, this, subGoals, cache).iterator() :
+                    Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * @return true if the answers of the query are the same for any substitution with the variables of the given one
+     */
+    private static boolean isDisconnected(ReasonerQueryImpl query, ConceptMap sub){
+        return !query.isRuleResolvable() && Collections.disjoint(query.getVarNames(), sub.vars());
     }
 
     @Override
@@ -70,19 +111,46 @@ public class CumulativeState extends QueryStateBase{
 
     @Override
     public ResolutionState propagateAnswer(AnswerState state) {
+        if (recordingAnswers) disconnectedAnswers.answers.add(state.getSubstitution().project(query.getVarNames()));
         ConceptMap answer = getSubstitution().merge(state.getSubstitution(), true);
         if (answer.isEmpty()) return null;
         if (subQueries.isEmpty()) return new AnswerState(answer, getUnifier(), getParentState());
-        return new CumulativeState(subQueries, answer, getUnifier(), getParentState(), getVisitedSubGoals(), getCache());
+        return new CumulativeState(subQueries, answer, getUnifier(), getParentState(), getVisitedSubGoals(), getCache(), childAnswers);
+    }
+
+    @Override
+    boolean requiresRecentAnswers(){
+        return query.isRuleResolvable() && getParentState().requiresRecentAnswers();
     }
 
     @Override
     public ResolutionState generateSubGoal(){
-        return feederStateIterator.hasNext()? feederStateIterator.next() : null;
+        if (feederStateIterator.hasNext()) return feederStateIterator.next();
+        //the states fed to this state are above it in the resolution stack, so they have all propagated their answers
+        if (recordingAnswers) disconnectedAnswers.complete = true;
+        return null;
     }
 
     @Override
     ConceptMap consumeAnswer(AnswerState state) {
         return state.getSubstitution();
     }
+
+    /**
+     * Answers of a disconnected query, found by the first sibling state and replayed to the others once complete
+     */
+    private static class DisconnectedAnswers {
+        private final List<ConceptMap> answers = new ArrayList<>();
+        private boolean recording = false;
+        private boolean complete = false;
+
+        /**
+         * @return true if the caller is the first state to look the answers up, which then records them
+         */
+        boolean startRecording(){
+            if (recording) return false;
+            recording = true;
+            return true;
+        }
+    }
 }
@@ -60,6 +60,12 @@ public abstract class QueryStateBase extends ResolutionState {
      */
     public Unifier getUnifier(){ return unifier;}
 
+    /**
+     * @return true if only answers recently recorded in the cache can give new answers to this state, because older
+     * answers were already propagated through an equivalent state in a previous iteration
+     */
+    boolean requiresRecentAnswers(){ return false;}
+
     /**
      * propagates the answer state up the tree and acknowledges (caches) its substitution
      * @param state to propagate
@@ -24,6 +24,7 @@ import grakn.core.graql.answer.ConceptMap;
 import grakn.core.graql.internal.reasoner.cache.MultilevelSemanticCache;
 import grakn.core.graql.internal.reasoner.query.ReasonerAtomicQuery;
 import grakn.core.graql.internal.reasoner.rule.InferenceRule;
+import grakn.core.server.metrics.ServerMetrics;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -38,10 +39,12 @@ import java.util.Set;
 public class RuleState extends QueryStateBase{
 
     private final InferenceRule rule;
+    private final boolean recentAnswersOnly;
     private final Iterator<ResolutionState> bodyIterator;
 
-    public RuleState(InferenceRule rule, ConceptMap sub, Unifier unifier, QueryStateBase parent, Set<ReasonerAtomicQuery> visitedSubGoals, MultilevelSemanticCache cache) {
+    public RuleState(InferenceRule rule, ConceptMap sub, Unifier unifier, QueryStateBase parent, Set<ReasonerAtomicQuery> visitedSubGoals, MultilevelSemanticCache cache, boolean recentAnswersOnly) {
         super(sub, unifier, parent, visitedSubGoals, cache);
+        this.recentAnswersOnly = recentAnswersOnly;
         this.bodyIterator = Iterators.singletonIterator(rule.getBody().subGoal(sub, unifier, this, visitedSubGoals, cache));
         this.rule = rule;
     }
@@ -56,9 +59,14 @@ public class RuleState extends QueryStateBase{
     @Override
     ResolutionState propagateAnswer(AnswerState state){
         ConceptMap answer = state.getAnswer();
-        return !answer.isEmpty()? new AnswerState(answer, getUnifier(), getParentState(), rule) : null;
+        if (answer.isEmpty()) return null;
+        ServerMetrics.REASONER_RULE_ANSWERS.labels(rule.stratum()).inc();
+        return new AnswerState(answer, getUnifier(), getParentState(), rule);
     }
 
+    @Override
+    boolean requiresRecentAnswers(){ return recentAnswersOnly;}
+
     @Override
     public ResolutionState generateSubGoal() {
         return bodyIterator.hasNext() ? bodyIterator.next() : null;
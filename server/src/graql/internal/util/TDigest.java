@@ -0,0 +1,168 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     A t-digest: a summary of a stream of numbers from which quantiles are estimated in a single pass and in
+ *     constant memory. See "Computing Extremely Accurate Quantiles Using t-Digests" by Dunning and Ertl.
+ * </p>
+ *
+ * <p>
+ *     Numbers are summarised as centroids: a mean and the number of numbers it stands for. Centroids near the
+ *     extreme quantiles stand for few numbers, so quantiles near them are estimated most accurately, and a stream
+ *     smaller than the compression is summarised without any loss.
+ * </p>
+ */
+public class TDigest {
+
+    private final double compression;
+
+    // centroids, ordered by their means
+    private double[] means;
+    private long[] weights;
+    private int centroids = 0;
+
+    // numbers added since the centroids were last merged
+    private final double[] buffer;
+    private int buffered = 0;
+
+    private long count = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param compression the accuracy of the digest: the number of centroids it keeps is of the order of it
+     */
+    public TDigest(double compression) {
+        this.compression = compression;
+        int maxCentroids = 2 * (int) Math.ceil(compression) + 10;
+        this.means = new double[maxCentroids];
+        this.weights = new long[maxCentroids];
+        this.buffer = new double[5 * maxCentroids];
+    }
+
+    public void add(double x) {
+        if (buffered == buffer.length) merge();
+        buffer[buffered++] = x;
+        count++;
+        min = Math.min(min, x);
+        max = Math.max(max, x);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Estimates the given quantile, interpolating between the numbers nearest to it as an exact quantile would
+     * @param q the quantile to estimate, between 0 and 1
+     * @return the estimated quantile, or NaN if no number was added
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) throw new IllegalArgumentException("quantile " + q + " should be between 0 and 1");
+        if (count == 0) return Double.NaN;
+        // the extremes are kept exactly, though they may have been merged into a centroid
+        if (q == 0) return min;
+        if (q == 1) return max;
+        merge();
+
+        // the position of the quantile, counting the numbers from 0.5, where a centroid of a single number is
+        double position = q * (count - 1) + 0.5;
+
+        double centre = weights[0] / 2.0;
+        if (position <= centre) {
+            return interpolate(position, 0.5, min, centre, means[0]);
+        }
+        for (int i = 0; i < centroids - 1; i++) {
+            double nextCentre = centre + (weights[i] + weights[i + 1]) / 2.0;
+            if (position <= nextCentre) {
+                return interpolate(position, centre, means[i], nextCentre, means[i + 1]);
+            }
+            centre = nextCentre;
+        }
+        return interpolate(position, centre, means[centroids - 1], count - 0.5, max);
+    }
+
+    private static double interpolate(double position, double fromPosition, double from, double toPosition, double to) {
+        if (toPosition <= fromPosition) return to;
+        return from + (to - from) * (position - fromPosition) / (toPosition - fromPosition);
+    }
+
+    /**
+     * Merges the buffered numbers into the centroids, keeping every centroid within the size allowed at its quantile
+     */
+    private void merge() {
+        if (buffered == 0) return;
+        Arrays.sort(buffer, 0, buffered);
+
+        double[] mergedMeans = new double[means.length];
+        long[] mergedWeights = new long[weights.length];
+        int merged = -1;
+
+        long cumulativeWeight = 0;
+        double weightLimit = weightLimit(0);
+        int i = 0;
+        int j = 0;
+        while (i < centroids || j < buffered) {
+            double mean;
+            long weight;
+            if (j == buffered || (i < centroids && means[i] <= buffer[j])) {
+                mean = means[i];
+                weight = weights[i++];
+            } else {
+                mean = buffer[j++];
+                weight = 1;
+            }
+
+            if (merged >= 0 && cumulativeWeight + weight <= weightLimit) {
+                mergedWeights[merged] += weight;
+                mergedMeans[merged] += (mean - mergedMeans[merged]) * weight / mergedWeights[merged];
+            } else {
+                if (merged >= 0) weightLimit = weightLimit(cumulativeWeight);
+                merged++;
+                if (merged == mergedMeans.length) {
+                    mergedMeans = Arrays.copyOf(mergedMeans, 2 * merged);
+                    mergedWeights = Arrays.copyOf(mergedWeights, 2 * merged);
+                }
+                mergedMeans[merged] = mean;
+                mergedWeights[merged] = weight;
+            }
+            cumulativeWeight += weight;
+        }
+
+        means = mergedMeans;
+        weights = mergedWeights;
+        centroids = merged + 1;
+        buffered = 0;
+    }
+
+    /**
+     * @return the cumulative weight up to which a centroid starting at the given cumulative weight may grow
+     */
+    private double weightLimit(long cumulativeWeight) {
+        double q = (double) cumulativeWeight / count;
+        double k = compression * Math.asin(2 * q - 1) / (2 * Math.PI);
+        double limit = (Math.sin(2 * Math.PI * (k + 1) / compression) + 1) / 2;
+        if (k + 1 >= compression / 4) limit = 1;
+        return limit * count;
+    }
+}
@@ -213,6 +213,11 @@ class GraqlConstructor extends GraqlBaseVisitor {
         return visitAggregate(ctx.aggregate());
     }
 
+    @Override
+    public Long visitIntegerArgument(GraqlParser.IntegerArgumentContext ctx) {
+        return getInteger(ctx.INTEGER());
+    }
+
     @Override
     public List<Pattern> visitPatterns(GraqlParser.PatternsContext ctx) {
         return ctx.pattern().stream()
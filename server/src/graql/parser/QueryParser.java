@@ -35,6 +35,7 @@ import grakn.core.graql.query.pattern.Pattern;
 import grakn.core.graql.query.Query;
 import grakn.core.graql.query.QueryBuilder;
 import grakn.core.graql.query.pattern.Var;
+import grakn.core.server.metrics.ServerMetrics;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
@@ -133,7 +134,10 @@ public class QueryParser {
         // The above will work at compile time AND runtime - it will only fail when the query is executed:
         // >> Boolean bool = q.execute();
         // java.lang.ClassCastException: java.lang.Long cannot be cast to java.lang.Boolean
-        return (T) QUERY_EOF.parse(queryString);
+        long start = System.nanoTime();
+        T query = (T) QUERY_EOF.parse(queryString);
+        ServerMetrics.QUERY_PARSE_SECONDS.labels(ServerMetrics.queryType(query)).observeSecondsSince(start);
+        return query;
     }
 
     /**
@@ -256,6 +260,10 @@ public class QueryParser {
         registerAggregate("min", 1, args -> Graql.min((Var) args.get(0)));
         registerAggregate("mean", 1, args -> Graql.mean((Var) args.get(0)));
         registerAggregate("median", 1, args -> Graql.median((Var) args.get(0)));
+        registerAggregate("approximate-median", 1, args -> Graql.approximateMedian((Var) args.get(0)));
+        registerAggregate("percentile", 2, args -> Graql.percentile((Var) args.get(0), (Long) args.get(1)));
+        registerAggregate("approximate-percentile", 2,
+                          args -> Graql.approximatePercentile((Var) args.get(0), (Long) args.get(1)));
         registerAggregate("std", 1, args -> Graql.std((Var) args.get(0)));
 
         registerAggregate("group", 1, 2, args -> {
@@ -35,6 +35,7 @@ import grakn.core.graql.query.aggregate.MaxAggregate;
 import grakn.core.graql.query.aggregate.MeanAggregate;
 import grakn.core.graql.query.aggregate.MedianAggregate;
 import grakn.core.graql.query.aggregate.MinAggregate;
+import grakn.core.graql.query.aggregate.PercentileAggregate;
 import grakn.core.graql.query.aggregate.StdAggregate;
 import grakn.core.graql.query.aggregate.SumAggregate;
 import grakn.core.graql.query.pattern.Var;
@@ -347,6 +348,64 @@ public class Graql {
         return new MedianAggregate(var);
     }
 
+    /**
+     * Create an aggregate that will estimate the median of a variable's values, in constant memory.
+     * @param var the variable to find the median of
+     */
+    @CheckReturnValue
+    public static Aggregate<Value> approximateMedian(String var) {
+        return approximateMedian(Graql.var(var));
+    }
+
+    /**
+     * Create an aggregate that will estimate the median of a variable's values, in constant memory.
+     * @param var the variable to find the median of
+     */
+    @CheckReturnValue
+    public static Aggregate<Value> approximateMedian(Var var) {
+        return new PercentileAggregate(var, 50, true);
+    }
+
+    /**
+     * Create an aggregate that will find a percentile of a variable's values.
+     * @param var the variable to find the percentile of
+     * @param percentile the percentile to find, between 0 and 100
+     */
+    @CheckReturnValue
+    public static Aggregate<Value> percentile(String var, long percentile) {
+        return percentile(Graql.var(var), percentile);
+    }
+
+    /**
+     * Create an aggregate that will find a percentile of a variable's values.
+     * @param var the variable to find the percentile of
+     * @param percentile the percentile to find, between 0 and 100
+     */
+    @CheckReturnValue
+    public static Aggregate<Value> percentile(Var var, long percentile) {
+        return new PercentileAggregate(var, percentile, false);
+    }
+
+    /**
+     * Create an aggregate that will estimate a percentile of a variable's values, in constant memory.
+     * @param var the variable to find the percentile of
+     * @param percentile the percentile to find, between 0 and 100
+     */
+    @CheckReturnValue
+    public static Aggregate<Value> approximatePercentile(String var, long percentile) {
+        return approximatePercentile(Graql.var(var), percentile);
+    }
+
+    /**
+     * Create an aggregate that will estimate a percentile of a variable's values, in constant memory.
+     * @param var the variable to find the percentile of
+     * @param percentile the percentile to find, between 0 and 100
+     */
+    @CheckReturnValue
+    public static Aggregate<Value> approximatePercentile(Var var, long percentile) {
+        return new PercentileAggregate(var, percentile, true);
+    }
+
     /**
      * Create an aggregate that will find the unbiased sample standard deviation of a variable's values.
      * @param var the variable to find the standard deviation of
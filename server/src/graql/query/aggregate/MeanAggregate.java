@@ -25,37 +25,33 @@ import grakn.core.graql.query.pattern.Var;
 import grakn.core.graql.answer.Value;
 
 import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * Aggregate that finds mean of a {@link Match}.
  */
 public class MeanAggregate implements Aggregate<Value> {
 
     private final Var varName;
-    private final CountAggregate countAggregate;
-    private final Aggregate<Value> sumAggregate;
 
     public MeanAggregate(Var var) {
         this.varName = var;
-        countAggregate = new CountAggregate(Collections.singleton(var));
-        sumAggregate = new SumAggregate(var);
     }
 
     @Override
     public List<Value> apply(Stream<? extends ConceptMap> stream) {
-        List<? extends ConceptMap> list = stream.collect(toList());
-
-        Number count = countAggregate.apply(list.stream()).get(0).number();
+        // the mean is found in a single pass, so that the results are not kept in memory. Every answer is a value of
+        // the mean, so an attribute found by several answers is counted as many times as it is summed.
+        DoubleSummaryStatistics statistics = stream
+                .mapToDouble(result -> ((Number) result.get(varName).asAttribute().value()).doubleValue())
+                .summaryStatistics();
 
-        if (count.intValue() == 0) {
+        if (statistics.getCount() == 0) {
             return Collections.emptyList();
         } else {
-            Number sum = sumAggregate.apply(list.stream()).get(0).number();
-            return Collections.singletonList(new Value(sum.doubleValue() / count.longValue()));
+            return Collections.singletonList(new Value(statistics.getAverage()));
         }
     }
 
@@ -0,0 +1,113 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.query.aggregate;
+
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.answer.Value;
+import grakn.core.graql.exception.GraqlQueryException;
+import grakn.core.graql.internal.util.TDigest;
+import grakn.core.graql.query.Aggregate;
+import grakn.core.graql.query.Match;
+import grakn.core.graql.query.pattern.Var;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Aggregate that finds a percentile of a {@link Match}, interpolating between the nearest results.
+ *
+ * An exact percentile sorts every result. An approximate percentile is estimated in a single pass and in constant
+ * memory, using a {@link TDigest}.
+ */
+public class PercentileAggregate implements Aggregate<Value> {
+
+    // accurate to within a fraction of a percent of the results around the median, and better towards the extremes
+    private static final double COMPRESSION = 200;
+
+    private final Var varName;
+    private final long percentile;
+    private final boolean approximate;
+
+    public PercentileAggregate(Var varName, long percentile, boolean approximate) {
+        if (percentile < 0 || percentile > 100) {
+            throw GraqlQueryException.invalidPercentile(percentile);
+        }
+        this.varName = varName;
+        this.percentile = percentile;
+        this.approximate = approximate;
+    }
+
+    @Override
+    public List<Value> apply(Stream<? extends ConceptMap> stream) {
+        Stream<Number> numbers = stream.map(result -> (Number) result.get(varName).asAttribute().value());
+        return approximate ? approximatePercentile(numbers) : exactPercentile(numbers);
+    }
+
+    private List<Value> exactPercentile(Stream<Number> numbers) {
+        List<Number> results = numbers.sorted(Comparator.comparingDouble(Number::doubleValue)).collect(toList());
+        if (results.isEmpty()) return Collections.emptyList();
+
+        double position = percentile * (results.size() - 1) / 100.0;
+        int floor = (int) Math.floor(position);
+        int ceiling = (int) Math.ceil(position);
+
+        if (floor == ceiling) {
+            return Collections.singletonList(new Value(results.get(floor)));
+        } else {
+            double lower = results.get(floor).doubleValue();
+            double upper = results.get(ceiling).doubleValue();
+            return Collections.singletonList(new Value(lower + (upper - lower) * (position - floor)));
+        }
+    }
+
+    private List<Value> approximatePercentile(Stream<Number> numbers) {
+        TDigest digest = new TDigest(COMPRESSION);
+        numbers.forEach(number -> digest.add(number.doubleValue()));
+        if (digest.count() == 0) return Collections.emptyList();
+        return Collections.singletonList(new Value(digest.quantile(percentile / 100.0)));
+    }
+
+    @Override
+    public String toString() {
+        if (approximate && percentile == 50) return "approximate-median " + varName;
+        return (approximate ? "approximate-percentile " : "percentile ") + varName + " " + percentile;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        PercentileAggregate that = (PercentileAggregate) o;
+
+        return percentile == that.percentile && approximate == that.approximate && varName.equals(that.varName);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = varName.hashCode();
+        result = 31 * result + Long.hashCode(percentile);
+        result = 31 * result + Boolean.hashCode(approximate);
+        return result;
+    }
+}
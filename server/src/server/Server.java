@@ -17,8 +17,12 @@
  */
 package grakn.core.server;
 
+import grakn.core.common.config.ConfigKey;
 import grakn.core.server.deduplicator.AttributeDeduplicatorDaemon;
+import grakn.core.server.keyspace.Keyspace;
 import grakn.core.server.keyspace.KeyspaceManager;
+import grakn.core.server.metrics.MetricsHttpServer;
+import grakn.core.server.session.SessionStore;
 import grakn.core.server.util.LockManager;
 import grakn.core.server.util.ServerID;
 import grakn.core.common.config.Config;
@@ -26,10 +30,14 @@ import com.google.common.base.Stopwatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
+import static java.util.stream.Collectors.toSet;
 import static org.apache.commons.lang.exception.ExceptionUtils.getFullStackTrace;
 
 /**
@@ -45,18 +53,30 @@ public class Server implements AutoCloseable {
     private final LockManager lockManager;
     private final io.grpc.Server serverRPC;
     private final AttributeDeduplicatorDaemon attributeDeduplicatorDaemon;
+    private final @Nullable MetricsHttpServer metricsServer;
 
     private final KeyspaceManager keyspaceStore;
+    private final @Nullable SessionStore sessionStore;
 
     public Server(ServerID serverID, Config config, LockManager lockManager, io.grpc.Server serverRPC, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon, KeyspaceManager keyspaceStore) {
+        this(serverID, config, lockManager, serverRPC, attributeDeduplicatorDaemon, keyspaceStore, null, null);
+    }
+
+    /**
+     * @param sessionStore  the sessions which are warmed up on start, or null if no keyspace should be warmed up
+     * @param metricsServer the metrics endpoint, or null if it is disabled
+     */
+    public Server(ServerID serverID, Config config, LockManager lockManager, io.grpc.Server serverRPC, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon, KeyspaceManager keyspaceStore, @Nullable SessionStore sessionStore, @Nullable MetricsHttpServer metricsServer) {
         this.config = config;
         // Redis connection pool
         // Lock provider
         this.lockManager = lockManager;
         this.keyspaceStore = keyspaceStore;
+        this.sessionStore = sessionStore;
         this.serverRPC = serverRPC;
         this.serverID = serverID;
         this.attributeDeduplicatorDaemon = attributeDeduplicatorDaemon;
+        this.metricsServer = metricsServer;
     }
 
     public void start() throws IOException {
@@ -64,7 +84,9 @@ public class Server implements AutoCloseable {
         printGraknASCII();
         synchronized (this){
             lockAndInitializeSystemSchema();
+            warmUpKeyspaces();
             serverRPC.start();
+            if (metricsServer != null) metricsServer.start();
         }
         attributeDeduplicatorDaemon.startDeduplicationDaemon();
         LOG.info("Grakn started in {}", timer.stop());
@@ -81,6 +103,7 @@ public class Server implements AutoCloseable {
                 Thread.currentThread().interrupt();
             }
             attributeDeduplicatorDaemon.stopDeduplicationDaemon();
+            if (metricsServer != null) metricsServer.close();
         }
     }
 
@@ -103,6 +126,23 @@ public class Server implements AutoCloseable {
         }
     }
 
+    /**
+     * Warms the configured keyspaces up before any request is served
+     */
+    private void warmUpKeyspaces() {
+        if (sessionStore == null) return;
+
+        Set<String> names = Arrays.stream(config.getProperty(ConfigKey.WARM_UP_KEYSPACES).split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(toSet());
+        if (names.isEmpty()) return;
+
+        Set<Keyspace> keyspaces = names.contains("*") ? keyspaceStore.keyspaces() : names.stream().map(Keyspace::of).collect(toSet());
+        Stopwatch timer = Stopwatch.createStarted();
+        int warmedUp = sessionStore.warmUp(keyspaces);
+        LOG.info("{} warmed up {} keyspaces in {}", this.serverID, warmedUp, timer.stop());
+    }
 
     private void printGraknASCII() {
         LOG.info("\n==================================================");
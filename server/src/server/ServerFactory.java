@@ -27,11 +27,18 @@ import grakn.core.server.rpc.KeyspaceService;
 import grakn.core.server.rpc.OpenRequest;
 import grakn.core.server.rpc.ServerOpenRequest;
 import grakn.core.server.rpc.SessionService;
+import grakn.core.server.rpc.TransactionExecutorPool;
 import grakn.core.server.util.ServerID;
 import grakn.core.server.keyspace.KeyspaceManager;
+import grakn.core.server.metrics.MetricsHttpServer;
+import grakn.core.server.metrics.ServerMetrics;
 import grakn.core.common.config.Config;
 import io.grpc.ServerBuilder;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import grakn.benchmark.lib.serverinstrumentation.ServerTracingInstrumentation;
 
 /**
@@ -60,23 +67,35 @@ public class ServerFactory {
 
         // post-processing
         AttributeDeduplicatorDaemon attributeDeduplicatorDaemon = new AttributeDeduplicatorDaemon(config, sessionStore);
+        ServerMetrics.register(attributeDeduplicatorDaemon);
 
         // http services: gRPC server
         io.grpc.Server serverRPC = createServerRPC(config, sessionStore, attributeDeduplicatorDaemon, keyspaceStore, benchmark);
 
-        return createServer(serverID, config, serverRPC, lockManager, attributeDeduplicatorDaemon, keyspaceStore);
+        // http services: metrics
+        MetricsHttpServer metricsServer;
+        try {
+            metricsServer = MetricsHttpServer.create(config);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot bind the metrics endpoint", e);
+        }
+
+        return createServer(serverID, config, serverRPC, lockManager, attributeDeduplicatorDaemon, keyspaceStore, sessionStore, metricsServer);
     }
 
     /**
      * Allows the creation of a {@link Server} instance with various configurations
+     * @param sessionStore  the sessions which are warmed up on start, or null if no keyspace should be warmed up
+     * @param metricsServer the metrics endpoint, or null if it is disabled
      * @return a {@link Server} instance
      */
 
     public static Server createServer(
             ServerID serverID, Config config, io.grpc.Server rpcServer,
-            LockManager lockManager, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon, KeyspaceManager keyspaceStore) {
+            LockManager lockManager, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon, KeyspaceManager keyspaceStore,
+            @Nullable SessionStore sessionStore, @Nullable MetricsHttpServer metricsServer) {
 
-        Server server = new Server(serverID, config, lockManager, rpcServer, attributeDeduplicatorDaemon, keyspaceStore);
+        Server server = new Server(serverID, config, lockManager, rpcServer, attributeDeduplicatorDaemon, keyspaceStore, sessionStore, metricsServer);
 
         Thread thread = new Thread(server::close, "grakn-server-shutdown");
         Runtime.getRuntime().addShutdownHook(thread);
@@ -92,9 +111,12 @@ public class ServerFactory {
             ServerTracingInstrumentation.initInstrumentation("server-instrumentation");
         }
 
+        TransactionExecutorPool transactionPool = TransactionExecutorPool.create(config);
+        ServerMetrics.register(transactionPool);
+
         io.grpc.Server serverRPC = ServerBuilder.forPort(grpcPort)
-                .addService(new SessionService(requestOpener, attributeDeduplicatorDaemon))
-                .addService(new KeyspaceService(keyspaceStore))
+                .addService(new SessionService(requestOpener, attributeDeduplicatorDaemon, transactionPool))
+                .addService(new KeyspaceService(keyspaceStore, attributeDeduplicatorDaemon))
                 .build();
 
         return serverRPC;
@@ -19,13 +19,12 @@
 package grakn.core.server.deduplicator;
 
 import grakn.core.server.Transaction;
+import grakn.core.server.keyspace.Keyspace;
 import grakn.core.server.session.TransactionImpl;
 import grakn.core.server.session.SessionStore;
 import grakn.core.graql.internal.Schema;
 import com.google.common.collect.Lists;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -34,6 +33,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  *
@@ -49,54 +50,73 @@ public class AttributeDeduplicator {
      *
      * @param txFactory the factory object for accessing the database
      * @param keyspaceIndexPair the pair containing information about the attribute keyspace and index
+     * @return the number of duplicates merged into the merge target
      */
-    public static void deduplicate(SessionStore txFactory, KeyspaceIndexPair keyspaceIndexPair) {
+    public static int deduplicate(SessionStore txFactory, KeyspaceIndexPair keyspaceIndexPair) {
         try (TransactionImpl tx = txFactory.tx(keyspaceIndexPair.keyspace(), Transaction.Type.WRITE)) {
-            GraphTraversalSource tinker = tx.getTinkerTraversal();
-            GraphTraversal<Vertex, Vertex> duplicates = tinker.V().has(Schema.VertexProperty.INDEX.name(), keyspaceIndexPair.index());
-            Vertex mergeTargetV = duplicates.next();
-            while (duplicates.hasNext()) {
-                Vertex duplicate = duplicates.next();
-                try {
-                    duplicate.vertices(Direction.IN).forEachRemaining(connectedVertex -> {
-                        // merge attribute edge connecting 'duplicate' and 'connectedVertex' to 'mergeTargetV', if exists
-                        GraphTraversal<Vertex, Edge> attributeEdge =
-                                tinker.V(duplicate).inE(Schema.EdgeLabel.ATTRIBUTE.getLabel()).filter(__.outV().is(connectedVertex));
-                        if (attributeEdge.hasNext()) {
-                            mergeAttributeEdge(mergeTargetV, connectedVertex, attributeEdge);
-                        }
+            int merged = mergeDuplicates(tx, keyspaceIndexPair.index());
+            tx.commit();
+            return merged;
+        }
+    }
 
-                        // merge role-player edge connecting 'duplicate' and 'connectedVertex' to 'mergeTargetV', if exists
-                        GraphTraversal<Vertex, Edge> rolePlayerEdge =
-                                tinker.V(duplicate).inE(Schema.EdgeLabel.ROLE_PLAYER.getLabel()).filter(__.outV().is(connectedVertex));
-                        if (rolePlayerEdge.hasNext()) {
-                            mergeRolePlayerEdge(mergeTargetV, rolePlayerEdge);
-                        }
-                    });
-                    duplicate.remove();
-                }
-                catch (IllegalStateException vertexAlreadyRemovedException) {
-                    LOG.warn("Trying to call the method vertices(Direction.IN) on vertex " + duplicate.id() + " which is already removed.");
-                }
-            }
+    /**
+     * Deduplicate the attributes of many indices of a keyspace in a single transaction. If the transaction fails, every
+     * index is deduplicated again in a transaction of its own, so that one failing index does not hold back the others.
+     *
+     * @param txFactory the factory object for accessing the database
+     * @param keyspace the keyspace of the attributes
+     * @param indices the indices of the attributes to deduplicate
+     * @return the number of duplicates merged into their merge targets
+     */
+    public static int deduplicate(SessionStore txFactory, Keyspace keyspace, Collection<String> indices) {
+        if (indices.size() == 1) {
+            return deduplicate(txFactory, KeyspaceIndexPair.create(keyspace, indices.iterator().next()));
+        }
 
+        try (TransactionImpl tx = txFactory.tx(keyspace, Transaction.Type.WRITE)) {
+            int merged = 0;
+            for (String index : indices) {
+                merged += mergeDuplicates(tx, index);
+            }
             tx.commit();
+            return merged;
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to deduplicate a batch of " + indices.size() + " attributes in keyspace " + keyspace + ", retrying them one by one", e);
         }
-    }
 
-    private static void mergeRolePlayerEdge(Vertex mergeTargetV, GraphTraversal<Vertex, Edge> rolePlayerEdge) {
-        Edge edge = rolePlayerEdge.next();
-        Vertex relationshipVertex = edge.outVertex();
-        Object[] properties = propertiesToArray(Lists.newArrayList(edge.properties()));
-        relationshipVertex.addEdge(Schema.EdgeLabel.ROLE_PLAYER.getLabel(), mergeTargetV, properties);
-        edge.remove();
+        int merged = 0;
+        for (String index : indices) {
+            merged += deduplicate(txFactory, KeyspaceIndexPair.create(keyspace, index));
+        }
+        return merged;
     }
 
-    private static void mergeAttributeEdge(Vertex mergeTargetV, Vertex ent, GraphTraversal<Vertex, Edge> attributeEdge) {
-        Edge edge = attributeEdge.next();
-        Object[] properties = propertiesToArray(Lists.newArrayList(edge.properties()));
-        ent.addEdge(Schema.EdgeLabel.ATTRIBUTE.getLabel(), mergeTargetV, properties);
-        edge.remove();
+    private static int mergeDuplicates(TransactionImpl tx, String index) {
+        int merged = 0;
+        GraphTraversal<Vertex, Vertex> duplicates = tx.getTinkerTraversal().V().has(Schema.VertexProperty.INDEX.name(), index);
+        if (!duplicates.hasNext()) return merged;
+
+        Vertex mergeTargetV = duplicates.next();
+        while (duplicates.hasNext()) {
+            Vertex duplicate = duplicates.next();
+            try {
+                // move every attribute and role-player edge of 'duplicate' to 'mergeTargetV', reading its adjacency once
+                List<Edge> edges = Lists.newArrayList(duplicate.edges(Direction.IN,
+                        Schema.EdgeLabel.ATTRIBUTE.getLabel(), Schema.EdgeLabel.ROLE_PLAYER.getLabel()));
+                for (Edge edge : edges) {
+                    Object[] properties = propertiesToArray(Lists.newArrayList(edge.properties()));
+                    edge.outVertex().addEdge(edge.label(), mergeTargetV, properties);
+                    edge.remove();
+                }
+                duplicate.remove();
+                merged++;
+            }
+            catch (IllegalStateException vertexAlreadyRemovedException) {
+                LOG.warn("Trying to call the method edges(Direction.IN) on vertex " + duplicate.id() + " which is already removed.");
+            }
+        }
+        return merged;
     }
 
     private static Object[] propertiesToArray(ArrayList<Property<Object>> propertiesAsKeyValue) {
@@ -26,21 +26,24 @@ import grakn.core.server.deduplicator.queue.Attribute;
 import grakn.core.server.deduplicator.queue.RocksDbQueue;
 import grakn.core.server.session.SessionStore;
 import grakn.core.server.session.TransactionImpl;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
-import static grakn.core.server.deduplicator.AttributeDeduplicator.deduplicate;
-
 /**
  * This class is responsible for de-duplicating attributes. It is done to ensure that every attribute in Grakn stays unique.
  *
@@ -53,6 +56,12 @@ import static grakn.core.server.deduplicator.AttributeDeduplicator.deduplicate;
  * When a new attribute is inserted, it will immediately trigger the deduplicate operation, meaning that duplicates are merged in almost real-time speed.
  * The daemon is started and stopped with {@link #startDeduplicationDaemon()} and {@link #stopDeduplicationDaemon()}
  *
+ * Parallelism:
+ * The daemon hands every (keyspace, index) pair to one of a fixed number of {@link DeduplicatorWorker}s, chosen by the
+ * hash of the pair. A pair is therefore never merged by two threads at once, while different pairs are merged in parallel.
+ * The pairs of a worker in the same keyspace are merged together, in batches sharing a single transaction.
+ * A batch is only acked once every worker has finished its share of it.
+ *
  * Fault tolerance:
  * The de-duplicator daemon is fault-tolerant and will re-process incoming attributes if Grakn crashes in the middle of a deduplication.
  *
@@ -66,8 +75,12 @@ public class AttributeDeduplicatorDaemon {
 
     private SessionStore txFactory;
     private RocksDbQueue queue;
+    private final int numWorkers;
+    private final int maxPendingPerWorker;
+    private final int batchSize;
+    private volatile List<DeduplicatorWorker> workers = Collections.emptyList();
 
-    private boolean stopDaemon = false;
+    private volatile boolean stopDaemon = false;
 
     /**
      * Instantiates {@link AttributeDeduplicatorDaemon}
@@ -77,8 +90,16 @@ public class AttributeDeduplicatorDaemon {
     public AttributeDeduplicatorDaemon(Config config, SessionStore txFactory) {
         Path dataDir = Paths.get(config.getProperty(ConfigKey.DATA_DIR));
         Path queueDataDir = dataDir.resolve(queueDataDirRelative);
-        this.queue = new RocksDbQueue(queueDataDir);
+        this.queue = new RocksDbQueue(queueDataDir,
+                RocksDbQueue.Durability.of(config.getProperty(ConfigKey.DEDUPLICATOR_QUEUE_DURABILITY)),
+                config.getProperty(ConfigKey.DEDUPLICATOR_QUEUE_FLUSH_INTERVAL_MS),
+                config.getProperty(ConfigKey.DEDUPLICATOR_QUEUE_MAX_BATCH_SIZE),
+                config.getProperty(ConfigKey.DEDUPLICATOR_QUEUE_SYNC_INTERVAL_MS));
         this.txFactory = txFactory;
+        int configuredWorkers = config.getProperty(ConfigKey.DEDUPLICATOR_WORKERS);
+        this.numWorkers = configuredWorkers > 0 ? configuredWorkers : Runtime.getRuntime().availableProcessors();
+        this.maxPendingPerWorker = config.getProperty(ConfigKey.DEDUPLICATOR_MAX_PENDING_PER_WORKER);
+        this.batchSize = Math.max(1, Math.min(config.getProperty(ConfigKey.DEDUPLICATOR_BATCH_SIZE), maxPendingPerWorker));
     }
 
     /**
@@ -98,13 +119,19 @@ public class AttributeDeduplicatorDaemon {
     /**
      * Starts a daemon which performs deduplication on incoming attributes in real-time.
      * The thread listens to the {@link RocksDbQueue} queue for incoming attributes and applies
-     * the {@link AttributeDeduplicator#deduplicate(SessionStore, KeyspaceIndexPair)} algorithm.
+     * the {@link AttributeDeduplicator#deduplicate(SessionStore, Keyspace, java.util.Collection)} algorithm.
      *
      */
     public CompletableFuture<Void> startDeduplicationDaemon() {
         stopDaemon = false;
+        List<DeduplicatorWorker> daemonWorkers = new ArrayList<>(numWorkers);
+        for (int i = 0; i < numWorkers; i++) {
+            daemonWorkers.add(new DeduplicatorWorker(i, txFactory, maxPendingPerWorker));
+        }
+        workers = daemonWorkers;
+
         CompletableFuture<Void> daemon = CompletableFuture.supplyAsync(() -> {
-            LOG.info("startDeduplicationDaemon() - attribute de-duplicator daemon started.");
+            LOG.info("startDeduplicationDaemon() - attribute de-duplicator daemon started with " + numWorkers + " workers.");
             while (!stopDaemon) {
                 try {
                     List<Attribute> attributes = queue.read(QUEUE_GET_BATCH_MAX);
@@ -116,10 +143,24 @@ public class AttributeDeduplicatorDaemon {
                             .map(attr -> KeyspaceIndexPair.create(attr.keyspace(), attr.index()))
                             .collect(Collectors.toSet());
 
-                    // perform deduplicate for each (keyspace -> value)
+                    // partition the pairs across the workers, and group the pairs of a worker by keyspace
+                    Map<DeduplicatorWorker, Map<Keyspace, List<String>>> indicesByWorker = new HashMap<>();
                     for (KeyspaceIndexPair keyspaceIndexPair : uniqueKeyValuePairs) {
-                        deduplicate(txFactory, keyspaceIndexPair);
+                        indicesByWorker.computeIfAbsent(worker(daemonWorkers, keyspaceIndexPair), worker -> new HashMap<>())
+                                .computeIfAbsent(keyspaceIndexPair.keyspace(), keyspace -> new ArrayList<>())
+                                .add(keyspaceIndexPair.index());
+                    }
+
+                    // perform deduplicate for each batch of values of a keyspace
+                    List<CompletableFuture<Void>> deduplications = new ArrayList<>();
+                    for (Map.Entry<DeduplicatorWorker, Map<Keyspace, List<String>>> workerIndices : indicesByWorker.entrySet()) {
+                        for (Map.Entry<Keyspace, List<String>> keyspaceIndices : workerIndices.getValue().entrySet()) {
+                            for (List<String> batch : Lists.partition(keyspaceIndices.getValue(), batchSize)) {
+                                deduplications.add(workerIndices.getKey().submit(keyspaceIndices.getKey(), batch));
+                            }
+                        }
                     }
+                    CompletableFuture.allOf(deduplications.toArray(new CompletableFuture[0])).join();
 
                     LOG.trace("new attributes processed.");
 
@@ -129,6 +170,7 @@ public class AttributeDeduplicatorDaemon {
                     LOG.error("An exception has occurred in the attribute de-duplicator daemon. ", e);
                 }
             }
+            daemonWorkers.forEach(DeduplicatorWorker::close);
             LOG.info("startDeduplicationDaemon() - attribute de-duplicator daemon stopped");
             return null;
         }, executorServiceForDaemon);
@@ -141,6 +183,24 @@ public class AttributeDeduplicatorDaemon {
         return daemon;
     }
 
+    private static DeduplicatorWorker worker(List<DeduplicatorWorker> workers, KeyspaceIndexPair keyspaceIndexPair) {
+        return workers.get(Math.floorMod(keyspaceIndexPair.hashCode(), workers.size()));
+    }
+
+    /**
+     * @return the estimated number of attributes waiting in the queue to be deduplicated
+     */
+    public long backlog() {
+        return queue.size();
+    }
+
+    /**
+     * @return the current {@link DeduplicatorWorker.Statistics} of every worker of the daemon
+     */
+    public List<DeduplicatorWorker.Statistics> workerStatistics() {
+        return workers.stream().map(DeduplicatorWorker::statistics).collect(Collectors.toList());
+    }
+
     /**
      * Stops the attribute uniqueness daemon
      */
@@ -0,0 +1,132 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.deduplicator;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import grakn.core.server.keyspace.Keyspace;
+import grakn.core.server.session.SessionStore;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static grakn.core.server.deduplicator.AttributeDeduplicator.deduplicate;
+
+/**
+ * A single thread of the {@link AttributeDeduplicatorDaemon}. Every {@link KeyspaceIndexPair} is always routed to the
+ * same worker, so two workers never merge the same attribute concurrently.
+ *
+ * Pairs are submitted in batches of indices of the same keyspace, which the worker deduplicates in a single transaction.
+ *
+ * The number of pairs waiting for a worker is bounded: {@link #submit(Keyspace, List)} blocks while the worker is
+ * full, which stops the daemon from reading further ahead of what the workers can process.
+ */
+public class DeduplicatorWorker implements AutoCloseable {
+    private final int id;
+    private final SessionStore txFactory;
+    private final ExecutorService executor;
+    private final Semaphore capacity;
+
+    private final AtomicInteger queueDepth = new AtomicInteger(0);
+    private final AtomicLong lagMillis = new AtomicLong(0);
+    private final AtomicLong merged = new AtomicLong(0);
+    private final long startTime = System.currentTimeMillis();
+
+    DeduplicatorWorker(int id, SessionStore txFactory, int maxPending) {
+        this.id = id;
+        this.txFactory = txFactory;
+        this.capacity = new Semaphore(maxPending);
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("attribute-deduplicator-worker-" + id + "-%d").build());
+    }
+
+    /**
+     * Queue a batch of indices of a keyspace for deduplication, blocking while this worker has no capacity left
+     *
+     * @param keyspace the keyspace of the attributes
+     * @param indices the indices of the attributes, no more than the number of pairs which may wait for this worker
+     * @return a future completing once the batch has been deduplicated
+     */
+    CompletableFuture<Void> submit(Keyspace keyspace, List<String> indices) throws InterruptedException {
+        int size = indices.size();
+        capacity.acquire(size);
+        queueDepth.addAndGet(size);
+        long queuedAt = System.currentTimeMillis();
+        try {
+            return CompletableFuture.runAsync(() -> {
+                queueDepth.addAndGet(-size);
+                lagMillis.set(System.currentTimeMillis() - queuedAt);
+                try {
+                    merged.addAndGet(deduplicate(txFactory, keyspace, indices));
+                } finally {
+                    capacity.release(size);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            queueDepth.addAndGet(-size);
+            capacity.release(size);
+            throw e;
+        }
+    }
+
+    Statistics statistics() {
+        double elapsedSeconds = Math.max(System.currentTimeMillis() - startTime, 1) / 1000.0;
+        long mergedCount = merged.get();
+        return Statistics.create(id, queueDepth.get(), lagMillis.get(), mergedCount, mergedCount / elapsedSeconds);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * A snapshot of the progress of a {@link DeduplicatorWorker}
+     */
+    @AutoValue
+    public abstract static class Statistics {
+        public abstract int workerId();
+
+        /**
+         * @return number of {@link KeyspaceIndexPair}s waiting for the worker
+         */
+        public abstract int queueDepth();
+
+        /**
+         * @return how long the most recently started {@link KeyspaceIndexPair} waited for the worker
+         */
+        public abstract long lagMillis();
+
+        /**
+         * @return number of duplicate attributes merged since the worker started
+         */
+        public abstract long merged();
+
+        public abstract double mergesPerSecond();
+
+        static Statistics create(int workerId, int queueDepth, long lagMillis, long merged, double mergesPerSecond) {
+            return new AutoValue_DeduplicatorWorker_Statistics(workerId, queueDepth, lagMillis, merged, mergesPerSecond);
+        }
+    }
+}
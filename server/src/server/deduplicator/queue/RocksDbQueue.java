@@ -27,14 +27,22 @@ import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static grakn.core.server.deduplicator.queue.RocksDbQueue.SerialisationUtils.deserialiseAttributeUtf8;
 import static grakn.core.server.deduplicator.queue.RocksDbQueue.SerialisationUtils.serialiseAttributeUtf8;
-import static grakn.core.server.deduplicator.queue.RocksDbQueue.SerialisationUtils.serialiseStringUtf8;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -45,39 +53,282 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * The attribute de-duplicator can read attributes from the queue and only ack after everything has been processed.
  * If the de-duplicator crashes during a deduplication, it can resume operation from the last ack-ed attribute.
  *
+ * Inserts are group-committed: attributes inserted concurrently are written to RocksDB together in a single
+ * {@link WriteBatch} by a background flusher thread, and every inserting thread waits for the write of its group.
+ * How often the write-ahead log is synced to disk is controlled by the {@link Durability}.
+ *
+ * Attributes are keyed by a monotonically increasing sequence number, so that the queue is ordered by insertion.
+ * Reads start from the oldest attribute which has not been ack-ed, rather than from the first key of the database,
+ * so they never have to skip over the tombstones left by previous acks.
+ *
  */
 public class RocksDbQueue implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDbQueue.class);
+    private static final byte SEQUENCE_KEY_PREFIX = 0;
+    private static final int SEQUENCE_KEY_LENGTH = 1 + Long.BYTES;
+    // Never written: deleting it with a synced write forces every previous write to be synced
+    private static final byte[] SYNC_MARKER_KEY = new byte[]{1};
+
     private final RocksDB queueDb;
+    private final Durability durability;
+    private final long flushIntervalMillis;
+    private final int maxBatchSize;
+    private final long syncIntervalMillis;
+
+    // the group of inserts waiting to be written by the flusher, guarded by groupLock
+    private final Object groupLock = new Object();
+    private List<Attribute> pendingGroup = new ArrayList<>();
+    private CompletableFuture<Void> pendingGroupWritten = new CompletableFuture<>();
+    private long pendingSince = 0;
+    private boolean closed = false;
+
+    // only accessed by the flusher thread after the constructor
+    private long nextSequence;
+    private long lastSync = System.currentTimeMillis();
+    private boolean unsynced = false;
+
+    // the first sequence number which has not been written yet, and the oldest one which may not have been ack-ed
+    private volatile long writtenSequence;
+    private volatile long headSequence;
+    private final Map<Attribute, Set<Long>> unackedSequences = new ConcurrentHashMap<>();
+
+    private final Thread flusher;
 
     /**
-     * Instantiates the class and the queue data directory
+     * Defines when the write-ahead log of the queue is synced to disk
+     */
+    public enum Durability {
+        /**
+         * Every group of inserts is synced before the inserting threads return
+         */
+        SYNC,
+        /**
+         * Groups are synced at most once per sync interval, so a machine crash may lose the inserts of that interval
+         */
+        PERIODIC,
+        /**
+         * Groups are only written to the write-ahead log and synced whenever the operating system decides to.
+         * This survives a crash of Grakn, but not of the machine.
+         */
+        WAL_ONLY;
+
+        public static Durability of(String name) {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    /**
+     * Instantiates the class and the queue data directory, syncing every insert before it returns
      *
      * @param path where to persist the queue data
      */
     public RocksDbQueue(Path path) {
+        this(path, Durability.SYNC, 0, 1000, 0);
+    }
+
+    /**
+     * Instantiates the class and the queue data directory
+     *
+     * @param path                where to persist the queue data
+     * @param durability          when to sync the inserted attributes to disk
+     * @param flushIntervalMillis how long an insert may wait for other inserts to join its group
+     * @param maxBatchSize        the number of inserts which causes a group to be written straight away
+     * @param syncIntervalMillis  the interval between syncs when using {@link Durability#PERIODIC}
+     */
+    public RocksDbQueue(Path path, Durability durability, long flushIntervalMillis, int maxBatchSize, long syncIntervalMillis) {
+        this.durability = durability;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.syncIntervalMillis = syncIntervalMillis;
         try {
             Options options = new Options().setCreateIfMissing(true);
             queueDb = RocksDB.open(options, path.toAbsolutePath().toString());
+            initialiseSequences();
         }
         catch (RocksDBException e) {
             throw new RocksDbQueueException(e);
         }
+
+        flusher = new Thread(this::flushGroups, "rocksdb-queue-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Find the oldest and newest sequence numbers in the queue. Attributes stored by an older version of the queue,
+     * which were keyed by concept id, are moved to the end of the queue with a sequence number.
+     */
+    private void initialiseSequences() throws RocksDBException {
+        List<byte[]> legacyKeys = new ArrayList<>();
+        List<byte[]> legacyValues = new ArrayList<>();
+        long first = -1;
+        long last = -1;
+        try (RocksIterator it = queueDb.newIterator()) {
+            for (it.seekToFirst(); it.isValid(); it.next()) {
+                byte[] key = it.key();
+                if (isSequenceKey(key)) {
+                    if (first < 0) first = sequence(key);
+                    last = sequence(key);
+                } else {
+                    legacyKeys.add(key);
+                    legacyValues.add(it.value());
+                }
+            }
+        }
+
+        nextSequence = last + 1;
+        if (!legacyKeys.isEmpty()) {
+            if (first < 0) first = nextSequence;
+            try (WriteBatch migration = new WriteBatch(); WriteOptions syncWrite = new WriteOptions().setSync(true)) {
+                for (int i = 0; i < legacyKeys.size(); i++) {
+                    migration.put(sequenceKey(nextSequence++), legacyValues.get(i));
+                    migration.delete(legacyKeys.get(i));
+                }
+                queueDb.write(syncWrite, migration);
+            }
+        }
+
+        writtenSequence = nextSequence;
+        headSequence = first < 0 ? nextSequence : first;
     }
 
     /**
      * insert a new attribute at the end of the queue.
+     * Blocks until the group of inserts the attribute joined has been written with the configured {@link Durability}.
      *
      * @param attribute the attribute to be inserted
      */
     public void insert(Attribute attribute) {
-        WriteOptions syncWrite = new WriteOptions().setSync(true);
+        CompletableFuture<Void> written;
+        synchronized (groupLock) {
+            if (closed) {
+                throw new RocksDbQueueException(new IllegalStateException("The queue has been closed"));
+            }
+            if (pendingGroup.isEmpty()) {
+                pendingSince = System.currentTimeMillis();
+            }
+            pendingGroup.add(attribute);
+            written = pendingGroupWritten;
+            groupLock.notifyAll();
+        }
+
         try {
-            queueDb.put(syncWrite, serialiseStringUtf8(attribute.conceptId().getValue()), serialiseAttributeUtf8(attribute));
-            synchronized (this) { notifyAll(); }
+            written.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RocksDbQueueException(e.getCause());
+        }
+    }
+
+    /**
+     * The loop of the flusher thread: wait for a group to be ready, then write it in a single {@link WriteBatch}.
+     * Once the queue is closed, any remaining group is written before the thread terminates.
+     */
+    private void flushGroups() {
+        while (true) {
+            List<Attribute> group;
+            CompletableFuture<Void> groupWritten;
+            synchronized (groupLock) {
+                try {
+                    while (!closed && !isGroupReady()) {
+                        groupLock.wait(millisUntilNextFlush());
+                        if (durability == Durability.PERIODIC && pendingGroup.isEmpty()) syncIfDue();
+                    }
+                }
+                catch (InterruptedException e) {
+                    closed = true;
+                    Thread.currentThread().interrupt();
+                }
+                if (pendingGroup.isEmpty()) return;
+
+                group = pendingGroup;
+                groupWritten = pendingGroupWritten;
+                pendingGroup = new ArrayList<>();
+                pendingGroupWritten = new CompletableFuture<>();
+            }
+
+            try {
+                write(group);
+                groupWritten.complete(null);
+            }
+            catch (RuntimeException e) {
+                groupWritten.completeExceptionally(e);
+            }
+        }
+    }
+
+    private boolean isGroupReady() {
+        return !pendingGroup.isEmpty() &&
+                (pendingGroup.size() >= maxBatchSize || System.currentTimeMillis() - pendingSince >= flushIntervalMillis);
+    }
+
+    /**
+     * @return how long the flusher may sleep, where 0 means until it is notified
+     */
+    private long millisUntilNextFlush() {
+        long now = System.currentTimeMillis();
+        long wait = 0;
+        if (!pendingGroup.isEmpty()) {
+            wait = Math.max(pendingSince + flushIntervalMillis - now, 1);
+        }
+        if (durability == Durability.PERIODIC && unsynced) {
+            long untilSync = Math.max(lastSync + syncIntervalMillis - now, 1);
+            wait = wait == 0 ? untilSync : Math.min(wait, untilSync);
+        }
+        return wait;
+    }
+
+    private void write(List<Attribute> group) {
+        boolean sync = durability == Durability.SYNC ||
+                (durability == Durability.PERIODIC && System.currentTimeMillis() - lastSync >= syncIntervalMillis);
+        try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions().setSync(sync)) {
+            for (Attribute attribute : group) {
+                batch.put(sequenceKey(nextSequence++), serialiseAttributeUtf8(attribute));
+            }
+            queueDb.write(writeOptions, batch);
         }
         catch (RocksDBException e) {
             throw new RocksDbQueueException(e);
         }
+
+        if (sync) {
+            lastSync = System.currentTimeMillis();
+            unsynced = false;
+        } else {
+            unsynced = true;
+        }
+
+        synchronized (this) {
+            writtenSequence = nextSequence;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Sync the groups written since the last sync, when the sync interval has passed.
+     * A failed sync is retried after another interval rather than thrown, because it runs on the flusher thread:
+     * if the flusher died, every later insert would wait forever for its group to be written.
+     */
+    private void syncIfDue() {
+        if (!unsynced || System.currentTimeMillis() - lastSync < syncIntervalMillis) return;
+        try {
+            syncWriteAheadLog();
+            unsynced = false;
+        }
+        catch (RocksDBException | RuntimeException e) {
+            LOG.warn("Failed to sync the attribute queue, retrying in " + syncIntervalMillis + " ms", e);
+        }
+        lastSync = System.currentTimeMillis();
+    }
+
+    /**
+     * Sync every write made so far to disk, by deleting a key which is never written with a synced write
+     */
+    protected void syncWriteAheadLog() throws RocksDBException {
+        try (WriteOptions syncWrite = new WriteOptions().setSync(true)) {
+            queueDb.delete(syncWrite, SYNC_MARKER_KEY);
+        }
     }
 
     /**
@@ -91,24 +342,28 @@ public class RocksDbQueue implements AutoCloseable {
      * @see #ack(List<Attribute>)
      */
     public List<Attribute> read(int limit) throws InterruptedException {
-        // blocks until the queue contains at least 1 element
-        while (isQueueEmpty(queueDb)) {
-            synchronized (this) { wait(); }
-        }
+        while (true) {
+            // blocks until the queue contains at least 1 element
+            synchronized (this) {
+                while (headSequence >= writtenSequence) {
+                    wait();
+                }
+            }
 
-        List<Attribute> result = new LinkedList<>();
+            List<Attribute> result = new LinkedList<>();
+            try (RocksIterator it = queueDb.newIterator()) {
+                it.seek(sequenceKey(headSequence));
+                while (it.isValid() && result.size() < limit) {
+                    Attribute attr = deserialiseAttributeUtf8(it.value());
+                    unackedSequences.computeIfAbsent(attr, k -> ConcurrentHashMap.newKeySet()).add(sequence(it.key()));
+                    result.add(attr);
+                    it.next();
+                }
+            }
 
-        RocksIterator it = queueDb.newIterator();
-        it.seekToFirst();
-        int count = 0;
-        while (it.isValid() && count < limit) {
-            Attribute attr = deserialiseAttributeUtf8(it.value());
-            result.add(attr);
-            it.next();
-            count++;
+            if (!result.isEmpty()) return result;
+            advanceHead();
         }
-
-        return result;
     }
 
     /**
@@ -117,41 +372,75 @@ public class RocksDbQueue implements AutoCloseable {
      * @param attributes the attributes which will be removed
      */
     public void ack(List<Attribute> attributes) {
-        WriteBatch acks = new WriteBatch();
-        // set to false for better performance. at the moment we're setting it to true as the algorithm is untested and we prefer correctness over speed
-        WriteOptions writeOptions = new WriteOptions().setSync(true);
-        for (Attribute attr: attributes) {
-            try {
-                acks.delete(serialiseStringUtf8(attr.conceptId().getValue()));
-            } catch (RocksDBException e) {
-                throw new RocksDbQueueException(e);
+        try (WriteBatch acks = new WriteBatch(); WriteOptions writeOptions = new WriteOptions().setSync(durability == Durability.SYNC)) {
+            for (Attribute attr : attributes) {
+                Set<Long> sequences = unackedSequences.remove(attr);
+                if (sequences == null) continue;
+                for (long sequence : sequences) {
+                    acks.delete(sequenceKey(sequence));
+                }
             }
-        }
-        try {
             queueDb.write(writeOptions, acks);
         }
         catch (RocksDBException e) {
             throw new RocksDbQueueException(e);
         }
+        advanceHead();
     }
 
     /**
-     * Close the {@link RocksDbQueue} instance.
+     * Move the head of the queue to the oldest attribute which is still in the queue.
+     * The seek only passes over the tombstones between the old and the new head.
      */
-    public void close() {
-        queueDb.close();
+    private synchronized void advanceHead() {
+        long written = writtenSequence;
+        try (RocksIterator it = queueDb.newIterator()) {
+            it.seek(sequenceKey(headSequence));
+            headSequence = it.isValid() && isSequenceKey(it.key()) ? sequence(it.key()) : written;
+        }
     }
 
     /**
-     * Check if the queue is empty.
+     * Estimate the number of attributes in the queue, without scanning it.
      *
-     * @param queueDb the queue to be checked
-     * @return true if empty, false otherwise
+     * @return the estimated number of attributes which have been inserted but not yet ack-ed
+     */
+    public long size() {
+        try {
+            return queueDb.getLongProperty("rocksdb.estimate-num-keys");
+        }
+        catch (RocksDBException e) {
+            throw new RocksDbQueueException(e);
+        }
+    }
+
+    /**
+     * Close the {@link RocksDbQueue} instance, after writing any inserts which are still waiting for their group.
      */
-    private boolean isQueueEmpty(RocksDB queueDb) {
-        RocksIterator it = queueDb.newIterator();
-        it.seekToFirst();
-        return !it.isValid();
+    public void close() {
+        synchronized (groupLock) {
+            closed = true;
+            groupLock.notifyAll();
+        }
+        try {
+            flusher.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        queueDb.close();
+    }
+
+    private static byte[] sequenceKey(long sequence) {
+        return ByteBuffer.allocate(SEQUENCE_KEY_LENGTH).put(SEQUENCE_KEY_PREFIX).putLong(sequence).array();
+    }
+
+    private static boolean isSequenceKey(byte[] key) {
+        return key.length == SEQUENCE_KEY_LENGTH && key[0] == SEQUENCE_KEY_PREFIX;
+    }
+
+    private static long sequence(byte[] key) {
+        return ByteBuffer.wrap(key, 1, Long.BYTES).getLong();
     }
 
     /**
@@ -37,7 +37,6 @@ import grakn.core.graql.query.pattern.VarPatternAdmin;
 import grakn.core.server.kb.concept.RelationshipTypeImpl;
 import grakn.core.server.kb.concept.RuleImpl;
 import grakn.core.server.kb.concept.SchemaConceptImpl;
-import grakn.core.server.kb.concept.TypeImpl;
 import grakn.core.server.kb.structure.Casting;
 import grakn.core.common.util.CommonUtil;
 import grakn.core.common.exception.ErrorMessage;
@@ -47,7 +46,6 @@ import com.google.common.collect.Iterables;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -100,6 +98,15 @@ class ValidateGlobalRules {
      * @return Specific errors if any are found
      */
     static Set<String> validatePlaysAndRelatesStructure(Casting casting) {
+        return validatePlaysAndRelatesStructure(casting, new ValidationCache());
+    }
+
+    /**
+     * @param casting the {@link Casting} to validate
+     * @param cache the schema lookups already made by the commit
+     * @return Specific errors if any are found
+     */
+    static Set<String> validatePlaysAndRelatesStructure(Casting casting, ValidationCache cache) {
         Set<String> errors = new HashSet<>();
 
         //Gets here to make sure we traverse/read only once
@@ -108,12 +115,42 @@ class ValidateGlobalRules {
         Relationship relationship = casting.getRelationship();
 
         //Actual checks
-        roleNotAllowedToBePlayed(role, thing).ifPresent(errors::add);
-        roleNotLinkedToRelationShip(role, relationship.type(), relationship).ifPresent(errors::add);
+        roleNotAllowedToBePlayed(role, thing, cache).ifPresent(errors::add);
+        roleNotLinkedToRelationShip(role, relationship.type(), relationship, cache).ifPresent(errors::add);
+
+        return errors;
+    }
+
+    /**
+     * Checks the structure of a {@link Casting} which later writes to instances cannot change: that the role-player
+     * is allowed to play the {@link Role}, and that the {@link Role} is related by the {@link RelationshipType} of
+     * the {@link Relationship}. Schema writes which could change it track the {@link Casting} for validation again.
+     *
+     * @param casting the {@link Casting} to validate
+     * @param cache the schema lookups already made by the transaction
+     * @return Specific errors if any are found
+     */
+    static Set<String> validateRolePlayerStructure(Casting casting, ValidationCache cache) {
+        Set<String> errors = new HashSet<>();
+
+        Thing thing = casting.getRolePlayer();
+        Role role = casting.getRole();
+        Relationship relationship = casting.getRelationship();
+
+        roleNotPlayable(role, thing, thing.type(), cache).ifPresent(errors::add);
+        roleNotLinkedToRelationShip(role, relationship.type(), relationship, cache).ifPresent(errors::add);
 
         return errors;
     }
 
+    /**
+     * @return true if the role-player of the {@link Casting} must play its {@link Role} exactly once, which other
+     * writes to the role-player can still change
+     */
+    static boolean playsRequiredRole(Casting casting, ValidationCache cache) {
+        return cache.requiredRoles(casting.getRolePlayer().type()).containsKey(casting.getRole().label());
+    }
+
     /**
      * Checks if the {@link Role} of the {@link Casting} has been linked to the {@link RelationshipType} of
      * the {@link Relationship} which the {@link Casting} connects to.
@@ -121,11 +158,11 @@ class ValidateGlobalRules {
      * @param role the {@link Role} which the {@link Casting} refers to
      * @param relationshipType the {@link RelationshipType} which should connect to the role
      * @param relationship the {@link Relationship} which the {@link Casting} refers to
+     * @param cache the schema lookups already made by the commit
      * @return an error if one is found
      */
-    private static Optional<String> roleNotLinkedToRelationShip(Role role, RelationshipType relationshipType, Relationship relationship){
-        boolean notFound = role.relationships().
-                noneMatch(innerRelationType -> innerRelationType.label().equals(relationshipType.label()));
+    private static Optional<String> roleNotLinkedToRelationShip(Role role, RelationshipType relationshipType, Relationship relationship, ValidationCache cache){
+        boolean notFound = !cache.relationshipTypes(role).contains(relationshipType.label());
         if(notFound){
             return Optional.of(VALIDATION_RELATION_CASTING_LOOP_FAIL.getMessage(relationship.id(), role.label(), relationshipType.label()));
         }
@@ -140,35 +177,27 @@ class ValidateGlobalRules {
      *
      * @param role The {@link Role} which the role-player is playing
      * @param thing the role-player
+     * @param cache the schema lookups already made by the commit
      * @return an error if one is found
      */
-    private static Optional<String> roleNotAllowedToBePlayed(Role role, Thing thing){
-        TypeImpl<?, ?> currentConcept = (TypeImpl<?, ?>) thing.type();
-
-        boolean satisfiesPlays = false;
-        while(currentConcept != null){
-            Map<Role, Boolean> plays = currentConcept.directPlays();
-
-            for (Map.Entry<Role, Boolean> playsEntry : plays.entrySet()) {
-                Role rolePlayed = playsEntry.getKey();
-                Boolean required = playsEntry.getValue();
-                if(rolePlayed.label().equals(role.label())){
-                    satisfiesPlays = true;
-
-                    // Assert unique relationship for this role type
-                    if (required && !CommonUtil.containsOnly(thing.relationships(role), 1)) {
-                        return Optional.of(VALIDATION_REQUIRED_RELATION.getMessage(thing.id(), thing.type().label(), role.label(), thing.relationships(role).count()));
-                    }
-                }
-            }
-            currentConcept = (TypeImpl) currentConcept.sup();
+    private static Optional<String> roleNotAllowedToBePlayed(Role role, Thing thing, ValidationCache cache){
+        Type type = thing.type();
+
+        Optional<String> notPlayable = roleNotPlayable(role, thing, type, cache);
+        if(notPlayable.isPresent()) return notPlayable;
+
+        // Assert unique relationship for this role type
+        if (cache.requiredRoles(type).containsKey(role.label()) && !CommonUtil.containsOnly(thing.relationships(role), 1)) {
+            return Optional.of(VALIDATION_REQUIRED_RELATION.getMessage(thing.id(), type.label(), role.label(), thing.relationships(role).count()));
         }
+        return Optional.empty();
+    }
 
-        if(satisfiesPlays) {
-            return Optional.empty();
-        } else {
-            return Optional.of(VALIDATION_CASTING.getMessage(thing.type().label(), thing.id(), role.label()));
+    private static Optional<String> roleNotPlayable(Role role, Thing thing, Type type, ValidationCache cache){
+        if(!cache.playedRoles(type).contains(role.label())) {
+            return Optional.of(VALIDATION_CASTING.getMessage(type.label(), thing.id(), role.label()));
         }
+        return Optional.empty();
     }
 
     /**
@@ -244,32 +273,35 @@ class ValidateGlobalRules {
     /**
      *
      * @param thing The thing to be validated
+     * @param cache the schema lookups already made by the commit
      * @return An error message if the thing does not have all the required resources
      */
-    static Optional<String> validateInstancePlaysAllRequiredRoles(Thing thing) {
-        TypeImpl<?, ?> currentConcept = (TypeImpl) thing.type();
-
-        while(currentConcept != null){
-
-            Map<Role, Boolean> plays = currentConcept.directPlays();
-            for (Map.Entry<Role, Boolean> playsEntry : plays.entrySet()) {
-                if(playsEntry.getValue()){
-                    Role role = playsEntry.getKey();
-                    // Assert there is a relationship for this type
-                    Stream<Relationship> relationships = thing.relationships(role);
-
-                    if(!CommonUtil.containsOnly(relationships, 1)){
-                        Label resourceTypeLabel = Schema.ImplicitType.explicitLabel(role.label());
-                        return Optional.of(VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(thing.id(), resourceTypeLabel));
-                    }
-                }
+    static Optional<String> validateInstancePlaysAllRequiredRoles(Thing thing, ValidationCache cache) {
+        for (Role role : cache.requiredRoles(thing.type()).values()) {
+            // Assert there is a relationship for this type
+            Stream<Relationship> relationships = thing.relationships(role);
+
+            if(!CommonUtil.containsOnly(relationships, 1)){
+                Label resourceTypeLabel = Schema.ImplicitType.explicitLabel(role.label());
+                return Optional.of(VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(thing.id(), resourceTypeLabel));
             }
-            currentConcept = (TypeImpl) currentConcept.sup();
         }
         return Optional.empty();
     }
 
 
+    /**
+     * @param thing the {@link Thing} which is being given a key
+     * @param key the key being given
+     * @return An error message if the thing already has another key of the same type
+     */
+    static Optional<String> validateKeyIsUnique(Thing thing, Attribute<?> key) {
+        if(thing.keys(key.type()).anyMatch(existing -> !existing.equals(key))){
+            return Optional.of(VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(thing.id(), key.type().label()));
+        }
+        return Optional.empty();
+    }
+
     /**
      * @param graph graph used to ensure the rule is a valid Horn clause
      * @param rule the rule to be validated
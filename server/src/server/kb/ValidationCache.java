@@ -0,0 +1,107 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.kb;
+
+import grakn.core.graql.concept.Label;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.concept.SchemaConcept;
+import grakn.core.graql.concept.Type;
+import grakn.core.server.kb.concept.TypeImpl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * <p>
+ *     The schema lookups made while validating the instances of a transaction
+ * </p>
+ *
+ * <p>
+ *     Which {@link Role}s a {@link Type} may play, and which {@link RelationshipType}s relate a {@link Role}, are the
+ *     same for every instance checked by a commit. They are read once per {@link Type} and {@link Role} of a
+ *     {@link Validator} rather than once per instance, so validating many instances of the same types only reads the
+ *     instances themselves. A cache must be dropped whenever the schema is written to, because what it read may no
+ *     longer hold.
+ * </p>
+ */
+public class ValidationCache {
+    private final Map<Label, Set<Label>> playedRoles = new HashMap<>();
+    private final Map<Label, Map<Label, Role>> requiredRoles = new HashMap<>();
+    private final Map<Label, Set<Label>> relationshipTypes = new HashMap<>();
+
+    /**
+     * @return the labels of the {@link Role}s which the {@link Type} or any of its supers may play
+     */
+    Set<Label> playedRoles(Type type) {
+        Label label = type.label();
+        Set<Label> played = playedRoles.get(label);
+        if (played == null) {
+            readPlays(type);
+            played = playedRoles.get(label);
+        }
+        return played;
+    }
+
+    /**
+     * @return the {@link Role}s which the {@link Type} or any of its supers must play, by label, in the order they are
+     * found walking up the hierarchy
+     */
+    Map<Label, Role> requiredRoles(Type type) {
+        Label label = type.label();
+        Map<Label, Role> required = requiredRoles.get(label);
+        if (required == null) {
+            readPlays(type);
+            required = requiredRoles.get(label);
+        }
+        return required;
+    }
+
+    /**
+     * @return the labels of the {@link RelationshipType}s which relate the {@link Role}
+     */
+    Set<Label> relationshipTypes(Role role) {
+        return relationshipTypes.computeIfAbsent(role.label(),
+                label -> role.relationships().map(SchemaConcept::label).collect(toSet()));
+    }
+
+    private void readPlays(Type type) {
+        Set<Label> played = new HashSet<>();
+        Map<Label, Role> required = new LinkedHashMap<>();
+
+        TypeImpl<?, ?> currentConcept = (TypeImpl<?, ?>) type;
+        while (currentConcept != null) {
+            for (Map.Entry<Role, Boolean> playsEntry : currentConcept.directPlays().entrySet()) {
+                Label roleLabel = playsEntry.getKey().label();
+                played.add(roleLabel);
+                if (playsEntry.getValue()) required.putIfAbsent(roleLabel, playsEntry.getKey());
+            }
+            currentConcept = (TypeImpl<?, ?>) currentConcept.sup();
+        }
+
+        playedRoles.put(type.label(), Collections.unmodifiableSet(played));
+        requiredRoles.put(type.label(), Collections.unmodifiableMap(required));
+    }
+}
@@ -18,15 +18,19 @@
 
 package grakn.core.server.kb;
 
+import grakn.core.graql.concept.Attribute;
 import grakn.core.graql.concept.Relationship;
 import grakn.core.graql.concept.RelationshipType;
 import grakn.core.graql.concept.Role;
 import grakn.core.graql.concept.Rule;
 import grakn.core.graql.concept.Thing;
+import grakn.core.server.exception.InvalidKBException;
 import grakn.core.server.kb.structure.Casting;
 import grakn.core.server.session.TransactionImpl;
 
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -40,11 +44,17 @@ import java.util.Set;
  *      type of the concept.
  * </p>
  *
+ * <p>
+ *      The schema lookups of the checks are shared through a {@link ValidationCache}, so that a commit of many
+ *      instances of the same types reads each {@link grakn.core.graql.concept.Type} once rather than once per instance.
+ * </p>
+ *
  *
  */
 public class Validator {
     private final TransactionImpl<?> graknGraph;
     private final List<String> errorsFound = new ArrayList<>();
+    private final ValidationCache cache = new ValidationCache();
 
     public Validator(TransactionImpl graknGraph){
         this.graknGraph = graknGraph;
@@ -83,6 +93,32 @@ public class Validator {
         return errorsFound.size() == 0;
     }
 
+    /**
+     * Validates a role player as soon as it is added, when the transaction validates incrementally
+     *
+     * @param casting the role player which has been added
+     * @param cache the schema lookups made by the transaction since the schema was last written to
+     * @return true if the role player must still be validated on commit, because it plays a required {@link Role}
+     * @throws InvalidKBException if the role player can never be committed
+     */
+    public static boolean validateRolePlayerOnWrite(Casting casting, ValidationCache cache) {
+        Set<String> errors = ValidateGlobalRules.validateRolePlayerStructure(casting, cache);
+        if (!errors.isEmpty()) throw InvalidKBException.validationErrors(new ArrayList<>(errors));
+        return ValidateGlobalRules.playsRequiredRole(casting, cache);
+    }
+
+    /**
+     * Validates a key as soon as it is given to a {@link Thing}, when the transaction validates incrementally. Whether
+     * the {@link Thing} ends up with exactly one key is still validated on commit.
+     *
+     * @throws InvalidKBException if the {@link Thing} already has another key of the same type
+     */
+    public static void validateKeyOnWrite(Thing thing, Attribute<?> key) {
+        ValidateGlobalRules.validateKeyIsUnique(thing, key).ifPresent(error -> {
+            throw InvalidKBException.validationErrors(Collections.singletonList(error));
+        });
+    }
+
     /**
      * Validation rules exclusive to rules
      * the precedence of validation is: labelValidation -> ontologicalValidation -> clauseValidation
@@ -108,7 +144,7 @@ public class Validator {
      * @param casting The Role player to validate
      */
     private void validateCasting(Casting casting){
-        errorsFound.addAll(ValidateGlobalRules.validatePlaysAndRelatesStructure(casting));
+        errorsFound.addAll(ValidateGlobalRules.validatePlaysAndRelatesStructure(casting, cache));
     }
 
     /**
@@ -133,7 +169,7 @@ public class Validator {
      * @param thing The {@link Thing} to validate
      */
     private void validateThing(Thing thing) {
-        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(thing).ifPresent(errorsFound::add);
+        ValidateGlobalRules.validateInstancePlaysAllRequiredRoles(thing, cache).ifPresent(errorsFound::add);
     }
 
     /**
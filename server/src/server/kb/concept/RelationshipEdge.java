@@ -178,6 +178,8 @@ public class RelationshipEdge implements RelationshipStructure, CacheOwner {
 
     @Override
     public void delete() {
+        edge().tx().txCache().modifiedInstancesOf(type());
+        edge().tx().txCache().removedFactsOf(type());
         edge().delete();
     }
 
@@ -23,9 +23,11 @@ import grakn.core.graql.concept.RelationshipType;
 import grakn.core.graql.concept.Role;
 import grakn.core.graql.concept.Thing;
 import grakn.core.server.exception.TransactionException;
+import grakn.core.server.kb.Validator;
 import grakn.core.server.kb.structure.Casting;
 import grakn.core.server.kb.structure.EdgeElement;
 import grakn.core.server.kb.structure.VertexElement;
+import grakn.core.server.session.TransactionImpl;
 import grakn.core.graql.internal.Schema;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
@@ -98,6 +100,9 @@ public class RelationshipReified extends ThingImpl<Relationship, RelationshipTyp
                 ifPresent(casting -> {
                    casting.delete();
                    vertex().tx().txCache().remove(casting);
+                   vertex().tx().txCache().removedRolePlayer(role, thing);
+                   vertex().tx().txCache().modifiedInstancesOf(type());
+                   vertex().tx().txCache().removedFactsOf(type());
                 });
     }
 
@@ -109,6 +114,7 @@ public class RelationshipReified extends ThingImpl<Relationship, RelationshipTyp
 
         //Do the actual put of the role and role player
         putRolePlayerEdge(role, thing);
+        vertex().tx().txCache().modifiedInstancesOf(type());
     }
 
     /**
@@ -141,7 +147,26 @@ public class RelationshipReified extends ThingImpl<Relationship, RelationshipTyp
         edge.property(Schema.EdgeProperty.RELATIONSHIP_TYPE_LABEL_ID, this.type().labelId().getValue());
         edge.property(Schema.EdgeProperty.ROLE_LABEL_ID, role.labelId().getValue());
         Casting casting = Casting.create(edge, owner, role, toThing);
-        vertex().tx().txCache().trackForValidation(casting);
+        vertex().tx().txCache().addedRolePlayer(role, toThing);
+
+        // When validating incrementally, only role players which later writes can still invalidate are kept for
+        // commit. A refused role player has already been written, so it is kept too in case the error is ignored.
+        TransactionImpl<?> tx = vertex().tx();
+        boolean keepForCommit = true;
+        try {
+            if (tx.isValidationIncremental()) {
+                keepForCommit = Validator.validateRolePlayerOnWrite(casting, tx.txCache().validationCache());
+            }
+        } finally {
+            if (keepForCommit) tx.txCache().trackForValidation(casting);
+        }
+    }
+
+    @Override
+    public void delete() {
+        //The role-player edges of the relationship are deleted together with its vertex
+        castingsRelation().forEach(casting -> vertex().tx().txCache().removedRolePlayer(casting.getRole(), casting.getRolePlayer()));
+        super.delete();
     }
 
     /**
@@ -67,6 +67,7 @@ public class RoleImpl extends SchemaConceptImpl<Role> implements Role {
     public static RoleImpl create(VertexElement vertexElement, Role type) {
         RoleImpl role = new RoleImpl(vertexElement, type);
         vertexElement.tx().txCache().trackForValidation(role);
+        vertexElement.tx().txCache().createdRole(role);
         return role;
     }
 
@@ -35,6 +35,7 @@ import grakn.core.graql.concept.Type;
 import grakn.core.server.exception.TransactionException;
 import grakn.core.server.kb.cache.Cache;
 import grakn.core.server.kb.cache.Cacheable;
+import grakn.core.server.kb.Validator;
 import grakn.core.server.kb.structure.Casting;
 import grakn.core.server.kb.structure.EdgeElement;
 import grakn.core.server.kb.structure.VertexElement;
@@ -119,6 +120,9 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
      */
     @Override
     public void delete() {
+        //The attributes attached by edges go with the node
+        relationships().forEach(relationship -> vertex().tx().txCache().removedFactsOf(relationship.type()));
+
         //Remove links to relationships and return them
         Set<Relationship> relationships = castingsInstance().map(casting -> {
             Relationship relationship = casting.getRelationship();
@@ -128,6 +132,8 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
         }).collect(toSet());
 
         vertex().tx().txCache().removedInstance(type().id());
+        vertex().tx().txCache().modifiedInstancesOf(type());
+        vertex().tx().txCache().removedFactsOf(type());
         deleteNode();
 
         relationships.forEach(relation -> {
@@ -336,7 +342,14 @@ public abstract class ThingImpl<T extends Thing, V extends Type> extends Concept
             throw TransactionException.hasNotAllowed(this, attribute);
         }
 
+        if(has == Schema.ImplicitType.KEY && vertex().tx().isValidationIncremental()){
+            Validator.validateKeyOnWrite(this, attribute);
+        }
+
         EdgeElement attributeEdge = addEdge(AttributeImpl.from(attribute), Schema.EdgeLabel.ATTRIBUTE);
+        vertex().tx().txCache().modifiedInstancesOf(hasAttribute);
+        vertex().tx().txCache().addedFacts(this);
+        vertex().tx().txCache().addedFacts(attribute);
         if(isInferred) attributeEdge.property(Schema.EdgeProperty.IS_INFERRED, true);
         return vertex().tx().factory().buildRelation(attributeEdge, hasAttribute, hasAttributeOwner, hasAttributeValue);
     }
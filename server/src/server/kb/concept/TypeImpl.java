@@ -103,10 +103,12 @@ public class TypeImpl<T extends Type, V extends Thing> extends SchemaConceptImpl
         VertexElement instanceVertex = vertex().tx().addVertexElement(instanceBaseType);
         if(!Schema.MetaSchema.isMetaLabel(label())) {
             vertex().tx().txCache().addedInstance(id());
+            vertex().tx().txCache().modifiedInstancesOf(this);
             if(isInferred) instanceVertex.property(Schema.VertexProperty.IS_INFERRED, true);
         }
         V instance = producer.apply(instanceVertex, getThis());
         assert instance != null : "producer should never return null";
+        if(!Schema.MetaSchema.isMetaLabel(label())) vertex().tx().txCache().addedFacts(instance);
         return instance;
     }
 
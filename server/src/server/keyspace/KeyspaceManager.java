@@ -143,11 +143,15 @@ public class KeyspaceManager {
         try (Transaction graph = systemKeyspaceSession.transaction(Transaction.Type.WRITE)) {
             AttributeType<String> keyspaceName = graph.getSchemaConcept(KEYSPACE_RESOURCE);
 
-            return graph.<EntityType>getSchemaConcept(KEYSPACE_ENTITY).instances()
+            Set<Keyspace> keyspaces = graph.<EntityType>getSchemaConcept(KEYSPACE_ENTITY).instances()
                     .flatMap(keyspace -> keyspace.attributes(keyspaceName))
                     .map(name -> (String) name.value())
                     .map(Keyspace::of)
                     .collect(Collectors.toSet());
+
+            // add to cache, so that opening a transaction on any of them does not read the system keyspace again
+            existingKeyspaces.addAll(keyspaces);
+            return keyspaces;
         }
     }
 
@@ -0,0 +1,77 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count which only ever goes up, such as the number of lookups in a cache
+ */
+public class Counter extends LabelledMetric<Counter.Child> {
+
+    Counter(String name, String help, String... labelNames) {
+        super(name, help, labelNames);
+    }
+
+    @Override
+    Child newChild() {
+        return new Child();
+    }
+
+    /**
+     * Adds one to a counter without labels
+     */
+    public void inc() {
+        labels().inc();
+    }
+
+    @Override
+    public String type() {
+        return "counter";
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        for (Map.Entry<List<String>, Child> child : children().entrySet()) {
+            out.append(name()).append(formatLabels(child.getKey(), null, null))
+                    .append(' ').append(child.getValue().value()).append('\n');
+        }
+    }
+
+    /**
+     * The count of one combination of label values
+     */
+    public static class Child {
+        private final LongAdder value = new LongAdder();
+
+        public void inc() {
+            value.increment();
+        }
+
+        public void inc(long amount) {
+            value.add(amount);
+        }
+
+        public long value() {
+            return value.sum();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ *     Counts observations, such as latencies or sizes, in buckets of fixed upper bounds
+ * </p>
+ *
+ * <p>
+ *     Observing a value is a binary search and two additions to striped counters, so histograms are cheap enough to
+ *     stay on in the hot paths of the server. Quantiles are left to whoever scrapes the buckets.
+ * </p>
+ */
+public class Histogram extends LabelledMetric<Histogram.Child> {
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final double[] upperBounds;
+
+    Histogram(String name, String help, double[] upperBounds, String... labelNames) {
+        super(name, help, labelNames);
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Buckets of " + name + " are not in increasing order");
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+    }
+
+    @Override
+    Child newChild() {
+        return new Child(upperBounds);
+    }
+
+    /**
+     * Observes a value of a histogram without labels
+     */
+    public void observe(double value) {
+        labels().observe(value);
+    }
+
+    /**
+     * Observes the seconds passed since the given {@link System#nanoTime()} in a histogram without labels
+     */
+    public void observeSecondsSince(long startNanos) {
+        labels().observeSecondsSince(startNanos);
+    }
+
+    @Override
+    public String type() {
+        return "histogram";
+    }
+
+    @Override
+    public void writeSamples(StringBuilder out) {
+        for (Map.Entry<List<String>, Child> entry : children().entrySet()) {
+            List<String> labelValues = entry.getKey();
+            Child child = entry.getValue();
+
+            long cumulative = 0;
+            for (int i = 0; i <= upperBounds.length; i++) {
+                cumulative += child.buckets[i].sum();
+                String le = i < upperBounds.length ? Double.toString(upperBounds[i]) : "+Inf";
+                out.append(name()).append("_bucket").append(formatLabels(labelValues, "le", le))
+                        .append(' ').append(cumulative).append('\n');
+            }
+            out.append(name()).append("_sum").append(formatLabels(labelValues, null, null))
+                    .append(' ').append(child.sum()).append('\n');
+            out.append(name()).append("_count").append(formatLabels(labelValues, null, null))
+                    .append(' ').append(cumulative).append('\n');
+        }
+    }
+
+    /**
+     * The observations of one combination of label values
+     */
+    public static class Child {
+        private final double[] upperBounds;
+        private final LongAdder[] buckets;
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Child(double[] upperBounds) {
+            this.upperBounds = upperBounds;
+            this.buckets = new LongAdder[upperBounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+        }
+
+        public void observe(double value) {
+            int bucket = Arrays.binarySearch(upperBounds, value);
+            // a value between two bounds belongs to the bucket of the greater one
+            if (bucket < 0) bucket = -bucket - 1;
+            buckets[bucket].increment();
+            sum.add(value);
+        }
+
+        public void observeSecondsSince(long startNanos) {
+            observe((System.nanoTime() - startNanos) / NANOS_PER_SECOND);
+        }
+
+        /**
+         * Observes the seconds from the given {@link System#nanoTime()} until the given stream is exhausted. A lazy
+         * stream is only timed once it has been consumed entirely, because whoever consumes it decides when it is
+         * done. Streams which are closed early are not observed at all.
+         */
+        public <T> Stream<T> observeSecondsUntilExhausted(long startNanos, Stream<T> stream) {
+            Spliterator<T> answers = stream.spliterator();
+            int characteristics = answers.characteristics() & (Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            Spliterator<T> timed = new Spliterators.AbstractSpliterator<T>(answers.estimateSize(), characteristics) {
+                private boolean observed = false;
+
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    if (answers.tryAdvance(action)) return true;
+                    if (!observed) {
+                        observed = true;
+                        observeSecondsSince(startNanos);
+                    }
+                    return false;
+                }
+            };
+            return StreamSupport.stream(timed, stream.isParallel()).onClose(stream::close);
+        }
+
+        public long count() {
+            long count = 0;
+            for (LongAdder bucket : buckets) count += bucket.sum();
+            return count;
+        }
+
+        public double sum() {
+            return sum.sum();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A family of metrics of the same name, with one child per combination of label values
+ *
+ * @param <C> the type of the children of the family
+ */
+abstract class LabelledMetric<C> implements Metric {
+    private final String name;
+    private final String help;
+    private final ImmutableList<String> labelNames;
+    private final ConcurrentMap<List<String>, C> children = new ConcurrentHashMap<>();
+
+    LabelledMetric(String name, String help, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = ImmutableList.copyOf(labelNames);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String help() {
+        return help;
+    }
+
+    /**
+     * @param labelValues one value for every label of the family, in the order the labels were declared
+     * @return the child of the family with the given label values, which is created on first use
+     */
+    public C labels(String... labelValues) {
+        if (labelValues.length != labelNames.size()) {
+            throw new IllegalArgumentException(
+                    "Metric " + name + " has labels " + labelNames + " but was given " + Arrays.toString(labelValues));
+        }
+        return children.computeIfAbsent(ImmutableList.copyOf(labelValues), values -> newChild());
+    }
+
+    abstract C newChild();
+
+    Map<List<String>, C> children() {
+        return children;
+    }
+
+    /**
+     * @return the label values of a child in the text format, with an extra label appended if one is given
+     */
+    String formatLabels(List<String> labelValues, String extraName, String extraValue) {
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < labelNames.size(); i++) {
+            appendLabel(labels, labelNames.get(i), labelValues.get(i));
+        }
+        if (extraName != null) appendLabel(labels, extraName, extraValue);
+        return labels.length() == 0 ? "" : "{" + labels + "}";
+    }
+
+    private static void appendLabel(StringBuilder labels, String name, String value) {
+        if (labels.length() > 0) labels.append(',');
+        labels.append(name).append("=\"");
+        for (char c : value.toCharArray()) {
+            if (c == '\\') labels.append("\\\\");
+            else if (c == '"') labels.append("\\\"");
+            else if (c == '\n') labels.append("\\n");
+            else labels.append(c);
+        }
+        labels.append('"');
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+/**
+ * A metric which can be written in the Prometheus text format
+ */
+interface Metric {
+
+    String name();
+
+    String help();
+
+    /**
+     * @return the name of the type of the metric in the text format, such as "counter"
+     */
+    String type();
+
+    /**
+     * Appends the samples of the metric, without the HELP and TYPE lines, in the text format
+     */
+    void writeSamples(StringBuilder out);
+}
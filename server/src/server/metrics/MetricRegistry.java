@@ -0,0 +1,109 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * <p>
+ *     Holds the metrics of the server by name, and writes them in the Prometheus text exposition format
+ * </p>
+ *
+ * <p>
+ *     Counters and histograms are registered once and updated by the code they measure. Gauges are read from their
+ *     owner every time the registry is scraped, and registering a gauge again replaces the previous one, so that a
+ *     component which is created again, such as in tests, reports its own state.
+ * </p>
+ */
+public class MetricRegistry {
+    private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    public Counter counter(String name, String help, String... labelNames) {
+        return register(new Counter(name, help, labelNames));
+    }
+
+    public Histogram histogram(String name, String help, double[] upperBounds, String... labelNames) {
+        return register(new Histogram(name, help, upperBounds, labelNames));
+    }
+
+    public void gauge(String name, String help, DoubleSupplier value) {
+        metrics.put(name, new Gauge(name, help, value));
+    }
+
+    private <M extends Metric> M register(M metric) {
+        if (metrics.putIfAbsent(metric.name(), metric) != null) {
+            throw new IllegalArgumentException("Metric " + metric.name() + " is already registered");
+        }
+        return metric;
+    }
+
+    /**
+     * @return every metric in the Prometheus text exposition format, ordered by name
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Metric> entry : new TreeMap<>(metrics).entrySet()) {
+            Metric metric = entry.getValue();
+            out.append("# HELP ").append(metric.name()).append(' ')
+                    .append(metric.help().replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+            out.append("# TYPE ").append(metric.name()).append(' ').append(metric.type()).append('\n');
+            metric.writeSamples(out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * A value which is read from its owner when the registry is scraped, such as the length of a queue
+     */
+    private static class Gauge implements Metric {
+        private final String name;
+        private final String help;
+        private final DoubleSupplier value;
+
+        Gauge(String name, String help, DoubleSupplier value) {
+            this.name = name;
+            this.help = help;
+            this.value = value;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String help() {
+            return help;
+        }
+
+        @Override
+        public String type() {
+            return "gauge";
+        }
+
+        @Override
+        public void writeSamples(StringBuilder out) {
+            out.append(name).append(' ').append(value.getAsDouble()).append('\n');
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the {@link ServerMetrics} in the Prometheus text exposition format at {@code /metrics}, for scrapers which
+ * cannot speak gRPC
+ */
+public class MetricsHttpServer implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsHttpServer.class);
+    private static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+
+    private MetricsHttpServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * @return a server bound to the host and metrics port of the config, or null if the metrics port is 0
+     */
+    @Nullable
+    public static MetricsHttpServer create(Config config) throws IOException {
+        int port = config.getProperty(ConfigKey.METRICS_PORT);
+        if (port == 0) return null;
+
+        String host = config.getProperty(ConfigKey.SERVER_HOST_NAME);
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext(PATH, MetricsHttpServer::scrape);
+        return new MetricsHttpServer(server);
+    }
+
+    public void start() {
+        server.start();
+        LOG.info("Metrics are served at http://{}:{}{}", server.getAddress().getHostString(), server.getAddress().getPort(), PATH);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void scrape(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = ServerMetrics.registry().scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
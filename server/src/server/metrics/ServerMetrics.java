@@ -0,0 +1,130 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+import grakn.core.graql.query.AggregateQuery;
+import grakn.core.graql.query.ComputeQuery;
+import grakn.core.graql.query.DefineQuery;
+import grakn.core.graql.query.DeleteQuery;
+import grakn.core.graql.query.GetQuery;
+import grakn.core.graql.query.InsertQuery;
+import grakn.core.graql.query.Query;
+import grakn.core.graql.query.UndefineQuery;
+import grakn.core.server.deduplicator.AttributeDeduplicatorDaemon;
+import grakn.core.server.rpc.TransactionExecutorPool;
+
+/**
+ * <p>
+ *     The metrics of the hot paths of the server, which are always on: where the time of a query goes between
+ *     parsing, planning and executing it, what committing and validating a transaction costs, how large transaction
+ *     caches grow, how often the reasoner answers from its caches, how far behind attribute deduplication is and how
+ *     long Spark jobs take.
+ * </p>
+ *
+ * <p>
+ *     The metrics are exposed by the Metrics RPC of the keyspace service and, if a port is configured, by
+ *     {@link MetricsHttpServer}.
+ * </p>
+ */
+public final class ServerMetrics {
+    private static final MetricRegistry REGISTRY = new MetricRegistry();
+
+    private static final double[] LATENCY_SECONDS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+    private static final double[] JOB_SECONDS = {1, 5, 10, 30, 60, 120, 300, 600, 1800, 3600};
+    private static final double[] SIZES = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    public static final Histogram QUERY_PARSE_SECONDS = REGISTRY.histogram(
+            "grakn_query_parse_seconds", "Time spent parsing Graql queries", LATENCY_SECONDS, "type");
+
+    public static final Histogram QUERY_EXECUTE_SECONDS = REGISTRY.histogram(
+            "grakn_query_execute_seconds", "Time from executing a Graql query until its last answer is consumed",
+            LATENCY_SECONDS, "type");
+
+    public static final Histogram TRAVERSAL_PLAN_SECONDS = REGISTRY.histogram(
+            "grakn_traversal_plan_seconds", "Time spent planning conjunctions which were not in the plan cache",
+            LATENCY_SECONDS);
+
+    public static final Histogram TRANSACTION_VALIDATION_SECONDS = REGISTRY.histogram(
+            "grakn_transaction_validation_seconds", "Time spent validating transactions before they commit",
+            LATENCY_SECONDS);
+
+    public static final Histogram TRANSACTION_COMMIT_SECONDS = REGISTRY.histogram(
+            "grakn_transaction_commit_seconds", "Time spent committing validated transactions to storage",
+            LATENCY_SECONDS);
+
+    public static final Histogram TRANSACTION_CACHE_CONCEPTS = REGISTRY.histogram(
+            "grakn_transaction_cache_concepts", "Number of concepts cached by a transaction when it closes", SIZES);
+
+    public static final Histogram TRANSACTION_CACHE_MODIFIED_THINGS = REGISTRY.histogram(
+            "grakn_transaction_cache_modified_things", "Number of things tracked for validation by a transaction when it closes",
+            SIZES);
+
+    public static final Counter REASONER_CACHE_LOOKUPS = REGISTRY.counter(
+            "grakn_reasoner_cache_lookups_total", "Lookups of answers in the caches of the reasoner", "cache", "result");
+
+    public static final Counter REASONER_RULE_APPLICATIONS = REGISTRY.counter(
+            "grakn_reasoner_rule_applications_total", "Rules applied to sub goals by the reasoner, by the stratum of the rule",
+            "stratum");
+
+    public static final Counter REASONER_RULE_ANSWERS = REGISTRY.counter(
+            "grakn_reasoner_rule_answers_total", "Answers derived by applying rules, by the stratum of the rule", "stratum");
+
+    public static final Histogram SPARK_JOB_SECONDS = REGISTRY.histogram(
+            "grakn_spark_job_seconds", "Time spent running Spark jobs for compute queries", JOB_SECONDS);
+
+    private ServerMetrics() {}
+
+    public static MetricRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Reports the backlog of the given daemon, in place of any daemon reported before
+     */
+    public static void register(AttributeDeduplicatorDaemon daemon) {
+        REGISTRY.gauge("grakn_deduplicator_backlog", "Estimated number of attributes waiting to be deduplicated",
+                daemon::backlog);
+    }
+
+    /**
+     * Reports the transactions of the given pool, in place of any pool reported before
+     */
+    public static void register(TransactionExecutorPool pool) {
+        REGISTRY.gauge("grakn_rpc_transactions_active", "Number of gRPC transactions holding a thread",
+                () -> pool.statistics().activeTransactions());
+        REGISTRY.gauge("grakn_rpc_transactions_waiting", "Number of gRPC transactions waiting for a thread",
+                () -> pool.statistics().waitingTransactions());
+    }
+
+    /**
+     * @return the label of the type of a query, such as "get" or "insert"
+     */
+    public static String queryType(Query<?> query) {
+        if (query instanceof GetQuery) return "get";
+        if (query instanceof InsertQuery) return "insert";
+        if (query instanceof DeleteQuery) return "delete";
+        if (query instanceof DefineQuery) return "define";
+        if (query instanceof UndefineQuery) return "undefine";
+        if (query instanceof AggregateQuery) return "aggregate";
+        if (query instanceof ComputeQuery) return "compute";
+        return "other";
+    }
+}
@@ -20,9 +20,12 @@ package grakn.core.server.rpc;
 
 import grakn.core.server.keyspace.Keyspace;
 import grakn.core.server.Transaction;
+import grakn.core.server.deduplicator.AttributeDeduplicatorDaemon;
+import grakn.core.server.deduplicator.DeduplicatorWorker;
 import grakn.core.protocol.KeyspaceProto;
 import grakn.core.protocol.KeyspaceServiceGrpc;
 import grakn.core.server.keyspace.KeyspaceManager;
+import grakn.core.server.metrics.ServerMetrics;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
@@ -35,9 +38,11 @@ import java.util.stream.Collectors;
 public class KeyspaceService extends KeyspaceServiceGrpc.KeyspaceServiceImplBase {
 
     private final KeyspaceManager keyspaceStore;
+    private final AttributeDeduplicatorDaemon attributeDeduplicatorDaemon;
 
-    public KeyspaceService(KeyspaceManager keyspaceStore) {
+    public KeyspaceService(KeyspaceManager keyspaceStore, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon) {
         this.keyspaceStore = keyspaceStore;
+        this.attributeDeduplicatorDaemon = attributeDeduplicatorDaemon;
     }
 
     @Override
@@ -70,4 +75,34 @@ public class KeyspaceService extends KeyspaceServiceGrpc.KeyspaceServiceImplBase
             response.onError(ResponseBuilder.exception(e));
         }
     }
+
+    @Override
+    public void deduplicator(KeyspaceProto.Deduplicator.Req request, StreamObserver<KeyspaceProto.Deduplicator.Res> response) {
+        try {
+            KeyspaceProto.Deduplicator.Res.Builder res = KeyspaceProto.Deduplicator.Res.newBuilder()
+                    .setBacklog(attributeDeduplicatorDaemon.backlog());
+            for (DeduplicatorWorker.Statistics statistics : attributeDeduplicatorDaemon.workerStatistics()) {
+                res.addWorkers(KeyspaceProto.Deduplicator.Worker.newBuilder()
+                        .setId(statistics.workerId())
+                        .setQueueDepth(statistics.queueDepth())
+                        .setLagMillis(statistics.lagMillis())
+                        .setMerged(statistics.merged())
+                        .setMergesPerSecond(statistics.mergesPerSecond()));
+            }
+            response.onNext(res.build());
+            response.onCompleted();
+        } catch (RuntimeException e) {
+            response.onError(ResponseBuilder.exception(e));
+        }
+    }
+
+    @Override
+    public void metrics(KeyspaceProto.Metrics.Req request, StreamObserver<KeyspaceProto.Metrics.Res> response) {
+        try {
+            response.onNext(KeyspaceProto.Metrics.Res.newBuilder().setText(ServerMetrics.registry().scrape()).build());
+            response.onCompleted();
+        } catch (RuntimeException e) {
+            response.onError(ResponseBuilder.exception(e));
+        }
+    }
 }
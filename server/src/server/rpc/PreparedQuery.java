@@ -0,0 +1,142 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.rpc;
+
+import grakn.core.graql.admin.MatchAdmin;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.exception.GraqlQueryException;
+import grakn.core.graql.query.AggregateQuery;
+import grakn.core.graql.query.DeleteQuery;
+import grakn.core.graql.query.GetQuery;
+import grakn.core.graql.query.Graql;
+import grakn.core.graql.query.InsertQuery;
+import grakn.core.graql.query.Match;
+import grakn.core.graql.query.Queries;
+import grakn.core.graql.query.Query;
+import grakn.core.graql.query.QueryBuilder;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.graql.query.pattern.VarPatternAdmin;
+import grakn.core.protocol.ConceptProto;
+import grakn.core.protocol.SessionProto.Transaction;
+import io.grpc.Status;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Graql query sent in a {@link Transaction.Prepare.Req}. It is parsed once, without a transaction, and every
+ * {@link Transaction.Execute.Req} binds variables of its match clause to concept ids and values before executing it.
+ * Executions which only differ in their parameters have the same traversal fragments, so they share the plan cached
+ * for the keyspace.
+ */
+class PreparedQuery {
+
+    private final Query<?> query;
+
+    private PreparedQuery(Query<?> query) {
+        this.query = query;
+    }
+
+    static PreparedQuery parse(String queryString, boolean infer) {
+        return new PreparedQuery(new QueryBuilder().infer(infer).parse(queryString));
+    }
+
+    /**
+     * @param parameters the concept ids and values to bind variables of the match clause to, by variable name
+     * @param limit      the maximum number of answers to match, or 0 to keep the limit of the prepared query
+     * @param tx         the transaction to execute the query in
+     * @return the query with the given parameters bound, ready to execute
+     */
+    Query<?> bind(Map<String, Transaction.Execute.Parameter> parameters, long limit, grakn.core.server.Transaction tx) {
+        if (parameters.isEmpty() && limit == 0) return query.withTx(tx);
+
+        Match match = match(query);
+        if (match == null) throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
+
+        Set<Var> matchVars = match.admin().getPattern().commonVars();
+        List<VarPatternAdmin> bindings = new ArrayList<>(parameters.size());
+        parameters.forEach((name, parameter) -> {
+            Var var = Graql.var(name);
+            if (!matchVars.contains(var)) throw GraqlQueryException.varNotInQuery(var);
+            bindings.add(binding(var, parameter));
+        });
+
+        MatchAdmin boundMatch = match.admin();
+
+        if (!bindings.isEmpty()) boundMatch = boundMatch.and(bindings);
+        if (limit > 0) boundMatch = boundMatch.limit(limit).admin();
+        return withMatch(query, boundMatch).withTx(tx);
+    }
+
+    private static VarPatternAdmin binding(Var var, Transaction.Execute.Parameter parameter) {
+        switch (parameter.getParameterCase()) {
+            case ID:
+                return var.id(ConceptId.of(parameter.getId())).admin();
+            case VALUE:
+                return var.val(value(parameter.getValue())).admin();
+            default:
+            case PARAMETER_NOT_SET:
+                throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
+        }
+    }
+
+    private static Object value(ConceptProto.ValueObject value) {
+        switch (value.getValueCase()) {
+            case DATE:
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(value.getDate()), ZoneId.of("Z"));
+            case VALUE_NOT_SET:
+                throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
+            default:
+                return value.getAllFields().values().iterator().next();
+        }
+    }
+
+    @Nullable
+    private static Match match(Query<?> query) {
+        if (query instanceof GetQuery) {
+            return ((GetQuery) query).match();
+        } else if (query instanceof AggregateQuery) {
+            return ((AggregateQuery<?>) query).match();
+        } else if (query instanceof DeleteQuery) {
+            return ((DeleteQuery) query).match();
+        } else if (query instanceof InsertQuery) {
+            return ((InsertQuery) query).match();
+        } else {
+            return null;
+        }
+    }
+
+    private static Query<?> withMatch(Query<?> query, MatchAdmin match) {
+        if (query instanceof GetQuery) {
+            return Queries.get(match, ((GetQuery) query).vars());
+        } else if (query instanceof AggregateQuery) {
+            return Queries.aggregate(match, ((AggregateQuery<?>) query).aggregate());
+        } else if (query instanceof DeleteQuery) {
+            return Queries.delete(match, ((DeleteQuery) query).vars());
+        } else {
+            return Queries.insert(match, ((InsertQuery) query).varPatterns());
+        }
+    }
+}
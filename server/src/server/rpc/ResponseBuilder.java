@@ -76,6 +76,24 @@ public class ResponseBuilder {
                     .build();
         }
 
+        static SessionProto.Transaction.Res prepare(int handle) {
+            return SessionProto.Transaction.Res.newBuilder()
+                    .setPrepareRes(SessionProto.Transaction.Prepare.Res.newBuilder().setHandle(handle))
+                    .build();
+        }
+
+        static SessionProto.Transaction.Res executeIterator(int iteratorId) {
+            return SessionProto.Transaction.Res.newBuilder()
+                    .setExecuteIter(SessionProto.Transaction.Query.Iter.newBuilder().setId(iteratorId))
+                    .build();
+        }
+
+        static SessionProto.Transaction.Res release() {
+            return SessionProto.Transaction.Res.newBuilder()
+                    .setReleaseRes(SessionProto.Transaction.Release.Res.getDefaultInstance())
+                    .build();
+        }
+
         static SessionProto.Transaction.Res getSchemaConcept(@Nullable grakn.core.graql.concept.Concept concept) {
             SessionProto.Transaction.GetSchemaConcept.Res.Builder res = SessionProto.Transaction.GetSchemaConcept.Res.newBuilder();
             if (concept == null) {
@@ -132,11 +150,35 @@ public class ResponseBuilder {
             return SessionProto.Transaction.Res.newBuilder().setPutRuleRes(res).build();
         }
 
+        static SessionProto.Transaction.Res bulkInsert(SessionProto.Transaction.BulkInsert.Res.Builder res) {
+            return SessionProto.Transaction.Res.newBuilder().setBulkInsertRes(res).build();
+        }
+
+        static SessionProto.Transaction.BulkInsert.Chunk bulkInsertChunk(int queries, long durationMillis, boolean committed) {
+            return SessionProto.Transaction.BulkInsert.Chunk.newBuilder()
+                    .setQueries(queries)
+                    .setDurationMillis(durationMillis)
+                    .setCommitted(committed)
+                    .build();
+        }
+
         /**
          * An RPC Response Builder class for Transaction iterator responses
          */
         static class Iter {
 
+            static SessionProto.Transaction.Res done() {
+                return SessionProto.Transaction.Res.newBuilder()
+                        .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
+                                .setDone(true)).build();
+            }
+
+            static SessionProto.Transaction.Res batchDone() {
+                return SessionProto.Transaction.Res.newBuilder()
+                        .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
+                                .setBatchDone(true)).build();
+            }
+
             static SessionProto.Transaction.Res query(Object object) {
                 return SessionProto.Transaction.Res.newBuilder()
                         .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
@@ -308,7 +350,7 @@ public class ResponseBuilder {
 
         static AnswerProto.ConceptMap conceptMap(ConceptMap answer) {
             AnswerProto.ConceptMap.Builder conceptMapProto = AnswerProto.ConceptMap.newBuilder();
-            answer.map().forEach((var, concept) -> {
+            answer.forEach((var, concept) -> {
                 ConceptProto.Concept conceptProto = ResponseBuilder.Concept.concept(concept);
                 conceptMapProto.putMap(var.getValue(), conceptProto);
             });
@@ -31,6 +31,7 @@ import grakn.core.graql.concept.Rule;
 import grakn.core.server.session.TransactionImpl;
 import grakn.core.server.deduplicator.AttributeDeduplicatorDaemon;
 import grakn.core.graql.query.Graql;
+import grakn.core.graql.query.InsertQuery;
 import grakn.core.graql.query.pattern.Pattern;
 import grakn.core.graql.query.Query;
 import grakn.core.protocol.SessionProto;
@@ -39,7 +40,6 @@ import grakn.core.protocol.SessionServiceGrpc;
 import brave.ScopedSpan;
 import brave.Span;
 import brave.propagation.TraceContext;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
@@ -47,13 +47,11 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
@@ -67,14 +65,16 @@ import grakn.benchmark.lib.serverinstrumentation.ServerTracingInstrumentation;
 public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
     private final OpenRequest requestOpener;
     private AttributeDeduplicatorDaemon attributeDeduplicatorDaemon;
+    private final TransactionExecutorPool executorPool;
 
-    public SessionService(OpenRequest requestOpener, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon) {
+    public SessionService(OpenRequest requestOpener, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon, TransactionExecutorPool executorPool) {
         this.requestOpener = requestOpener;
         this.attributeDeduplicatorDaemon = attributeDeduplicatorDaemon;
+        this.executorPool = executorPool;
     }
 
     public StreamObserver<Transaction.Req> transaction(StreamObserver<Transaction.Res> responseSender) {
-        return TransactionListener.create(responseSender, requestOpener, attributeDeduplicatorDaemon);
+        return TransactionListener.create(responseSender, executorPool, requestOpener, attributeDeduplicatorDaemon);
     }
 
 
@@ -86,27 +86,33 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         final Logger LOG = LoggerFactory.getLogger(TransactionListener.class);
         private final StreamObserver<Transaction.Res> responseSender;
         private final AtomicBoolean terminated = new AtomicBoolean(false);
-        private final ExecutorService threadExecutor;
+        private final TransactionExecutorPool executorPool;
         private final OpenRequest requestOpener;
         private AttributeDeduplicatorDaemon attributeDeduplicatorDaemon;
         private final Iterators iterators = Iterators.create();
+        private final Map<Integer, PreparedQuery> preparedQueries = new HashMap<>();
+        private int nextPreparedQueryHandle = 0;
 
         private TraceContext receivedTraceContext;
 
+        @Nullable
+        private TransactionExecutorPool.TransactionExecutor threadExecutor = null;
+
         @Nullable
         private TransactionImpl<?> tx = null;
 
-        private TransactionListener(StreamObserver<Transaction.Res> responseSender, ExecutorService threadExecutor, OpenRequest requestOpener, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon) {
+        @Nullable
+        private ServerOpenRequest.Arguments openArguments = null;
+
+        private TransactionListener(StreamObserver<Transaction.Res> responseSender, TransactionExecutorPool executorPool, OpenRequest requestOpener, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon) {
             this.responseSender = responseSender;
-            this.threadExecutor = threadExecutor;
+            this.executorPool = executorPool;
             this.requestOpener = requestOpener;
             this.attributeDeduplicatorDaemon = attributeDeduplicatorDaemon;
         }
 
-        public static TransactionListener create(StreamObserver<Transaction.Res> responseSender, OpenRequest requestOpener, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon) {
-            ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("transaction-listener-%s").build();
-            ExecutorService threadExecutor = Executors.newSingleThreadExecutor(threadFactory);
-            return new TransactionListener(responseSender, threadExecutor, requestOpener, attributeDeduplicatorDaemon);
+        public static TransactionListener create(StreamObserver<Transaction.Res> responseSender, TransactionExecutorPool executorPool, OpenRequest requestOpener, AttributeDeduplicatorDaemon attributeDeduplicatorDaemon) {
+            return new TransactionListener(responseSender, executorPool, requestOpener, attributeDeduplicatorDaemon);
         }
 
         private static <T> T nonNull(@Nullable T item) {
@@ -200,6 +206,18 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                 case CONCEPTMETHOD_REQ:
                     conceptMethod(request.getConceptMethodReq());
                     break;
+                case BULKINSERT_REQ:
+                    bulkInsert(request.getBulkInsertReq());
+                    break;
+                case PREPARE_REQ:
+                    prepare(request.getPrepareReq());
+                    break;
+                case EXECUTE_REQ:
+                    execute(request.getExecuteReq());
+                    break;
+                case RELEASE_REQ:
+                    release(request.getReleaseReq());
+                    break;
                 default:
                 case REQ_NOT_SET:
                     throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
@@ -207,12 +225,27 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
         }
 
         public void close(@Nullable Throwable error) {
-            submit(() -> {
-                if (tx != null) {
-                    tx.close();
+            if (threadExecutor == null || threadExecutor.isShutdown() || threadExecutor.withdraw()) {
+                terminate(error);
+                return;
+            }
+
+            // the transaction is closed in the thread it was opened in, without blocking the gRPC thread
+            threadExecutor.submit(() -> {
+                Throwable closeError = error;
+                try {
+                    if (tx != null) {
+                        tx.close();
+                    }
+                } catch (RuntimeException e) {
+                    if (closeError == null) closeError = e;
                 }
+                terminate(closeError);
             });
+            threadExecutor.shutdown();
+        }
 
+        private void terminate(@Nullable Throwable error) {
             if (!terminated.getAndSet(true)) {
                 if (error != null) {
                     LOG.error("Runtime Exception in RPC TransactionListener: ", error);
@@ -221,12 +254,15 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                     responseSender.onCompleted();
                 }
             }
-
-            threadExecutor.shutdown();
         }
 
         private void submit(Runnable runnable) {
             try {
+                // the transaction leases a thread with its first request, and keeps it until it is closed
+                if (threadExecutor == null) {
+                    threadExecutor = executorPool.lease();
+                    threadExecutor.awaitThread();
+                }
                 threadExecutor.submit(runnable).get();
             } catch (ExecutionException e) {
                 Throwable cause = e.getCause();
@@ -242,22 +278,89 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
                 throw ResponseBuilder.exception(Status.FAILED_PRECONDITION);
             }
 
-            ServerOpenRequest.Arguments args = new ServerOpenRequest.Arguments(
+            openArguments = new ServerOpenRequest.Arguments(
                     Keyspace.of(request.getKeyspace()),
                     grakn.core.server.Transaction.Type.of(request.getType().getNumber())
             );
 
-            tx = requestOpener.open(args);
+            tx = requestOpener.open(openArguments);
             Transaction.Res response = ResponseBuilder.Transaction.open();
             onNextResponse(response);
         }
 
         private void commit() {
+            commitAndMarkForDeduplication();
+            onNextResponse(ResponseBuilder.Transaction.commit());
+        }
+
+        private void commitAndMarkForDeduplication() {
             tx().commitAndGetLogs().ifPresent(commitLog ->
                     commitLog.attributes().forEach((attributeIndex, conceptIds) ->
                             conceptIds.forEach(id -> attributeDeduplicatorDaemon.markForDeduplication(commitLog.keyspace(), attributeIndex, id))
                     ));
-            onNextResponse(ResponseBuilder.Transaction.commit());
+        }
+
+        /**
+         * Executes a batch of insert queries on the server, so a loader pays for one message per batch instead of one
+         * request-response round-trip per query. Every distinct query string is parsed only once. When a chunk size
+         * is given, the transaction is committed after every chunk and a fresh transaction with the same keyspace
+         * and type is opened in its place, so the stream remains usable afterwards. If a chunk fails, the transaction
+         * it was running in is closed and the error is reported once, ending the stream.
+         */
+        private void bulkInsert(Transaction.BulkInsert.Req request) {
+            try {
+                bulkInsertInChunks(request);
+            } catch (RuntimeException e) {
+                // a chunk which failed to execute or commit leaves a transaction that must not be used again
+                TransactionImpl<?> failed = tx;
+                tx = null;
+                if (failed != null && !failed.isClosed()) failed.close();
+                throw e;
+            }
+        }
+
+        private void bulkInsertInChunks(Transaction.BulkInsert.Req request) {
+            int chunkSize = request.getChunkSize();
+            Map<String, InsertQuery> parsedQueries = new HashMap<>();
+            Transaction.BulkInsert.Res.Builder response = Transaction.BulkInsert.Res.newBuilder();
+
+            int queriesInChunk = 0;
+            long chunkStart = System.currentTimeMillis();
+            for (String queryString : request.getQueriesList()) {
+                InsertQuery query = parsedQueries.computeIfAbsent(queryString, TransactionListener::parseInsert);
+                query.withTx(tx()).execute();
+                queriesInChunk++;
+
+                if (chunkSize > 0 && queriesInChunk == chunkSize) {
+                    commitAndReopen();
+                    response.addChunks(ResponseBuilder.Transaction.bulkInsertChunk(queriesInChunk, System.currentTimeMillis() - chunkStart, true));
+                    queriesInChunk = 0;
+                    chunkStart = System.currentTimeMillis();
+                }
+            }
+
+            if (queriesInChunk > 0) {
+                boolean committed = chunkSize > 0;
+                if (committed) commitAndReopen();
+                response.addChunks(ResponseBuilder.Transaction.bulkInsertChunk(queriesInChunk, System.currentTimeMillis() - chunkStart, committed));
+            }
+
+            response.setInserted(request.getQueriesCount());
+            response.getChunksList().forEach(chunk -> LOG.debug("Bulk inserted {} queries in {} ms", chunk.getQueries(), chunk.getDurationMillis()));
+            onNextResponse(ResponseBuilder.Transaction.bulkInsert(response));
+        }
+
+        private static InsertQuery parseInsert(String queryString) {
+            Query<?> query = Graql.parser().parseQuery(queryString);
+            if (!(query instanceof InsertQuery)) {
+                throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
+            }
+            return (InsertQuery) query;
+        }
+
+        private void commitAndReopen() {
+            commitAndMarkForDeduplication();
+            tx = requestOpener.open(nonNull(openArguments));
         }
 
         private void query(SessionProto.Transaction.Query.Req request) {
@@ -270,6 +373,38 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             onNextResponse(response);
         }
 
+        /**
+         * Parses a query once for the rest of the transaction stream, or until it is released. The handle stays valid
+         * after a commit, because the query is parsed without a transaction and only given the current one when it is
+         * executed.
+         */
+        private void prepare(Transaction.Prepare.Req request) {
+            boolean infer = request.getInfer().equals(Transaction.Query.INFER.TRUE);
+            int handle = nextPreparedQueryHandle++;
+            preparedQueries.put(handle, PreparedQuery.parse(request.getQuery(), infer));
+            onNextResponse(ResponseBuilder.Transaction.prepare(handle));
+        }
+
+        private void execute(Transaction.Execute.Req request) {
+            PreparedQuery preparedQuery = preparedQueries.get(request.getHandle());
+            if (preparedQuery == null) {
+                throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
+            }
+
+            Query<?> query = preparedQuery.bind(request.getParametersMap(), request.getLimit(), tx());
+
+            Stream<Transaction.Res> responseStream = query.stream().map(ResponseBuilder.Transaction.Iter::query);
+            Transaction.Res response = ResponseBuilder.Transaction.executeIterator(iterators.add(responseStream.iterator()));
+            onNextResponse(response);
+        }
+
+        private void release(Transaction.Release.Req request) {
+            if (preparedQueries.remove(request.getHandle()) == null) {
+                throw ResponseBuilder.exception(Status.INVALID_ARGUMENT);
+            }
+            onNextResponse(ResponseBuilder.Transaction.release());
+        }
+
         private void getSchemaConcept(Transaction.GetSchemaConcept.Req request) {
             Concept concept = tx().getSchemaConcept(Label.of(request.getLabel()));
             Transaction.Res response = ResponseBuilder.Transaction.getSchemaConcept(concept);
@@ -342,11 +477,44 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
 
         private void next(Transaction.Iter.Req iterate) {
             int iteratorId = iterate.getId();
+            if (iterate.hasOptions()) {
+                nextBatch(iteratorId, iterate.getOptions());
+                return;
+            }
+
             Transaction.Res response = iterators.next(iteratorId);
             if (response == null) throw ResponseBuilder.exception(Status.FAILED_PRECONDITION);
             onNextResponse(response);
         }
 
+        /**
+         * Streams up to {@link Transaction.Iter.Req.Options#getBatchSize()} answers of the iterator in response to a
+         * single request, so that the client pays one round-trip per batch rather than one per answer.
+         * The batch is also cut short once {@link Transaction.Iter.Req.Options#getBatchBytes()} have been sent.
+         * The last message of a batch is always either {@code done} or {@code batchDone}.
+         */
+        private void nextBatch(int iteratorId, Transaction.Iter.Req.Options options) {
+            int batchSize = Math.max(options.getBatchSize(), 1);
+            long batchBytes = options.getBatchBytes() > 0 ? options.getBatchBytes() : Long.MAX_VALUE;
+
+            int sent = 0;
+            long bytes = 0;
+            while (sent < batchSize && bytes < batchBytes) {
+                Transaction.Res response = iterators.next(iteratorId);
+                if (response == null) throw ResponseBuilder.exception(Status.FAILED_PRECONDITION);
+
+                if (response.getIterateRes().getDone()) {
+                    onNextResponse(response);
+                    return;
+                }
+
+                responseSender.onNext(response);
+                sent++;
+                bytes += response.getSerializedSize();
+            }
+            onNextResponse(ResponseBuilder.Transaction.Iter.batchDone());
+        }
+
         private void onNextResponse(Transaction.Res response) {
             if (ServerTracingInstrumentation.tracingActive()) {
                 ServerTracingInstrumentation.currentSpan().finish();
@@ -381,9 +549,7 @@ public class SessionService extends SessionServiceGrpc.SessionServiceImplBase {
             if (iterator.hasNext()) {
                 response = iterator.next();
             } else {
-                response = SessionProto.Transaction.Res.newBuilder()
-                        .setIterateRes(SessionProto.Transaction.Iter.Res.newBuilder()
-                                .setDone(true)).build();
+                response = ResponseBuilder.Transaction.Iter.done();
                 stop(iteratorId);
             }
 
@@ -0,0 +1,239 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.rpc;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ *     The threads which handle the requests of the transactions opened over gRPC.
+ * </p>
+ *
+ * <p>
+ *     A transaction is bound to the thread it was opened in, so every transaction leases a thread of the pool for as
+ *     long as it is open, and its requests are handled in order on that thread. Threads are reused by the transactions
+ *     opened later. Once every thread is leased, new transactions wait for a thread to be released, and once too many
+ *     transactions are waiting, new transactions are refused with {@link Status#RESOURCE_EXHAUSTED}.
+ * </p>
+ */
+public class TransactionExecutorPool {
+    private static final FutureTask<Void> END_OF_TRANSACTION = new FutureTask<>(() -> {}, null);
+
+    private final ThreadPoolExecutor threads;
+    private final long maxWaitMillis;
+
+    private final AtomicInteger activeTransactions = new AtomicInteger(0);
+    private final LongAdder rejectedTransactions = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder queueTimeNanos = new LongAdder();
+    private final AtomicLong maxQueueTimeNanos = new AtomicLong(0);
+
+    /**
+     * @param maxThreads the maximum number of transactions handled at once
+     * @param maxWaiting the maximum number of transactions waiting for a thread
+     * @param maxWaitMillis the maximum time a transaction waits for a thread
+     */
+    public TransactionExecutorPool(int maxThreads, int maxWaiting, long maxWaitMillis) {
+        BlockingQueue<Runnable> waiting = maxWaiting > 0 ? new LinkedBlockingQueue<>(maxWaiting) : new SynchronousQueue<>();
+        this.threads = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, waiting,
+                new ThreadFactoryBuilder().setNameFormat("transaction-listener-%s").setDaemon(true).build());
+        this.threads.allowCoreThreadTimeOut(true);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public static TransactionExecutorPool create(Config config) {
+        return new TransactionExecutorPool(
+                config.getProperty(ConfigKey.GRPC_TRANSACTION_THREADS),
+                config.getProperty(ConfigKey.GRPC_TRANSACTION_MAX_WAITING),
+                config.getProperty(ConfigKey.GRPC_TRANSACTION_MAX_WAIT_MS));
+    }
+
+    /**
+     * Leases a thread for a new transaction
+     *
+     * @return an executor which runs the requests of the transaction in order, on the thread leased to it
+     * @throws io.grpc.StatusRuntimeException with {@link Status#RESOURCE_EXHAUSTED} if too many transactions are waiting
+     */
+    TransactionExecutor lease() {
+        TransactionExecutor executor = new TransactionExecutor();
+        try {
+            threads.execute(executor.lease);
+        } catch (RejectedExecutionException e) {
+            throw refused();
+        }
+        return executor;
+    }
+
+    private StatusRuntimeException refused() {
+        rejectedTransactions.increment();
+        return ResponseBuilder.exception(Status.RESOURCE_EXHAUSTED.withDescription(
+                "Too many open transactions, please retry later"));
+    }
+
+    private void recordQueueTime(long nanos) {
+        requests.increment();
+        queueTimeNanos.add(nanos);
+        maxQueueTimeNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * @return a snapshot of the load of the pool
+     */
+    public Statistics statistics() {
+        long requestCount = requests.sum();
+        double meanQueueTimeMillis = requestCount == 0 ? 0 : queueTimeNanos.sum() / 1e6 / requestCount;
+        return Statistics.create(activeTransactions.get(), threads.getQueue().size(), rejectedTransactions.sum(),
+                requestCount, meanQueueTimeMillis, maxQueueTimeNanos.get() / 1e6);
+    }
+
+    /**
+     * Runs the requests of a single transaction in the order they are submitted, on the thread leased to it
+     */
+    class TransactionExecutor {
+        private final BlockingQueue<FutureTask<?>> tasks = new LinkedBlockingQueue<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final Runnable lease = this::run;
+        private volatile boolean shutdown = false;
+
+        /**
+         * Waits until the transaction has a thread
+         *
+         * @throws io.grpc.StatusRuntimeException with {@link Status#RESOURCE_EXHAUSTED} if no thread was released in
+         * time, in which case the transaction no longer waits for one
+         */
+        void awaitThread() throws InterruptedException {
+            if (!started.await(maxWaitMillis, TimeUnit.MILLISECONDS) && withdraw()) {
+                throw refused();
+            }
+        }
+
+        /**
+         * Stops waiting for a thread, without running any of the requests submitted so far
+         *
+         * @return true if the transaction was still waiting for a thread
+         */
+        boolean withdraw() {
+            if (!threads.remove(lease)) return false;
+            shutdown = true;
+            return true;
+        }
+
+        boolean isShutdown() {
+            return shutdown;
+        }
+
+        /**
+         * @return a future completing once the request has been handled
+         */
+        Future<?> submit(Runnable request) {
+            if (shutdown) throw new RejectedExecutionException("The transaction has been closed");
+
+            long submittedAt = System.nanoTime();
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                recordQueueTime(System.nanoTime() - submittedAt);
+                request.run();
+            }, null);
+            tasks.add(task);
+            return task;
+        }
+
+        /**
+         * Releases the thread once every request submitted so far has been handled
+         */
+        void shutdown() {
+            if (!shutdown) {
+                shutdown = true;
+                tasks.add(END_OF_TRANSACTION);
+            }
+        }
+
+        private void run() {
+            started.countDown();
+            activeTransactions.incrementAndGet();
+            try {
+                FutureTask<?> task;
+                while ((task = tasks.take()) != END_OF_TRANSACTION) {
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                activeTransactions.decrementAndGet();
+                tasks.forEach(task -> task.cancel(false));
+            }
+        }
+    }
+
+    /**
+     * A snapshot of the load of a {@link TransactionExecutorPool}
+     */
+    @AutoValue
+    public abstract static class Statistics {
+        /**
+         * @return number of transactions which have a thread
+         */
+        public abstract int activeTransactions();
+
+        /**
+         * @return number of transactions waiting for a thread
+         */
+        public abstract int waitingTransactions();
+
+        /**
+         * @return number of transactions refused because too many transactions were waiting
+         */
+        public abstract long rejectedTransactions();
+
+        /**
+         * @return number of requests handled
+         */
+        public abstract long requests();
+
+        /**
+         * @return mean time a request waited before it was handled, including waiting for a thread
+         */
+        public abstract double meanQueueTimeMillis();
+
+        public abstract double maxQueueTimeMillis();
+
+        static Statistics create(int activeTransactions, int waitingTransactions, long rejectedTransactions,
+                                 long requests, double meanQueueTimeMillis, double maxQueueTimeMillis) {
+            return new AutoValue_TransactionExecutorPool_Statistics(activeTransactions, waitingTransactions,
+                    rejectedTransactions, requests, meanQueueTimeMillis, maxQueueTimeMillis);
+        }
+    }
+}
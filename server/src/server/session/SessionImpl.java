@@ -18,10 +18,16 @@
 
 package grakn.core.server.session;
 
+import grakn.core.graql.internal.gremlin.TraversalPlanCache;
+import grakn.core.graql.internal.reasoner.cache.ReasonerAnswerCache;
+import grakn.core.graql.internal.reasoner.rule.RuleMaterialiser;
 import grakn.core.server.Session;
 import grakn.core.server.Transaction;
 import grakn.core.server.keyspace.Keyspace;
 import grakn.core.server.exception.TransactionException;
+import grakn.core.server.session.cache.ConceptCache;
+import grakn.core.server.session.cache.KeyspaceStatistics;
+import grakn.core.server.session.cache.RuleGraphCache;
 import grakn.core.server.session.olap.TransactionOLAP;
 import grakn.core.server.session.oltp.TransactionOLTP;
 import grakn.core.common.config.Config;
@@ -43,6 +49,12 @@ public class SessionImpl implements Session {
 
     private final TransactionFactory<?, ?> transactionOLTPFactory;
     private final TransactionFactory<?, ?> transactionOLAPFactory;
+    private final ConceptCache conceptCache;
+    private final KeyspaceStatistics statistics = new KeyspaceStatistics();
+    private final TraversalPlanCache planCache;
+    private final ReasonerAnswerCache answerCache;
+    private final RuleMaterialiser ruleMaterialiser;
+    private final RuleGraphCache ruleGraphCache = new RuleGraphCache();
 
 
     //References so we don't have to open a tx just to check the count of the transactions
@@ -61,6 +73,10 @@ public class SessionImpl implements Session {
 
         this.keyspace = keyspace;
         this.config = config;
+        this.conceptCache = new ConceptCache(config, keyspace);
+        this.planCache = new TraversalPlanCache(config);
+        this.answerCache = new ReasonerAnswerCache(config);
+        this.ruleMaterialiser = new RuleMaterialiser(config);
         this.transactionOLTPFactory = transactionFactoryBuilder.getFactory(this, false);
         this.transactionOLAPFactory = transactionFactoryBuilder.getFactory(this, true);
     }
@@ -127,6 +143,60 @@ public class SessionImpl implements Session {
         return keyspace;
     }
 
+    /**
+     * The cache of concepts shared by all the transactions of this {@link Session}
+     *
+     * @return the {@link ConceptCache} of this {@link Session}
+     */
+    public ConceptCache conceptCache() {
+        return conceptCache;
+    }
+
+    /**
+     * The statistics about the data in the {@link Keyspace} of this {@link Session}, used for query planning
+     *
+     * @return the {@link KeyspaceStatistics} of this {@link Session}
+     */
+    public KeyspaceStatistics statistics() {
+        return statistics;
+    }
+
+    /**
+     * The query plans shared by the transactions of this {@link Session}
+     *
+     * @return the {@link TraversalPlanCache} of this {@link Session}
+     */
+    public TraversalPlanCache planCache() {
+        return planCache;
+    }
+
+    /**
+     * The inferred answers shared by the read transactions of this {@link Session}
+     *
+     * @return the {@link ReasonerAnswerCache} of this {@link Session}
+     */
+    public ReasonerAnswerCache answerCache() {
+        return answerCache;
+    }
+
+    /**
+     * The rules whose consequences the transactions of this {@link Session} store instead of resolving them
+     *
+     * @return the {@link RuleMaterialiser} of this {@link Session}
+     */
+    public RuleMaterialiser ruleMaterialiser() {
+        return ruleMaterialiser;
+    }
+
+    /**
+     * The dependency graph of the rules shared by the transactions of this {@link Session} while the schema is unchanged
+     *
+     * @return the {@link RuleGraphCache} of this {@link Session}
+     */
+    public RuleGraphCache ruleGraphCache() {
+        return ruleGraphCache;
+    }
+
     /**
      * The config options of this {@link Session} which were passed in at the time of construction
      *
@@ -24,19 +24,35 @@ import grakn.core.server.keyspace.Keyspace;
 import grakn.core.server.keyspace.KeyspaceManager;
 import grakn.core.common.config.Config;
 import grakn.core.server.util.LockManager;
-
-import java.util.HashMap;
-import java.util.Map;
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.Lock;
 
 /**
  * Grakn Server's internal {@link Transaction} Factory
  * This internal factory is used to produce {@link Transaction}s.
+ *
+ * Sessions are opened once per {@link Keyspace} and shared by every thread, so looking a session up never locks.
+ * Only the creation of a new {@link Keyspace} is serialised, and only with the threads creating the same {@link Keyspace}.
  */
 public class SessionStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SessionStore.class);
+
     private final Config config;
     private final KeyspaceManager keyspaceStore;
-    private final Map<Keyspace, SessionImpl> openedSessions;
+    private final ConcurrentMap<Keyspace, SessionImpl> openedSessions;
     private final LockManager lockManager;
 
     public static SessionStore create(LockManager lockManager, Config config, KeyspaceManager keyspaceStore) {
@@ -44,7 +60,7 @@ public class SessionStore {
     }
 
     private SessionStore(Config config, LockManager lockManager, KeyspaceManager keyspaceStore) {
-        this.openedSessions = new HashMap<>();
+        this.openedSessions = new ConcurrentHashMap<>();
         this.config = config;
         this.lockManager = lockManager;
         this.keyspaceStore = keyspaceStore;
@@ -71,10 +87,72 @@ public class SessionStore {
      * @return a new or existing {@link Session} connecting to the provided {@link Keyspace}
      */
     private SessionImpl session(Keyspace keyspace){
-        if(!openedSessions.containsKey(keyspace)){
-            openedSessions.put(keyspace, SessionImpl.create(keyspace, config, TransactionFactoryBuilder.getInstance()));
+        SessionImpl session = openedSessions.get(keyspace);
+        if (session != null) return session;
+        // creating a session is cheap: the graph is only opened by its first transaction
+        return openedSessions.computeIfAbsent(keyspace, k -> SessionImpl.create(k, config, TransactionFactoryBuilder.getInstance()));
+    }
+
+    /**
+     * Opens the graphs of existing {@link Keyspace}s and reads their schema, in parallel, so that the first
+     * transactions opened on them do not have to. {@link Keyspace}s which do not exist are not created.
+     *
+     * @param keyspaces the {@link Keyspace}s to warm up
+     * @return the number of {@link Keyspace}s which were warmed up
+     */
+    public int warmUp(Collection<Keyspace> keyspaces) {
+        if (keyspaces.isEmpty()) return 0;
+
+        int threads = Math.min(keyspaces.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("keyspace-warm-up-%d").setDaemon(true).build());
+        try {
+            List<Future<Boolean>> warmedUp = new ArrayList<>(keyspaces.size());
+            for (Keyspace keyspace : keyspaces) {
+                warmedUp.add(executor.submit(() -> warmUp(keyspace)));
+            }
+
+            int count = 0;
+            for (Future<Boolean> future : warmedUp) {
+                try {
+                    if (future.get()) count++;
+                } catch (ExecutionException e) {
+                    // a keyspace which cannot be warmed up is simply opened by its first transaction instead
+                    LOG.warn("Could not warm up a keyspace", e.getCause());
+                }
+            }
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            executor.shutdownNow();
         }
-        return openedSessions.get(keyspace);
+    }
+
+    private boolean warmUp(Keyspace keyspace) {
+        if (!keyspaceStore.containsKeyspace(keyspace)) {
+            LOG.warn("Cannot warm up keyspace [{}], because it does not exist", keyspace);
+            return false;
+        }
+
+        Stopwatch timer = Stopwatch.createStarted();
+        // opening the first transaction opens the graph and copies the whole schema into the schema cache
+        try (TransactionImpl<?> tx = session(keyspace).transaction(Transaction.Type.READ)) {
+            // rules are only cached for the duration of a transaction, so they are read to load them from storage
+            tx.ruleCache().getRules().forEach(rule -> {
+                rule.when();
+                rule.then();
+            });
+        }
+        // materialised rules are resolved until a write transaction of the session has brought them up to date
+        if (session(keyspace).ruleMaterialiser().isEnabled()) {
+            try (TransactionImpl<?> tx = session(keyspace).transaction(Transaction.Type.WRITE)) {
+                tx.commit();
+            }
+        }
+        LOG.info("Warmed up keyspace [{}] in {}", keyspace, timer.stop());
+        return true;
     }
 
     /**
@@ -87,6 +165,9 @@ public class SessionStore {
         Lock lock = lockManager.getLock(getLockingKey(keyspace));
         lock.lock();
         try {
+            // Another thread may have created the keyspace while this one was waiting for the lock
+            if (keyspaceStore.containsKeyspace(keyspace)) return;
+
             // Create new empty keyspace in db
             session(keyspace).transaction(Transaction.Type.WRITE).close();
             // Add current keyspace to list of available Grakn keyspaces
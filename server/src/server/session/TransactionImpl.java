@@ -50,7 +50,9 @@ import grakn.core.server.kb.concept.SchemaConceptImpl;
 import grakn.core.server.kb.concept.TypeImpl;
 import grakn.core.server.kb.structure.VertexElement;
 import grakn.core.server.keyspace.Keyspace;
+import grakn.core.server.metrics.ServerMetrics;
 import grakn.core.server.session.cache.GlobalCache;
+import grakn.core.server.session.cache.KeyspaceStatistics;
 import grakn.core.server.session.cache.RuleCache;
 import grakn.core.server.session.cache.TransactionCache;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
@@ -64,6 +66,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -100,12 +103,14 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
     private final ThreadLocal<TransactionCache> localConceptLog = new ThreadLocal<>();
     private @Nullable GraphTraversalSource graphTraversalSource = null;
     private final RuleCache ruleCache;
+    private final boolean incrementalValidation;
 
     public TransactionImpl(SessionImpl session, G graph) {
         this.session = session;
         this.graph = graph;
         this.elementFactory = new ElementFactory(this);
         this.ruleCache = new RuleCache(this);
+        this.incrementalValidation = session.config().getProperty(ConfigKey.INCREMENTAL_VALIDATION);
 
         //Initialise Graph Caches
         globalCache = new GlobalCache(session.config());
@@ -123,6 +128,13 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
 
     public RuleCache ruleCache(){ return ruleCache;}
 
+    /**
+     * @return true if role players and keys are validated as soon as they are written, rather than only on commit
+     */
+    public boolean isValidationIncremental() {
+        return incrementalValidation;
+    }
+
     /**
      * Converts a Type Label into a type Id for this specific graph. Mapping labels to ids will differ between graphs
      * so be sure to use the correct graph when performing the mapping.
@@ -183,7 +195,8 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
     public TransactionCache txCache() {
         TransactionCache transactionCache = localConceptLog.get();
         if (transactionCache == null) {
-            localConceptLog.set(transactionCache = new TransactionCache(getGlobalCache()));
+            localConceptLog.set(transactionCache = new TransactionCache(getGlobalCache(), session().conceptCache(),
+                    session().planCache(), session().answerCache(), session().ruleGraphCache(), session().ruleMaterialiser()));
         }
 
         if (transactionCache.isTxOpen() && transactionCache.schemaNotCached()) {
@@ -338,14 +351,29 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
     }
 
     private Set<Concept> getConcepts(Schema.VertexProperty key, Object value) {
+        Optional<List<Object>> cachedVertexIds = txCache().getCachedAttributeVertexIds(key.name(), value);
+        if (cachedVertexIds.isPresent()) {
+            Set<Concept> concepts = new HashSet<>();
+            if (!cachedVertexIds.get().isEmpty()) {
+                getTinkerTraversal().V(cachedVertexIds.get().toArray()).forEachRemaining(v -> concepts.add(factory().buildConcept(v)));
+            }
+            return concepts;
+        }
+
         Set<Concept> concepts = new HashSet<>();
-        getTinkerTraversal().V().has(key.name(), value).forEachRemaining(v -> concepts.add(factory().buildConcept(v)));
+        List<Object> vertexIds = new ArrayList<>();
+        getTinkerTraversal().V().has(key.name(), value).forEachRemaining(v -> {
+            vertexIds.add(v.id());
+            concepts.add(factory().buildConcept(v));
+        });
+        txCache().cacheAttributeVertexIds(key.name(), value, vertexIds);
         return concepts;
     }
 
     public void checkSchemaMutationAllowed() {
         checkMutationAllowed();
         if (isBatchTx()) throw TransactionException.schemaMutation();
+        txCache().schemaWriteOccurred();
     }
 
     public void checkMutationAllowed() {
@@ -535,11 +563,32 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
                     Optional<T> concept = getConceptEdge(id);
                     if (concept.isPresent()) return concept.get();
                 }
-                return this.<T>getConcept(Schema.VertexProperty.ID, id.getValue()).orElse(null);
+                return this.<T>getConceptByVertex(id).orElse(null);
             }
         });
     }
 
+    /**
+     * Looks a concept up through the vertex id cached in the {@link grakn.core.server.session.cache.ConceptCache}
+     * and falls back to the {@link ConceptId} index, caching the vertex id it finds.
+     */
+    private <T extends Concept> Optional<T> getConceptByVertex(ConceptId id) {
+        Optional<Object> cachedVertexId = txCache().getCachedVertexId(id);
+        if (cachedVertexId.isPresent()) {
+            Iterator<Vertex> vertices = getTinkerTraversal().V(cachedVertexId.get());
+            if (vertices.hasNext()) return Optional.of(factory().buildConcept(vertices.next()));
+        }
+
+        Iterator<Vertex> vertices = getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), id.getValue());
+        if (vertices.hasNext()) {
+            Vertex vertex = vertices.next();
+            txCache().cacheVertexId(id, vertex.id());
+            return Optional.of(factory().buildConcept(vertex));
+        } else {
+            return Optional.empty();
+        }
+    }
+
     private <T extends Concept> Optional<T> getConceptEdge(ConceptId id) {
         String edgeId = id.getValue().substring(1);
         GraphTraversal<Edge, Edge> traversal = getTinkerTraversal().E(edgeId);
@@ -667,8 +716,10 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
         }
         String closeMessage = ErrorMessage.TX_CLOSED_ON_ACTION.getMessage("committed", keyspace());
         try {
-            validateGraph();
-            commitTransactionInternal();
+            session().ruleMaterialiser().commit(this, this::validateGraph, () -> {
+                commitTransactionInternal();
+                return null;
+            });
             txCache().writeToGraphCache(true);
         } finally {
             closeTransaction(closeMessage);
@@ -707,26 +758,27 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
 
 
     private Optional<CommitLog> commitWithLogs() throws InvalidKBException {
-        validateGraph();
+        Optional<CommitLog> commitLog = session().ruleMaterialiser().commit(this, this::validateGraph, () -> {
+            Map<ConceptId, Long> newInstances = txCache().getShardingCount();
+            Map<String, Set<ConceptId>> newAttributes = txCache().getNewAttributes();
+            boolean logsExist = !newInstances.isEmpty() || !newAttributes.isEmpty();
 
-        Map<ConceptId, Long> newInstances = txCache().getShardingCount();
-        Map<String, Set<ConceptId>> newAttributes = txCache().getNewAttributes();
-        boolean logsExist = !newInstances.isEmpty() || !newAttributes.isEmpty();
+            commitTransactionInternal();
 
-        commitTransactionInternal();
+            //If we have logs to commit get them and add them
+            if (logsExist) {
+                return Optional.of(CommitLog.create(keyspace(), newInstances, newAttributes));
+            }
+            return Optional.<CommitLog>empty();
+        });
 
         txCache().writeToGraphCache(true);
-
-        //If we have logs to commit get them and add them
-        if (logsExist) {
-            return Optional.of(CommitLog.create(keyspace(), newInstances, newAttributes));
-        }
-
-
-        return Optional.empty();
+        return commitLog;
     }
 
     public void commitTransactionInternal() {
+        long start = System.nanoTime();
+        List<KeyspaceStatistics.FanOutChange> fanOutChanges = fanOutChanges();
         try {
             LOG.trace("Graph is valid. Committing graph . . . ");
             getTinkerPopGraph().tx().commit();
@@ -734,11 +786,41 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
         } catch (UnsupportedOperationException e) {
             //IGNORED
         }
+        txCache().invalidateConceptCache();
+        txCache().invalidatePlanCache();
+        txCache().invalidateAnswerCache();
+        if (txCache().hasSchemaWriteOccurred()) session().ruleGraphCache().invalidate();
+        session().statistics().commit(txCache().getShardingCount(), txCache().getNewRoles(), fanOutChanges);
+        ServerMetrics.TRANSACTION_COMMIT_SECONDS.observeSecondsSince(start);
+    }
+
+    /**
+     * Reads how many relationships each player whose role-player edges were changed by this transaction now plays
+     * its role in. Only these players are read, and only for roles whose statistics are maintained by the session.
+     */
+    private List<KeyspaceStatistics.FanOutChange> fanOutChanges() {
+        KeyspaceStatistics statistics = session().statistics();
+        List<KeyspaceStatistics.FanOutChange> fanOutChanges = new ArrayList<>();
+        txCache().getRolePlayerChanges().forEach((role, players) -> {
+            if (!statistics.knowsRolePlayers(role) && !txCache().getNewRoles().contains(role)) return;
+            players.forEach((player, change) -> {
+                if (change == 0) return;
+                long after = getTinkerTraversal().V().has(Schema.VertexProperty.ID.name(), player.getValue())
+                        .inE(Schema.EdgeLabel.ROLE_PLAYER.getLabel())
+                        .has(Schema.EdgeProperty.ROLE_LABEL_ID.name(), role.getValue())
+                        .count().next();
+                fanOutChanges.add(KeyspaceStatistics.FanOutChange.of(role, after - change, after));
+            });
+        });
+        return fanOutChanges;
     }
 
     private void validateGraph() throws InvalidKBException {
+        long start = System.nanoTime();
         Validator validator = new Validator(this);
-        if (!validator.validate()) {
+        boolean valid = validator.validate();
+        ServerMetrics.TRANSACTION_VALIDATION_SECONDS.observeSecondsSince(start);
+        if (!valid) {
             List<String> errors = validator.getErrorsFound();
             if (!errors.isEmpty()) throw InvalidKBException.validationErrors(errors);
         }
@@ -796,7 +878,7 @@ public abstract class TransactionImpl<G extends Graph> implements Transaction {
     }
 
     @Override
-    public final QueryExecutor queryExecutor() {
+    public QueryExecutor queryExecutor() {
         return QueryExecutorImpl.create(this);
     }
 
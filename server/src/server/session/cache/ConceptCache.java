@@ -0,0 +1,184 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server.session.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.server.keyspace.Keyspace;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ *     Caches where concepts are stored across transactions of a {@link Keyspace}
+ * </p>
+ *
+ * <p>
+ *     Concepts themselves are bound to the transaction which built them, so this cache stores immutable snapshots
+ *     of their location instead: the vertex id of a {@link ConceptId} and the vertex ids of the attributes holding
+ *     a value. Looking a vertex up by id is much cheaper than going through the {@link ConceptId} or value index.
+ *     Cached vertices are always read through the transaction, so a concept deleted by another transaction is
+ *     simply not found.
+ * </p>
+ *
+ * <p>
+ *     The cache is bounded by the number of vertex ids it holds and is invalidated by the commits of write
+ *     transactions. A transaction only populates the cache if nothing was invalidated since it was opened,
+ *     so that it cannot cache a lookup which misses a concept committed in the meantime.
+ * </p>
+ */
+public class ConceptCache {
+    private final Cache<Object, List<Object>> cache;
+    private long generation = 0;
+
+    public ConceptCache(Config config, Keyspace keyspace) {
+        long maxWeight = config.getProperty(ConfigKey.CONCEPT_CACHE_MAX_WEIGHT);
+        if (maxWeight > 0 && isEnabledFor(config.getProperty(ConfigKey.CONCEPT_CACHE_KEYSPACES), keyspace)) {
+            cache = CacheBuilder.newBuilder()
+                    .maximumWeight(maxWeight)
+                    .weigher((Object key, List<Object> vertexIds) -> vertexIds.size() + 1)
+                    .recordStats()
+                    .build();
+        } else {
+            cache = null;
+        }
+    }
+
+    private static boolean isEnabledFor(String keyspaces, Keyspace keyspace) {
+        Set<String> enabled = Arrays.stream(keyspaces.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        return enabled.isEmpty() || enabled.contains(keyspace.getName());
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return the current generation of the cache, which changes every time the cache is invalidated
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * @param conceptId the id of a concept
+     * @return the vertex id of the concept, if it is cached
+     */
+    Optional<Object> getVertexId(ConceptId conceptId) {
+        if (cache == null) return Optional.empty();
+        List<Object> vertexIds = cache.getIfPresent(conceptId);
+        return vertexIds == null ? Optional.empty() : Optional.of(vertexIds.get(0));
+    }
+
+    /**
+     * Caches the vertex id of a concept, unless the cache was invalidated since the given generation
+     */
+    synchronized void cacheVertexId(ConceptId conceptId, Object vertexId, long sinceGeneration) {
+        if (cache != null && generation == sinceGeneration) {
+            cache.put(conceptId, ImmutableList.of(vertexId));
+        }
+    }
+
+    /**
+     * @param property the vertex property which stores the value
+     * @param value    the persisted value of the attributes
+     * @return the vertex ids of all the attributes with the value, if they are cached
+     */
+    Optional<List<Object>> getAttributeVertexIds(String property, Object value) {
+        if (cache == null) return Optional.empty();
+        return Optional.ofNullable(cache.getIfPresent(new AttributeValue(property, value)));
+    }
+
+    /**
+     * Caches the vertex ids of all the attributes with a value, unless the cache was invalidated since the given generation
+     */
+    synchronized void cacheAttributeVertexIds(String property, Object value, Collection<Object> vertexIds, long sinceGeneration) {
+        if (cache != null && generation == sinceGeneration) {
+            cache.put(new AttributeValue(property, value), ImmutableList.copyOf(vertexIds));
+        }
+    }
+
+    /**
+     * Invalidates the entries made stale by a committed transaction
+     *
+     * @param removedConcepts     the concepts deleted by the transaction
+     * @param attributesAdded     true if the transaction created attributes, which may hold cached values
+     */
+    synchronized void invalidate(Set<ConceptId> removedConcepts, boolean attributesAdded) {
+        if (cache == null || (removedConcepts.isEmpty() && !attributesAdded)) return;
+
+        generation++;
+        cache.invalidateAll(removedConcepts);
+        if (attributesAdded) {
+            cache.asMap().keySet().removeIf(key -> key instanceof AttributeValue);
+        }
+    }
+
+    /**
+     * @return the hit and miss counts of the cache, which are all zero when the cache is disabled
+     */
+    public CacheStats stats() {
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * Key of the attributes which hold a value
+     */
+    private static final class AttributeValue {
+        private final String property;
+        private final Object value;
+
+        AttributeValue(String property, Object value) {
+            this.property = property;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AttributeValue that = (AttributeValue) o;
+            return property.equals(that.property) && value.equals(that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(property, value);
+        }
+    }
+}
@@ -19,19 +19,18 @@
 package grakn.core.server.session.cache;
 
 import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.concept.ConceptId;
 import grakn.core.graql.concept.Label;
 import grakn.core.graql.concept.LabelId;
 import grakn.core.graql.concept.SchemaConcept;
 import grakn.core.common.config.Config;
 import grakn.core.server.kb.concept.SchemaConceptImpl;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * <p>
@@ -49,42 +48,31 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  *     <ol/>
  * </p>
  *
+ * <p>
+ *     Both caches are published together as an immutable, versioned {@link SchemaSnapshot}.
+ *     Transactions share the current snapshot by reference and only copy it when they mutate the schema,
+ *     so opening a transaction neither locks nor copies the schema.
+ * </p>
  *
  */
 public class GlobalCache {
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-
-    //Caches
-    private final Cache<Label, SchemaConcept> cachedTypes;
-    private final Map<Label, LabelId> cachedLabels;
+    private final AtomicReference<SchemaSnapshot> snapshot = new AtomicReference<>(SchemaSnapshot.EMPTY);
+    private final long cacheTimeout;
+    private volatile long lastAccessed = System.currentTimeMillis();
 
     public GlobalCache(Config config) {
-        cachedLabels = new ConcurrentHashMap<>();
-
-        int cacheTimeout = config.getProperty(ConfigKey.SESSION_CACHE_TIMEOUT_MS);
-        cachedTypes = CacheBuilder.newBuilder()
-                .maximumSize(1000)
-                .expireAfterAccess(cacheTimeout, TimeUnit.MILLISECONDS)
-                .build();
+        cacheTimeout = config.getProperty(ConfigKey.SESSION_CACHE_TIMEOUT_MS);
     }
 
     void populateSchemaTxCache(TransactionCache transactionCache){
-        try {
-            lock.writeLock().lock();
-
-            Map<Label, SchemaConcept> cachedSchemaSnapshot = getCachedTypes();
-            Map<Label, LabelId> cachedLabelsSnapshot = getCachedLabels();
-
-            //Read central cache into transactionCache cloning only base concepts. Sets clones later
-            for (SchemaConcept type : cachedSchemaSnapshot.values()) {
-                transactionCache.cacheConcept(type);
-            }
-
-            //Load Labels Separately. We do this because the TypeCache may have expired.
-            cachedLabelsSnapshot.forEach(transactionCache::cacheLabel);
-        } finally {
-            lock.writeLock().unlock();
+        long now = System.currentTimeMillis();
+        if (now - lastAccessed > cacheTimeout) {
+            //The types expire when the cache is not used, the labels are kept so lookups stay fast
+            update(SchemaSnapshot::withoutTypes);
         }
+        lastAccessed = now;
+
+        transactionCache.shareSchema(snapshot.get());
     }
 
     /**
@@ -94,7 +82,7 @@ public class GlobalCache {
      * @param type The type to cache
      */
     public void cacheType(Label label, SchemaConcept type) {
-        cachedTypes.put(label, type);
+        update(current -> current.withType(label, type));
     }
 
     /**
@@ -105,7 +93,7 @@ public class GlobalCache {
      * @param id The id of the type to cache
      */
     public void cacheLabel(Label label, LabelId id) {
-        cachedLabels.put(label, id);
+        update(current -> current.withLabel(label, id));
     }
 
     /**
@@ -113,23 +101,21 @@ public class GlobalCache {
      * into the graph cache. This usually happens when a commit occurs and allows us to track schema
      * mutations without having to read the graph.
      *
+     * The schema is only published when the transaction changed its copy of the schema. If another transaction
+     * published a schema since this one was read, the version no longer matches and the schema is only replaced
+     * when this transaction wrote to the graph, so that stale reads never overwrite a committed schema.
+     *
      * @param transactionCache The transaction cache
      */
     void readTxCache(TransactionCache transactionCache) {
-        //Check if the ontology has been changed and should be flushed into this cache
-        if(!cachedLabels.equals(transactionCache.getLabelCache())) {
-            try {
-                lock.readLock().lock();
-
-                //Clear the cache
-                cachedLabels.clear();
-                cachedTypes.invalidateAll();
-
-                //Add a new one
-                cachedLabels.putAll(transactionCache.getLabelCache());
-                cachedTypes.putAll(transactionCache.getSchemaConceptCache());
-            } finally {
-                lock.readLock().unlock();
+        SchemaSnapshot base = transactionCache.schemaSnapshot();
+        if (transactionCache.isSchemaModified()) {
+            Map<Label, SchemaConcept> types = transactionCache.getSchemaConceptCache();
+            Map<Label, LabelId> labels = transactionCache.getLabelCache();
+            long baseVersion = base == null ? 0 : base.version();
+            boolean published = base != null && snapshot.compareAndSet(base, new SchemaSnapshot(baseVersion + 1, types, labels));
+            if (!published && transactionCache.hasWriteOccurred()) {
+                update(current -> new SchemaSnapshot(current.version() + 1, types, labels));
             }
         }
 
@@ -138,21 +124,71 @@ public class GlobalCache {
                 -> SchemaConceptImpl.from(schemaConcept).txCacheFlush());
     }
 
+    private void update(UnaryOperator<SchemaSnapshot> change) {
+        snapshot.updateAndGet(change);
+    }
+
     /**
-     * A copy of the cached labels. This is used when creating a new transaction.
+     * The cached schema. This is used when creating a new transaction.
      *
-     * @return an immutable copy of the cached labels.
+     * @return an immutable view of the cached schema.
      */
-    private Map<Label, LabelId> getCachedLabels() {
-        return ImmutableMap.copyOf(cachedLabels);
+    public Map<Label, SchemaConcept> getCachedTypes() {
+        return snapshot.get().types();
     }
 
     /**
-     * A copy of the cached schema. This is used when creating a new transaction.
-     *
-     * @return an immutable copy of the cached schema.
+     * An immutable version of the schema cache. Every change to the cached schema publishes a new snapshot
+     * with a higher version, so a snapshot which is still current has not been changed.
      */
-    public Map<Label, SchemaConcept> getCachedTypes() {
-        return ImmutableMap.copyOf(cachedTypes.asMap());
+    static final class SchemaSnapshot {
+        static final SchemaSnapshot EMPTY = new SchemaSnapshot(0, ImmutableMap.of(), ImmutableMap.of());
+
+        private final long version;
+        private final Map<Label, SchemaConcept> types;
+        private final Map<Label, LabelId> labels;
+        private final Map<ConceptId, Label> typeLabelsById;
+
+        SchemaSnapshot(long version, Map<Label, SchemaConcept> types, Map<Label, LabelId> labels) {
+            this.version = version;
+            this.types = ImmutableMap.copyOf(types);
+            this.labels = ImmutableMap.copyOf(labels);
+
+            Map<ConceptId, Label> labelsById = new HashMap<>();
+            types.forEach((label, type) -> labelsById.put(type.id(), label));
+            this.typeLabelsById = ImmutableMap.copyOf(labelsById);
+        }
+
+        long version() {
+            return version;
+        }
+
+        Map<Label, SchemaConcept> types() {
+            return types;
+        }
+
+        Map<Label, LabelId> labels() {
+            return labels;
+        }
+
+        Map<ConceptId, Label> typeLabelsById() {
+            return typeLabelsById;
+        }
+
+        SchemaSnapshot withType(Label label, SchemaConcept type) {
+            Map<Label, SchemaConcept> newTypes = new HashMap<>(types);
+            newTypes.put(label, type);
+            return new SchemaSnapshot(version + 1, newTypes, labels);
+        }
+
+        SchemaSnapshot withLabel(Label label, LabelId id) {
+            Map<Label, LabelId> newLabels = new HashMap<>(labels);
+            newLabels.put(label, id);
+            return new SchemaSnapshot(version + 1, types, newLabels);
+        }
+
+        SchemaSnapshot withoutTypes() {
+            return types.isEmpty() ? this : new SchemaSnapshot(version + 1, ImmutableMap.of(), labels);
+        }
     }
 }
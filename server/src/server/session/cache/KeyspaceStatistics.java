@@ -0,0 +1,247 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server.session.cache;
+
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.LabelId;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     Statistics about the data in a keyspace, used by the query planner to estimate the cost of fragments
+ * </p>
+ *
+ * <p>
+ *     The statistics are shared by all the transactions of a session:
+ *     <ol>
+ *         <li>
+ *             Instance Counts - The number of direct instances of each type. They are refreshed by every
+ *             {@code compute count} and kept up to date by the instance counts in the commit log of every commit.
+ *         </li>
+ *         <li>
+ *             Role Players - For every role, the number of role-player edges and a histogram of how many
+ *             relationships each role player plays the role in. They are kept up to date by the role players which
+ *             every commit adds and removes, starting from a role whose role players are all known: either because
+ *             it was created in this session, or because a {@code compute count} over the whole keyspace read the
+ *             role players of all the relationships relating it. A count reads at most
+ *             {@code knowledge-base.statistics.max-scanned-relationships} relationships, and the roles of larger
+ *             relationship types stay unknown.
+ *         </li>
+ *     <ol/>
+ *     Statistics which are not known are never computed outside of a count. The planner falls back to its defaults
+ *     instead.
+ * </p>
+ *
+ * <p>
+ *     Plans made with the statistics are only valid while the statistics stay close to what they were, so the
+ *     statistics have an epoch which changes whenever a count refreshes them, and whenever a commit takes an instance
+ *     count or the number of role-player edges of a role past a power of two.
+ * </p>
+ */
+public class KeyspaceStatistics {
+    private final Map<ConceptId, Long> instanceCounts = new ConcurrentHashMap<>();
+    private final Map<LabelId, RolePlayerStatistics> rolePlayers = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    /**
+     * @return the epoch of the statistics, which changes every time they change by enough to change a plan
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * @param type the id of a type
+     * @return the number of direct instances of the type, if it is known
+     */
+    public Optional<Long> instanceCount(ConceptId type) {
+        return Optional.ofNullable(instanceCounts.get(type));
+    }
+
+    /**
+     * @param role the label id of a role
+     * @return the statistics of the role players of the role, if they are known
+     */
+    public Optional<RolePlayerStatistics> rolePlayers(LabelId role) {
+        return Optional.ofNullable(rolePlayers.get(role));
+    }
+
+    /**
+     * Applies the changes of a commit. Statistics which are not known yet stay unknown, because a change alone
+     * does not say how many instances a type, or how many role players a role, has.
+     *
+     * @param instanceCountChanges the number of instances added to, or removed from, each type
+     * @param newRoles             the roles created by the commit, which have no role players before it
+     * @param fanOutChanges        the players whose number of relationships for a role was changed by the commit
+     */
+    public void commit(Map<ConceptId, Long> instanceCountChanges, Set<LabelId> newRoles, Collection<FanOutChange> fanOutChanges) {
+        instanceCountChanges.forEach((type, change) ->
+                instanceCounts.computeIfPresent(type, (key, count) -> changed(count, Math.max(count + change, 0L))));
+        newRoles.forEach(role -> rolePlayers.putIfAbsent(role, RolePlayerStatistics.NONE));
+        fanOutChanges.forEach(change -> rolePlayers.computeIfPresent(change.role(), (key, statistics) -> {
+            RolePlayerStatistics changed = statistics.changed(change.before(), change.after());
+            changed(statistics.edges(), changed.edges());
+            return changed;
+        }));
+    }
+
+    private long changed(long before, long after) {
+        if (Long.numberOfLeadingZeros(before) != Long.numberOfLeadingZeros(after)) epoch.incrementAndGet();
+        return after;
+    }
+
+    /**
+     * Replaces the instance counts of the given types with exact counts
+     *
+     * @param counts the number of direct instances of each type
+     */
+    public void refreshInstanceCounts(Map<ConceptId, Long> counts) {
+        instanceCounts.putAll(counts);
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Replaces the statistics of roles with statistics built from all of their role players, such as those read by
+     * a count, and maintains them from then on
+     *
+     * @param fanOuts for every role, how many relationships each of its players plays the role in
+     */
+    public void refreshRolePlayers(Map<LabelId, Collection<Long>> fanOuts) {
+        fanOuts.forEach((role, players) -> {
+            RolePlayerStatistics statistics = RolePlayerStatistics.NONE;
+            for (long fanOut : players) statistics = statistics.changed(0, fanOut);
+            rolePlayers.put(role, statistics);
+        });
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * @param role the label id of a role
+     * @return whether the statistics of the role players of the role are maintained
+     */
+    public boolean knowsRolePlayers(LabelId role) {
+        return rolePlayers.containsKey(role);
+    }
+
+    /**
+     * How many relationships a player plays a role in, before and after a commit
+     */
+    public static final class FanOutChange {
+        private final LabelId role;
+        private final long before;
+        private final long after;
+
+        private FanOutChange(LabelId role, long before, long after) {
+            this.role = role;
+            this.before = before;
+            this.after = after;
+        }
+
+        public static FanOutChange of(LabelId role, long before, long after) {
+            return new FanOutChange(role, before, after);
+        }
+
+        LabelId role() {
+            return role;
+        }
+
+        long before() {
+            return before;
+        }
+
+        long after() {
+            return after;
+        }
+    }
+
+    /**
+     * How many relationships the players of a role play the role in
+     */
+    public static final class RolePlayerStatistics {
+        static final RolePlayerStatistics NONE = new RolePlayerStatistics(0, 0, new long[Long.SIZE]);
+
+        private final long edges;
+        private final long players;
+        private final long[] histogram;
+
+        private RolePlayerStatistics(long edges, long players, long[] histogram) {
+            this.edges = edges;
+            this.players = players;
+            this.histogram = histogram;
+        }
+
+        /**
+         * @return the statistics after one player went from playing the role in {@code before} relationships to
+         * playing it in {@code after} relationships, where 0 means it did not play the role
+         */
+        RolePlayerStatistics changed(long before, long after) {
+            long[] changedHistogram = Arrays.copyOf(histogram, histogram.length);
+            long changedPlayers = players;
+            if (before > 0) {
+                changedHistogram[bucket(before)] = Math.max(changedHistogram[bucket(before)] - 1, 0L);
+                changedPlayers--;
+            }
+            if (after > 0) {
+                changedHistogram[bucket(after)]++;
+                changedPlayers++;
+            }
+            return new RolePlayerStatistics(Math.max(edges + after - before, 0L), Math.max(changedPlayers, 0L), changedHistogram);
+        }
+
+        private static int bucket(long fanOut) {
+            return Long.SIZE - 1 - Long.numberOfLeadingZeros(fanOut);
+        }
+
+        /**
+         * @return the number of role-player edges of the role
+         */
+        public long edges() {
+            return edges;
+        }
+
+        /**
+         * @return the number of distinct concepts playing the role
+         */
+        public long players() {
+            return players;
+        }
+
+        /**
+         * @return the average number of relationships a player of the role plays the role in
+         */
+        public double averageFanOut() {
+            return players == 0 ? 0D : (double) edges / players;
+        }
+
+        /**
+         * @return bucket i holds the number of players playing the role in [2^i, 2^(i+1)) relationships
+         */
+        public long[] histogram() {
+            return Arrays.copyOf(histogram, histogram.length);
+        }
+    }
+}
@@ -18,15 +18,22 @@
 
 package grakn.core.server.session.cache;
 
+import grakn.core.graql.concept.Label;
 import grakn.core.graql.concept.Rule;
 import grakn.core.graql.concept.SchemaConcept;
+import grakn.core.graql.internal.reasoner.rule.RuleDependencyGraph;
+import grakn.core.graql.internal.reasoner.rule.RuleMaterialiser;
 import grakn.core.server.session.TransactionImpl;
 import grakn.core.graql.internal.Schema;
 import com.google.common.collect.Sets;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -40,6 +47,11 @@ public class RuleCache {
 
     private final Map<SchemaConcept, Set<Rule>> ruleMap = new HashMap<>();
     private final Map<Rule, Object> ruleConversionMap = new HashMap<>();
+    private final Map<Rule, Set<Label>> ruleDependencies = new HashMap<>();
+    private Set<Rule> materialisingRules = null;
+    private RuleDependencyGraph dependencyGraph = null;
+    private long dependencyGraphSchemaWrites = -1;
+    private boolean buildingDependencyGraph = false;
     private final TransactionImpl tx;
 
     public RuleCache(TransactionImpl tx) {
@@ -106,6 +118,85 @@ public class RuleCache {
                 .peek(rules::add);
     }
 
+    /**
+     * @param type of interest
+     * @return types whose instances can change the instances of the given type: the type, its subtypes and,
+     * transitively, the types in the bodies of the rules which can infer any of them
+     */
+    public Set<SchemaConcept> getDependencies(SchemaConcept type) {
+        Set<SchemaConcept> dependencies = new HashSet<>();
+        Set<SchemaConcept> visited = new HashSet<>();
+        Deque<SchemaConcept> toVisit = new ArrayDeque<>();
+        toVisit.push(type);
+        while (!toVisit.isEmpty()) {
+            SchemaConcept current = toVisit.pop();
+            if (!visited.add(current)) continue;
+            dependencies.addAll(getTypes(current, false));
+            getRulesWithType(current).flatMap(Rule::whenTypes).forEach(toVisit::push);
+        }
+        return dependencies;
+    }
+
+    /**
+     * @return the dependency graph of the rules this transaction reads, which is shared with the other transactions
+     * of the session unless this transaction has changed the schema
+     */
+    public RuleDependencyGraph dependencyGraph() {
+        //parsing the rules to build the graph must not depend on the graph
+        if (buildingDependencyGraph) return RuleDependencyGraph.empty();
+
+        long schemaWrites = tx.txCache().schemaWrites();
+        if (dependencyGraph == null || dependencyGraphSchemaWrites != schemaWrites) {
+            buildingDependencyGraph = true;
+            try {
+                OptionalLong generation = tx.txCache().ruleGraphCacheGeneration();
+                dependencyGraph = generation.isPresent() ?
+                        tx.session().ruleGraphCache().get(tx, generation.getAsLong()) :
+                        RuleDependencyGraph.of(tx);
+            } finally {
+                buildingDependencyGraph = false;
+            }
+            dependencyGraphSchemaWrites = schemaWrites;
+        }
+        return dependencyGraph;
+    }
+
+    /**
+     * @param rule of interest
+     * @return true if the consequences of the rule are read from storage instead of being resolved
+     */
+    public boolean isMaterialised(Rule rule) {
+        if (materialisingRules != null) return materialisingRules.contains(rule);
+
+        RuleMaterialiser materialiser = tx.session().ruleMaterialiser();
+        if (!materialiser.isMaterialised(rule) || !materialiser.isMaintained(rule)) return false;
+        if (tx.txCache().hasSchemaWriteOccurred()) return false;
+
+        //the stored consequences only reflect the writes of this transaction once it commits
+        Set<Label> dependencies = ruleDependencies.get(rule);
+        if (dependencies == null) {
+            dependencies = rule.whenTypes()
+                    .flatMap(type -> getDependencies(type).stream())
+                    .map(SchemaConcept::label)
+                    .collect(Collectors.toSet());
+            ruleDependencies.put(rule, dependencies);
+        }
+        return Collections.disjoint(dependencies, tx.txCache().modifiedTypes());
+    }
+
+    /**
+     * Reads the consequences of the given rules from storage while the {@link RuleMaterialiser} maintains them
+     *
+     * @param rules the materialised rules
+     */
+    public void startMaterialising(Set<Rule> rules) {
+        materialisingRules = rules;
+    }
+
+    public void stopMaterialising() {
+        materialisingRules = null;
+    }
+
     /**
      * @param rule      for which the parsed rule should be retrieved
      * @param converter rule converter
@@ -127,5 +218,9 @@ public class RuleCache {
     public void closeTx() {
         ruleMap.clear();
         ruleConversionMap.clear();
+        ruleDependencies.clear();
+        materialisingRules = null;
+        dependencyGraph = null;
+        dependencyGraphSchemaWrites = -1;
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.session.cache;
+
+import grakn.core.graql.internal.reasoner.rule.RuleDependencyGraph;
+import grakn.core.server.keyspace.Keyspace;
+import grakn.core.server.session.TransactionImpl;
+
+/**
+ * <p>
+ *     Caches the {@link RuleDependencyGraph} of the committed schema of a {@link Keyspace}, so that it is only built
+ *     once per version of the schema
+ * </p>
+ *
+ * <p>
+ *     Every commit which changes the schema invalidates the graph, and moves the cache to a new generation. A
+ *     transaction only shares the graph of the generation it was opened in: a transaction opened before the schema
+ *     changed neither reads the graph of the new schema nor caches the graph of the schema it still reads.
+ * </p>
+ */
+public class RuleGraphCache {
+    private RuleDependencyGraph graph = null;
+    private long generation = 0;
+
+    /**
+     * @return the current generation of the cache, which changes every time the cache is invalidated
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * @param tx              transaction which has not changed the schema, to build the graph in if it is not cached
+     * @param sinceGeneration the generation of the cache when the transaction was opened
+     * @return the dependency graph of the rules of the schema the transaction reads
+     */
+    public RuleDependencyGraph get(TransactionImpl<?> tx, long sinceGeneration) {
+        synchronized (this) {
+            if (generation != sinceGeneration) return RuleDependencyGraph.of(tx);
+            if (graph != null) return graph;
+        }
+
+        RuleDependencyGraph built = RuleDependencyGraph.of(tx);
+        synchronized (this) {
+            if (generation == sinceGeneration) graph = built;
+        }
+        return built;
+    }
+
+    /**
+     * Drops the graph, because the schema it was built from has changed
+     */
+    public synchronized void invalidate() {
+        generation++;
+        graph = null;
+    }
+}
@@ -30,15 +30,26 @@ import grakn.core.graql.concept.Role;
 import grakn.core.graql.concept.Rule;
 import grakn.core.graql.concept.SchemaConcept;
 import grakn.core.graql.concept.Thing;
+import grakn.core.graql.internal.gremlin.TraversalPlanCache;
+import grakn.core.graql.internal.Schema;
+import grakn.core.graql.internal.reasoner.cache.ReasonerAnswerCache;
+import grakn.core.graql.internal.reasoner.rule.RuleMaterialiser;
 import grakn.core.server.kb.cache.CacheOwner;
 import grakn.core.server.kb.concept.AttributeImpl;
+import grakn.core.server.kb.ValidationCache;
 import grakn.core.server.kb.structure.Casting;
+import grakn.core.server.metrics.ServerMetrics;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 
 /**
@@ -48,15 +59,33 @@ import java.util.Set;
  * The Schema - Optimises validation checks by preventing db read.
  * {@link Label} - Allows mapping type labels to type Ids
  * Transaction meta Data - Allows transactions to function in different ways
+ * The location of concepts - Read from and written to the {@link ConceptCache} shared across transactions
+ * Query plans - Shared across transactions through the {@link TraversalPlanCache} while the schema and statistics are unchanged
+ * Rule dependency graph - Shared across transactions through the {@link RuleGraphCache} while the schema is unchanged
+ * Inferred answers - Shared across read transactions through the {@link ReasonerAnswerCache} until a commit changes them
  */
 public class TransactionCache {
     //Cache which is shared across multiple transactions
     private final GlobalCache globalCache;
+    private final ConceptCache sharedConceptCache;
+    private long conceptCacheGeneration;
+    private final TraversalPlanCache sharedPlanCache;
+    private long planCacheGeneration;
+    private final ReasonerAnswerCache sharedAnswerCache;
+    private long answerCacheGeneration;
+    private final RuleGraphCache sharedRuleGraphCache;
+    private long ruleGraphCacheGeneration;
+    private final RuleMaterialiser ruleMaterialiser;
+    private long materialiserGeneration;
 
     //Caches any concept which has been touched before
     private final Map<ConceptId, Concept> conceptCache = new HashMap<>();
-    private final Map<Label, SchemaConcept> schemaConceptCache = new HashMap<>();
-    private final Map<Label, LabelId> labelCache = new HashMap<>();
+    private Map<Label, SchemaConcept> schemaConceptCache = new HashMap<>();
+    private Map<Label, LabelId> labelCache = new HashMap<>();
+
+    //The schema shared with the GlobalCache. It is only copied into this transaction when the schema is mutated
+    private GlobalCache.SchemaSnapshot schemaSnapshot = null;
+    private boolean schemaShared = false;
 
     //Elements Tracked For Validation
     private final Set<Relationship> newRelationships = new HashSet<>();
@@ -69,9 +98,27 @@ public class TransactionCache {
 
     private final Set<Rule> modifiedRules = new HashSet<>();
 
+    private final Set<ConceptId> removedConcepts = new HashSet<>();
+
+    //The labels of the types whose instances have been created, deleted or changed, which invalidate inferred answers
+    private final Set<Label> modifiedTypes = new HashSet<>();
+
+    //Schema lookups of incremental validation, which are dropped whenever the schema is written to
+    private ValidationCache validationCache = null;
+
     //We Track the number of concept connections which have been made which may result in a new shard
     private final Map<ConceptId, Long> shardingCount = new HashMap<>();
 
+    //The role-player edges added to (positive) or removed from (negative) each player, per role, and the new roles.
+    // They keep the role-player statistics of the session up to date without scanning the keyspace.
+    private final Map<LabelId, Map<ConceptId, Long>> rolePlayerChanges = new HashMap<>();
+    private final Set<LabelId> newRoles = new HashSet<>();
+
+    //The things which have been given new facts, such as a type, a role player or an attribute, and the labels of the
+    // types which have lost facts. They let the stored consequences of materialised rules be maintained incrementally.
+    private final Set<ConceptId> thingsWithNewFacts = new HashSet<>();
+    private final Set<Label> typesWithRemovedFacts = new HashSet<>();
+
     //New attributes are tracked so that we can merge any duplicate attributes in post.
     // This is a map of attribute indices to concept ids
     // The index and id are directly cached to prevent unneeded reads
@@ -80,11 +127,20 @@ public class TransactionCache {
     //Transaction Specific Meta Data
     private boolean isTxOpen = false;
     private boolean writeOccurred = false;
+    private boolean schemaWriteOccurred = false;
+    private long schemaWrites = 0;
     private Transaction.Type txType;
     private String closedReason = null;
 
-    public TransactionCache(GlobalCache globalCache) {
+    public TransactionCache(GlobalCache globalCache, ConceptCache conceptCache, TraversalPlanCache planCache,
+                            ReasonerAnswerCache answerCache, RuleGraphCache ruleGraphCache,
+                            RuleMaterialiser ruleMaterialiser) {
         this.globalCache = globalCache;
+        this.sharedConceptCache = conceptCache;
+        this.sharedPlanCache = planCache;
+        this.sharedAnswerCache = answerCache;
+        this.sharedRuleGraphCache = ruleGraphCache;
+        this.ruleMaterialiser = ruleMaterialiser;
     }
 
     /**
@@ -108,6 +164,28 @@ public class TransactionCache {
         writeOccurred = true;
     }
 
+    boolean hasWriteOccurred() {
+        return writeOccurred;
+    }
+
+    /**
+     * Notifies the cache that the schema is about to be written to.
+     * From then on, this transaction no longer shares query plans with other transactions.
+     */
+    public void schemaWriteOccurred() {
+        schemaWriteOccurred = true;
+        schemaWrites++;
+        validationCache = null;
+    }
+
+    /**
+     * @return the schema lookups made by incremental validation since the schema was last written to
+     */
+    public ValidationCache validationCache() {
+        if (validationCache == null) validationCache = new ValidationCache();
+        return validationCache;
+    }
+
     /**
      * @return true if ths schema labels have been cached. The graph cannot operate if this is false.
      */
@@ -117,13 +195,47 @@ public class TransactionCache {
 
     /**
      * Refreshes the transaction schema cache by reading the central schema cache is read into this transaction cache.
-     * This method performs this operation whilst making a deep clone of the cached concepts to ensure transactions
-     * do not accidentally break the central schema cache.
+     * The central schema is shared until this transaction mutates it, at which point it is copied to ensure
+     * transactions do not accidentally break the central schema cache.
      */
     public void refreshSchemaCache() {
         globalCache.populateSchemaTxCache(this);
     }
 
+    /**
+     * Shares the given schema with this transaction, without copying it
+     *
+     * @param snapshot the schema currently held by the {@link GlobalCache}
+     */
+    void shareSchema(GlobalCache.SchemaSnapshot snapshot) {
+        schemaSnapshot = snapshot;
+        schemaConceptCache = snapshot.types();
+        labelCache = snapshot.labels();
+        schemaShared = true;
+    }
+
+    /**
+     * @return the schema this transaction read from the {@link GlobalCache}, or null if it has not read one
+     */
+    GlobalCache.SchemaSnapshot schemaSnapshot() {
+        return schemaSnapshot;
+    }
+
+    /**
+     * @return true if the schema cached in this transaction differs from the one it read from the {@link GlobalCache}
+     */
+    boolean isSchemaModified() {
+        return !schemaShared && !labelCache.isEmpty();
+    }
+
+    private void copySchemaOnWrite() {
+        if (schemaShared) {
+            schemaConceptCache = new HashMap<>(schemaConceptCache);
+            labelCache = new HashMap<>(labelCache);
+            schemaShared = false;
+        }
+    }
+
     /**
      * @param concept The element to be later validated
      */
@@ -196,10 +308,14 @@ public class TransactionCache {
         }
 
         conceptCache.remove(concept.id());
+        removedConcepts.add(concept.id());
         if (concept.isSchemaConcept()) {
             Label label = concept.asSchemaConcept().label();
-            schemaConceptCache.remove(label);
-            labelCache.remove(label);
+            if (schemaConceptCache.containsKey(label) || labelCache.containsKey(label)) {
+                copySchemaOnWrite();
+                schemaConceptCache.remove(label);
+                labelCache.remove(label);
+            }
         }
     }
 
@@ -216,8 +332,13 @@ public class TransactionCache {
         conceptCache.put(concept.id(), concept);
         if (concept.isSchemaConcept()) {
             SchemaConcept schemaConcept = concept.asSchemaConcept();
-            schemaConceptCache.put(schemaConcept.label(), schemaConcept);
-            labelCache.put(schemaConcept.label(), schemaConcept.labelId());
+            Label label = schemaConcept.label();
+            LabelId labelId = schemaConcept.labelId();
+            if (schemaConceptCache.get(label) != schemaConcept || !labelId.equals(labelCache.get(label))) {
+                copySchemaOnWrite();
+                schemaConceptCache.put(label, schemaConcept);
+                labelCache.put(label, labelId);
+            }
         }
     }
 
@@ -229,7 +350,10 @@ public class TransactionCache {
      * @param id    Its equivalent id which can be looked up quickly in the graph
      */
     void cacheLabel(Label label, LabelId id) {
-        labelCache.put(label, id);
+        if (!id.equals(labelCache.get(label))) {
+            copySchemaOnWrite();
+            labelCache.put(label, id);
+        }
     }
 
     /**
@@ -239,7 +363,7 @@ public class TransactionCache {
      * @return true if the concept is cached
      */
     public boolean isConceptCached(ConceptId id) {
-        return conceptCache.containsKey(id);
+        return conceptCache.containsKey(id) || getSharedSchemaConcept(id) != null;
     }
 
     /**
@@ -266,8 +390,22 @@ public class TransactionCache {
      * @return The cached concept
      */
     public <X extends Concept> X getCachedConcept(ConceptId id) {
+        Concept concept = conceptCache.get(id);
+        if (concept == null) concept = getSharedSchemaConcept(id);
         //noinspection unchecked
-        return (X) conceptCache.get(id);
+        return (X) concept;
+    }
+
+    /**
+     * Looks up a {@link SchemaConcept} of the shared schema which has not been built by this transaction yet.
+     * It is only returned while this transaction still caches it under its label, so removed concepts are not found.
+     */
+    private SchemaConcept getSharedSchemaConcept(ConceptId id) {
+        if (schemaSnapshot == null) return null;
+        Label label = schemaSnapshot.typeLabelsById().get(id);
+        if (label == null) return null;
+        SchemaConcept schemaConcept = schemaSnapshot.types().get(label);
+        return schemaConceptCache.get(label) == schemaConcept ? schemaConcept : null;
     }
 
     /**
@@ -300,6 +438,175 @@ public class TransactionCache {
         if (shardingCount.get(conceptId) == 0) shardingCount.remove(conceptId);
     }
 
+    public void addedRolePlayer(Role role, Thing player) {
+        rolePlayerChanges.computeIfAbsent(role.labelId(), key -> new HashMap<>()).merge(player.id(), 1L, Long::sum);
+        addedFacts(player);
+    }
+
+    public void removedRolePlayer(Role role, Thing player) {
+        rolePlayerChanges.computeIfAbsent(role.labelId(), key -> new HashMap<>()).merge(player.id(), -1L, Long::sum);
+    }
+
+    public void createdRole(Role role) {
+        newRoles.add(role.labelId());
+    }
+
+    /**
+     * @return per role, the number of role-player edges each player has gained or lost
+     */
+    public Map<LabelId, Map<ConceptId, Long>> getRolePlayerChanges() {
+        return rolePlayerChanges;
+    }
+
+    /**
+     * @return the roles which have been created in this transaction
+     */
+    public Set<LabelId> getNewRoles() {
+        return newRoles;
+    }
+
+    /**
+     * Notes that a {@link Thing} has been given a new fact, such as its type, a role player or an attribute
+     */
+    public void addedFacts(Thing thing) {
+        thingsWithNewFacts.add(thing.id());
+    }
+
+    /**
+     * Notes that an instance of a type, or one of its role players or attributes, has been removed. The instances of
+     * an implicit type are facts about the owners of the attribute type it is implied by.
+     */
+    public void removedFactsOf(SchemaConcept type) {
+        typesWithRemovedFacts.add(type.label());
+        if (type.isImplicit()) typesWithRemovedFacts.add(Schema.ImplicitType.explicitLabel(type.label()));
+    }
+
+    /**
+     * @return the things which have been given new facts in this transaction
+     */
+    public Set<ConceptId> getThingsWithNewFacts() {
+        return thingsWithNewFacts;
+    }
+
+    /**
+     * @return the labels of the types which have lost instances, role players or attributes in this transaction
+     */
+    public Set<Label> getTypesWithRemovedFacts() {
+        return typesWithRemovedFacts;
+    }
+
+
+    //--------------------------------------- Concepts Shared Across Transactions -------------------------------------
+    public Optional<Object> getCachedVertexId(ConceptId conceptId) {
+        return sharedConceptCache.getVertexId(conceptId);
+    }
+
+    public void cacheVertexId(ConceptId conceptId, Object vertexId) {
+        sharedConceptCache.cacheVertexId(conceptId, vertexId, conceptCacheGeneration);
+    }
+
+    /**
+     * Attributes created by this transaction are not in the shared cache, so it is bypassed once anything is written
+     */
+    public Optional<List<Object>> getCachedAttributeVertexIds(String property, Object value) {
+        if (writeOccurred || !newAttributes.isEmpty()) return Optional.empty();
+        return sharedConceptCache.getAttributeVertexIds(property, value);
+    }
+
+    public void cacheAttributeVertexIds(String property, Object value, Collection<Object> vertexIds) {
+        if (writeOccurred || !newAttributes.isEmpty()) return;
+        sharedConceptCache.cacheAttributeVertexIds(property, value, vertexIds, conceptCacheGeneration);
+    }
+
+    /**
+     * Invalidates the entries of the shared {@link ConceptCache} which were made stale by committing this transaction
+     */
+    public void invalidateConceptCache() {
+        sharedConceptCache.invalidate(removedConcepts, !newAttributes.isEmpty());
+    }
+
+    //--------------------------------------- Query Plans Shared Across Transactions ----------------------------------
+    /**
+     * @return the generation of the {@link TraversalPlanCache} when this transaction was opened, or empty if this
+     * transaction changed the schema, in which case its plans must not be shared
+     */
+    public OptionalLong planCacheGeneration() {
+        return schemaWriteOccurred ? OptionalLong.empty() : OptionalLong.of(planCacheGeneration);
+    }
+
+    /**
+     * Invalidates the shared {@link TraversalPlanCache} if committing this transaction changed the schema
+     */
+    public void invalidatePlanCache() {
+        if (schemaWriteOccurred) sharedPlanCache.invalidate();
+    }
+
+    //--------------------------------------- Rule Graph Shared Across Transactions -----------------------------------
+    /**
+     * @return the generation of the {@link RuleGraphCache} when this transaction was opened, or empty if this
+     * transaction changed the schema, in which case its rule dependency graph must not be shared
+     */
+    public OptionalLong ruleGraphCacheGeneration() {
+        return schemaWriteOccurred ? OptionalLong.empty() : OptionalLong.of(ruleGraphCacheGeneration);
+    }
+
+    //--------------------------------------- Materialised Rules Shared Across Transactions ----------------------------
+    /**
+     * @return the generation of the {@link RuleMaterialiser} when this transaction was opened, which tells whether
+     * another transaction has committed since
+     */
+    public long materialiserGeneration() {
+        return materialiserGeneration;
+    }
+
+    //--------------------------------------- Inferred Answers Shared Across Transactions -------------------------------
+    /**
+     * Notes that the instances of a type have been created, deleted or changed, such as by gaining role players or
+     * attributes. The instances of an implicit type change the owners of the attribute type it is implied by.
+     *
+     * @param type The type whose instances have changed
+     */
+    public void modifiedInstancesOf(SchemaConcept type) {
+        modifiedTypes.add(type.label());
+        if (type.isImplicit()) modifiedTypes.add(Schema.ImplicitType.explicitLabel(type.label()));
+    }
+
+    /**
+     * @return the generation of the {@link ReasonerAnswerCache} when this transaction was opened, or empty if this
+     * transaction cannot share inferred answers because it may write
+     */
+    public OptionalLong answerCacheGeneration() {
+        if (txType != Transaction.Type.READ || writeOccurred) return OptionalLong.empty();
+        return OptionalLong.of(answerCacheGeneration);
+    }
+
+    /**
+     * Invalidates the inferred answers of the shared {@link ReasonerAnswerCache} which committing this transaction changed
+     */
+    public void invalidateAnswerCache() {
+        sharedAnswerCache.invalidate(modifiedTypes, schemaWriteOccurred);
+    }
+
+    /**
+     * @return the labels of the types whose instances this transaction has created, deleted or changed
+     */
+    public Set<Label> modifiedTypes() {
+        return Collections.unmodifiableSet(modifiedTypes);
+    }
+
+    /**
+     * @return true if this transaction has written to the schema
+     */
+    public boolean hasSchemaWriteOccurred() {
+        return schemaWriteOccurred;
+    }
+
+    /**
+     * @return the number of times this transaction has written to the schema, which changes with every write
+     */
+    public long schemaWrites() {
+        return schemaWrites;
+    }
 
     public void addNewAttribute(String index, ConceptId conceptId) {
         newAttributes.put(index, conceptId);
@@ -343,10 +650,17 @@ public class TransactionCache {
     //--------------------------------------- Transaction Specific Meta Data -------------------------------------------
     public void closeTx(String closedReason) {
         isTxOpen = false;
+        writeOccurred = false;
+        schemaWriteOccurred = false;
+        validationCache = null;
         this.closedReason = closedReason;
 
+        ServerMetrics.TRANSACTION_CACHE_CONCEPTS.observe(conceptCache.size());
+        ServerMetrics.TRANSACTION_CACHE_MODIFIED_THINGS.observe(modifiedThings.size());
+
         //Clear Concept Caches
         conceptCache.values().forEach(concept -> CacheOwner.from(concept).txCacheClear());
+        schemaConceptCache.values().forEach(concept -> CacheOwner.from(concept).txCacheClear());
 
         //Clear Collection Caches
         modifiedThings.clear();
@@ -356,15 +670,28 @@ public class TransactionCache {
         modifiedCastings.clear();
         newAttributes.clear();
         newRelationships.clear();
+        removedConcepts.clear();
+        modifiedTypes.clear();
         shardingCount.clear();
+        rolePlayerChanges.clear();
+        newRoles.clear();
+        thingsWithNewFacts.clear();
+        typesWithRemovedFacts.clear();
         conceptCache.clear();
-        schemaConceptCache.clear();
-        labelCache.clear();
+        schemaConceptCache = new HashMap<>();
+        labelCache = new HashMap<>();
+        schemaSnapshot = null;
+        schemaShared = false;
     }
 
     public void openTx(Transaction.Type txType) {
         isTxOpen = true;
         this.txType = txType;
+        conceptCacheGeneration = sharedConceptCache.generation();
+        planCacheGeneration = sharedPlanCache.generation();
+        answerCacheGeneration = sharedAnswerCache.generation();
+        ruleGraphCacheGeneration = sharedRuleGraphCache.generation();
+        materialiserGeneration = ruleMaterialiser.generation();
         closedReason = null;
     }
 
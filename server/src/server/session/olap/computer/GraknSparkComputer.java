@@ -18,6 +18,7 @@
 
 package grakn.core.server.session.olap.computer;
 
+import grakn.core.server.metrics.ServerMetrics;
 import org.apache.commons.configuration.ConfigurationUtils;
 import org.apache.commons.configuration.FileConfiguration;
 import org.apache.commons.configuration.PropertiesConfiguration;
@@ -505,6 +506,7 @@ public final class GraknSparkComputer extends AbstractHadoopGraphComputer {
                 }
                 // update runtime and return the newly computed graph
                 finalMemory.setRuntime(System.currentTimeMillis() - startTime);
+                ServerMetrics.SPARK_JOB_SECONDS.observe(finalMemory.getRuntime() / 1000D);
                 // clear properties that should not be propagated in an OLAP chain
                 graphComputerConfiguration.clearProperty(Constants.GREMLIN_HADOOP_GRAPH_FILTER);
                 graphComputerConfiguration.clearProperty(Constants.GREMLIN_HADOOP_VERTEX_PROGRAM_INTERCEPTOR);
@@ -32,7 +32,12 @@ import grakn.core.graql.internal.gremlin.fragment.Fragments;
 import grakn.core.graql.query.pattern.Patterns;
 import grakn.core.graql.query.pattern.property.IdProperty;
 import grakn.core.graql.query.pattern.property.SubProperty;
+import grakn.core.server.session.SessionImpl;
 import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.session.cache.KeyspaceStatistics;
+import grakn.core.server.session.cache.TransactionCache;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
 import grakn.core.common.util.CommonUtil;
 import grakn.core.graql.internal.Schema;
 import com.google.common.collect.ImmutableList;
@@ -94,6 +99,13 @@ public class GraqlTraversalTest {
     @Before
     public void setUp() {
         tx = mock(TransactionImpl.class);
+        SessionImpl session = mock(SessionImpl.class);
+        when(session.statistics()).thenReturn(new KeyspaceStatistics());
+        Config config = Config.empty();
+        config.setConfigProperty(ConfigKey.TRAVERSAL_PLAN_CACHE_MAX_SIZE, 0L);
+        when(session.planCache()).thenReturn(new TraversalPlanCache(config));
+        when(tx.session()).thenReturn(session);
+        when(tx.txCache()).thenReturn(mock(TransactionCache.class));
         Role wife = mock(Role.class);
         when(wife.label()).thenReturn(Label.of("wife"));
         when(wife.isRole()).thenReturn(true);
@@ -279,6 +291,29 @@ public class GraqlTraversalTest {
         ));
     }
 
+    @Test
+    public void whenATraversalIsConnected_ItIsItsOnlyComponent() {
+        GraqlTraversal connected = traversal(xId, xIsaY, outIsa(null, y, z));
+        assertEquals(ImmutableList.of(connected), connected.connectedComponents());
+    }
+
+    @Test
+    public void whenATraversalIsDisconnected_ItIsSplitIntoComponentsInTheOrderTheyArePlanned() {
+        Fragment zId = id(null, z, ConceptId.of("person"));
+        Fragment aIsaZ = inIsa(null, z, a, true);
+        GraqlTraversal disconnected = traversal(xId, zId, xIsaY, aIsaZ);
+
+        assertEquals(
+                ImmutableList.of(traversal(xId, xIsaY), traversal(zId, aIsaZ)),
+                disconnected.connectedComponents());
+    }
+
+    @Test
+    public void whenAFragmentDependsOnAnotherComponent_TheComponentsAreNotSplit() {
+        GraqlTraversal dependent = traversal(xId, yId, Fragments.neq(null, x, y));
+        assertEquals(ImmutableList.of(dependent), dependent.connectedComponents());
+    }
+
     private static GraqlTraversal semiOptimal(Pattern pattern) {
         return GreedyTraversalPlan.createTraversal(pattern.admin(), tx);
     }
@@ -0,0 +1,164 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.gremlin;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.Label;
+import grakn.core.graql.internal.gremlin.fragment.Fragment;
+import grakn.core.graql.query.pattern.Var;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static grakn.core.graql.internal.gremlin.fragment.Fragments.id;
+import static grakn.core.graql.internal.gremlin.fragment.Fragments.inIsa;
+import static grakn.core.graql.internal.gremlin.fragment.Fragments.label;
+import static grakn.core.graql.internal.gremlin.fragment.Fragments.outIsa;
+import static grakn.core.graql.query.Graql.var;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TraversalPlanCacheTest {
+
+    private static final Var x = var("x");
+
+    // plans fragments starting from the id, which is the order a planner would pick
+    private static final Function<Set<Fragment>, List<Fragment>> PLANNER = fragments -> fragments.stream()
+            .sorted(Comparator.comparing(fragment -> fragment.name().startsWith("[id") ? 0 : 1))
+            .collect(toList());
+
+    private static final Function<Set<Fragment>, List<Fragment>> NO_PLANNER = fragments -> {
+        throw new AssertionError("The plan should have been cached");
+    };
+
+    private static TraversalPlanCache planCache(long maxSize) {
+        Config config = Config.empty();
+        config.setConfigProperty(ConfigKey.TRAVERSAL_PLAN_CACHE_MAX_SIZE, maxSize);
+        return new TraversalPlanCache(config);
+    }
+
+    // $x id <id> isa <type>, where the type variable is generated like Graql does
+    private static Set<Fragment> fragments(ConceptId conceptId, String type) {
+        Var typeVar = var();
+        return ImmutableSet.of(
+                id(null, x, conceptId),
+                outIsa(null, x, typeVar),
+                inIsa(null, typeVar, x, false),
+                label(null, typeVar, ImmutableSet.of(Label.of(type)))
+        );
+    }
+
+    private static Set<Var> vars(Set<Fragment> fragments) {
+        return fragments.stream().flatMap(fragment -> fragment.vars().stream()).collect(toSet());
+    }
+
+    private static List<Fragment> plan(TraversalPlanCache cache, Set<Fragment> fragments, long generation,
+                                       Function<Set<Fragment>, List<Fragment>> planner) {
+        return cache.plan(fragments, vars(fragments), OptionalLong.of(generation), 0L, planner);
+    }
+
+    @Test
+    public void whenQueryOnlyDiffersByIds_ThePlanIsReused() {
+        TraversalPlanCache cache = planCache(10);
+        Set<Fragment> first = fragments(ConceptId.of("V1"), "person");
+        Set<Fragment> second = fragments(ConceptId.of("V2"), "person");
+
+        List<Fragment> firstPlan = plan(cache, first, cache.generation(), PLANNER);
+        List<Fragment> secondPlan = plan(cache, second, cache.generation(), NO_PLANNER);
+
+        assertEquals(1, cache.plansMade());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(ImmutableSet.copyOf(second), ImmutableSet.copyOf(secondPlan));
+        assertEquals(
+                firstPlan.stream().map(Fragment::name).map(name -> name.replace("V1", "V2")).collect(toList()),
+                secondPlan.stream().map(Fragment::name).collect(toList()));
+    }
+
+    @Test
+    public void whenQueryHasDifferentLabels_ThePlanIsNotReused() {
+        TraversalPlanCache cache = planCache(10);
+
+        plan(cache, fragments(ConceptId.of("V1"), "person"), cache.generation(), PLANNER);
+        plan(cache, fragments(ConceptId.of("V1"), "company"), cache.generation(), PLANNER);
+
+        assertEquals(2, cache.plansMade());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void whenCacheIsInvalidated_PlansAreMadeAgain() {
+        TraversalPlanCache cache = planCache(10);
+        long generation = cache.generation();
+        plan(cache, fragments(ConceptId.of("V1"), "person"), generation, PLANNER);
+
+        cache.invalidate();
+        assertEquals(0, cache.size());
+
+        // a transaction opened before the schema changed does not share its plans any more
+        plan(cache, fragments(ConceptId.of("V2"), "person"), generation, PLANNER);
+        plan(cache, fragments(ConceptId.of("V3"), "person"), cache.generation(), PLANNER);
+        assertEquals(3, cache.plansMade());
+    }
+
+    @Test
+    public void whenStatisticsChange_PlansAreMadeAgain() {
+        TraversalPlanCache cache = planCache(10);
+        Set<Fragment> first = fragments(ConceptId.of("V1"), "person");
+        Set<Fragment> second = fragments(ConceptId.of("V2"), "person");
+
+        cache.plan(first, vars(first), OptionalLong.of(cache.generation()), 0L, PLANNER);
+        cache.plan(second, vars(second), OptionalLong.of(cache.generation()), 1L, PLANNER);
+
+        assertEquals(2, cache.plansMade());
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    public void whenTransactionChangedTheSchema_NothingIsCached() {
+        TraversalPlanCache cache = planCache(10);
+        Set<Fragment> fragments = fragments(ConceptId.of("V1"), "person");
+
+        cache.plan(fragments, vars(fragments), OptionalLong.empty(), 0L, PLANNER);
+
+        assertEquals(1, cache.plansMade());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void whenMaxSizeIsZero_NothingIsCached() {
+        TraversalPlanCache cache = planCache(0);
+
+        plan(cache, fragments(ConceptId.of("V1"), "person"), cache.generation(), PLANNER);
+        plan(cache, fragments(ConceptId.of("V2"), "person"), cache.generation(), PLANNER);
+
+        assertFalse(cache.isEnabled());
+        assertEquals(2, cache.plansMade());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.match;
+
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.concept.Attribute;
+import grakn.core.graql.query.Order;
+import grakn.core.graql.query.pattern.Var;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static grakn.core.graql.query.Graql.var;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OrderingTest {
+
+    private final Var x = var("x");
+    private final List<ConceptMap> answers = answers(100);
+
+    @Test
+    public void whenOrderingWithABound_TheFirstResultsAreTheSameAsWhenSorting() {
+        for (Order order : Order.values()) {
+            Ordering ordering = Ordering.of(x, order);
+            for (long bound : new long[]{1, 2, 10, 99, 100, 101, Long.MAX_VALUE}) {
+                List<ConceptMap> sorted = ordering.orderStream(answers.stream()).limit(bound).collect(toList());
+                List<ConceptMap> bounded = ordering.orderStream(answers.stream(), bound).limit(bound).collect(toList());
+                assertEquals(sorted, bounded);
+            }
+        }
+    }
+
+    @Test
+    public void whenOrderingWithABound_ResultsAreNotReadUntilTheStreamIsConsumed() {
+        List<ConceptMap> read = new ArrayList<>();
+        Stream<ConceptMap> ordered = Ordering.of(x, Order.asc).orderStream(answers.stream().peek(read::add), 10);
+        assertTrue(read.isEmpty());
+
+        assertEquals(10, ordered.count());
+        assertEquals(answers.size(), read.size());
+    }
+
+    /**
+     * Answers with few distinct values, so that many of them compare equal
+     */
+    private List<ConceptMap> answers(int size) {
+        Random random = new Random(0);
+        List<ConceptMap> answers = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Attribute<Long> attribute = attribute((long) random.nextInt(size / 10));
+            answers.add(new ConceptMap(Collections.singletonMap(x, attribute)));
+        }
+        return answers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Attribute<Long> attribute(Long value) {
+        Attribute<Long> attribute = mock(Attribute.class);
+        when(attribute.asAttribute()).thenReturn((Attribute) attribute);
+        when(attribute.value()).thenReturn(value);
+        return attribute;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.match;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+public class ReplayableStreamTest {
+
+    @Test
+    public void whenReadingTheStreamMoreThanOnce_TheSourceIsOnlyOpenedAndReadOnce() {
+        AtomicInteger opened = new AtomicInteger(0);
+        List<Integer> read = new ArrayList<>();
+        ReplayableStream<Integer> stream = new ReplayableStream<>(() -> {
+            opened.incrementAndGet();
+            return Arrays.asList(1, 2, 3).stream().peek(read::add);
+        }, 3);
+
+        assertEquals(Arrays.asList(1, 2, 3), stream.stream().collect(toList()));
+        assertEquals(Arrays.asList(1, 2, 3), stream.stream().collect(toList()));
+        assertEquals(1, opened.get());
+        assertEquals(Arrays.asList(1, 2, 3), read);
+    }
+
+    @Test
+    public void whenReadingPartOfTheStream_OnlyThatPartOfTheSourceIsRead() {
+        List<Integer> read = new ArrayList<>();
+        ReplayableStream<Integer> stream = new ReplayableStream<>(() -> Arrays.asList(1, 2, 3, 4).stream().peek(read::add), 4);
+
+        assertEquals(0, read.size());
+        assertEquals(Arrays.asList(1, 2), stream.stream().limit(2).collect(toList()));
+        assertEquals(Arrays.asList(1, 2), read);
+        assertEquals(Arrays.asList(1, 2, 3), stream.stream().limit(3).collect(toList()));
+        assertEquals(Arrays.asList(1, 2, 3), read);
+    }
+
+    @Test
+    public void whenTheSourceHasMoreElementsThanAreKept_EveryReadComputesTheSourceAgain() {
+        AtomicInteger opened = new AtomicInteger(0);
+        List<Integer> read = new ArrayList<>();
+        ReplayableStream<Integer> stream = new ReplayableStream<>(() -> {
+            opened.incrementAndGet();
+            return Arrays.asList(1, 2, 3, 4).stream().peek(read::add);
+        }, 2);
+
+        assertEquals(Arrays.asList(1, 2), stream.stream().limit(2).collect(toList()));
+        assertEquals(1, opened.get());
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), stream.stream().collect(toList()));
+        assertEquals(1, opened.get());
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), stream.stream().collect(toList()));
+        assertEquals(2, opened.get());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 1, 2, 3, 4), read);
+    }
+
+    @Test
+    public void whenAReadIsResumedAfterTheElementsAreDropped_ItCarriesOnWhereItStopped() {
+        ReplayableStream<Integer> stream = new ReplayableStream<>(() -> Arrays.asList(1, 2, 3, 4).stream(), 2);
+
+        Iterator<Integer> first = stream.stream().iterator();
+        assertEquals(1, first.next().intValue());
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), stream.stream().collect(toList()));
+
+        List<Integer> rest = new ArrayList<>();
+        first.forEachRemaining(rest::add);
+        assertEquals(Arrays.asList(2, 3, 4), rest);
+    }
+}
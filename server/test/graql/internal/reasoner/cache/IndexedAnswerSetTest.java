@@ -0,0 +1,107 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package grakn.core.graql.internal.reasoner.cache;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.concept.Concept;
+import grakn.core.graql.query.pattern.Var;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static grakn.core.graql.query.Graql.var;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class IndexedAnswerSetTest {
+
+    private final Var x = var("x");
+    private final Var y = var("y");
+
+    private final Concept a = mock(Concept.class);
+    private final Concept b = mock(Concept.class);
+    private final Concept c = mock(Concept.class);
+
+    private final ConceptMap ab = new ConceptMap(ImmutableMap.of(x, a, y, b));
+    private final ConceptMap ac = new ConceptMap(ImmutableMap.of(x, a, y, c));
+    private final ConceptMap bc = new ConceptMap(ImmutableMap.of(x, b, y, c));
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void whenAddingAnswers_TheyCanBeFoundByTheirIndex() {
+        IndexedAnswerSet answers = IndexedAnswerSet.create(ImmutableSet.of(ab, ac, bc), Index.of(x));
+
+        assertEquals(3, answers.size());
+        assertTrue(answers.contains(ac));
+        assertEquals(ImmutableSet.of(ab, ac), answers.get(new ConceptMap(ImmutableMap.of(x, a))));
+        assertEquals(ImmutableSet.of(bc), answers.get(new ConceptMap(ImmutableMap.of(x, b))));
+        assertEquals(ImmutableSet.of(ab, ac, bc), answers.stream().collect(toSet()));
+    }
+
+    @Test
+    public void whenAddingAnAnswerTwice_TheSetDoesNotChange() {
+        IndexedAnswerSet answers = IndexedAnswerSet.create(ab, Index.of(x));
+
+        assertFalse(answers.add(ab));
+        assertEquals(1, answers.size());
+        assertEquals(ImmutableSet.of(ab), answers.get(new ConceptMap(ImmutableMap.of(x, a))));
+    }
+
+    @Test
+    public void whenRemovingAnAnswer_ItIsRemovedFromEveryIndex() {
+        IndexedAnswerSet answers = IndexedAnswerSet.create(ImmutableSet.of(ab, ac, bc), Index.of(x));
+        answers.addIndex(Index.of(y));
+
+        assertTrue(answers.remove(ac));
+        assertFalse(answers.remove(ac));
+
+        assertEquals(2, answers.size());
+        assertFalse(answers.contains(ac));
+        assertEquals(ImmutableSet.of(ab), answers.get(new ConceptMap(ImmutableMap.of(x, a))));
+        assertEquals(ImmutableSet.of(bc), answers.get(new ConceptMap(ImmutableMap.of(y, c))));
+    }
+
+    @Test
+    public void whenAddingAnIndex_ExistingAndNewAnswersAreIndexed() {
+        IndexedAnswerSet answers = IndexedAnswerSet.create(ImmutableSet.of(ab, ac), Index.of(x));
+
+        assertTrue(answers.addIndex(Index.of(y)));
+        assertFalse(answers.addIndex(Index.of(x)));
+        answers.add(bc);
+
+        assertEquals(ImmutableSet.of(Index.of(x), Index.of(y)), answers.indices());
+        assertEquals(ImmutableSet.of(ac, bc), answers.get(new ConceptMap(ImmutableMap.of(y, c))));
+        assertEquals(ImmutableSet.of(bc), answers.get(new ConceptMap(ImmutableMap.of(x, b))));
+    }
+
+    @Test
+    public void whenGettingAnswersByAPartialAnswerWhichIsNotIndexed_Throw() {
+        IndexedAnswerSet answers = IndexedAnswerSet.create(ab, Index.of(x));
+
+        exception.expect(IllegalStateException.class);
+
+        answers.get(new ConceptMap(ImmutableMap.of(y, b)));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TDigestTest {
+
+    @Test
+    public void whenNothingIsAdded_TheQuantileIsNaN() {
+        assertTrue(Double.isNaN(new TDigest(100).quantile(0.5)));
+    }
+
+    @Test
+    public void whenFewerNumbersThanTheCompressionAreAdded_TheQuantilesAreExact() {
+        TDigest digest = new TDigest(100);
+        double[] numbers = {7, 1, 5, 3, 9, 2};
+        Arrays.stream(numbers).forEach(digest::add);
+
+        assertEquals(1, digest.quantile(0), 0);
+        assertEquals(4, digest.quantile(0.5), 0);
+        assertEquals(9, digest.quantile(1), 0);
+        assertEquals(6, digest.count());
+    }
+
+    @Test
+    public void whenManyNumbersAreAdded_TheQuantilesAreEstimatedAccurately() {
+        int n = 1_000_000;
+        double[] numbers = new double[n];
+        Random random = new Random(0);
+        TDigest digest = new TDigest(200);
+        for (int i = 0; i < n; i++) {
+            numbers[i] = random.nextGaussian();
+            digest.add(numbers[i]);
+        }
+        Arrays.sort(numbers);
+
+        for (double q : new double[]{0, 0.001, 0.01, 0.25, 0.5, 0.75, 0.99, 0.999, 1}) {
+            double estimate = digest.quantile(q);
+            // the estimate is between the exact quantiles a small fraction of the numbers either side
+            int lower = (int) Math.max(0, Math.floor(q * (n - 1) - 0.002 * n));
+            int upper = (int) Math.min(n - 1, Math.ceil(q * (n - 1) + 0.002 * n));
+            assertTrue("quantile " + q, numbers[lower] <= estimate && estimate <= numbers[upper]);
+        }
+    }
+}
@@ -82,6 +82,7 @@ import static grakn.core.graql.query.Graql.lte;
 import static grakn.core.graql.query.Graql.match;
 import static grakn.core.graql.query.Graql.neq;
 import static grakn.core.graql.query.Graql.or;
+import static grakn.core.graql.query.Graql.percentile;
 import static grakn.core.graql.query.Graql.parse;
 import static grakn.core.graql.query.Graql.regex;
 import static grakn.core.graql.query.Graql.std;
@@ -630,6 +631,23 @@ public class QueryParserTest {
         assertEquals(query, parse(query).toString());
     }
 
+    @Test
+    public void testParseAggregatePercentile() {
+        AggregateQuery<Value> expected = match(var("x").isa("movie")).aggregate(percentile("x", 90));
+        AggregateQuery<Value> parsed = parse("match $x isa movie; aggregate percentile $x 90;");
+
+        assertEquals(expected, parsed);
+    }
+
+    @Test
+    public void testParseApproximateAggregatesToString() {
+        String median = "match $x isa movie; aggregate approximate-median $x;";
+        assertEquals(median, parse(median).toString());
+
+        String percentile = "match $x isa movie; aggregate approximate-percentile $x 90;";
+        assertEquals(percentile, parse(percentile).toString());
+    }
+
     // ===============================================================================================================//
     // Test Graql Compute queries
     // ===============================================================================================================//
@@ -21,14 +21,22 @@ package grakn.core.graql.query;
 import grakn.core.graql.concept.Concept;
 import grakn.core.graql.exception.GraqlQueryException;
 import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.answer.VarSlots;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import grakn.core.graql.query.pattern.Var;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Arrays;
+
 import static grakn.core.graql.query.Graql.var;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 
@@ -56,4 +64,64 @@ public class ConceptMapTest {
 
         answer.get(varNotInAnswer);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenAnswersHaveTheSameConceptsInDifferentSlots_TheyAreEqual() {
+        Var y = var("y");
+        Concept conceptOfY = mock(Concept.class);
+
+        ConceptMap fromMap = new ConceptMap(ImmutableMap.of(varInAnswer, conceptInAnswer, y, conceptOfY));
+        ConceptMap fromSlots = new ConceptMap(VarSlots.of(ImmutableList.of(y, varInAnswer)), new Concept[]{conceptOfY, conceptInAnswer});
+
+        assertEquals(fromMap, fromSlots);
+        assertEquals(fromMap.hashCode(), fromSlots.hashCode());
+        assertEquals(fromMap.map(), fromSlots.map());
+        assertEquals(fromMap.map().hashCode(), fromSlots.hashCode());
+    }
+
+    @Test
+    public void whenMergingAnswers_TheConceptsOfBothAreKept() {
+        Var y = var("y");
+        Var z = var("z");
+        Concept conceptOfY = mock(Concept.class);
+        Concept conceptOfZ = mock(Concept.class);
+
+        ConceptMap merged = answer.merge(new ConceptMap(ImmutableMap.of(y, conceptOfY, z, conceptOfZ)))
+                .merge(new ConceptMap(ImmutableMap.of(varInAnswer, conceptInAnswer, z, conceptOfZ)));
+
+        assertEquals(new ConceptMap(ImmutableMap.of(varInAnswer, conceptInAnswer, y, conceptOfY, z, conceptOfZ)), merged);
+    }
+
+    @Test
+    public void whenMergingAnswersWithDifferentConceptsForTheSameVar_ReturnAnEmptyAnswer() {
+        ConceptMap other = new ConceptMap(ImmutableMap.of(varInAnswer, mock(Concept.class)));
+
+        assertTrue(answer.merge(other).isEmpty());
+    }
+
+    @Test
+    public void whenProjectingAnAnswer_OnlyTheProjectedVarsAreKept() {
+        Var y = var("y");
+        ConceptMap both = new ConceptMap(ImmutableMap.of(varInAnswer, conceptInAnswer, y, mock(Concept.class)));
+
+        assertEquals(answer, both.project(ImmutableSet.of(varInAnswer)));
+        assertEquals(answer, both.project(ImmutableSet.of(varInAnswer)));
+        assertEquals(both, both.project(ImmutableSet.of(varInAnswer, y)));
+    }
+
+    @Test
+    public void whenSlotsAreBuiltForTheSameVarsInTheSameOrder_TheyAreShared() {
+        Var y = var("y");
+
+        assertSame(VarSlots.of(ImmutableList.of(varInAnswer, y)), VarSlots.of(Arrays.asList(varInAnswer, y)));
+        assertSame(VarSlots.of(ImmutableList.of(varInAnswer, y)), VarSlots.of(ImmutableSet.of(varInAnswer, y)));
+        assertNotSame(VarSlots.of(ImmutableList.of(varInAnswer, y)), VarSlots.of(ImmutableList.of(y, varInAnswer)));
+    }
+
+    @Test
+    public void whenSlotsAreBuiltWithAVarTwice_Throw() {
+        exception.expect(IllegalArgumentException.class);
+
+        VarSlots.of(Arrays.asList(varInAnswer, varInAnswer));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.query.aggregate;
+
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.answer.Value;
+import grakn.core.graql.concept.Attribute;
+import com.google.common.collect.ImmutableMap;
+import grakn.core.graql.query.pattern.Var;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static grakn.core.graql.query.Graql.var;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class MeanAggregateTest {
+
+    private final Var x = var("x");
+    private final MeanAggregate mean = new MeanAggregate(x);
+
+    @Test
+    public void whenThereAreNoAnswers_TheMeanIsEmpty() {
+        assertTrue(mean.apply(Stream.empty()).isEmpty());
+    }
+
+    @Test
+    public void whenAnAttributeIsFoundByMoreThanOneAnswer_ItIsCountedOncePerAnswer() {
+        ConceptMap ten = answer(attribute(10L));
+        ConceptMap twenty = answer(attribute(20L));
+
+        List<Value> result = mean.apply(Stream.of(ten, ten, twenty));
+
+        assertEquals(40.0 / 3, result.get(0).number().doubleValue(), 0.0);
+    }
+
+    @Test
+    public void whenAttributesHoldLongs_TheMeanIsComputedWithoutLosingTheFraction() {
+        List<Value> result = mean.apply(Stream.of(answer(attribute(1L)), answer(attribute(2L))));
+
+        assertEquals(1.5, result.get(0).number().doubleValue(), 0.0);
+    }
+
+    @Test
+    public void whenAttributesHoldDifferentNumberTypes_TheyAreAveragedTogether() {
+        List<Value> result = mean.apply(Stream.of(answer(attribute(1)), answer(attribute(2L)), answer(attribute(4.5))));
+
+        assertEquals(2.5, result.get(0).number().doubleValue(), 0.0);
+    }
+
+    private ConceptMap answer(Attribute<?> attribute) {
+        return new ConceptMap(ImmutableMap.of(x, attribute));
+    }
+
+    private static Attribute<?> attribute(Number value) {
+        Attribute<?> attribute = mock(Attribute.class);
+        doReturn(attribute).when(attribute).asAttribute();
+        doReturn(value).when(attribute).value();
+        return attribute;
+    }
+}
@@ -6,6 +6,7 @@ import grakn.core.server.deduplicator.queue.Attribute;
 import grakn.core.server.deduplicator.queue.RocksDbQueue;
 import org.apache.commons.io.FileUtils;
 import org.junit.Test;
+import org.rocksdb.RocksDBException;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -16,10 +17,15 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 
 public class RocksDbQueueTest {
 
@@ -91,6 +97,71 @@ public class RocksDbQueueTest {
         FileUtils.deleteDirectory(queuePath.toFile());
     }
 
+    @Test
+    public void concurrentInsertsShouldAllBeWrittenWhenGroupCommitted() throws InterruptedException, IOException {
+        Path queuePath = Files.createTempDirectory("rocksdb-test-dir");
+        try (RocksDbQueue queue = new RocksDbQueue(queuePath, RocksDbQueue.Durability.PERIODIC, 5, 16, 50)) {
+            List<Attribute> attributes = IntStream.range(0, 100)
+                    .mapToObj(i -> Attribute.create(Keyspace.of("k"), "v" + i, ConceptId.of("c" + i)))
+                    .collect(Collectors.toList());
+
+            CompletableFuture.allOf(attributes.stream()
+                    .map(attr -> CompletableFuture.runAsync(() -> queue.insert(attr)))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            List<Attribute> insertedAttributes = queue.read(Integer.MAX_VALUE);
+            assertThat(insertedAttributes, containsInAnyOrder(attributes.toArray()));
+        }
+        FileUtils.deleteDirectory(queuePath.toFile());
+    }
+
+    @Test
+    public void insertsShouldStillBeWrittenAfterAPeriodicSyncFails() throws InterruptedException, IOException, ExecutionException, TimeoutException {
+        Path queuePath = Files.createTempDirectory("rocksdb-test-dir");
+        AtomicInteger failedSyncs = new AtomicInteger();
+        try (RocksDbQueue queue = new RocksDbQueue(queuePath, RocksDbQueue.Durability.PERIODIC, 0, 1, 500) {
+            @Override
+            protected void syncWriteAheadLog() throws RocksDBException {
+                failedSyncs.incrementAndGet();
+                throw new RocksDBException("the disk is gone");
+            }
+        }) {
+            Attribute beforeFailure = Attribute.create(Keyspace.of("k1"), "v1", ConceptId.of("c1"));
+            Attribute afterFailure = Attribute.create(Keyspace.of("k2"), "v2", ConceptId.of("c2"));
+
+            queue.insert(beforeFailure);
+            Thread.sleep(1000L); // wait for the periodic sync of the first insert to fail
+
+            // the flusher must have survived the failed sync, or this insert would wait for its group forever
+            CompletableFuture.runAsync(() -> queue.insert(afterFailure)).get(1000L, TimeUnit.MILLISECONDS);
+
+            assertThat(failedSyncs.get(), greaterThan(0));
+            assertThat(queue.read(Integer.MAX_VALUE), equalTo(Arrays.asList(beforeFailure, afterFailure)));
+        }
+        FileUtils.deleteDirectory(queuePath.toFile());
+    }
+
+    @Test
+    public void unackedAttributesShouldRemainInTheQueueAfterReopening() throws InterruptedException, IOException {
+        Path queuePath = Files.createTempDirectory("rocksdb-test-dir");
+        List<Attribute> attributes = Arrays.asList(
+                Attribute.create(Keyspace.of("k1"), "v1", ConceptId.of("c1")),
+                Attribute.create(Keyspace.of("k2"), "v2", ConceptId.of("c2")),
+                Attribute.create(Keyspace.of("k3"), "v3", ConceptId.of("c3"))
+        );
+        try (RocksDbQueue queue = new RocksDbQueue(queuePath)) {
+            attributes.forEach(queue::insert);
+            queue.ack(queue.read(1));
+        }
+        try (RocksDbQueue queue = new RocksDbQueue(queuePath)) {
+            Attribute inserted = Attribute.create(Keyspace.of("k4"), "v4", ConceptId.of("c4"));
+            queue.insert(inserted);
+            List<Attribute> remainingAttributes = queue.read(Integer.MAX_VALUE);
+            assertThat(remainingAttributes, equalTo(Arrays.asList(attributes.get(1), attributes.get(2), inserted)));
+        }
+        FileUtils.deleteDirectory(queuePath.toFile());
+    }
+
     /**
      * the read() method implements the 'guarded block' pattern using wait() and notifyAll(), and we want to
      * test if it properly blocks.
@@ -0,0 +1,113 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.metrics;
+
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricRegistryTest {
+
+    @Test
+    public void whenCountersAreIncremented_TheyAreScrapedPerLabel() {
+        MetricRegistry registry = new MetricRegistry();
+        Counter counter = registry.counter("lookups_total", "Lookups", "result");
+        counter.labels("hit").inc();
+        counter.labels("hit").inc(2);
+        counter.labels("miss").inc();
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("# HELP lookups_total Lookups\n# TYPE lookups_total counter\n"));
+        assertTrue(text.contains("lookups_total{result=\"hit\"} 3\n"));
+        assertTrue(text.contains("lookups_total{result=\"miss\"} 1\n"));
+    }
+
+    @Test
+    public void whenValuesAreObserved_TheBucketsAreCumulative() {
+        MetricRegistry registry = new MetricRegistry();
+        Histogram histogram = registry.histogram("latency_seconds", "Latency", new double[]{0.1, 1});
+        histogram.observe(0.05);
+        histogram.observe(0.1);
+        histogram.observe(0.5);
+        histogram.observe(5);
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("latency_seconds_bucket{le=\"0.1\"} 2\n"));
+        assertTrue(text.contains("latency_seconds_bucket{le=\"1.0\"} 3\n"));
+        assertTrue(text.contains("latency_seconds_bucket{le=\"+Inf\"} 4\n"));
+        assertTrue(text.contains("latency_seconds_sum 5.65\n"));
+        assertTrue(text.contains("latency_seconds_count 4\n"));
+    }
+
+    @Test
+    public void whenAStreamIsTimed_ItIsObservedOnlyOnceExhausted() {
+        Histogram histogram = new MetricRegistry().histogram("execute_seconds", "Execute", new double[]{1}, "type");
+        Histogram.Child child = histogram.labels("get");
+
+        Stream<Integer> stream = child.observeSecondsUntilExhausted(System.nanoTime(), Stream.of(1, 2, 3));
+        assertEquals(0, child.count());
+
+        assertEquals(Stream.of(1, 2, 3).collect(Collectors.toList()), stream.collect(Collectors.toList()));
+        assertEquals(1, child.count());
+    }
+
+    @Test
+    public void whenAStreamIsClosedEarly_ItIsNotObserved() {
+        Histogram.Child child = new MetricRegistry().histogram("execute_seconds", "Execute", new double[]{1}).labels();
+
+        child.observeSecondsUntilExhausted(System.nanoTime(), Stream.of(1, 2, 3)).findFirst();
+
+        assertEquals(0, child.count());
+    }
+
+    @Test
+    public void whenAGaugeIsRegisteredAgain_TheLatestValueIsScraped() {
+        MetricRegistry registry = new MetricRegistry();
+        registry.gauge("backlog", "Backlog", () -> 1);
+        registry.gauge("backlog", "Backlog", () -> 2);
+
+        assertTrue(registry.scrape().contains("backlog 2.0\n"));
+    }
+
+    @Test
+    public void whenLabelValuesHaveQuotes_TheyAreEscaped() {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("queries_total", "Queries", "type").labels("a\"b\\c").inc();
+
+        assertTrue(registry.scrape().contains("queries_total{type=\"a\\\"b\\\\c\"} 1\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenTheWrongNumberOfLabelsIsGiven_Throw() {
+        new MetricRegistry().counter("queries_total", "Queries", "type").labels("get", "insert");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenAMetricIsRegisteredTwice_Throw() {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("queries_total", "Queries");
+        registry.counter("queries_total", "Queries");
+    }
+}
@@ -35,6 +35,7 @@ import grakn.core.graql.query.ComputeQuery;
 import grakn.core.graql.query.DeleteQuery;
 import grakn.core.graql.query.GetQuery;
 import grakn.core.graql.query.Graql;
+import grakn.core.graql.query.InsertQuery;
 import grakn.core.graql.query.QueryBuilder;
 import grakn.core.protocol.AnswerProto;
 import grakn.core.protocol.ConceptProto;
@@ -49,6 +50,7 @@ import grakn.core.server.exception.GraknServerException;
 import grakn.core.server.exception.InvalidKBException;
 import grakn.core.server.keyspace.Keyspace;
 import grakn.core.server.keyspace.KeyspaceManager;
+import grakn.core.server.metrics.ServerMetrics;
 import grakn.core.server.session.SessionStore;
 import grakn.core.server.session.TransactionImpl;
 import io.grpc.ManagedChannel;
@@ -70,6 +72,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -80,10 +83,13 @@ import static grakn.core.client.rpc.RequestBuilder.Transaction.open;
 import static grakn.core.client.rpc.RequestBuilder.Transaction.query;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -91,9 +97,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -131,8 +141,8 @@ public class ServerRPCTest {
     public void setUp() throws IOException {
         OpenRequest requestOpener = new ServerOpenRequest(txFactory);
         this.serverRPC = ServerBuilder.forPort(PORT)
-                .addService(new SessionService(requestOpener, mockedAttributeDeduplicatorDaemon))
-                .addService(new KeyspaceService(mockedKeyspaceStore))
+                .addService(new SessionService(requestOpener, mockedAttributeDeduplicatorDaemon, new TransactionExecutorPool(2, 1, 100)))
+                .addService(new KeyspaceService(mockedKeyspaceStore, mockedAttributeDeduplicatorDaemon))
                 .build();
         this.serverRPC.start();
 
@@ -239,6 +249,45 @@ public class ServerRPCTest {
         assertNotEquals(threads.get(0), threads.get(1));
     }
 
+    @Test
+    public void whenEveryTransactionThreadIsInUse_NewTransactionsAreRefused() throws Throwable {
+        try (
+                Transceiver tx1 = Transceiver.create(stub);
+                Transceiver tx2 = Transceiver.create(stub);
+                Transceiver tx3 = Transceiver.create(stub)
+        ) {
+            tx1.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx2.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx1.receive();
+            tx2.receive();
+
+            tx3.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            exception.expect(hasStatus(Status.RESOURCE_EXHAUSTED));
+            throw tx3.receive().error();
+        }
+    }
+
+    @Test
+    public void whenATransactionWaitsForAThreadForTooLong_ItIsRefused() throws InterruptedException {
+        try (
+                Transceiver tx1 = Transceiver.create(stub);
+                Transceiver tx2 = Transceiver.create(stub);
+                Transceiver tx3 = Transceiver.create(stub);
+                Transceiver tx4 = Transceiver.create(stub)
+        ) {
+            tx1.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx2.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx1.receive();
+            tx2.receive();
+
+            // one of them waits for a thread until it times out, while the other cannot even wait
+            tx3.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx4.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            assertEquals(Status.Code.RESOURCE_EXHAUSTED, tx3.receive().error().getStatus().getCode());
+            assertEquals(Status.Code.RESOURCE_EXHAUSTED, tx4.receive().error().getStatus().getCode());
+        }
+    }
+
     @Test
     public void whenOpeningATransactionRemotelyWithAnInvalidKeyspace_Throw() throws Throwable {
         String keyspace = "not!@akeyspace";
@@ -372,6 +421,57 @@ public class ServerRPCTest {
         }
     }
 
+    @Test(timeout = 1000) // This tests uses an endless stream, so a failure may cause it to never terminate
+    public void whenIteratingAQueryInBatches_EachBatchEndsAfterBatchSizeAnswers() throws InterruptedException {
+        Concept conceptX = mock(Concept.class, RETURNS_DEEP_STUBS);
+        when(conceptX.id()).thenReturn(ConceptId.of("V123"));
+        when(conceptX.isEntity()).thenReturn(true);
+        when(conceptX.asEntity().type().label()).thenReturn(Label.of("L123"));
+
+        ConceptMap answer = new ConceptMap(ImmutableMap.of(Graql.var("x"), conceptX));
+        when(query.stream()).thenAnswer(params -> Stream.generate(() -> answer));
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(query(QUERY, false));
+            int iterator = tx.receive().ok().getQueryIter().getId();
+
+            for (int batch = 0; batch < 2; batch++) {
+                tx.send(iterate(iterator, 3, 0));
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(tx.receive().ok().getIterateRes().hasQueryIterRes());
+                }
+                assertTrue(tx.receive().ok().getIterateRes().getBatchDone());
+            }
+        }
+    }
+
+    @Test
+    public void whenIteratingAQueryInBatchesPastTheLastAnswer_TheBatchEndsWithDone() throws InterruptedException {
+        Concept conceptX = mock(Concept.class, RETURNS_DEEP_STUBS);
+        when(conceptX.id()).thenReturn(ConceptId.of("V123"));
+        when(conceptX.isEntity()).thenReturn(true);
+        when(conceptX.asEntity().type().label()).thenReturn(Label.of("L123"));
+
+        ConceptMap answer = new ConceptMap(ImmutableMap.of(Graql.var("x"), conceptX));
+        when(query.stream()).thenAnswer(params -> Stream.of(answer, answer));
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(query(QUERY, false));
+            int iterator = tx.receive().ok().getQueryIter().getId();
+
+            tx.send(iterate(iterator, 10, 0));
+            assertTrue(tx.receive().ok().getIterateRes().hasQueryIterRes());
+            assertTrue(tx.receive().ok().getIterateRes().hasQueryIterRes());
+            assertTrue(tx.receive().ok().getIterateRes().getDone());
+        }
+    }
+
     @Ignore
     @Test
     public void whenExecutingAQueryRemotelyThatReturnsOneResult_ReturnOneResult() throws InterruptedException {
@@ -646,6 +746,207 @@ public class ServerRPCTest {
         }
     }
 
+    @Test
+    public void whenPreparingQueries_EachQueryGetsItsOwnHandle() throws InterruptedException {
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse(QUERY)));
+            assertEquals(ResponseBuilder.Transaction.prepare(0), tx.receive().ok());
+
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse("match $x id V123; get;")));
+            assertEquals(ResponseBuilder.Transaction.prepare(1), tx.receive().ok());
+        }
+    }
+
+    @Test
+    public void whenBindingAPreparedQuery_TheParametersAndLimitAreAddedToTheMatch() {
+        PreparedQuery prepared = PreparedQuery.parse(QUERY, false);
+        Transaction.Execute.Parameter id = Transaction.Execute.Parameter.newBuilder().setId(V123).build();
+
+        GetQuery bound = (GetQuery) prepared.bind(ImmutableMap.of("x", id), 10, tx);
+
+        assertThat(bound.match().admin().getPattern().varPatterns(), hasItem(Graql.var("x").id(ConceptId.of(V123)).admin()));
+        assertThat(bound.toString(), containsString("limit 10;"));
+    }
+
+    @Test
+    public void whenExecutingAQueryThatWasNotPrepared_Throw() throws Throwable {
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.execute(0, ImmutableMap.of(), 0));
+
+            exception.expect(hasStatus(Status.INVALID_ARGUMENT));
+
+            throw tx.receive().error();
+        }
+    }
+
+    @Test
+    public void whenExecutingAPreparedQueryWithAParameterNotInTheQuery_Throw() throws Throwable {
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse(QUERY)));
+            int handle = tx.receive().ok().getPrepareRes().getHandle();
+
+            tx.send(RequestBuilder.Transaction.execute(handle, ImmutableMap.of(Graql.var("y"), ConceptId.of(V123)), 0));
+
+            exception.expect(hasStatus(Status.INVALID_ARGUMENT));
+
+            throw tx.receive().error();
+        }
+    }
+
+    @Test
+    public void whenBulkInsertingWithoutAChunkSize_EveryQueryIsExecutedAndNothingIsCommitted() throws InterruptedException {
+        when(tx.queryExecutor()).thenReturn(executor);
+        when(executor.run(any(InsertQuery.class))).thenAnswer(params -> Stream.of(new ConceptMap()));
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.bulkInsert(bulkInsertQueries(3), 0));
+            Transaction.BulkInsert.Res response = tx.receive().ok().getBulkInsertRes();
+
+            assertEquals(3, response.getInserted());
+            assertEquals(1, response.getChunksCount());
+            assertEquals(3, response.getChunks(0).getQueries());
+            assertFalse(response.getChunks(0).getCommitted());
+        }
+
+        verify(executor, times(3)).run(any(InsertQuery.class));
+        verify(tx, never()).commitAndGetLogs();
+    }
+
+    @Test
+    public void whenBulkInsertingInChunks_TheTransactionIsCommittedAndReopenedAfterEveryChunk() throws InterruptedException {
+        when(tx.queryExecutor()).thenReturn(executor);
+        when(executor.run(any(InsertQuery.class))).thenAnswer(params -> Stream.of(new ConceptMap()));
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.bulkInsert(bulkInsertQueries(5), 2));
+            Transaction.BulkInsert.Res response = tx.receive().ok().getBulkInsertRes();
+
+            assertEquals(5, response.getInserted());
+            assertEquals(3, response.getChunksCount());
+            assertEquals(2, response.getChunks(0).getQueries());
+            assertEquals(2, response.getChunks(1).getQueries());
+            assertEquals(1, response.getChunks(2).getQueries());
+            assertTrue(response.getChunks(2).getCommitted());
+        }
+
+        verify(tx, times(3)).commitAndGetLogs();
+        verify(txFactory, times(4)).tx(MYKS, grakn.core.server.Transaction.Type.WRITE);
+    }
+
+    @Test
+    public void whenAChunkOfABulkInsertFailsToCommit_TheTransactionIsClosedAndNotReopened() throws Throwable {
+        when(tx.queryExecutor()).thenReturn(executor);
+        when(executor.run(any(InsertQuery.class))).thenAnswer(params -> Stream.of(new ConceptMap()));
+        doReturn(Optional.empty()).doThrow(EXCEPTION).when(tx).commitAndGetLogs();
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.bulkInsert(bulkInsertQueries(5), 2));
+
+            exception.expect(hasStatus(Status.INVALID_ARGUMENT));
+
+            throw tx.receive().error();
+        } finally {
+            verify(executor, times(4)).run(any(InsertQuery.class));
+            verify(txFactory, times(2)).tx(MYKS, grakn.core.server.Transaction.Type.WRITE);
+            verify(tx, atLeastOnce()).close();
+        }
+    }
+
+    private static List<InsertQuery> bulkInsertQueries(int count) {
+        List<InsertQuery> queries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            queries.add(Graql.insert(Graql.var("x").isa("person").has("name", "person-" + i)));
+        }
+        return queries;
+    }
+
+    @Test
+    public void whenExecutingAPreparedQueryWithAnUnsetValue_Throw() throws Throwable {
+        Transaction.Execute.Parameter unsetValue = Transaction.Execute.Parameter.newBuilder()
+                .setValue(ConceptProto.ValueObject.getDefaultInstance()).build();
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse(QUERY)));
+            int handle = tx.receive().ok().getPrepareRes().getHandle();
+
+            Transaction.Execute.Req execute = Transaction.Execute.Req.newBuilder()
+                    .setHandle(handle).putParameters("x", unsetValue).build();
+            tx.send(Transaction.Req.newBuilder().setExecuteReq(execute).build());
+
+            exception.expect(hasStatus(Status.INVALID_ARGUMENT));
+
+            throw tx.receive().error();
+        }
+    }
+
+    @Test
+    public void whenExecutingAReleasedQuery_Throw() throws Throwable {
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse(QUERY)));
+            int handle = tx.receive().ok().getPrepareRes().getHandle();
+
+            tx.send(RequestBuilder.Transaction.release(handle));
+            assertEquals(ResponseBuilder.Transaction.release(), tx.receive().ok());
+
+            tx.send(RequestBuilder.Transaction.execute(handle, ImmutableMap.of(), 0));
+
+            exception.expect(hasStatus(Status.INVALID_ARGUMENT));
+
+            throw tx.receive().error();
+        }
+    }
+
+    @Test
+    public void whenReleasingAPreparedQuery_OtherHandlesStayValid() throws InterruptedException {
+        when(tx.queryExecutor()).thenReturn(executor);
+        when(executor.run(any(GetQuery.class))).thenAnswer(params -> Stream.empty());
+
+        try (Transceiver tx = Transceiver.create(stub)) {
+            tx.send(open(MYKS, grakn.core.server.Transaction.Type.WRITE));
+            tx.receive();
+
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse(QUERY)));
+            int released = tx.receive().ok().getPrepareRes().getHandle();
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse("match $x id V123; get;")));
+            int kept = tx.receive().ok().getPrepareRes().getHandle();
+
+            tx.send(RequestBuilder.Transaction.release(released));
+            tx.receive().ok();
+
+            tx.send(RequestBuilder.Transaction.execute(kept, ImmutableMap.of(), 0));
+            assertTrue(tx.receive().ok().hasExecuteIter());
+
+            tx.send(RequestBuilder.Transaction.prepare(Graql.parse(QUERY)));
+            int prepared = tx.receive().ok().getPrepareRes().getHandle();
+            assertNotEquals(kept, prepared);
+            assertNotEquals(released, prepared);
+        }
+    }
+
     @Test
     public void whenOpeningTxTwice_Throw() throws Throwable {
         try (Transceiver tx = Transceiver.create(stub)) {
@@ -771,6 +1072,24 @@ public class ServerRPCTest {
         assertThat(new ArrayList<>(response.getNamesList()), containsInAnyOrder("testkeyspace1", "testkeyspace2"));
     }
 
+    @Test
+    public void whenSendingDeduplicatorReq_ReturnTheDeduplicationBacklog() {
+        when(mockedAttributeDeduplicatorDaemon.backlog()).thenReturn(42L);
+        KeyspaceProto.Deduplicator.Res response = keyspaceBlockingStub.deduplicator(KeyspaceProto.Deduplicator.Req.getDefaultInstance());
+        assertEquals(42L, response.getBacklog());
+    }
+
+    @Test
+    public void whenSendingMetricsReq_ReturnTheMetricsOfTheServer() {
+        when(mockedAttributeDeduplicatorDaemon.backlog()).thenReturn(42L);
+        ServerMetrics.register(mockedAttributeDeduplicatorDaemon);
+
+        KeyspaceProto.Metrics.Res response = keyspaceBlockingStub.metrics(KeyspaceProto.Metrics.Req.getDefaultInstance());
+
+        assertThat(response.getText(), containsString("# TYPE grakn_query_execute_seconds histogram\n"));
+        assertThat(response.getText(), containsString("grakn_deduplicator_backlog 42.0\n"));
+    }
+
     private static Matcher<StatusRuntimeException> hasStatus(Status status) {
 
         Matcher<Status> hasCode = hasProperty("code", is(status.getCode()));
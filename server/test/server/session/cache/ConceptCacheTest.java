@@ -0,0 +1,96 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server.session.cache;
+
+import com.google.common.collect.ImmutableSet;
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.server.keyspace.Keyspace;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConceptCacheTest {
+    private static final Keyspace KEYSPACE = Keyspace.of("cached");
+    private static final ConceptId CONCEPT = ConceptId.of("V123");
+
+    private static ConceptCache conceptCache(long maxWeight, String keyspaces) {
+        Config config = Config.empty();
+        config.setConfigProperty(ConfigKey.CONCEPT_CACHE_MAX_WEIGHT, maxWeight);
+        config.setConfigProperty(ConfigKey.CONCEPT_CACHE_KEYSPACES, keyspaces);
+        return new ConceptCache(config, KEYSPACE);
+    }
+
+    @Test
+    public void whenMaxWeightIsZero_NothingIsCached() {
+        ConceptCache cache = conceptCache(0, "");
+        cache.cacheVertexId(CONCEPT, 123L, cache.generation());
+
+        assertFalse(cache.isEnabled());
+        assertEquals(Optional.empty(), cache.getVertexId(CONCEPT));
+    }
+
+    @Test
+    public void whenKeyspaceIsNotListed_NothingIsCached() {
+        assertFalse(conceptCache(100, "other, another").isEnabled());
+        assertTrue(conceptCache(100, "other, cached").isEnabled());
+    }
+
+    @Test
+    public void whenConceptIsRemoved_ItsVertexIdIsInvalidated() {
+        ConceptCache cache = conceptCache(100, "");
+        cache.cacheVertexId(CONCEPT, 123L, cache.generation());
+        assertEquals(Optional.of(123L), cache.getVertexId(CONCEPT));
+
+        cache.invalidate(ImmutableSet.of(CONCEPT), false);
+        assertEquals(Optional.empty(), cache.getVertexId(CONCEPT));
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    public void whenAttributesAreAdded_CachedValuesAreInvalidated() {
+        ConceptCache cache = conceptCache(100, "");
+        cache.cacheVertexId(CONCEPT, 123L, cache.generation());
+        cache.cacheAttributeVertexIds("VALUE_STRING", "bob", Arrays.asList(1L, 2L), cache.generation());
+        assertEquals(Optional.of(Arrays.asList(1L, 2L)), cache.getAttributeVertexIds("VALUE_STRING", "bob"));
+
+        cache.invalidate(Collections.emptySet(), true);
+        assertEquals(Optional.empty(), cache.getAttributeVertexIds("VALUE_STRING", "bob"));
+        assertEquals(Optional.of(123L), cache.getVertexId(CONCEPT));
+    }
+
+    @Test
+    public void whenCacheWasInvalidatedSinceTransactionOpened_LookupsAreNotCached() {
+        ConceptCache cache = conceptCache(100, "");
+        long openedAt = cache.generation();
+        cache.invalidate(Collections.emptySet(), true);
+
+        cache.cacheAttributeVertexIds("VALUE_STRING", "bob", Collections.singletonList(1L), openedAt);
+        assertEquals(Optional.empty(), cache.getAttributeVertexIds("VALUE_STRING", "bob"));
+    }
+}
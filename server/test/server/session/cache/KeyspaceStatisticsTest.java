@@ -0,0 +1,88 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server.session.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.LabelId;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+public class KeyspaceStatisticsTest {
+    private static final ConceptId TYPE = ConceptId.of("V123");
+    private static final LabelId ROLE = LabelId.of(42);
+
+    private static void commitFanOutChange(KeyspaceStatistics statistics, long before, long after) {
+        statistics.commit(Collections.emptyMap(), Collections.emptySet(),
+                ImmutableList.of(KeyspaceStatistics.FanOutChange.of(ROLE, before, after)));
+    }
+
+    @Test
+    public void whenRolePlayersAreUnknown_CommitsDoNotMakeThemKnown() {
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        commitFanOutChange(statistics, 0, 1);
+
+        assertFalse(statistics.rolePlayers(ROLE).isPresent());
+    }
+
+    @Test
+    public void whenRolePlayersAreRefreshed_TheyAreBuiltFromTheFanOutsAndMaintained() {
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        Map<LabelId, Collection<Long>> fanOuts = ImmutableMap.of(ROLE, ImmutableList.of(1L, 3L, 20L));
+        statistics.refreshRolePlayers(fanOuts);
+
+        KeyspaceStatistics.RolePlayerStatistics rolePlayers = statistics.rolePlayers(ROLE).get();
+        assertEquals(24, rolePlayers.edges());
+        assertEquals(3, rolePlayers.players());
+        long[] histogram = new long[Long.SIZE];
+        histogram[0] = 1;
+        histogram[1] = 1;
+        histogram[4] = 1;
+        assertArrayEquals(histogram, rolePlayers.histogram());
+
+        commitFanOutChange(statistics, 0, 1);
+        assertEquals(25, statistics.rolePlayers(ROLE).get().edges());
+        assertEquals(4, statistics.rolePlayers(ROLE).get().players());
+    }
+
+    @Test
+    public void whenAnInstanceCountGrowsPastAPowerOfTwo_TheEpochChanges() {
+        KeyspaceStatistics statistics = new KeyspaceStatistics();
+        statistics.refreshInstanceCounts(ImmutableMap.of(TYPE, 3L));
+        long epoch = statistics.epoch();
+
+        statistics.commit(ImmutableMap.of(TYPE, 1L), ImmutableSet.of(), ImmutableList.of());
+        assertNotEquals(epoch, statistics.epoch());
+        epoch = statistics.epoch();
+
+        statistics.commit(ImmutableMap.of(TYPE, 1L), ImmutableSet.of(), ImmutableList.of());
+        assertEquals(epoch, statistics.epoch());
+    }
+}
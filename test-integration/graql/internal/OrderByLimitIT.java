@@ -0,0 +1,95 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal;
+
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.concept.AttributeType;
+import grakn.core.graql.concept.EntityType;
+import grakn.core.graql.query.Match;
+import grakn.core.graql.query.Order;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Transaction;
+import grakn.core.server.session.SessionImpl;
+import grakn.core.server.session.TransactionImpl;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static grakn.core.graql.query.Graql.var;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("CheckReturnValue")
+public class OrderByLimitIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    /**
+     * Compares ordering every answer and then taking the first, with ordering fused with the limit into a bounded
+     * heap, as the number of ordered attributes grows
+     */
+    @Test
+    public void orderByWithLimitOfIncreasingPopulation() {
+        final int limit = 10;
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+        for (int N : new int[]{1000, 5000, 20000}) {
+            SessionImpl session = server.sessionWithNewKeyspace();
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+                AttributeType<Long> age = tx.putAttributeType("age", AttributeType.DataType.LONG);
+                EntityType person = tx.putEntityType("person").has(age);
+                Random random = new Random(0);
+                for (int i = 0; i < N; i++) {
+                    person.create().has(age.create((long) random.nextInt(N)));
+                }
+                tx.commit();
+            }
+
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+                Match match = tx.graql().match(var("p").isa("person").has("age", var("a")));
+
+                List<ConceptMap> sorted = execute("N = " + N + " sorted",
+                        () -> match.orderBy("a", Order.desc).stream().limit(limit).collect(toList()));
+                List<ConceptMap> bounded = execute("N = " + N + " bounded",
+                        () -> match.orderBy("a", Order.desc).limit(limit).stream().collect(toList()));
+
+                assertEquals(limit, bounded.size());
+                assertEquals(
+                        sorted.stream().map(ans -> ans.get("a").asAttribute().value()).collect(toList()),
+                        bounded.stream().map(ans -> ans.get("a").asAttribute().value()).collect(toList()));
+            }
+            session.close();
+        }
+    }
+
+    private List<ConceptMap> execute(String msg, Supplier<List<ConceptMap>> query) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        final long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+        final long startTime = System.currentTimeMillis();
+        List<ConceptMap> results = query.get();
+        final long answerTime = System.currentTimeMillis() - startTime;
+        final long memory = runtime.totalMemory() - runtime.freeMemory() - usedMemory;
+        System.out.println(msg + " results = " + results.size() + " answerTime: " + answerTime + " memory: " + memory);
+        return results;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal;
+
+import com.google.common.collect.ImmutableList;
+import grakn.core.graql.answer.Value;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.Entity;
+import grakn.core.graql.concept.EntityType;
+import grakn.core.graql.concept.Label;
+import grakn.core.graql.concept.LabelId;
+import grakn.core.graql.concept.Relationship;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.concept.Thing;
+import grakn.core.graql.internal.gremlin.GreedyTraversalPlan;
+import grakn.core.graql.internal.gremlin.fragment.AbstractRolePlayerFragment;
+import grakn.core.graql.internal.gremlin.fragment.Fragment;
+import grakn.core.graql.internal.gremlin.fragment.InIsaFragment;
+import grakn.core.graql.internal.gremlin.fragment.OutRolePlayerFragment;
+import grakn.core.graql.query.AggregateQuery;
+import grakn.core.graql.query.ComputeQuery;
+import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Transaction;
+import grakn.core.server.session.SessionImpl;
+import grakn.core.server.session.TransactionImpl;
+import grakn.core.server.session.cache.KeyspaceStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static grakn.core.graql.query.Graql.and;
+import static grakn.core.graql.query.Graql.var;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("CheckReturnValue")
+public class StatisticsIT {
+
+    private static final int PEOPLE = 100;
+    private static final int COMPANIES = 5;
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private SessionImpl session;
+
+    @Before
+    public void loadSkewedData() {
+        session = server.sessionWithNewKeyspace();
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role employee = tx.putRole("employee");
+            Role employer = tx.putRole("employer");
+            RelationshipType employment = tx.putRelationshipType("employment").relates(employee).relates(employer);
+            EntityType person = tx.putEntityType("person").plays(employee);
+            EntityType company = tx.putEntityType("company").plays(employer);
+            Role owner = tx.putRole("owner");
+            tx.putRelationshipType("ownership").relates(owner);
+
+            List<Entity> companies = new ArrayList<>();
+            for (int i = 0; i < COMPANIES; i++) companies.add(company.create());
+            for (int i = 0; i < PEOPLE; i++) {
+                employment.create()
+                        .assign(employee, person.create())
+                        .assign(employer, companies.get(i % COMPANIES));
+            }
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenCountHasNotBeenComputed_InstanceCountsAreUnknown() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertFalse(session.statistics().instanceCount(tx.getEntityType("person").id()).isPresent());
+        }
+    }
+
+    @Test
+    public void whenCountIsComputed_RolePlayerStatisticsAreRebuiltFromTheData() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            long epoch = session.statistics().epoch();
+            tx.graql().<ComputeQuery<Value>>parse("compute count;").execute();
+
+            assertNotEquals(epoch, session.statistics().epoch());
+            assertRolePlayerStatisticsMatchTheData(tx, "employer");
+            assertRolePlayerStatisticsMatchTheData(tx, "employee");
+            assertEquals(Optional.of(0L),
+                    session.statistics().rolePlayers(roleId(tx, "owner")).map(KeyspaceStatistics.RolePlayerStatistics::edges));
+        }
+    }
+
+    @Test
+    public void whenCountIsComputed_InstanceCountsMatchTheData() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            tx.graql().<ComputeQuery<Value>>parse("compute count;").execute();
+
+            for (String type : ImmutableList.of("person", "company", "employment")) {
+                assertEquals(Optional.of(countDirectInstances(tx, type)),
+                        session.statistics().instanceCount(tx.getType(Label.of(type)).id()));
+            }
+        }
+    }
+
+    @Test
+    public void whenRolesAreCreatedInTheSession_RolePlayerStatisticsMatchTheData() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            KeyspaceStatistics.RolePlayerStatistics employers = session.statistics().rolePlayers(roleId(tx, "employer")).get();
+            assertEquals(PEOPLE, employers.edges());
+            assertEquals(COMPANIES, employers.players());
+            assertEquals((double) PEOPLE / COMPANIES, employers.averageFanOut(), 0.001);
+
+            KeyspaceStatistics.RolePlayerStatistics employees = session.statistics().rolePlayers(roleId(tx, "employee")).get();
+            assertEquals(PEOPLE, employees.edges());
+            assertEquals(PEOPLE, employees.players());
+            assertEquals(1D, employees.averageFanOut(), 0.001);
+        }
+    }
+
+    @Test
+    public void whenRolePlayersAreCommitted_RolePlayerStatisticsAreUpdated() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role employee = tx.getRole("employee");
+            Role employer = tx.getRole("employer");
+            Entity company = tx.getEntityType("company").instances().findFirst().get();
+            tx.getRelationshipType("employment").create()
+                    .assign(employee, tx.getEntityType("person").create())
+                    .assign(employer, company);
+            tx.commit();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertRolePlayerStatisticsMatchTheData(tx, "employer");
+            assertRolePlayerStatisticsMatchTheData(tx, "employee");
+            assertEquals(PEOPLE + 1, session.statistics().rolePlayers(roleId(tx, "employer")).get().edges());
+        }
+    }
+
+    @Test
+    public void whenRolePlayersAreDeleted_RolePlayerStatisticsAreUpdated() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            // deleting a company removes its employer edges, deleting a relationship removes all of its edges
+            tx.getEntityType("company").instances().findFirst().get().delete();
+            tx.getRelationshipType("employment").instances().findFirst().get().delete();
+            tx.commit();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertRolePlayerStatisticsMatchTheData(tx, "employer");
+            assertRolePlayerStatisticsMatchTheData(tx, "employee");
+            assertEquals(COMPANIES - 1, session.statistics().rolePlayers(roleId(tx, "employer")).get().players());
+        }
+    }
+
+    @Test
+    public void whenInstancesAreCommitted_InstanceCountsAreUpdated() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            tx.graql().<ComputeQuery<Value>>parse("compute count;").execute();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            EntityType person = tx.getEntityType("person");
+            person.create();
+            person.create();
+            person.instances().findFirst().get().delete();
+            tx.commit();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertEquals(Optional.of((long) PEOPLE + 1),
+                    session.statistics().instanceCount(tx.getEntityType("person").id()));
+            assertEquals(Optional.of(countDirectInstances(tx, "person")),
+                    session.statistics().instanceCount(tx.getEntityType("person").id()));
+        }
+    }
+
+    @Test
+    public void whenStatisticsAreKnown_PlanStartsFromTheTypeWithFewestInstances() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            tx.graql().<ComputeQuery<Value>>parse("compute count;").execute();
+
+            Pattern pattern = and(
+                    var("p").isaExplicit("person"),
+                    var("c").isaExplicit("company"),
+                    var().rel("employee", "p").rel("employer", "c").isaExplicit("employment"));
+            ImmutableList<Fragment> plan =
+                    GreedyTraversalPlan.createTraversal(pattern.admin(), tx).fragments().iterator().next();
+
+            Optional<Fragment> firstLookup = plan.stream().filter(InIsaFragment.class::isInstance).findFirst();
+            assertTrue(firstLookup.isPresent());
+            assertEquals(var("c"), firstLookup.get().end());
+        }
+    }
+
+    /**
+     * Compares the cost the planner estimates for every role-player fragment of a plan over skewed data with the
+     * average number of elements the fragment traverses to from each element it starts from
+     */
+    @Test
+    public void whenDataIsSkewed_EstimatedFragmentCostsMatchTheTraversedCardinalities() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            tx.graql().<ComputeQuery<Value>>parse("compute count;").execute();
+
+            Pattern pattern = and(
+                    var("p").isaExplicit("person"),
+                    var("c").isaExplicit("company"),
+                    var().rel("employee", "p").rel("employer", "c").isaExplicit("employment"));
+            ImmutableList<Fragment> plan =
+                    GreedyTraversalPlan.createTraversal(pattern.admin(), tx).fragments().iterator().next();
+
+            int compared = 0;
+            for (Fragment fragment : plan) {
+                if (!(fragment instanceof AbstractRolePlayerFragment)) continue;
+
+                double estimated = Math.expm1(fragment.estimatedFragmentCost(tx).get());
+                double actual = traversedCardinality(tx, fragment);
+                System.out.println(fragment + " estimated: " + estimated + " actual: " + actual);
+                assertEquals(actual, estimated, 0.001);
+                compared++;
+            }
+            assertTrue(compared > 0);
+        }
+    }
+
+    /**
+     * @return the average number of role players of an employment playing the role of the player of the fragment,
+     * or the average number of employments the players of the fragment play their role in
+     */
+    private static double traversedCardinality(TransactionImpl<?> tx, Fragment fragment) {
+        boolean fromRelationship = fragment instanceof OutRolePlayerFragment;
+        Var player = fromRelationship ? fragment.end() : fragment.start();
+        Role role = tx.getRole(player.equals(var("p")) ? "employee" : "employer");
+        if (fromRelationship) {
+            return tx.getRelationshipType("employment").instances()
+                    .mapToLong(relationship -> relationship.rolePlayers(role).count())
+                    .average().getAsDouble();
+        } else {
+            return tx.getEntityType(player.equals(var("p")) ? "person" : "company").instances()
+                    .mapToLong(thing -> thing.relationships(role).count())
+                    .average().getAsDouble();
+        }
+    }
+
+    private static LabelId roleId(TransactionImpl<?> tx, String role) {
+        return tx.convertToId(Label.of(role));
+    }
+
+    private void assertRolePlayerStatisticsMatchTheData(TransactionImpl<?> tx, String role) {
+        long edges = 0;
+        Map<ConceptId, Long> fanOuts = new HashMap<>();
+        for (Relationship relationship : tx.getRole(role).relationships()
+                .flatMap(RelationshipType::instances).collect(Collectors.toSet())) {
+            for (Thing player : relationship.rolePlayers(tx.getRole(role)).collect(Collectors.toList())) {
+                edges++;
+                fanOuts.merge(player.id(), 1L, Long::sum);
+            }
+        }
+        long[] histogram = new long[Long.SIZE];
+        fanOuts.values().forEach(fanOut -> histogram[Long.SIZE - 1 - Long.numberOfLeadingZeros(fanOut)]++);
+
+        KeyspaceStatistics.RolePlayerStatistics statistics = session.statistics().rolePlayers(roleId(tx, role)).get();
+        assertEquals(edges, statistics.edges());
+        assertEquals(fanOuts.size(), statistics.players());
+        assertArrayEquals(histogram, statistics.histogram());
+    }
+
+    private static long countDirectInstances(TransactionImpl<?> tx, String type) {
+        return tx.graql().<AggregateQuery<Value>>parse("match $x isa! " + type + "; aggregate count;")
+                .execute().get(0).number().longValue();
+    }
+}
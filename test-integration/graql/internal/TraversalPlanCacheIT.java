@@ -0,0 +1,170 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.internal;
+
+import com.google.common.collect.ImmutableList;
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.answer.Value;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.Entity;
+import grakn.core.graql.concept.EntityType;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.internal.gremlin.GreedyTraversalPlan;
+import grakn.core.graql.internal.gremlin.fragment.Fragment;
+import grakn.core.graql.internal.gremlin.fragment.InIsaFragment;
+import grakn.core.graql.query.ComputeQuery;
+import grakn.core.graql.query.GetQuery;
+import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.graql.query.pattern.Var;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Transaction;
+import grakn.core.server.session.SessionImpl;
+import grakn.core.server.session.TransactionImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.List;
+
+import static grakn.core.graql.query.Graql.and;
+import static grakn.core.graql.query.Graql.var;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("CheckReturnValue")
+public class TraversalPlanCacheIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private SessionImpl session;
+    private ConceptId alice;
+    private ConceptId bob;
+
+    @Before
+    public void loadData() {
+        session = server.sessionWithNewKeyspace();
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role employee = tx.putRole("employee");
+            Role employer = tx.putRole("employer");
+            RelationshipType employment = tx.putRelationshipType("employment").relates(employee).relates(employer);
+            EntityType person = tx.putEntityType("person").plays(employee);
+            EntityType company = tx.putEntityType("company").plays(employer);
+
+            Entity alice = person.create();
+            Entity bob = person.create();
+            employment.create().assign(employee, alice).assign(employer, company.create());
+            employment.create().assign(employee, bob).assign(employer, company.create());
+            this.alice = alice.id();
+            this.bob = bob.id();
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    private List<ConceptMap> employersOf(TransactionImpl<?> tx, ConceptId person) {
+        return tx.graql().<GetQuery>parse(
+                "match $x id " + person + "; $x isa person; $y isa company; ($x, $y); get;").execute();
+    }
+
+    @Test
+    public void whenQueryIsSentWithDifferentIds_ThePlanIsReused() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertEquals(1, employersOf(tx, alice).size());
+            long plansMade = session.planCache().plansMade();
+
+            assertEquals(1, employersOf(tx, bob).size());
+            assertEquals(plansMade, session.planCache().plansMade());
+        }
+    }
+
+    @Test
+    public void whenSchemaChanges_PlansAreMadeAgainWithTheNewSchema() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertEquals(1, employersOf(tx, alice).size());
+        }
+
+        // the relationship between a person and a company can no longer be inferred to be an employment
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role owner = tx.putRole("owner");
+            Role owned = tx.putRole("owned");
+            RelationshipType ownership = tx.putRelationshipType("ownership").relates(owner).relates(owned);
+            tx.getEntityType("person").plays(owner);
+            tx.getEntityType("company").plays(owned);
+            ownership.create().assign(owner, tx.getConcept(alice)).assign(owned, tx.getEntityType("company").create());
+            tx.commit();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertEquals(2, employersOf(tx, alice).size());
+        }
+    }
+
+    @Test
+    public void whenDataBecomesSkewed_PlansAreMadeAgainWithTheNewStatistics() {
+        // there are fewer companies than people, and fewer people than employments
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role employee = tx.getRole("employee");
+            Role employer = tx.getRole("employer");
+            RelationshipType employment = tx.getRelationshipType("employment");
+            EntityType company = tx.getEntityType("company");
+            Entity first = company.create();
+            Entity second = company.create();
+            for (int i = 0; i < 30; i++) {
+                Entity person = tx.getEntityType("person").create();
+                employment.create().assign(employee, person).assign(employer, first);
+                employment.create().assign(employee, person).assign(employer, second);
+            }
+            tx.commit();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            tx.graql().<ComputeQuery<Value>>parse("compute count;").execute();
+            assertEquals(var("c"), firstLookup(tx));
+        }
+
+        // there are now many more companies than people
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            EntityType company = tx.getEntityType("company");
+            for (int i = 0; i < 300; i++) company.create();
+            tx.commit();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertEquals(var("p"), firstLookup(tx));
+        }
+    }
+
+    /**
+     * @return the variable whose instances are looked up first by the plan of a query joining people and companies
+     */
+    private static Var firstLookup(TransactionImpl<?> tx) {
+        Pattern pattern = and(
+                var("p").isaExplicit("person"),
+                var("c").isaExplicit("company"),
+                var().rel("employee", "p").rel("employer", "c").isaExplicit("employment"));
+        ImmutableList<Fragment> plan = GreedyTraversalPlan.createTraversal(pattern.admin(), tx).fragments().iterator().next();
+        return plan.stream().filter(InIsaFragment.class::isInstance).findFirst().get().end();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.reasoner;
+
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.internal.reasoner.rule.RuleDependencyGraph;
+import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Transaction;
+import grakn.core.server.session.SessionImpl;
+import grakn.core.server.session.TransactionImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("CheckReturnValue")
+public class RuleDependencyGraphIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private SessionImpl session;
+
+    @Before
+    public void loadSchema() {
+        session = server.sessionWithNewKeyspace();
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role friend = tx.putRole("friend");
+            Role knower = tx.putRole("knower");
+            Role known = tx.putRole("known");
+            Role acquaintance = tx.putRole("acquaintance");
+            Role ancestor = tx.putRole("ancestor");
+            Role descendant = tx.putRole("descendant");
+            Role member = tx.putRole("member");
+            tx.putRelationshipType("friendship").relates(friend);
+            tx.putRelationshipType("knows").relates(knower).relates(known);
+            tx.putRelationshipType("acquaintanceship").relates(acquaintance);
+            tx.putRelationshipType("ancestry").relates(ancestor).relates(descendant);
+            tx.putRelationshipType("membership").relates(member).isAbstract(true);
+            tx.putEntityType("person").plays(friend).plays(knower).plays(known).plays(acquaintance)
+                    .plays(ancestor).plays(descendant).plays(member);
+
+            putRule(tx, "friends-know-each-other",
+                    "{(friend: $x, friend: $y) isa friendship;}", "{(knower: $x, known: $y) isa knows;}");
+            putRule(tx, "people-who-know-each-other-are-acquainted",
+                    "{(knower: $x, known: $y) isa knows;}", "{(acquaintance: $x, acquaintance: $y) isa acquaintanceship;}");
+            putRule(tx, "ancestry-is-transitive",
+                    "{(ancestor: $x, descendant: $y) isa ancestry; (ancestor: $y, descendant: $z) isa ancestry;}",
+                    "{(ancestor: $x, descendant: $z) isa ancestry;}");
+            putRule(tx, "ancestors-know-descendants",
+                    "{(ancestor: $x, descendant: $y) isa ancestry;}", "{(knower: $x, known: $y) isa knows;}");
+            putRule(tx, "members-are-friends",
+                    "{(member: $x, member: $y) isa membership;}", "{(friend: $x, friend: $y) isa friendship;}");
+            tx.commit();
+        }
+    }
+
+    private static void putRule(TransactionImpl<?> tx, String label, String when, String then) {
+        Pattern whenPattern = tx.graql().parser().parsePattern(when);
+        Pattern thenPattern = tx.graql().parser().parsePattern(then);
+        tx.putRule(label, whenPattern, thenPattern);
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenRulesDependOnEachOther_TheyAreStratified() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            RuleDependencyGraph graph = tx.ruleCache().dependencyGraph();
+            assertEquals(0, graph.stratum(tx.getRule("members-are-friends")));
+            assertEquals(1, graph.stratum(tx.getRule("friends-know-each-other")));
+            assertEquals(0, graph.stratum(tx.getRule("ancestry-is-transitive")));
+            assertEquals(1, graph.stratum(tx.getRule("ancestors-know-descendants")));
+            assertEquals(2, graph.stratum(tx.getRule("people-who-know-each-other-are-acquainted")));
+            assertEquals(3, graph.strata());
+        }
+    }
+
+    @Test
+    public void whenARuleDependsOnItself_ItIsRecursive() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            RuleDependencyGraph graph = tx.ruleCache().dependencyGraph();
+            assertTrue(graph.isRecursive(tx.getRule("ancestry-is-transitive")));
+            assertFalse(graph.isRecursive(tx.getRule("ancestors-know-descendants")));
+            assertTrue(graph.dependsOnRecursion(tx.getRule("ancestors-know-descendants")));
+            assertTrue(graph.dependsOnRecursion(tx.getRule("people-who-know-each-other-are-acquainted")));
+            assertFalse(graph.dependsOnRecursion(tx.getRule("friends-know-each-other")));
+        }
+    }
+
+    @Test
+    public void whenTheBodyOfARuleCannotHaveInstances_TheRuleIsDead() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            RuleDependencyGraph graph = tx.ruleCache().dependencyGraph();
+            assertTrue(graph.isDead(tx.getRule("members-are-friends")));
+            assertFalse(graph.isDead(tx.getRule("friends-know-each-other")));
+            assertFalse(graph.isDead(tx.getRule("ancestry-is-transitive")));
+        }
+    }
+
+    @Test
+    public void whenTheSchemaIsUnchanged_TheGraphIsShared_UntilACommitChangesIt() {
+        RuleDependencyGraph graph;
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            graph = tx.ruleCache().dependencyGraph();
+        }
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertSame(graph, tx.ruleCache().dependencyGraph());
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            putRule(tx, "acquaintances-are-friends",
+                    "{(acquaintance: $x, acquaintance: $y) isa acquaintanceship;}", "{(friend: $x, friend: $y) isa friendship;}");
+            tx.commit();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            RuleDependencyGraph changedGraph = tx.ruleCache().dependencyGraph();
+            assertNotSame(graph, changedGraph);
+            assertTrue(changedGraph.isRecursive(tx.getRule("friends-know-each-other")));
+        }
+    }
+
+    @Test
+    public void whenTheSchemaChangesAfterATransactionIsOpened_TheGraphItBuildsIsNotSharedWithLaterTransactions() throws Exception {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                executor.submit(() -> {
+                    try (TransactionImpl<?> write = session.transaction(Transaction.Type.WRITE)) {
+                        putRule(write, "acquaintances-are-friends",
+                                "{(acquaintance: $x, acquaintance: $y) isa acquaintanceship;}", "{(friend: $x, friend: $y) isa friendship;}");
+                        write.commit();
+                    }
+                }).get();
+            } finally {
+                executor.shutdown();
+            }
+
+            tx.ruleCache().dependencyGraph();
+        }
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertTrue(tx.ruleCache().dependencyGraph().isRecursive(tx.getRule("friends-know-each-other")));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.reasoner;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.concept.AttributeType;
+import grakn.core.graql.concept.ConceptId;
+import grakn.core.graql.concept.EntityType;
+import grakn.core.graql.concept.Relationship;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.concept.Thing;
+import grakn.core.graql.internal.Schema;
+import grakn.core.graql.query.GetQuery;
+import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Transaction;
+import grakn.core.server.session.SessionImpl;
+import grakn.core.server.session.TransactionImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("CheckReturnValue")
+public class RuleMaterialiserIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private SessionImpl session;
+
+    private static SessionImpl sessionMaterialising(String rules) {
+        Config config = server.copyOfConfig();
+        config.setConfigProperty(ConfigKey.REASONER_MATERIALISED_RULES, rules);
+        return server.sessionWithNewKeyspace(config);
+    }
+
+    @Before
+    public void loadData() {
+        session = sessionMaterialising("friends-know-each-other");
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role friend = tx.putRole("friend");
+            Role knower = tx.putRole("knower");
+            Role known = tx.putRole("known");
+            RelationshipType friendship = tx.putRelationshipType("friendship").relates(friend);
+            tx.putRelationshipType("knows").relates(knower).relates(known);
+            EntityType person = tx.putEntityType("person").plays(friend).plays(knower).plays(known);
+
+            Pattern when = tx.graql().parser().parsePattern("{(friend: $x, friend: $y) isa friendship;}");
+            Pattern then = tx.graql().parser().parsePattern("{(knower: $x, known: $y) isa knows;}");
+            tx.putRule("friends-know-each-other", when, then);
+
+            friendship.create().assign(friend, person.create()).assign(friend, person.create());
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    private long storedKnows() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            return tx.getRelationshipType("knows").instances().filter(Thing::isInferred).count();
+        }
+    }
+
+    private long inferredKnows() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            return tx.graql().infer(true).<GetQuery>parse("match (knower: $x, known: $y) isa knows; get;").stream().count();
+        }
+    }
+
+    @Test
+    public void whenARuleIsMaterialised_ItsConsequencesAreStoredAndRead() {
+        assertEquals(2, storedKnows());
+        assertEquals(2, inferredKnows());
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            assertTrue(tx.ruleCache().isMaterialised(tx.getRule("friends-know-each-other")));
+        }
+    }
+
+    @Test
+    public void whenACommitAddsToTheBodyOfAMaterialisedRule_TheMissingConsequencesAreStored() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role friend = tx.getRole("friend");
+            EntityType person = tx.getEntityType("person");
+            tx.getRelationshipType("friendship").create().assign(friend, person.create()).assign(friend, person.create());
+            tx.commit();
+        }
+
+        assertEquals(4, storedKnows());
+        assertEquals(4, inferredKnows());
+    }
+
+    @Test
+    public void whenACommitRemovesFromTheBodyOfAMaterialisedRule_TheStaleConsequencesAreDeleted() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.getRelationshipType("friendship").instances().forEach(Relationship::delete);
+            tx.commit();
+        }
+
+        assertEquals(0, storedKnows());
+        assertEquals(0, inferredKnows());
+    }
+
+    @Test
+    public void whenATransactionChangesTheBodyOfAMaterialisedRule_TheRuleIsResolvedUntilItCommits() {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role friend = tx.getRole("friend");
+            EntityType person = tx.getEntityType("person");
+            tx.getRelationshipType("friendship").create().assign(friend, person.create()).assign(friend, person.create());
+
+            assertEquals(4, tx.graql().infer(true).<GetQuery>parse("match (knower: $x, known: $y) isa knows; get;").stream().count());
+        }
+    }
+
+    @Test
+    public void whenACommitAddsToTheBodyOfARecursiveMaterialisedRule_OnlyTheMissingConsequencesAreStored() {
+        try (SessionImpl session = sessionMaterialising("links-reach, reach-is-transitive")) {
+            ConceptId last;
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+                Role from = tx.putRole("from");
+                Role to = tx.putRole("to");
+                RelationshipType link = tx.putRelationshipType("link").relates(from).relates(to);
+                tx.putRelationshipType("reach").relates(from).relates(to);
+                EntityType node = tx.putEntityType("node").plays(from).plays(to);
+
+                tx.putRule("links-reach",
+                        tx.graql().parser().parsePattern("{(from: $x, to: $y) isa link;}"),
+                        tx.graql().parser().parsePattern("{(from: $x, to: $y) isa reach;}"));
+                tx.putRule("reach-is-transitive",
+                        tx.graql().parser().parsePattern("{(from: $x, to: $y) isa reach; (from: $y, to: $z) isa reach;}"),
+                        tx.graql().parser().parsePattern("{(from: $x, to: $z) isa reach;}"));
+
+                Thing a = node.create();
+                Thing b = node.create();
+                Thing c = node.create();
+                link.create().assign(from, a).assign(to, b);
+                link.create().assign(from, b).assign(to, c);
+                last = c.id();
+                tx.commit();
+            }
+            assertEquals(3, stored(session, "reach"));
+            Set<ConceptId> reached = storedIds(session, "reach");
+
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+                Thing d = tx.getEntityType("node").create();
+                tx.getRelationshipType("link").create()
+                        .assign(tx.getRole("from"), tx.getConcept(last))
+                        .assign(tx.getRole("to"), d);
+                tx.commit();
+            }
+
+            assertEquals(6, stored(session, "reach"));
+            assertTrue(storedIds(session, "reach").containsAll(reached));
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+                assertTrue(tx.ruleCache().isMaterialised(tx.getRule("reach-is-transitive")));
+                assertEquals(6, tx.graql().infer(true).<GetQuery>parse("match (from: $x, to: $y) isa reach; get;").stream().count());
+            }
+        }
+    }
+
+    @Test
+    public void whenAMaterialisedRuleConcludesAnAttribute_TheAttributesOfItsConsequencesAreStored() {
+        try (SessionImpl session = sessionMaterialising("friends-are-social")) {
+            ConceptId first;
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+                Role friend = tx.putRole("friend");
+                RelationshipType friendship = tx.putRelationshipType("friendship").relates(friend);
+                AttributeType<String> trait = tx.putAttributeType("trait", AttributeType.DataType.STRING);
+                EntityType person = tx.putEntityType("person").plays(friend).has(trait);
+
+                tx.putRule("friends-are-social",
+                        tx.graql().parser().parsePattern("{(friend: $x, friend: $y) isa friendship;}"),
+                        tx.graql().parser().parsePattern("{$x has trait \"social\";}"));
+
+                Thing a = person.create();
+                friendship.create().assign(friend, a).assign(friend, person.create());
+                first = a.id();
+                tx.commit();
+            }
+            String hasTrait = Schema.ImplicitType.HAS.getLabel("trait").getValue();
+            assertEquals(2, stored(session, hasTrait));
+
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+                Role friend = tx.getRole("friend");
+                tx.getRelationshipType("friendship").create()
+                        .assign(friend, tx.getConcept(first))
+                        .assign(friend, tx.getEntityType("person").create());
+                tx.commit();
+            }
+
+            assertEquals(3, stored(session, hasTrait));
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+                assertTrue(tx.ruleCache().isMaterialised(tx.getRule("friends-are-social")));
+                assertEquals(3, tx.graql().infer(true).<GetQuery>parse("match $x has trait \"social\"; get;").stream().count());
+            }
+        }
+    }
+
+    private static long stored(SessionImpl session, String relationshipType) {
+        return storedIds(session, relationshipType).size();
+    }
+
+    private static Set<ConceptId> storedIds(SessionImpl session, String relationshipType) {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            return tx.getRelationshipType(relationshipType).instances()
+                    .filter(Thing::isInferred)
+                    .map(Thing::id)
+                    .collect(toSet());
+        }
+    }
+}
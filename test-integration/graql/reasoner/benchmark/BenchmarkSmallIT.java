@@ -18,6 +18,8 @@
 
 package grakn.core.graql.reasoner.benchmark;
 
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
 import grakn.core.graql.concept.Concept;
 import grakn.core.graql.concept.Entity;
 import grakn.core.graql.concept.EntityType;
@@ -26,11 +28,19 @@ import grakn.core.graql.concept.Role;
 import grakn.core.graql.query.GetQuery;
 import grakn.core.graql.query.Graql;
 import grakn.core.graql.query.QueryBuilder;
+import grakn.core.graql.query.pattern.Conjunction;
+import grakn.core.graql.query.pattern.Patterns;
 import grakn.core.graql.query.pattern.Var;
 import grakn.core.graql.query.pattern.VarPattern;
+import grakn.core.graql.query.pattern.VarPatternAdmin;
 import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.internal.reasoner.ResolutionIterator;
+import grakn.core.graql.internal.reasoner.query.ReasonerQueries;
+import grakn.core.graql.internal.reasoner.query.ReasonerQueryImpl;
 import grakn.core.server.Session;
 import grakn.core.server.Transaction;
+import grakn.core.server.session.SessionImpl;
+import grakn.core.server.session.TransactionImpl;
 import grakn.core.graql.reasoner.graph.DiagonalGraph;
 import grakn.core.graql.reasoner.graph.LinearTransitivityMatrixGraph;
 import grakn.core.graql.reasoner.graph.PathTreeGraph;
@@ -41,7 +51,9 @@ import org.junit.ClassRule;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Set;
 
+import static java.util.stream.Collectors.toSet;
 import static org.junit.Assert.assertEquals;
 
 @SuppressWarnings("CheckReturnValue")
@@ -386,6 +398,129 @@ public class BenchmarkSmallIT {
         session.close();
     }
 
+    /**
+     * Compares naive and semi-naive evaluation of the linear transitivity rules on chains of increasing depth:
+     *
+     * (Q-from: $x, Q-to: $y) isa Q;
+     * ->
+     * (P-from: $x, P-to: $y) isa P;
+     *
+     * (Q-from: $x, Q-to: $z) isa Q;
+     * (P-from: $z, P-to: $y) isa P;
+     * ->
+     * (P-from: $x, P-to: $y) isa P;
+     *
+     * with the initial data arranged in a chain of length N:
+     *
+     *  a_{i} -  Q  - a_{i + 1}
+     *
+     *  i e [0, N)
+     */
+    @Test
+    public void testLinearTransitiveChainOfIncreasingDepth() {
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+        for (int N : new int[]{10, 20, 40, 80}) {
+            Session session = server.sessionWithNewKeyspace();
+            new LinearTransitivityMatrixGraph(session).load(N, 1);
+
+            String patternString = "{(P-from: $x, P-to: $y) isa P;}";
+            long naiveAnswers;
+            try (TransactionImpl<?> tx = (TransactionImpl<?>) session.transaction(Transaction.Type.WRITE)) {
+                naiveAnswers = resolve(ReasonerQueries.create(conjunction(patternString, tx), tx), false, "N = " + N + " naive");
+            }
+            long semiNaiveAnswers;
+            try (TransactionImpl<?> tx = (TransactionImpl<?>) session.transaction(Transaction.Type.WRITE)) {
+                semiNaiveAnswers = resolve(ReasonerQueries.create(conjunction(patternString, tx), tx), true, "N = " + N + " semi-naive");
+            }
+            assertEquals(N * (N + 1) / 2, naiveAnswers);
+            assertEquals(naiveAnswers, semiNaiveAnswers);
+            session.close();
+        }
+    }
+
+    /**
+     * Compares the two ways a commit keeps the consequences of a materialised rule up to date, as a function of the
+     * number k of friendships it adds to a knowledge base of N friendships:
+     *
+     * (friend: $x, friend: $y) isa friendship; -> (knower: $x, known: $y) isa knows;
+     *
+     * - seeded: the rule is resolved from every thing given new facts,
+     * - full: the consequences of the rule are derived from all of its body.
+     *
+     * The seeded path is used as long as the commit gives new facts to at most reasoner.materialised-rules.max-seeds
+     * things, which is where the two take the same time.
+     */
+    @Test
+    public void testMaterialisedRuleMaintenance() {
+        System.out.println(new Object(){}.getClass().getEnclosingMethod().getName());
+        for (int N : new int[]{500, 2000}) {
+            for (int k : new int[]{10, 100, 250, 500}) {
+                maintainMaterialisedRule(N, k, Integer.MAX_VALUE, "seeded");
+                maintainMaterialisedRule(N, k, 0, "full");
+            }
+        }
+    }
+
+    private void maintainMaterialisedRule(int N, int k, int maxSeeds, String msg) {
+        Config config = server.copyOfConfig();
+        config.setConfigProperty(ConfigKey.REASONER_MATERIALISED_RULES, "friends-know-each-other");
+        config.setConfigProperty(ConfigKey.REASONER_MATERIALISED_RULES_MAX_SEEDS, maxSeeds);
+        try (SessionImpl session = server.sessionWithNewKeyspace(config)) {
+            try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                Role friend = tx.putRole("friend");
+                Role knower = tx.putRole("knower");
+                Role known = tx.putRole("known");
+                tx.putRelationshipType("friendship").relates(friend);
+                tx.putRelationshipType("knows").relates(knower).relates(known);
+                tx.putEntityType("person").plays(friend).plays(knower).plays(known);
+                tx.putRule("friends-know-each-other",
+                        tx.graql().parser().parsePattern("{(friend: $x, friend: $y) isa friendship;}"),
+                        tx.graql().parser().parsePattern("{(knower: $x, known: $y) isa knows;}"));
+                tx.commit();
+            }
+            try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+                befriend(tx, N);
+                tx.commit();
+            }
+
+            try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+                befriend(tx, k);
+                int seeds = tx.txCache().getThingsWithNewFacts().size();
+                final long startTime = System.currentTimeMillis();
+                tx.commit();
+                final long commitTime = System.currentTimeMillis() - startTime;
+                System.out.println("N = " + N + " k = " + k + " seeds = " + seeds + " " + msg + " commitTime: " + commitTime);
+            }
+            try (Transaction tx = session.transaction(Transaction.Type.READ)) {
+                assertEquals(2 * (N + k), tx.getRelationshipType("knows").instances().count());
+            }
+        }
+    }
+
+    private void befriend(Transaction tx, int friendships) {
+        Role friend = tx.getRole("friend");
+        EntityType person = tx.getEntityType("person");
+        RelationshipType friendship = tx.getRelationshipType("friendship");
+        for (int i = 0; i < friendships; i++) {
+            friendship.create().assign(friend, person.create()).assign(friend, person.create());
+        }
+    }
+
+    private long resolve(ReasonerQueryImpl query, boolean semiNaive, String msg) {
+        final long startTime = System.currentTimeMillis();
+        long answers = new ResolutionIterator(query, semiNaive).hasStream().count();
+        final long answerTime = System.currentTimeMillis() - startTime;
+        System.out.println(msg + " results = " + answers + " answerTime: " + answerTime);
+        return answers;
+    }
+
+    private Conjunction<VarPatternAdmin> conjunction(String patternString, Transaction tx){
+        Set<VarPatternAdmin> vars = tx.graql().parser().parsePattern(patternString).admin()
+                .getDisjunctiveNormalForm().getPatterns()
+                .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
+        return Patterns.conjunction(vars);
+    }
+
     private List<ConceptMap> executeQuery(String queryString, Transaction graph, String msg){
         return executeQuery(graph.graql().infer(true).parse(queryString), msg);
     }
@@ -0,0 +1,122 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package grakn.core.graql.reasoner.cache;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.concept.EntityType;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.query.GetQuery;
+import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Transaction;
+import grakn.core.server.session.SessionImpl;
+import grakn.core.server.session.TransactionImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("CheckReturnValue")
+public class ReasonerAnswerCacheIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private SessionImpl session;
+
+    @Before
+    public void loadData() {
+        Config config = server.copyOfConfig();
+        config.setConfigProperty(ConfigKey.REASONER_ANSWER_CACHE_MAX_ANSWERS, 1000L);
+        session = server.sessionWithNewKeyspace(config);
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role friend = tx.putRole("friend");
+            Role knower = tx.putRole("knower");
+            Role known = tx.putRole("known");
+            RelationshipType friendship = tx.putRelationshipType("friendship").relates(friend);
+            tx.putRelationshipType("knows").relates(knower).relates(known);
+            EntityType person = tx.putEntityType("person").plays(friend).plays(knower).plays(known);
+            tx.putEntityType("company");
+
+            Pattern when = tx.graql().parser().parsePattern("{(friend: $x, friend: $y) isa friendship;}");
+            Pattern then = tx.graql().parser().parsePattern("{(knower: $x, known: $y) isa knows;}");
+            tx.putRule("friends-know-each-other", when, then);
+
+            friendship.create().assign(friend, person.create()).assign(friend, person.create());
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    private List<ConceptMap> knows(String from, String to) {
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.READ)) {
+            return tx.graql().infer(true).<GetQuery>parse("match (knower: " + from + ", known: " + to + ") isa knows; get;").execute();
+        }
+    }
+
+    @Test
+    public void whenAlphaEquivalentQueryIsAskedByAnotherTransaction_TheAnswersAreReused() {
+        assertEquals(2, knows("$x", "$y").size());
+        assertEquals(1, session.answerCache().size());
+        long hits = session.answerCache().stats().hitCount();
+
+        List<ConceptMap> answers = knows("$a", "$b");
+        assertEquals(2, answers.size());
+        answers.forEach(answer -> assertEquals(2, answer.size()));
+        assertEquals(hits + 1, session.answerCache().stats().hitCount());
+    }
+
+    @Test
+    public void whenACommitChangesTheBodyOfARule_TheAnswersAreInferredAgain() {
+        assertEquals(2, knows("$x", "$y").size());
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            Role friend = tx.getRole("friend");
+            EntityType person = tx.getEntityType("person");
+            tx.getRelationshipType("friendship").create().assign(friend, person.create()).assign(friend, person.create());
+            tx.commit();
+        }
+
+        assertEquals(0, session.answerCache().size());
+        assertEquals(4, knows("$x", "$y").size());
+    }
+
+    @Test
+    public void whenACommitChangesUnrelatedTypes_TheAnswersStayCached() {
+        assertEquals(2, knows("$x", "$y").size());
+
+        try (TransactionImpl<?> tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.getEntityType("company").create();
+            tx.commit();
+        }
+
+        assertEquals(1, session.answerCache().size());
+        assertEquals(2, knows("$x", "$y").size());
+    }
+}
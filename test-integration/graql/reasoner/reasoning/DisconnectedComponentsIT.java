@@ -0,0 +1,157 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graql.reasoner.reasoning;
+
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.concept.Entity;
+import grakn.core.graql.concept.EntityType;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.graql.query.GetQuery;
+import grakn.core.graql.query.QueryBuilder;
+import grakn.core.graql.query.pattern.Pattern;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Session;
+import grakn.core.server.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the answers of a query part which shares no variable with the rest of a conjunction, and which are
+ * replayed to every answer of the rest once found, are the same as the combination of the answers of every part.
+ */
+@SuppressWarnings("CheckReturnValue")
+public class DisconnectedComponentsIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private static final String SHARING = "(sharer: $x, shared: $y) isa sharing;";
+    private static final String OTHER_SHARING = "(sharer: $a, shared: $b) isa sharing;";
+    private static final String FRIENDSHIP = "(friend: $a, friend: $b) isa friendship;";
+
+    private Session session;
+
+    @Before
+    public void loadData() {
+        session = server.sessionWithNewKeyspace();
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            Role friend = tx.putRole("friend");
+            Role owner = tx.putRole("owner");
+            Role owned = tx.putRole("owned");
+            Role sharer = tx.putRole("sharer");
+            Role shared = tx.putRole("shared");
+            RelationshipType friendship = tx.putRelationshipType("friendship").relates(friend);
+            RelationshipType ownership = tx.putRelationshipType("ownership").relates(owner).relates(owned);
+            tx.putRelationshipType("sharing").relates(sharer).relates(shared);
+            EntityType person = tx.putEntityType("person").plays(friend).plays(owner).plays(sharer);
+            EntityType item = tx.putEntityType("item").plays(owned).plays(shared);
+
+            Pattern when = tx.graql().parser().parsePattern("{(owner: $x, owned: $y) isa ownership;}");
+            Pattern then = tx.graql().parser().parsePattern("{" + SHARING + "}");
+            tx.putRule("owners-share", when, then);
+
+            Entity p0 = person.create();
+            Entity p1 = person.create();
+            Entity p2 = person.create();
+            Entity i0 = item.create();
+            Entity i1 = item.create();
+            Entity i2 = item.create();
+            friendship.create().assign(friend, p0).assign(friend, p1);
+            friendship.create().assign(friend, p1).assign(friend, p2);
+            ownership.create().assign(owner, p0).assign(owned, i0);
+            ownership.create().assign(owner, p0).assign(owned, i1);
+            ownership.create().assign(owner, p1).assign(owned, i1);
+            ownership.create().assign(owner, p2).assign(owned, i2);
+            tx.commit();
+        }
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void whenAPartCannotBeInferred_ItsAnswersAreCombinedWithEveryAnswerOfTheRest() {
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            QueryBuilder iqb = tx.graql().infer(true);
+
+            Set<ConceptMap> expected = crossProduct(
+                    iqb.<GetQuery>parse("match " + SHARING + " get;").execute(),
+                    tx.graql().infer(false).<GetQuery>parse("match " + FRIENDSHIP + " get;").execute());
+            assertEquals(16, expected.size());
+
+            List<ConceptMap> answers = iqb.<GetQuery>parse("match " + SHARING + FRIENDSHIP + " get;").execute();
+            assertEquals(expected.size(), answers.size());
+            assertEquals(expected, new HashSet<>(answers));
+        }
+    }
+
+    @Test
+    public void whenAPartCanBeInferred_ItIsResolvedForEveryAnswerOfTheRest() {
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            QueryBuilder iqb = tx.graql().infer(true);
+
+            Set<ConceptMap> expected = crossProduct(
+                    iqb.<GetQuery>parse("match " + SHARING + " get;").execute(),
+                    iqb.<GetQuery>parse("match " + OTHER_SHARING + " get;").execute());
+            assertEquals(16, expected.size());
+
+            List<ConceptMap> answers = iqb.<GetQuery>parse("match " + SHARING + OTHER_SHARING + " get;").execute();
+            assertEquals(expected.size(), answers.size());
+            assertEquals(expected, new HashSet<>(answers));
+        }
+    }
+
+    @Test
+    public void whenAQueryStopsBeforeAPartIsComplete_LaterQueriesStillGetEveryAnswer() {
+        try (Transaction tx = session.transaction(Transaction.Type.WRITE)) {
+            QueryBuilder iqb = tx.graql().infer(true);
+            String query = "match " + SHARING + FRIENDSHIP;
+
+            Set<ConceptMap> expected = crossProduct(
+                    iqb.<GetQuery>parse("match " + SHARING + " get;").execute(),
+                    tx.graql().infer(false).<GetQuery>parse("match " + FRIENDSHIP + " get;").execute());
+
+            for (int limit = 1; limit <= expected.size(); limit++) {
+                List<ConceptMap> limited = iqb.<GetQuery>parse(query + " limit " + limit + "; get;").execute();
+                assertEquals(limit, limited.size());
+                assertEquals(limit, new HashSet<>(limited).size());
+                assertTrue(expected.containsAll(limited));
+            }
+
+            assertEquals(expected, new HashSet<>(iqb.<GetQuery>parse(query + " get;").execute()));
+        }
+    }
+
+    private static Set<ConceptMap> crossProduct(List<ConceptMap> left, List<ConceptMap> right) {
+        return left.stream().flatMap(l -> right.stream().map(l::merge)).collect(toSet());
+    }
+}
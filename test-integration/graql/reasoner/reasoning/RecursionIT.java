@@ -18,8 +18,14 @@
 
 package grakn.core.graql.reasoner.reasoning;
 
+import grakn.core.graql.answer.ConceptMap;
+import grakn.core.graql.internal.reasoner.ResolutionIterator;
+import grakn.core.graql.internal.reasoner.query.ReasonerQueries;
 import grakn.core.graql.query.GetQuery;
 import grakn.core.graql.query.QueryBuilder;
+import grakn.core.graql.query.pattern.Conjunction;
+import grakn.core.graql.query.pattern.Patterns;
+import grakn.core.graql.query.pattern.VarPatternAdmin;
 import grakn.core.graql.reasoner.graph.DualLinearTransitivityMatrixGraph;
 import grakn.core.graql.reasoner.graph.LinearTransitivityMatrixGraph;
 import grakn.core.graql.reasoner.graph.NguyenGraph;
@@ -27,15 +33,21 @@ import grakn.core.graql.reasoner.graph.PathMatrixGraph;
 import grakn.core.graql.reasoner.graph.PathTreeGraph;
 import grakn.core.graql.reasoner.graph.PathTreeSymmetricGraph;
 import grakn.core.graql.reasoner.graph.TailRecursionGraph;
+import grakn.core.graql.reasoner.graph.TransitivityMatrixGraph;
 import grakn.core.rule.GraknTestServer;
 import grakn.core.server.Session;
 import grakn.core.server.Transaction;
 
+import grakn.core.server.session.TransactionImpl;
 import grakn.core.util.GraqlTestUtil;
+import java.util.Set;
 import org.junit.ClassRule;
 import org.junit.Test;
 
 import static grakn.core.util.GraqlTestUtil.assertQueriesEqual;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 @SuppressWarnings("CheckReturnValue")
 public class RecursionIT {
@@ -433,4 +445,55 @@ public class RecursionIT {
             }
         }
     }
+
+    /**
+     * Q(x, y) :- Q(x, z), Q(z, y)
+     *
+     * Semi-naive evaluation falls back to naive evaluation for rules with more than one recursive atom.
+     */
+    @Test
+    public void testSemiNaiveEvaluation_nonLinearRecursion(){
+        try(Session session = server.sessionWithNewKeyspace()) {
+            new TransitivityMatrixGraph(session).load(5, 5);
+            assertSemiNaiveEvaluationEquivalent(session, "{(Q-from: $x, Q-to: $y) isa Q;}");
+        }
+    }
+
+    /** test 6.1 from Cao p 71: Q1 and Q2 are mutually recursive*/
+    @Test
+    public void testSemiNaiveEvaluation_mutuallyRecursiveRules(){
+        try(Session session = server.sessionWithNewKeyspace()) {
+            new DualLinearTransitivityMatrixGraph(session).load(5, 5);
+            assertSemiNaiveEvaluationEquivalent(session, "{(Q1-from: $x, Q1-to: $y) isa Q1;}");
+        }
+    }
+
+    /** recursive rules joining the recursive atom with non-recursive ones, test3 from Nguyen and test 6.10 from Cao*/
+    @Test
+    public void testSemiNaiveEvaluation_conjunctiveRuleBodies(){
+        try(Session session = server.sessionWithNewKeyspace()) {
+            new NguyenGraph(session).load(9);
+            assertSemiNaiveEvaluationEquivalent(session, "{(N-rA: $x, N-rB: $y) isa N;}");
+        }
+        try(Session session = server.sessionWithNewKeyspace()) {
+            new PathTreeGraph(session).load(2, 3);
+            assertSemiNaiveEvaluationEquivalent(session, "{(path-from: $x, path-to: $y) isa path;}");
+        }
+    }
+
+    private void assertSemiNaiveEvaluationEquivalent(Session session, String patternString){
+        Set<ConceptMap> naiveAnswers = resolve(session, patternString, false);
+        assertFalse(naiveAnswers.isEmpty());
+        assertEquals(naiveAnswers, resolve(session, patternString, true));
+    }
+
+    private Set<ConceptMap> resolve(Session session, String patternString, boolean semiNaive){
+        try(TransactionImpl<?> tx = (TransactionImpl<?>) session.transaction(Transaction.Type.WRITE)) {
+            Set<VarPatternAdmin> vars = tx.graql().parser().parsePattern(patternString).admin()
+                    .getDisjunctiveNormalForm().getPatterns()
+                    .stream().flatMap(p -> p.getPatterns().stream()).collect(toSet());
+            Conjunction<VarPatternAdmin> pattern = Patterns.conjunction(vars);
+            return new ResolutionIterator(ReasonerQueries.create(pattern, tx), semiNaive).hasStream().collect(toSet());
+        }
+    }
 }
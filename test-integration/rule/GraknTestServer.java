@@ -6,10 +6,13 @@ import grakn.core.server.GraknStorage;
 import grakn.core.server.deduplicator.AttributeDeduplicatorDaemon;
 import grakn.core.server.keyspace.Keyspace;
 import grakn.core.server.keyspace.KeyspaceManager;
+import grakn.core.server.metrics.MetricsHttpServer;
+import grakn.core.server.metrics.ServerMetrics;
 import grakn.core.server.rpc.KeyspaceService;
 import grakn.core.server.rpc.OpenRequest;
 import grakn.core.server.rpc.ServerOpenRequest;
 import grakn.core.server.rpc.SessionService;
+import grakn.core.server.rpc.TransactionExecutorPool;
 import grakn.core.server.session.SessionImpl;
 import grakn.core.server.session.SessionStore;
 import grakn.core.server.util.ServerID;
@@ -33,6 +36,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Properties;
 import java.util.UUID;
 
 /**
@@ -53,6 +57,7 @@ public class GraknTestServer extends ExternalResource {
     private int rpcPort;
     private int nativeTransportPort;
     private int grpcPort;
+    private int metricsPort;
 
     private SessionStore sessionStore;
 
@@ -74,6 +79,7 @@ public class GraknTestServer extends ExternalResource {
 
             //Start Grakn server
             grpcPort = findUnusedLocalPort();
+            metricsPort = findUnusedLocalPort();
             dataDirTmp = Files.createTempDirectory("db-for-test");
             serverConfig = createTestConfig(dataDirTmp.toString());
             System.out.println("Starting Grakn Server...");
@@ -105,8 +111,24 @@ public class GraknTestServer extends ExternalResource {
     }
 
     public SessionImpl sessionWithNewKeyspace() {
+        return sessionWithNewKeyspace(serverConfig);
+    }
+
+    /**
+     * @param config a config of this server, such as a changed {@link #copyOfConfig()}
+     */
+    public SessionImpl sessionWithNewKeyspace(Config config) {
         Keyspace randomKeyspace = Keyspace.of("a" + UUID.randomUUID().toString().replaceAll("-", ""));
-        return SessionImpl.create(randomKeyspace, serverConfig);
+        return SessionImpl.create(randomKeyspace, config);
+    }
+
+    /**
+     * @return a copy of the config of this server, which can be changed without affecting the server
+     */
+    public Config copyOfConfig() {
+        Properties properties = new Properties();
+        properties.putAll(serverConfig.properties());
+        return Config.of(properties);
     }
 
     public SessionStore txFactory(){
@@ -152,6 +174,8 @@ public class GraknTestServer extends ExternalResource {
         config.setConfigProperty(ConfigKey.DATA_DIR, dataDir);
         //Override gRPC port with a random free port
         config.setConfigProperty(ConfigKey.GRPC_PORT, grpcPort);
+        //Override the metrics port with a random free port
+        config.setConfigProperty(ConfigKey.METRICS_PORT, metricsPort);
         //Override the default store.port with the RPC_PORT given that we still use Thrift protocol to talk to Cassandra
         config.setConfigProperty(ConfigKey.STORAGE_PORT, rpcPort);
         //Hadoop cluster uses the Astyanax driver for some operations, so need to override the RPC_PORT (Thrift)
@@ -162,7 +186,7 @@ public class GraknTestServer extends ExternalResource {
         return config;
     }
 
-    private Server createServer() {
+    private Server createServer() throws IOException {
         ServerID id = ServerID.me();
 
         // distributed locks
@@ -174,15 +198,19 @@ public class GraknTestServer extends ExternalResource {
         sessionStore = SessionStore.create(lockManager, serverConfig, keyspaceStore);
 
         AttributeDeduplicatorDaemon attributeDeduplicatorDaemon = new AttributeDeduplicatorDaemon(serverConfig, sessionStore);
+        ServerMetrics.register(attributeDeduplicatorDaemon);
         OpenRequest requestOpener = new ServerOpenRequest(sessionStore);
+        TransactionExecutorPool transactionPool = TransactionExecutorPool.create(serverConfig);
+        ServerMetrics.register(transactionPool);
 
         io.grpc.Server serverRPC = ServerBuilder.forPort(grpcPort)
-                .addService(new SessionService(requestOpener, attributeDeduplicatorDaemon))
-                .addService(new KeyspaceService(keyspaceStore))
+                .addService(new SessionService(requestOpener, attributeDeduplicatorDaemon, transactionPool))
+                .addService(new KeyspaceService(keyspaceStore, attributeDeduplicatorDaemon))
                 .build();
 
         return ServerFactory.createServer(id, serverConfig, serverRPC,
-                                          lockManager, attributeDeduplicatorDaemon, keyspaceStore);
+                                          lockManager, attributeDeduplicatorDaemon, keyspaceStore, sessionStore,
+                                          MetricsHttpServer.create(serverConfig));
     }
 
 }
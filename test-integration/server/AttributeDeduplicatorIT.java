@@ -15,6 +15,8 @@ import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -23,6 +25,7 @@ import static grakn.core.graql.query.Graql.label;
 import static grakn.core.graql.query.Graql.var;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
 
 @SuppressWarnings("CheckReturnValue")
 public class AttributeDeduplicatorIT {
@@ -294,4 +297,55 @@ public class AttributeDeduplicatorIT {
             assertThat(owner, hasSize(3));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDeduplicateManyAttributesInASingleBatch() {
+        String ownedAttributeLabel = "owned-attribute";
+        List<String> ownedAttributeValues = Arrays.asList("value-1", "value-2", "value-3");
+
+        // define the schema
+        try (TransactionImpl tx = session.transaction(Transaction.Type.WRITE)) {
+            tx.graql().define(
+                    label(ownedAttributeLabel).sub("attribute").datatype(AttributeType.DataType.STRING),
+                    label("owner").sub("entity").has(ownedAttributeLabel)
+            ).execute();
+            tx.commit();
+        }
+
+        // insert 2 "owner" with each value, each "owner" having its own copy of the value
+        try (TransactionImpl tx = session.transaction(Transaction.Type.WRITE)) {
+            for (String value : ownedAttributeValues) {
+                tx.graql().insert(var().isa("owner").has(ownedAttributeLabel, value)).execute();
+                tx.graql().insert(var().isa("owner").has(ownedAttributeLabel, value)).execute();
+            }
+            tx.commit();
+        }
+
+        // deduplicate every value together, including a value which has no attribute
+        List<String> indices = new ArrayList<>();
+        for (String value : ownedAttributeValues) {
+            indices.add(Schema.generateAttributeIndex(Label.of(ownedAttributeLabel), value));
+        }
+        indices.add(Schema.generateAttributeIndex(Label.of(ownedAttributeLabel), "no-such-value"));
+        int merged = AttributeDeduplicator.deduplicate(txFactory, session.keyspace(), indices);
+
+        // verify
+        assertEquals(ownedAttributeValues.size(), merged);
+        try (TransactionImpl tx = session.transaction(Transaction.Type.READ)) {
+            for (String value : ownedAttributeValues) {
+                Set<String> owned = new HashSet<>();
+                Set<String> owner = new HashSet<>();
+                List<ConceptMap> conceptMaps = tx.graql().match(
+                        var("owned").isa(ownedAttributeLabel).val(value),
+                        var("owner").isa("owner").has(ownedAttributeLabel, var("owned"))).get().execute();
+                for (ConceptMap conceptMap : conceptMaps) {
+                    owned.add(conceptMap.get("owned").asAttribute().id().getValue());
+                    owner.add(conceptMap.get("owner").asEntity().id().getValue());
+                }
+
+                assertThat(owned, hasSize(1));
+                assertThat(owner, hasSize(2));
+            }
+        }
+    }
+}
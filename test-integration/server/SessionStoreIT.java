@@ -0,0 +1,113 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server;
+
+import grakn.core.graql.concept.EntityType;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.keyspace.Keyspace;
+import grakn.core.server.session.SessionStore;
+import grakn.core.server.session.TransactionImpl;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class SessionStoreIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    private SessionStore sessionStore;
+
+    @Before
+    public void setUp() {
+        sessionStore = server.txFactory();
+    }
+
+    @Test
+    public void whenOpeningTransactionsOnANewKeyspaceConcurrently_TheKeyspaceIsCreatedOnce() throws Exception {
+        Keyspace keyspace = randomKeyspace();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> openers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                openers.add(() -> {
+                    try (TransactionImpl<?> tx = sessionStore.tx(keyspace, Transaction.Type.READ)) {
+                        return tx.getMetaConcept() != null;
+                    }
+                });
+            }
+            for (Future<Boolean> opened : executor.invokeAll(openers)) {
+                assertTrue(opened.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(sessionStore.keyspaceStore().containsKeyspace(keyspace));
+        assertEquals(1, sessionStore.keyspaceStore().keyspaces().stream().filter(keyspace::equals).count());
+    }
+
+    @Test
+    public void whenWarmingUpKeyspaces_TheirSchemaCanBeReadStraightAway() {
+        Keyspace first = randomKeyspace();
+        Keyspace second = randomKeyspace();
+        for (Keyspace keyspace : Arrays.asList(first, second)) {
+            try (TransactionImpl<?> tx = sessionStore.tx(keyspace, Transaction.Type.WRITE)) {
+                tx.putEntityType("person");
+                tx.commit();
+            }
+        }
+
+        assertEquals(2, sessionStore.warmUp(Arrays.asList(first, second)));
+
+        for (Keyspace keyspace : Arrays.asList(first, second)) {
+            try (TransactionImpl<?> tx = sessionStore.tx(keyspace, Transaction.Type.READ)) {
+                EntityType person = tx.getEntityType("person");
+                assertNotNull(person);
+            }
+        }
+    }
+
+    @Test
+    public void whenWarmingUpAKeyspaceWhichDoesNotExist_ItIsNotCreated() {
+        Keyspace keyspace = randomKeyspace();
+
+        assertEquals(0, sessionStore.warmUp(Collections.singletonList(keyspace)));
+        assertFalse(sessionStore.keyspaceStore().containsKeyspace(keyspace));
+    }
+
+    private static Keyspace randomKeyspace() {
+        return Keyspace.of("a" + UUID.randomUUID().toString().replaceAll("-", ""));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * GRAKN.AI - THE KNOWLEDGE GRAPH
+ * Copyright (C) 2018 Grakn Labs Ltd
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.server.kb;
+
+import grakn.core.common.config.Config;
+import grakn.core.common.config.ConfigKey;
+import grakn.core.common.exception.ErrorMessage;
+import grakn.core.graql.concept.Attribute;
+import grakn.core.graql.concept.AttributeType;
+import grakn.core.graql.concept.Entity;
+import grakn.core.graql.concept.EntityType;
+import grakn.core.graql.concept.Relationship;
+import grakn.core.graql.concept.RelationshipType;
+import grakn.core.graql.concept.Role;
+import grakn.core.rule.GraknTestServer;
+import grakn.core.server.Session;
+import grakn.core.server.Transaction;
+import grakn.core.server.exception.InvalidKBException;
+import grakn.core.server.session.TransactionImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalValidationIT {
+
+    @ClassRule
+    public static final GraknTestServer server = new GraknTestServer();
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+    private Transaction tx;
+    private Session session;
+
+    private Role kicker;
+    private Role kickee;
+    private RelationshipType kicks;
+    private EntityType player;
+
+    @Before
+    public void setUp(){
+        Config config = server.copyOfConfig();
+        config.setConfigProperty(ConfigKey.INCREMENTAL_VALIDATION, true);
+        session = server.sessionWithNewKeyspace(config);
+        tx = session.transaction(Transaction.Type.WRITE);
+
+        kicker = tx.putRole("kicker");
+        kickee = tx.putRole("kickee");
+        kicks = tx.putRelationshipType("kicks").relates(kicker).relates(kickee);
+        player = tx.putEntityType("player").plays(kicker).plays(kickee);
+    }
+
+    @After
+    public void tearDown(){
+        tx.close();
+        session.close();
+    }
+
+    @Test
+    public void whenValidRolePlayersAreAdded_TheyAreNotKeptForCommit(){
+        kicks.create().assign(kicker, player.create()).assign(kickee, player.create());
+
+        assertTrue(((TransactionImpl<?>) tx).txCache().getModifiedCastings().isEmpty());
+        tx.commit();
+    }
+
+    @Test
+    public void whenARolePlayerCannotPlayItsRole_ThrowOnWrite(){
+        EntityType referee = tx.putEntityType("referee");
+        Entity ref = referee.create();
+        Relationship kick = kicks.create();
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(containsString(ErrorMessage.VALIDATION_CASTING.getMessage(referee.label(), ref.id(), kicker.label())));
+
+        kick.assign(kicker, ref);
+    }
+
+    @Test
+    public void whenARoleIsNotRelatedByTheRelationshipType_ThrowOnWrite(){
+        Role watcher = tx.putRole("watcher");
+        player.plays(watcher);
+        Relationship kick = kicks.create();
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(containsString(ErrorMessage.VALIDATION_RELATION_CASTING_LOOP_FAIL.getMessage(kick.id(), watcher.label(), kicks.label())));
+
+        kick.assign(watcher, player.create());
+    }
+
+    @Test
+    public void whenAThingIsGivenASecondKey_ThrowOnWrite(){
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        player.key(name);
+        Entity alice = player.create().has(name.create("Alice"));
+        Attribute<String> bob = name.create("Bob");
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(containsString(ErrorMessage.VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(alice.id(), name.label())));
+
+        alice.has(bob);
+    }
+
+    @Test
+    public void whenAThingIsMissingAKey_ThrowOnCommit(){
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        player.key(name);
+        Entity nameless = player.create();
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(containsString(ErrorMessage.VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(nameless.id(), name.label())));
+
+        tx.commit();
+    }
+
+    @Test
+    public void whenARoleIsUnplayedAfterItsRolePlayerWasAdded_ThrowOnCommit(){
+        Entity kicking = player.create();
+        kicks.create().assign(kicker, kicking).assign(kickee, player.create());
+        player.unplay(kicker);
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(containsString(ErrorMessage.VALIDATION_CASTING.getMessage(player.label(), kicking.id(), kicker.label())));
+
+        tx.commit();
+    }
+
+    @Test
+    public void whenARefusedRolePlayerIsIgnored_ThrowOnCommit(){
+        EntityType referee = tx.putEntityType("referee");
+        Entity ref = referee.create();
+        Relationship kick = kicks.create().assign(kickee, player.create());
+
+        try {
+            kick.assign(kicker, ref);
+        } catch (InvalidKBException e) {
+            // a careless loader carries on
+        }
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(containsString(ErrorMessage.VALIDATION_CASTING.getMessage(referee.label(), ref.id(), kicker.label())));
+
+        tx.commit();
+    }
+
+    @Test
+    public void whenARoleIsPlayedAfterARolePlayerWasRefused_TheRolePlayerIsValidOnCommit(){
+        Role watcher = tx.putRole("watcher");
+        kicks.relates(watcher);
+        Relationship kick = kicks.create().assign(kicker, player.create());
+
+        try {
+            kick.assign(watcher, player.create());
+        } catch (InvalidKBException e) {
+            player.plays(watcher);
+        }
+        kick.assign(watcher, player.create());
+
+        tx.commit();
+    }
+}
@@ -48,6 +48,7 @@ import org.junit.rules.ExpectedException;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -60,7 +61,9 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -261,6 +264,26 @@ public class TransactionIT {
         assertTrue("Main cache was affected by transaction", foundE1.asType().playing().anyMatch(role -> role.equals(r1)));
     }
 
+    @Test
+    public void whenTransactionsDoNotMutateTheSchema_CentralCacheIsNotReplaced() {
+        tx.putEntityType("e1");
+        tx.commit();
+
+        tx = session.transaction(Transaction.Type.READ);
+        Map<Label, SchemaConcept> cachedTypes = tx.getGlobalCache().getCachedTypes();
+        tx.getEntityType("e1");
+        tx.close();
+
+        tx = session.transaction(Transaction.Type.WRITE);
+        assertSame(cachedTypes, tx.getGlobalCache().getCachedTypes());
+
+        tx.putEntityType("e2");
+        tx.commit();
+        tx = session.transaction(Transaction.Type.WRITE);
+        assertNotSame(cachedTypes, tx.getGlobalCache().getCachedTypes());
+        assertTrue(tx.getGlobalCache().getCachedTypes().containsKey(Label.of("e2")));
+    }
+
     @Test
     public void whenClosingAGraphWhichWasJustCommitted_DoNothing(){
         tx.commit();
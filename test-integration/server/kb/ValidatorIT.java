@@ -20,6 +20,7 @@ package grakn.core.server.kb;
 
 import grakn.core.server.Session;
 import grakn.core.server.Transaction;
+import grakn.core.graql.concept.AttributeType;
 import grakn.core.graql.concept.ConceptId;
 import grakn.core.graql.concept.Entity;
 import grakn.core.graql.concept.EntityType;
@@ -37,8 +38,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -46,6 +49,7 @@ import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -565,6 +569,53 @@ public class ValidatorIT {
         tx.commit();
     }
 
+    @Test
+    public void whenManyInstancesOfATypeCannotPlayARole_EveryInstanceIsReported() {
+        Role kicker = tx.putRole("kicker");
+        Role kickee = tx.putRole("kickee");
+        RelationshipType kicks = tx.putRelationshipType("kicks").relates(kicker).relates(kickee);
+        EntityType player = tx.putEntityType("player").plays(kicker);
+
+        Thing kickingPlayer = player.create();
+        List<Thing> kickedPlayers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Thing kickedPlayer = player.create();
+            kickedPlayers.add(kickedPlayer);
+            kicks.create().assign(kicker, kickingPlayer).assign(kickee, kickedPlayer);
+        }
+
+        Thing firstKicked = kickedPlayers.get(0);
+        Thing lastKicked = kickedPlayers.get(kickedPlayers.size() - 1);
+        String kickingError = ErrorMessage.VALIDATION_CASTING.getMessage(player.label(), kickingPlayer.id(), kicker.label());
+        String firstKickedError = ErrorMessage.VALIDATION_CASTING.getMessage(player.label(), firstKicked.id(), kickee.label());
+        String lastKickedError = ErrorMessage.VALIDATION_CASTING.getMessage(player.label(), lastKicked.id(), kickee.label());
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(allOf(
+                containsString(firstKickedError), containsString(lastKickedError), not(containsString(kickingError))));
+
+        tx.commit();
+    }
+
+    @Test
+    public void whenManyInstancesOfATypeAreMissingAKey_EveryInstanceIsReported() {
+        AttributeType<String> name = tx.putAttributeType("name", AttributeType.DataType.STRING);
+        EntityType person = tx.putEntityType("person").key(name);
+
+        Entity named = person.create().has(name.create("Alice"));
+        Entity first = person.create();
+        Entity second = person.create();
+
+        String namedError = ErrorMessage.VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(named.id(), name.label());
+        String firstError = ErrorMessage.VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(first.id(), name.label());
+        String secondError = ErrorMessage.VALIDATION_NOT_EXACTLY_ONE_KEY.getMessage(second.id(), name.label());
+
+        expectedException.expect(InvalidKBException.class);
+        expectedException.expectMessage(allOf(containsString(firstError), containsString(secondError), not(containsString(namedError))));
+
+        tx.commit();
+    }
+
     @Test
     public void whenARelationTypeHasOnlyOneRole_TheGraphIsValid() {
         Role role = tx.putRole("role-1");